@@ -0,0 +1,156 @@
+package org.revhire.dao;
+
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.concurrent.TimeUnit;
+
+// Row mapping in JobDAO and ApplicationDAO, one page of rows per operation. The "stub" benchmarks
+// read from a deterministic in-memory ResultSet (H2's SimpleResultSet: no driver, no I/O), so they
+// isolate the mapping code; the "h2" ones run the DAO's column list as a real query on an in-memory
+// H2 database in MySQL mode, adding the JDBC read path.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ResultSetMappingBenchmark {
+
+    private static final String[] STATUSES = { "APPLIED", "SHORTLISTED", "REJECTED", "WITHDRAWN" };
+    // Columns in the order the stub rows are built
+    private static final String JOB_COLUMNS = "id, employer_id, title, description, requirements, location,"
+            + " salary_range, job_type, experience_years, status, posted_at";
+    private static final String APPLICATION_COLUMNS = "id, job_id, seeker_id, cover_letter, status, applied_at";
+
+    @Param({ "20", "500" })
+    private int rows;
+
+    private SimpleResultSet jobRows;
+    private SimpleResultSet applicationRows;
+    private Connection h2;
+    private PreparedStatement jobQuery;
+    private PreparedStatement applicationQuery;
+
+    @Setup
+    public void setUp() throws SQLException {
+        jobRows = new SimpleResultSet();
+        jobRows.setAutoClose(false);
+        jobRows.addColumn("id", Types.INTEGER, 10, 0);
+        jobRows.addColumn("employer_id", Types.INTEGER, 10, 0);
+        jobRows.addColumn("title", Types.VARCHAR, 200, 0);
+        jobRows.addColumn("description", Types.VARCHAR, 65535, 0);
+        jobRows.addColumn("requirements", Types.VARCHAR, 65535, 0);
+        jobRows.addColumn("location", Types.VARCHAR, 100, 0);
+        jobRows.addColumn("salary_range", Types.VARCHAR, 50, 0);
+        jobRows.addColumn("job_type", Types.VARCHAR, 50, 0);
+        jobRows.addColumn("experience_years", Types.INTEGER, 10, 0);
+        jobRows.addColumn("status", Types.VARCHAR, 10, 0);
+        jobRows.addColumn("posted_at", Types.TIMESTAMP, 0, 0);
+
+        applicationRows = new SimpleResultSet();
+        applicationRows.setAutoClose(false);
+        applicationRows.addColumn("id", Types.INTEGER, 10, 0);
+        applicationRows.addColumn("job_id", Types.INTEGER, 10, 0);
+        applicationRows.addColumn("seeker_id", Types.INTEGER, 10, 0);
+        applicationRows.addColumn("cover_letter", Types.VARCHAR, 65535, 0);
+        applicationRows.addColumn("status", Types.VARCHAR, 20, 0);
+        applicationRows.addColumn("applied_at", Types.TIMESTAMP, 0, 0);
+
+        h2 = DriverManager.getConnection("jdbc:h2:mem:mapping;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement stmt = h2.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS applications");
+            stmt.execute("DROP TABLE IF EXISTS jobs");
+            stmt.execute("CREATE TABLE jobs (id INT PRIMARY KEY, employer_id INT NOT NULL, title VARCHAR(200) NOT NULL,"
+                    + " description TEXT NOT NULL, requirements TEXT, location VARCHAR(100), salary_range VARCHAR(50),"
+                    + " job_type VARCHAR(50), experience_years INT DEFAULT 0, posted_at TIMESTAMP,"
+                    + " status ENUM('OPEN', 'CLOSED') DEFAULT 'OPEN')");
+            stmt.execute("CREATE TABLE applications (id INT PRIMARY KEY, job_id INT NOT NULL, seeker_id INT NOT NULL,"
+                    + " cover_letter TEXT, status ENUM('APPLIED', 'SHORTLISTED', 'REJECTED', 'WITHDRAWN'),"
+                    + " applied_at TIMESTAMP)");
+        }
+        try (PreparedStatement insertJob = h2.prepareStatement("INSERT INTO jobs (" + JOB_COLUMNS + ")"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+                PreparedStatement insertApplication = h2.prepareStatement("INSERT INTO applications ("
+                        + APPLICATION_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                Object[] job = { i, 1 + i % 50, "Software Engineer " + i, "Build and run services for team " + i,
+                        "Java, SQL, Git", i % 2 == 0 ? "Remote" : "Bangalore", "10-20 LPA", "Full-time", i % 10,
+                        i % 7 == 0 ? "CLOSED" : "OPEN", new Timestamp(1_700_000_000_000L + i * 60_000L) };
+                jobRows.addRow(job);
+                Object[] application = { i, 1 + i % 100, 1 + i % 1000, "I would like to apply for role " + i,
+                        STATUSES[i % STATUSES.length], new Timestamp(1_700_000_000_000L + i * 1_000L) };
+                applicationRows.addRow(application);
+                for (int c = 0; c < job.length; c++) {
+                    insertJob.setObject(c + 1, job[c]);
+                }
+                insertJob.executeUpdate();
+                for (int c = 0; c < application.length; c++) {
+                    insertApplication.setObject(c + 1, application[c]);
+                }
+                insertApplication.executeUpdate();
+            }
+        }
+        jobQuery = h2.prepareStatement("SELECT " + JOB_COLUMNS + " FROM jobs ORDER BY id");
+        applicationQuery = h2.prepareStatement("SELECT " + APPLICATION_COLUMNS + " FROM applications ORDER BY id");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        h2.close();
+    }
+
+    @Benchmark
+    public void mapJobsFromStub(Blackhole bh) throws SQLException {
+        jobRows.beforeFirst();
+        while (jobRows.next()) {
+            bh.consume(JobDAO.mapResultSetToJob(jobRows));
+        }
+    }
+
+    @Benchmark
+    public void mapApplicationsFromStub(Blackhole bh) throws SQLException {
+        applicationRows.beforeFirst();
+        while (applicationRows.next()) {
+            bh.consume(ApplicationDAO.mapResultSetToApplication(applicationRows));
+        }
+    }
+
+    @Benchmark
+    public void mapJobsFromH2(Blackhole bh) throws SQLException {
+        try (ResultSet rs = jobQuery.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(JobDAO.mapResultSetToJob(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapApplicationsFromH2(Blackhole bh) throws SQLException {
+        try (ResultSet rs = applicationQuery.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(ApplicationDAO.mapResultSetToApplication(rs));
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.revhire.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt hashing and verification at the test work factor (4) and the production default (10).
+// Each operation takes milliseconds, so this reports time per operation rather than throughput.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+@State(Scope.Thread)
+public class PasswordUtilsBenchmark {
+
+    private static final String PASSWORD = "Secur3#Passw0rd";
+
+    @Param({ "4", "10" })
+    private int logRounds;
+
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hash = PasswordUtils.hashPassword(PASSWORD, logRounds);
+    }
+
+    @Benchmark
+    public String hashPassword() {
+        return PasswordUtils.hashPassword(PASSWORD, logRounds);
+    }
+
+    @Benchmark
+    public boolean checkPassword() {
+        return PasswordUtils.checkPassword(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public int getLogRounds() {
+        return PasswordUtils.getLogRounds(hash);
+    }
+}
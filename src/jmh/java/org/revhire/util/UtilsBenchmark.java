@@ -0,0 +1,69 @@
+package org.revhire.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Input validation and console table rendering, the per-request and per-screen helpers. Table output
+// goes to a discarding stream so the benchmark measures formatting rather than the terminal.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UtilsBenchmark {
+
+    private final String validEmail = "priya.sharma+jobs@example.co.in";
+    private final String invalidEmail = "priya.sharma.example.co.in";
+    private final String validPassword = "Secur3#Passw0rd";
+    private final String weakPassword = "password123";
+
+    private final String[] headers = { "ID", "Title", "Location", "Type", "Exp", "Salary" };
+    private final List<String[]> rows = new ArrayList<>();
+    private PrintStream stdout;
+
+    @Setup
+    public void setUp() {
+        for (int i = 1; i <= 20; i++) {
+            rows.add(new String[] { String.valueOf(i), "Software Engineer " + i, i % 2 == 0 ? "Remote" : "Pune",
+                    "Full-time", (i % 10) + " yrs", "10-20 LPA" });
+        }
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public boolean validateEmail() {
+        return ValidationUtils.isValidEmail(validEmail) & !ValidationUtils.isValidEmail(invalidEmail);
+    }
+
+    @Benchmark
+    public boolean validatePassword() {
+        return ValidationUtils.isValidPassword(validPassword) & !ValidationUtils.isValidPassword(weakPassword);
+    }
+
+    @Benchmark
+    public void printTable() {
+        TableFormatter.printTable("Available Jobs", headers, rows);
+    }
+}
@@ -1,15 +1,26 @@
 package org.revhire;
 
+import org.revhire.api.ApiServer;
+import org.revhire.config.DBConnection;
+import org.revhire.config.SchemaMigrator;
 import org.revhire.controller.*;
 import org.revhire.model.User;
 import org.revhire.model.User.UserRole;
+import org.revhire.service.JobService;
+import org.revhire.service.NotificationOutbox;
+import org.revhire.service.NotificationRetentionService;
+import org.revhire.service.PasswordHashingService;
+import org.revhire.service.ResumeSearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.Scanner;
 
 public class Main {
     private static final Logger logger = LoggerFactory.getLogger(Main.class);
+    private static final int DEFAULT_API_PORT = 8080;
     private static final Scanner scanner = new Scanner(System.in);
     private static final AuthController authController = new AuthController(scanner);
     private static final JobSeekerMenu jobSeekerMenu = new JobSeekerMenu(scanner);
@@ -17,21 +28,70 @@ public class Main {
 
     public static void main(String[] args) {
         logger.info("Starting RevHire Job Portal...");
+        migrateSchema();
+        warmUp();
+        // Background partition maintenance and archiving of old read notifications; the embedded
+        // database has no partitions or archive table
+        if (!DBConnection.isEmbedded()) {
+            NotificationRetentionService.getShared();
+        }
+
+        if (args.length > 0 && "--api".equals(args[0])) {
+            startApi(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_API_PORT);
+            return;
+        }
 
         while (true) {
-            if (!Session.isLoggedIn()) {
+            User user = Session.getCurrentUser();
+            if (user == null) {
                 showPublicMenu();
+            } else if (user.getRole() == UserRole.JOB_SEEKER) {
+                jobSeekerMenu.showMenu();
             } else {
-                User user = Session.getCurrentUser();
-                if (user.getRole() == UserRole.JOB_SEEKER) {
-                    jobSeekerMenu.showMenu();
-                } else {
-                    employerMenu.showMenu();
-                }
+                employerMenu.showMenu();
             }
         }
     }
 
+    // Brings the database up to the latest db/migration script before anything queries it
+    private static void migrateSchema() {
+        try {
+            new SchemaMigrator(DBConnection.getDataSource()).migrate();
+        } catch (SQLException e) {
+            logger.error("Schema migration failed: {}", e.getMessage());
+        }
+    }
+
+    // Serves the HTTP API instead of the console menus; the server threads keep the JVM alive
+    private static void startApi(int port) {
+        try {
+            ApiServer server = new ApiServer(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+            server.start();
+        } catch (IOException e) {
+            logger.error("Could not start API server on port {}: {}", port, e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Calibrates the BCrypt work factor and builds in-memory indexes up front so the first
+    // login or search does not pay for it
+    private static void warmUp() {
+        PasswordHashingService.getShared();
+        // Opens the outbox now so notifications left over from the last run are replayed at startup
+        NotificationOutbox.getShared();
+        try {
+            new JobService().buildSearchIndex();
+        } catch (SQLException e) {
+            logger.warn("Job search index will be built on first search: {}", e.getMessage());
+        }
+        try {
+            new ResumeSearchService().buildIndex();
+        } catch (SQLException e) {
+            logger.warn("Resume index will be built on first search: {}", e.getMessage());
+        }
+    }
+
     private static void showPublicMenu() {
         logger.info("\n=== RevHire Job Portal ===");
         logger.info("1. Login");
@@ -57,7 +117,7 @@ public class Main {
                 break;
             case "5":
                 logger.info("Goodbye!");
-                org.revhire.config.DBConnection.closeConnection();
+                DBConnection.closeConnection();
                 System.exit(0);
                 break;
             default:
@@ -0,0 +1,540 @@
+package org.revhire.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.revhire.dao.Page;
+import org.revhire.dao.PageCursor;
+import org.revhire.model.Application;
+import org.revhire.model.Job;
+import org.revhire.model.Notification;
+import org.revhire.model.User;
+import org.revhire.model.User.UserRole;
+import org.revhire.model.UserSession;
+import org.revhire.search.AutocompleteIndex.Kind;
+import org.revhire.search.AutocompleteIndex.Suggestion;
+import org.revhire.search.FacetCounts;
+import org.revhire.search.FacetCounts.Facet;
+import org.revhire.search.FacetedPage;
+import org.revhire.service.ApplicationService;
+import org.revhire.service.AuthService;
+import org.revhire.service.AutocompleteService;
+import org.revhire.service.JobService;
+import org.revhire.service.LoginThrottledException;
+import org.revhire.service.NotificationService;
+import org.revhire.service.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// JSON over HTTP in front of the service layer, on the JDK's built-in server. Every request runs on
+// its own virtual thread, so blocking JDBC calls park cheaply; the connection pool's borrow timeout
+// and the password-hashing queue are what bound a burst, and surface as 503.
+//
+//   POST /api/login                      {email, password} -> {token, user}; 429 when throttled
+//   POST /api/logout
+//   GET  /api/jobs?keyword=&location=&jobType=&experience=&company=&limit=&cursor=&pageSize=&fuzzy=
+//   POST /api/jobs                       (employer) job fields -> job
+//   GET  /api/jobs/{id}
+//   GET  /api/suggest?field=title|location|company|skill&prefix=&limit=
+//   POST /api/jobs/{id}/close            (employer, owner)
+//   POST /api/jobs/{id}/applications     (job seeker) {coverLetter}
+//   GET  /api/jobs/{id}/applications     (employer, owner) ?cursor=&pageSize=
+//   GET  /api/applications               (job seeker) ?cursor=&pageSize=
+//   GET  /api/notifications              unread notifications and the unread count
+//   POST /api/notifications/read         {ids} (at most 100) or {upToId}
+//
+// Authenticated calls send "Authorization: Bearer <token>".
+public class ApiServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ApiServer.class);
+
+    private static final int BACKLOG = 1024;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Most notification ids one mark-read request may name; each is a bound parameter of one UPDATE
+    private static final int MAX_MARK_READ_IDS = MAX_PAGE_SIZE;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AuthService authService;
+    private final JobService jobService;
+    private final ApplicationService applicationService;
+    private final NotificationService notificationService;
+    private final AutocompleteService autocompleteService;
+
+    public ApiServer(int port) throws IOException {
+        this(new InetSocketAddress(port), new AuthService(), new JobService(), new ApplicationService(),
+                new NotificationService(), new AutocompleteService());
+    }
+
+    public ApiServer(InetSocketAddress address, AuthService authService, JobService jobService,
+            ApplicationService applicationService, NotificationService notificationService,
+            AutocompleteService autocompleteService) throws IOException {
+        this.authService = authService;
+        this.jobService = jobService;
+        this.applicationService = applicationService;
+        this.notificationService = notificationService;
+        this.autocompleteService = autocompleteService;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, BACKLOG);
+        this.server.setExecutor(executor);
+        this.server.createContext("/api/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+        logger.info("RevHire API listening on port {}", getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // Thrown by handlers to answer with a specific status
+    static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        int getStatus() {
+            return status;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            send(exchange, 200, route(exchange));
+        } catch (ApiException e) {
+            send(exchange, e.getStatus(), error(e.getMessage()));
+        } catch (ValidationException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (SQLException e) {
+            if (isUnavailable(e)) {
+                // Pool borrow timeout, unreachable database or a full password-hashing queue
+                send(exchange, 503, error("Server busy, retry later"));
+            } else {
+                logger.error("Database error on {} {}: {}", exchange.getRequestMethod(), exchange.getRequestURI(),
+                        e.getMessage());
+                send(exchange, 500, error("Internal error"));
+            }
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            logger.error("Unhandled error on {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            send(exchange, 500, error("Internal error"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Object route(HttpExchange exchange) throws IOException, SQLException {
+        String method = exchange.getRequestMethod();
+        String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+
+        switch (path[0]) {
+            case "login":
+                requireMethod(method, "POST");
+                return login(exchange);
+            case "logout":
+                requireMethod(method, "POST");
+                authService.logout(bearerToken(exchange));
+                return Map.of("loggedOut", true);
+            case "jobs":
+                if (path.length == 1) {
+                    return "GET".equals(method) ? searchJobs(query) : postJob(exchange, method);
+                }
+                int jobId = parseId(path[1]);
+                if (path.length == 2) {
+                    requireMethod(method, "GET");
+                    return jobService.getJobById(jobId).map(this::toJson)
+                            .orElseThrow(() -> new ApiException(404, "Job not found"));
+                }
+                if (path.length == 3 && "close".equals(path[2])) {
+                    requireMethod(method, "POST");
+                    return closeJob(exchange, jobId);
+                }
+                if (path.length == 3 && "applications".equals(path[2])) {
+                    return "GET".equals(method) ? applicationsForJob(exchange, jobId, query)
+                            : apply(exchange, method, jobId);
+                }
+                break;
+            case "suggest":
+                requireMethod(method, "GET");
+                return suggest(query);
+            case "applications":
+                requireMethod(method, "GET");
+                return myApplications(exchange, query);
+            case "notifications":
+                if (path.length == 2 && "read".equals(path[1])) {
+                    requireMethod(method, "POST");
+                    return markNotificationsRead(exchange);
+                }
+                requireMethod(method, "GET");
+                return unreadNotifications(exchange);
+            default:
+                break;
+        }
+        throw new ApiException(404, "No such resource");
+    }
+
+    private Object login(HttpExchange exchange) throws IOException, SQLException {
+        Map<String, Object> body = readBody(exchange);
+        try {
+            UserSession session = authService.login(string(body, "email"), string(body, "password"),
+                    exchange.getRemoteAddress().getAddress().getHostAddress());
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("token", session.getToken());
+            result.put("user", toJson(session.getUser()));
+            return result;
+        } catch (LoginThrottledException e) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+            throw new ApiException(429, e.getMessage());
+        } catch (ValidationException e) {
+            throw new ApiException(401, "Invalid email or password");
+        }
+    }
+
+    static boolean isUnavailable(SQLException e) {
+        return e instanceof SQLTransientException || e instanceof SQLNonTransientConnectionException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+
+    private Object searchJobs(Map<String, String> query) throws SQLException {
+        String keyword = query.get("keyword");
+        String location = query.get("location");
+        String jobType = query.get("jobType");
+        Integer experience = query.containsKey("experience") ? Integer.valueOf(query.get("experience")) : null;
+        String company = query.get("company");
+
+        FacetedPage<Job> page;
+        if (Boolean.parseBoolean(query.get("fuzzy"))) {
+            page = jobService.searchJobsFuzzy(keyword, location, jobType, experience, company,
+                    pageSize(query.get("limit")));
+        } else if (keyword != null && !keyword.isBlank()) {
+            page = jobService.searchJobsRankedFaceted(keyword, location, jobType, experience, company,
+                    pageSize(query.get("limit")));
+        } else {
+            page = jobService.searchJobs(null, location, jobType, experience, company,
+                    PageCursor.decode(query.get("cursor")), pageSize(query.get("pageSize")));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        putPage(result, page);
+        result.put("total", page.getFacets().getTotalHits());
+        result.put("facets", toJson(page.getFacets()));
+        return result;
+    }
+
+    private Object suggest(Map<String, String> query) throws SQLException {
+        String field = query.get("field");
+        Kind kind;
+        try {
+            kind = Kind.valueOf(field == null ? "" : field.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "field must be one of title, location, company, skill");
+        }
+        int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit")) : MAX_SUGGESTIONS;
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ApiException(400, "limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        List<Object> items = new ArrayList<>();
+        for (Suggestion suggestion : autocompleteService.suggest(kind, query.get("prefix"), limit)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("label", suggestion.label());
+            item.put("count", suggestion.count());
+            items.add(item);
+        }
+        return Map.of("items", items);
+    }
+
+    private Object postJob(HttpExchange exchange, String method) throws IOException, SQLException {
+        requireMethod(method, "POST");
+        User employer = requireRole(exchange, UserRole.EMPLOYER);
+        Map<String, Object> body = readBody(exchange);
+        Job job = new Job(employer.getId(), string(body, "title"), string(body, "description"),
+                optionalString(body, "requirements"), optionalString(body, "location"),
+                optionalString(body, "salaryRange"), optionalString(body, "jobType"),
+                body.get("experienceYears") instanceof Number n ? n.intValue() : 0);
+        if (job.getTitle().isBlank() || job.getDescription().isBlank()) {
+            throw new ApiException(400, "title and description are required");
+        }
+        return toJson(jobService.postJob(job));
+    }
+
+    private Object closeJob(HttpExchange exchange, int jobId) throws SQLException {
+        requireOwnedJob(exchange, jobId);
+        jobService.closeJob(jobId);
+        return Map.of("id", jobId, "status", Job.JobStatus.CLOSED.name());
+    }
+
+    private Object apply(HttpExchange exchange, String method, int jobId) throws IOException, SQLException {
+        requireMethod(method, "POST");
+        User seeker = requireRole(exchange, UserRole.JOB_SEEKER);
+        Map<String, Object> body = readBody(exchange);
+        applicationService.applyForJob(jobId, seeker.getId(), optionalString(body, "coverLetter"));
+        return Map.of("jobId", jobId, "status", Application.ApplicationStatus.APPLIED.name());
+    }
+
+    private Object applicationsForJob(HttpExchange exchange, int jobId, Map<String, String> query)
+            throws SQLException {
+        requireOwnedJob(exchange, jobId);
+        Page<Application> page = applicationService.getApplicationsByJob(jobId,
+                PageCursor.decode(query.get("cursor")), pageSize(query.get("pageSize")));
+        Map<String, Object> result = new LinkedHashMap<>();
+        putPage(result, page);
+        return result;
+    }
+
+    private Object myApplications(HttpExchange exchange, Map<String, String> query) throws SQLException {
+        User seeker = requireRole(exchange, UserRole.JOB_SEEKER);
+        Page<Application> page = applicationService.getApplicationsBySeeker(seeker.getId(),
+                PageCursor.decode(query.get("cursor")), pageSize(query.get("pageSize")));
+        Map<String, Object> result = new LinkedHashMap<>();
+        putPage(result, page);
+        return result;
+    }
+
+    private Object unreadNotifications(HttpExchange exchange) throws SQLException {
+        User user = requireUser(exchange);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("unread", notificationService.getUnreadCount(user.getId()));
+        result.put("items", toJsonList(notificationService.getUnreadNotifications(user.getId())));
+        return result;
+    }
+
+    private Object markNotificationsRead(HttpExchange exchange) throws IOException, SQLException {
+        User user = requireUser(exchange);
+        Map<String, Object> body = readBody(exchange);
+        int updated;
+        if (body.get("ids") instanceof List<?> ids) {
+            if (ids.size() > MAX_MARK_READ_IDS) {
+                throw new ApiException(400, "At most " + MAX_MARK_READ_IDS + " ids per request; use upToId instead");
+            }
+            List<Integer> notificationIds = new ArrayList<>();
+            for (Object id : ids) {
+                if (!(id instanceof Long value)) {
+                    throw new ApiException(400, "ids must be numbers");
+                }
+                notificationIds.add(value.intValue());
+            }
+            updated = notificationService.markRead(user.getId(), notificationIds);
+        } else if (body.get("upToId") instanceof Long upToId) {
+            updated = notificationService.markAllRead(user.getId(), upToId.intValue());
+        } else {
+            throw new ApiException(400, "ids or upToId is required");
+        }
+        return Map.of("marked", updated);
+    }
+
+    // Authentication
+
+    private String bearerToken(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return null;
+        }
+        return header.substring("Bearer ".length()).trim();
+    }
+
+    private User requireUser(HttpExchange exchange) {
+        Optional<UserSession> session = authService.resolveSession(bearerToken(exchange));
+        return session.map(UserSession::getUser).orElseThrow(() -> new ApiException(401, "Login required"));
+    }
+
+    private User requireRole(HttpExchange exchange, UserRole role) {
+        User user = requireUser(exchange);
+        if (user.getRole() != role) {
+            throw new ApiException(403, "Only " + role + " accounts can do this");
+        }
+        return user;
+    }
+
+    private void requireOwnedJob(HttpExchange exchange, int jobId) throws SQLException {
+        User employer = requireRole(exchange, UserRole.EMPLOYER);
+        Job job = jobService.getJobById(jobId).orElseThrow(() -> new ApiException(404, "Job not found"));
+        if (job.getEmployerId() != employer.getId()) {
+            throw new ApiException(403, "Not your job");
+        }
+    }
+
+    // Request helpers
+
+    private static void requireMethod(String method, String expected) {
+        if (!expected.equals(method)) {
+            throw new ApiException(405, "Use " + expected);
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large");
+            }
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            return text.isBlank() ? new HashMap<>() : Json.parseObject(text);
+        }
+    }
+
+    private static String string(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        if (!(value instanceof String s)) {
+            throw new ApiException(400, field + " is required");
+        }
+        return s;
+    }
+
+    private static String optionalString(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        return value instanceof String s ? s : null;
+    }
+
+    private static int parseId(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new ApiException(404, "No such resource");
+        }
+    }
+
+    private static int pageSize(String value) {
+        if (value == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        int size = Integer.parseInt(value);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ApiException(400, "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            if (!value.isEmpty()) {
+                params.put(key, value);
+            }
+        }
+        return params;
+    }
+
+    // Response helpers
+
+    private static void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = Json.write(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message == null ? "Error" : message);
+    }
+
+    private void putPage(Map<String, Object> result, Page<?> page) {
+        result.put("items", toJsonList(page.getItems()));
+        result.put("nextCursor", page.getNextCursor() == null ? null : page.getNextCursor().encode());
+    }
+
+    // {"location": [{"label": "Remote", "count": 12}, ...], "jobType": [...], ...}
+    private Map<String, Object> toJson(FacetCounts facets) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("location", toJsonBuckets(facets.get(Facet.LOCATION)));
+        map.put("jobType", toJsonBuckets(facets.get(Facet.JOB_TYPE)));
+        map.put("company", toJsonBuckets(facets.get(Facet.COMPANY)));
+        map.put("experience", toJsonBuckets(facets.get(Facet.EXPERIENCE)));
+        return map;
+    }
+
+    private List<Object> toJsonBuckets(List<FacetCounts.Bucket> buckets) {
+        List<Object> list = new ArrayList<>(buckets.size());
+        for (FacetCounts.Bucket bucket : buckets) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("label", bucket.label());
+            map.put("count", bucket.count());
+            list.add(map);
+        }
+        return list;
+    }
+
+    private List<Object> toJsonList(List<?> items) {
+        List<Object> list = new ArrayList<>(items.size());
+        for (Object item : items) {
+            list.add(toJson(item));
+        }
+        return list;
+    }
+
+    private Map<String, Object> toJson(Object item) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        if (item instanceof Job job) {
+            m.put("id", job.getId());
+            m.put("employerId", job.getEmployerId());
+            m.put("title", job.getTitle());
+            m.put("description", job.getDescription());
+            m.put("requirements", job.getRequirements());
+            m.put("location", job.getLocation());
+            m.put("salaryRange", job.getSalaryRange());
+            m.put("jobType", job.getJobType());
+            m.put("experienceYears", job.getExperienceYears());
+            m.put("status", job.getStatus());
+            m.put("companyName", job.getCompanyName());
+            m.put("postedAt", job.getPostedAt() == null ? null : job.getPostedAt().getTime());
+        } else if (item instanceof Application app) {
+            m.put("id", app.getId());
+            m.put("jobId", app.getJobId());
+            m.put("seekerId", app.getSeekerId());
+            m.put("coverLetter", app.getCoverLetter());
+            m.put("status", app.getStatus());
+            m.put("appliedAt", app.getAppliedAt() == null ? null : app.getAppliedAt().getTime());
+        } else if (item instanceof Notification n) {
+            m.put("id", n.getId());
+            m.put("message", n.getMessage());
+            m.put("createdAt", n.getCreatedAt() == null ? null : n.getCreatedAt().getTime());
+        } else if (item instanceof User user) {
+            m.put("id", user.getId());
+            m.put("name", user.getName());
+            m.put("email", user.getEmail());
+            m.put("role", user.getRole());
+        }
+        return m;
+    }
+}
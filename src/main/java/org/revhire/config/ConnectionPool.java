@@ -0,0 +1,494 @@
+package org.revhire.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTimeoutException;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded JDBC connection pool. Callers borrow with getConnection() and give the
+// connection back by closing it; the physical connection stays open for reuse.
+public class ConnectionPool implements DataSource, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    // Opens a new physical connection to the database
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final PoolConfig config;
+    private final ConnectionFactory factory;
+
+    // Most recently returned connections are handed out first so the warm ones stay in use
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledEntry> inUse = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private volatile boolean closed;
+
+    public ConnectionPool(PoolConfig config) {
+        this(config, () -> DriverManager.getConnection(config.getJdbcUrl(), config.getUsername(),
+                config.getPassword()));
+    }
+
+    public ConnectionPool(PoolConfig config, ConnectionFactory factory) {
+        if (config.getMaxSize() < 1 || config.getMinIdle() > config.getMaxSize()) {
+            throw new IllegalArgumentException("Pool size must satisfy 0 <= minIdle <= maxSize and maxSize >= 1");
+        }
+        this.config = config;
+        this.factory = factory;
+        this.permits = new Semaphore(config.getMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revhire-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, 0, config.getHousekeepingPeriodMillis(),
+                TimeUnit.MILLISECONDS);
+        logger.info("Connection pool started (minIdle={}, maxSize={})", config.getMinIdle(), config.getMaxSize());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        try {
+            if (!permits.tryAcquire(config.getBorrowTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + config.getBorrowTimeoutMillis()
+                        + " ms waiting for a database connection (active=" + inUse.size() + ", max="
+                        + config.getMaxSize() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            while (true) {
+                PooledEntry entry = idle.pollFirst();
+                if (entry == null) {
+                    entry = openEntry();
+                } else if (!isUsable(entry)) {
+                    destroy(entry);
+                    continue;
+                }
+                entry.borrowedAt = System.currentTimeMillis();
+                entry.borrowTrace = config.getLeakDetectionThresholdMillis() > 0
+                        ? new Exception("Connection borrowed here")
+                        : null;
+                entry.leakReported = false;
+                inUse.add(entry);
+                return entry.newHandle();
+            }
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Pooled connections use the configured credentials");
+    }
+
+    // Called when a borrower closes its handle
+    void release(PooledEntry entry) {
+        inUse.remove(entry);
+        try {
+            if (closed || entry.broken || !resetState(entry)) {
+                destroy(entry);
+            } else {
+                entry.lastUsedAt = System.currentTimeMillis();
+                idle.offerFirst(entry);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean resetState(PooledEntry entry) {
+        try {
+            if (entry.autoCommitChanged) {
+                if (!entry.physical.getAutoCommit()) {
+                    entry.physical.rollback();
+                    entry.physical.setAutoCommit(true);
+                }
+                entry.autoCommitChanged = false;
+            }
+            entry.physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Discarding connection that failed to reset: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        long now = System.currentTimeMillis();
+        if (now - entry.createdAt > config.getMaxLifetimeMillis()) {
+            return false;
+        }
+        if (now - entry.lastUsedAt < config.getValidationBypassMillis()) {
+            return true;
+        }
+        try {
+            return entry.physical.isValid(config.getValidationTimeoutSeconds());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledEntry openEntry() throws SQLException {
+        Connection physical = factory.create();
+        totalConnections.incrementAndGet();
+        logger.debug("Opened new pooled connection (total={})", totalConnections.get());
+        return new PooledEntry(physical);
+    }
+
+    private void destroy(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        entry.statementCache.closeAll();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing pooled connection: {}", e.getMessage());
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Retire idle connections past their idle timeout or lifetime, keeping minIdle around
+            Iterator<PooledEntry> it = idle.descendingIterator();
+            while (it.hasNext()) {
+                PooledEntry entry = it.next();
+                boolean expired = now - entry.createdAt > config.getMaxLifetimeMillis();
+                boolean surplus = totalConnections.get() > config.getMinIdle()
+                        && now - entry.lastUsedAt > config.getIdleTimeoutMillis();
+                if ((expired || surplus || totalConnections.get() > config.getMaxSize()) && idle.remove(entry)) {
+                    destroy(entry);
+                }
+            }
+
+            // Top the pool back up to minIdle. Each open holds a permit like a borrower's, so borrowers
+            // opening at the same time cannot take the pool past maxSize; none free means the pool is busy.
+            while (!closed && idle.size() < config.getMinIdle() && permits.tryAcquire()) {
+                try {
+                    if (totalConnections.get() >= config.getMaxSize()) {
+                        break;
+                    }
+                    PooledEntry entry = openEntry();
+                    entry.lastUsedAt = System.currentTimeMillis();
+                    idle.offerLast(entry);
+                } finally {
+                    permits.release();
+                }
+            }
+
+            long leakThreshold = config.getLeakDetectionThresholdMillis();
+            if (leakThreshold > 0) {
+                for (PooledEntry entry : inUse) {
+                    if (!entry.leakReported && now - entry.borrowedAt > leakThreshold) {
+                        entry.leakReported = true;
+                        logger.warn("Possible connection leak: connection held for {} ms", now - entry.borrowedAt,
+                                entry.borrowTrace);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Pool housekeeping could not open a connection: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            logger.error("Pool housekeeping failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            destroy(entry);
+        }
+        if (!inUse.isEmpty()) {
+            logger.warn("Connection pool closed with {} connection(s) still borrowed", inUse.size());
+        }
+        logger.info("Connection pool closed. Statement cache hits={}, misses={}", statementCacheHits.sum(),
+                statementCacheMisses.sum());
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public int getActiveCount() {
+        return inUse.size();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getTotalCount() {
+        return totalConnections.get();
+    }
+
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public double getStatementCacheHitRatio() {
+        long hits = statementCacheHits.sum();
+        long total = hits + statementCacheMisses.sum();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    public PoolConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() {
+        return null;
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) {
+        // Logging goes through SLF4J
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) {
+        // Borrow timeout is configured through PoolConfig
+    }
+
+    @Override
+    public int getLoginTimeout() {
+        return (int) TimeUnit.MILLISECONDS.toSeconds(config.getBorrowTimeoutMillis());
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException("Logging goes through SLF4J");
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+
+    // One physical connection plus its bookkeeping
+    final class PooledEntry {
+        final Connection physical;
+        final long createdAt = System.currentTimeMillis();
+        volatile long lastUsedAt = createdAt;
+        volatile long borrowedAt;
+        volatile Exception borrowTrace;
+        volatile boolean leakReported;
+        volatile boolean autoCommitChanged;
+        volatile boolean broken;
+        final StatementCache statementCache = new StatementCache(config.getStatementCacheSize());
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, new HandleInvocationHandler(this));
+        }
+    }
+
+    // Logical connection given to a borrower; close() hands the physical connection back to the pool
+    private final class HandleInvocationHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private volatile boolean handleClosed;
+
+        HandleInvocationHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!handleClosed) {
+                        handleClosed = true;
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return handleClosed || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+            if (handleClosed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            if ("setAutoCommit".equals(method.getName())) {
+                entry.autoCommitChanged = true;
+            }
+            if ("prepareStatement".equals(method.getName()) && isCacheable(method)) {
+                return prepareCached(proxy, method, args);
+            }
+            return invokePhysical(entry, entry.physical, method, args);
+        }
+
+        // Only prepareStatement(String) and prepareStatement(String, int autoGeneratedKeys) are cached
+        private boolean isCacheable(Method method) {
+            Class<?>[] params = method.getParameterTypes();
+            return config.getStatementCacheSize() > 0
+                    && (params.length == 1 || (params.length == 2 && params[1] == int.class));
+        }
+
+        private Object prepareCached(Object connectionProxy, Method method, Object[] args) throws Throwable {
+            int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+            StatementCache.Key key = new StatementCache.Key((String) args[0], autoGeneratedKeys);
+            PreparedStatement physicalStmt = entry.statementCache.take(key);
+            if (physicalStmt != null) {
+                statementCacheHits.increment();
+            } else {
+                statementCacheMisses.increment();
+                physicalStmt = (PreparedStatement) invokePhysical(entry, entry.physical, method, args);
+                if (physicalStmt == null) {
+                    return null;
+                }
+            }
+            return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new CachedStatementInvocationHandler(this, (Connection) connectionProxy, key, physicalStmt));
+        }
+    }
+
+    // Statement handed to a borrower; close() parks the physical statement back in the cache
+    private final class CachedStatementInvocationHandler implements InvocationHandler {
+        private final HandleInvocationHandler owner;
+        private final Connection connectionProxy;
+        private final StatementCache.Key key;
+        private final PreparedStatement physical;
+        private boolean statementClosed;
+
+        CachedStatementInvocationHandler(HandleInvocationHandler owner, Connection connectionProxy,
+                StatementCache.Key key, PreparedStatement physical) {
+            this.owner = owner;
+            this.connectionProxy = connectionProxy;
+            this.key = key;
+            this.physical = physical;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!statementClosed) {
+                        statementClosed = true;
+                        recycle();
+                    }
+                    return null;
+                case "isClosed":
+                    return statementClosed;
+                case "getConnection":
+                    return connectionProxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + key.sql() + "]";
+                default:
+                    break;
+            }
+            if (statementClosed) {
+                throw new SQLException("Statement is closed");
+            }
+            return invokePhysical(owner.entry, physical, method, args);
+        }
+
+        private void recycle() {
+            // A statement outliving its connection handle could be handed to the next borrower
+            if (owner.handleClosed || owner.entry.broken) {
+                StatementCache.closeQuietly(physical);
+                return;
+            }
+            try {
+                physical.clearParameters();
+                physical.clearBatch();
+                physical.clearWarnings();
+                owner.entry.statementCache.offer(key, physical);
+            } catch (SQLException e) {
+                StatementCache.closeQuietly(physical);
+            }
+        }
+    }
+
+    private static Object invokePhysical(PooledEntry entry, Object target, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException && isConnectionError(sqlException)) {
+                entry.broken = true;
+            }
+            throw cause;
+        }
+    }
+
+    // SQLState class 08 covers connection failures; the connection must not go back to the pool
+    private static boolean isConnectionError(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && state.startsWith("08");
+    }
+}
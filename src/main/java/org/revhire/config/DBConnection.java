@@ -4,47 +4,73 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
     private static final Logger logger = LoggerFactory.getLogger(DBConnection.class);
 
-    // Singleton connection instance
-    private static Connection connection = null;
+    // Shared pool instance
+    private static volatile ConnectionPool pool = null;
 
-    // Database configuration
-    private static final String URL = "jdbc:mysql://localhost:3306/revhire";
-    private static final String USER = "root";
-    private static final String PASS = "root";
+    // Schema the embedded database is created from
+    static final String SCHEMA_SCRIPT = "db_schema.sql";
 
     private DBConnection() {
         // Private constructor for Singleton
     }
 
+    // Borrows a connection from the pool. Closing it returns it to the pool.
     public static Connection getInstance() throws SQLException {
         try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL, USER, PASS);
-                logger.info("New database connection established.");
-            }
+            return getDataSource().getConnection();
         } catch (SQLException e) {
             logger.error("DB Connection Error: {}", e.getMessage());
             throw e;
         }
-        return connection;
     }
 
-    public static void closeConnection() {
-        try {
-            if (connection != null) {
-                if (!connection.isClosed()) {
-                    connection.close();
+    public static ConnectionPool getDataSource() {
+        ConnectionPool current = pool;
+        if (current == null || current.isClosed()) {
+            synchronized (DBConnection.class) {
+                current = pool;
+                if (current == null || current.isClosed()) {
+                    current = new ConnectionPool(PoolConfig.fromEnvironment());
+                    if (current.getConfig().isEmbedded()) {
+                        createEmbeddedSchema(current, SCHEMA_SCRIPT);
+                    }
+                    pool = current;
                 }
-                logger.info("Database connection closed gracefully.");
             }
-        } catch (SQLException e) {
-            logger.error("Error while closing database connection: {}", e.getMessage());
+        }
+        return current;
+    }
+
+    // Database URL, credentials and pool settings come from -Drevhire.db.* or REVHIRE_DB_* (see PoolConfig)
+    public static boolean isEmbedded() {
+        return getDataSource().getConfig().isEmbedded();
+    }
+
+    // The migrations use MySQL-only DDL (partitioning), so an embedded database is created from the
+    // current schema script and baselined; SchemaMigrator.migrate() then finds nothing to apply. A pool
+    // without the schema would only fail later on every query, so it is closed and the failure thrown.
+    static void createEmbeddedSchema(ConnectionPool embedded, String schemaScript) {
+        long start = System.nanoTime();
+        try {
+            new SchemaMigrator(embedded).baseline(schemaScript);
+            logger.info("Embedded database ready in {} ms ({})", (System.nanoTime() - start) / 1_000_000,
+                    embedded.getConfig().getJdbcUrl());
+        } catch (SQLException | RuntimeException e) {
+            embedded.close();
+            throw new IllegalStateException("Could not create the embedded schema from " + schemaScript, e);
+        }
+    }
+
+    public static void closeConnection() {
+        ConnectionPool current = pool;
+        if (current != null) {
+            current.close();
+            logger.info("Database connection pool closed gracefully.");
         }
     }
 
@@ -0,0 +1,207 @@
+package org.revhire.config;
+
+import java.util.Locale;
+import java.util.function.UnaryOperator;
+
+// Settings for the JDBC connection pool. Defaults suit a single app node talking to a local MySQL.
+public class PoolConfig {
+    // Server-side prepares let the statements kept in the pool's statement cache skip parse and plan;
+    // rewriteBatchedStatements turns a batch of inserts into one multi-row INSERT round trip
+    static final String MYSQL_URL = "jdbc:mysql://localhost:3306/revhire"
+            + "?useServerPrepStmts=true&rewriteBatchedStatements=true";
+    // In-process H2 in MySQL compatibility mode; DB_CLOSE_DELAY keeps the data for the life of the JVM
+    // rather than of the last open connection
+    static final String EMBEDDED_URL = "jdbc:h2:mem:revhire;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+            + "NON_KEYWORDS=YEAR,VALUE;DB_CLOSE_DELAY=-1";
+    private static final String PROPERTY_PREFIX = "revhire.db.";
+    private static final String ENV_PREFIX = "REVHIRE_DB_";
+
+    private String jdbcUrl;
+    private String username;
+    private String password;
+
+    private int minIdle = 2;
+    private int maxSize = 10;
+    private long borrowTimeoutMillis = 5_000;
+    private long idleTimeoutMillis = 600_000;
+    private long maxLifetimeMillis = 1_800_000;
+    private int validationTimeoutSeconds = 2;
+    // Connections used more recently than this are handed out without a validation round trip
+    private long validationBypassMillis = 500;
+    // 0 disables leak detection
+    private long leakDetectionThresholdMillis = 60_000;
+    private long housekeepingPeriodMillis = 30_000;
+    // Prepared statements kept open per connection; 0 disables the cache
+    private int statementCacheSize = 64;
+
+    public PoolConfig() {
+    }
+
+    public PoolConfig(String jdbcUrl, String username, String password) {
+        this.jdbcUrl = jdbcUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    // Defaults overridden by -Drevhire.db.* where given, else by the matching REVHIRE_DB_* environment
+    // variable (revhire.db.pool.maxSize -> REVHIRE_DB_POOL_MAXSIZE). revhire.db.mode=embedded switches
+    // the default URL and credentials to the in-memory database.
+    public static PoolConfig fromEnvironment() {
+        return fromSettings(name -> {
+            String value = System.getProperty(PROPERTY_PREFIX + name);
+            return value != null ? value
+                    : System.getenv(ENV_PREFIX + name.replace('.', '_').toUpperCase(Locale.ROOT));
+        });
+    }
+
+    // Looks each setting up by its name without the revhire.db. prefix; null means unset
+    static PoolConfig fromSettings(UnaryOperator<String> settings) {
+        boolean embedded = "embedded".equalsIgnoreCase(settings.apply("mode"));
+        PoolConfig config = new PoolConfig(
+                orDefault(settings.apply("url"), embedded ? EMBEDDED_URL : MYSQL_URL),
+                orDefault(settings.apply("user"), embedded ? "sa" : "root"),
+                orDefault(settings.apply("password"), embedded ? "" : "root"));
+        config.setMinIdle(intSetting(settings, "pool.minIdle", config.minIdle));
+        config.setMaxSize(intSetting(settings, "pool.maxSize", config.maxSize));
+        config.setBorrowTimeoutMillis(longSetting(settings, "pool.borrowTimeoutMillis", config.borrowTimeoutMillis));
+        config.setIdleTimeoutMillis(longSetting(settings, "pool.idleTimeoutMillis", config.idleTimeoutMillis));
+        config.setMaxLifetimeMillis(longSetting(settings, "pool.maxLifetimeMillis", config.maxLifetimeMillis));
+        config.setLeakDetectionThresholdMillis(longSetting(settings, "pool.leakDetectionThresholdMillis",
+                config.leakDetectionThresholdMillis));
+        config.setStatementCacheSize(intSetting(settings, "pool.statementCacheSize", config.statementCacheSize));
+        return config;
+    }
+
+    private static String orDefault(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+
+    private static int intSetting(UnaryOperator<String> settings, String name, int defaultValue) {
+        String value = settings.apply(name);
+        try {
+            return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + PROPERTY_PREFIX + name + ": " + value, e);
+        }
+    }
+
+    private static long longSetting(UnaryOperator<String> settings, String name, long defaultValue) {
+        String value = settings.apply(name);
+        try {
+            return value != null ? Long.parseLong(value.trim()) : defaultValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + PROPERTY_PREFIX + name + ": " + value, e);
+        }
+    }
+
+    // An in-process H2 database (mem:, file:, or an implicit file path like ~/db) rather than a MySQL
+    // server; jdbc:h2:tcp:// and jdbc:h2:ssl:// are H2 servers with a schema of their own
+    public boolean isEmbedded() {
+        return jdbcUrl != null && jdbcUrl.startsWith("jdbc:h2:")
+                && !jdbcUrl.startsWith("jdbc:h2:tcp:") && !jdbcUrl.startsWith("jdbc:h2:ssl:");
+    }
+
+    public String getJdbcUrl() {
+        return jdbcUrl;
+    }
+
+    public void setJdbcUrl(String jdbcUrl) {
+        this.jdbcUrl = jdbcUrl;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMinIdle() {
+        return minIdle;
+    }
+
+    public void setMinIdle(int minIdle) {
+        this.minIdle = minIdle;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public long getIdleTimeoutMillis() {
+        return idleTimeoutMillis;
+    }
+
+    public void setIdleTimeoutMillis(long idleTimeoutMillis) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    public long getMaxLifetimeMillis() {
+        return maxLifetimeMillis;
+    }
+
+    public void setMaxLifetimeMillis(long maxLifetimeMillis) {
+        this.maxLifetimeMillis = maxLifetimeMillis;
+    }
+
+    public int getValidationTimeoutSeconds() {
+        return validationTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    public long getValidationBypassMillis() {
+        return validationBypassMillis;
+    }
+
+    public void setValidationBypassMillis(long validationBypassMillis) {
+        this.validationBypassMillis = validationBypassMillis;
+    }
+
+    public long getLeakDetectionThresholdMillis() {
+        return leakDetectionThresholdMillis;
+    }
+
+    public void setLeakDetectionThresholdMillis(long leakDetectionThresholdMillis) {
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+    }
+
+    public long getHousekeepingPeriodMillis() {
+        return housekeepingPeriodMillis;
+    }
+
+    public void setHousekeepingPeriodMillis(long housekeepingPeriodMillis) {
+        this.housekeepingPeriodMillis = housekeepingPeriodMillis;
+    }
+
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+}
@@ -0,0 +1,82 @@
+package org.revhire.config;
+
+// Settings for notification retention (see NotificationRetentionService)
+public class RetentionConfig {
+    // Read notifications older than this move to notifications_archive
+    private int archiveAfterDays = 30;
+    // Partitions (of either table) wholly older than this are dropped
+    private int dropAfterDays = 365;
+    private int batchSize = 1000;
+    // Breathing room for other writers between archive batches
+    private long batchPauseMillis = 50;
+    // A run stops archiving once it has taken this long; the next run carries on
+    private long maxRunMillis = 60_000;
+    private int monthsAhead = 3;
+    private long intervalMillis = 6 * 60 * 60 * 1000L;
+
+    // Defaults overridden by -Drevhire.retention.* where given
+    public static RetentionConfig fromSystemProperties() {
+        RetentionConfig config = new RetentionConfig();
+        config.setArchiveAfterDays(Integer.getInteger("revhire.retention.archiveAfterDays", config.archiveAfterDays));
+        config.setDropAfterDays(Integer.getInteger("revhire.retention.dropAfterDays", config.dropAfterDays));
+        config.setBatchSize(Integer.getInteger("revhire.retention.batchSize", config.batchSize));
+        config.setIntervalMillis(Long.getLong("revhire.retention.intervalMillis", config.intervalMillis));
+        return config;
+    }
+
+    public int getArchiveAfterDays() {
+        return archiveAfterDays;
+    }
+
+    public void setArchiveAfterDays(int archiveAfterDays) {
+        this.archiveAfterDays = archiveAfterDays;
+    }
+
+    public int getDropAfterDays() {
+        return dropAfterDays;
+    }
+
+    public void setDropAfterDays(int dropAfterDays) {
+        this.dropAfterDays = dropAfterDays;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchPauseMillis() {
+        return batchPauseMillis;
+    }
+
+    public void setBatchPauseMillis(long batchPauseMillis) {
+        this.batchPauseMillis = batchPauseMillis;
+    }
+
+    public long getMaxRunMillis() {
+        return maxRunMillis;
+    }
+
+    public void setMaxRunMillis(long maxRunMillis) {
+        this.maxRunMillis = maxRunMillis;
+    }
+
+    public int getMonthsAhead() {
+        return monthsAhead;
+    }
+
+    public void setMonthsAhead(int monthsAhead) {
+        this.monthsAhead = monthsAhead;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+}
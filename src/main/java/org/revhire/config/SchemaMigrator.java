@@ -0,0 +1,239 @@
+package org.revhire.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Applies the numbered scripts under db/migration in order and records each one in schema_version.
+// An applied script whose checksum no longer matches is an error: migrations are append-only.
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    static final String MIGRATION_DIR = "db/migration/";
+    private static final String INDEX_FILE = MIGRATION_DIR + "migrations.list";
+    private static final Pattern NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // MySQL errors meaning the change is already in place (duplicate column / key name / table,
+    // or dropping a key that is already gone)
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+    private static final int ER_TABLE_EXISTS = 1050;
+    private static final int ER_CANT_DROP_FIELD_OR_KEY = 1091;
+
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version ("
+            + "version INT PRIMARY KEY, "
+            + "description VARCHAR(200) NOT NULL, "
+            + "checksum CHAR(64) NOT NULL, "
+            + "execution_ms BIGINT NOT NULL, "
+            + "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)";
+
+    private final DataSource dataSource;
+    private final ClassLoader classLoader;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, SchemaMigrator.class.getClassLoader());
+    }
+
+    public SchemaMigrator(DataSource dataSource, ClassLoader classLoader) {
+        this.dataSource = dataSource;
+        this.classLoader = classLoader;
+    }
+
+    // Returns the number of migrations applied by this call
+    public int migrate() throws SQLException {
+        List<Migration> migrations = loadMigrations();
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(CREATE_VERSION_TABLE);
+            }
+            Map<Integer, String> applied = appliedChecksums(conn);
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                String recorded = applied.get(migration.version());
+                if (recorded != null) {
+                    if (!recorded.equals(migration.checksum())) {
+                        throw new SQLException("Migration V" + migration.version() + " (" + migration.description()
+                                + ") was changed after it was applied; add a new migration instead");
+                    }
+                    continue;
+                }
+                apply(conn, migration);
+                count++;
+            }
+            if (count > 0) {
+                logger.info("Applied {} schema migration(s); schema is at V{}", count,
+                        migrations.get(migrations.size() - 1).version());
+            }
+            return count;
+        }
+    }
+
+    // Creates the current schema from the single re-runnable script (db_schema.sql) and records every
+    // migration as applied without running it, for databases that cannot run the MySQL-only DDL in the
+    // migrations, such as the embedded one. Returns the number of migrations recorded by this call.
+    public int baseline(String schemaResource) throws SQLException {
+        List<Migration> migrations = loadMigrations();
+        List<String> schema = splitStatements(readResource(schemaResource));
+        try (Connection conn = dataSource.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : schema) {
+                    // The connection is already on its database
+                    String upper = sql.toUpperCase(Locale.ROOT);
+                    if (!upper.startsWith("CREATE DATABASE") && !upper.startsWith("USE ")) {
+                        stmt.execute(sql);
+                    }
+                }
+                stmt.execute(CREATE_VERSION_TABLE);
+            }
+            Map<Integer, String> applied = appliedChecksums(conn);
+
+            int count = 0;
+            for (Migration migration : migrations) {
+                if (!applied.containsKey(migration.version())) {
+                    record(conn, migration, 0);
+                    count++;
+                }
+            }
+            if (count > 0) {
+                logger.info("Created schema from {}; baselined at V{}", schemaResource,
+                        migrations.get(migrations.size() - 1).version());
+            }
+            return count;
+        }
+    }
+
+    private Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT version, checksum FROM schema_version");
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                applied.put(rs.getInt("version"), rs.getString("checksum"));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        logger.info("Applying schema migration V{}: {}", migration.version(), migration.description());
+        long start = System.currentTimeMillis();
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements()) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    if (!alreadyApplied(e)) {
+                        throw new SQLException("Migration V" + migration.version() + " failed on: " + sql, e);
+                    }
+                    logger.info("V{}: skipping statement already in place ({})", migration.version(), e.getMessage());
+                }
+            }
+        }
+        record(conn, migration, System.currentTimeMillis() - start);
+    }
+
+    private void record(Connection conn, Migration migration, long executionMillis) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO schema_version (version, description, checksum, execution_ms) VALUES (?, ?, ?, ?)")) {
+            stmt.setInt(1, migration.version());
+            stmt.setString(2, migration.description());
+            stmt.setString(3, migration.checksum());
+            stmt.setLong(4, executionMillis);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean alreadyApplied(SQLException e) {
+        int code = e.getErrorCode();
+        return code == ER_DUP_FIELDNAME || code == ER_DUP_KEYNAME || code == ER_TABLE_EXISTS
+                || code == ER_CANT_DROP_FIELD_OR_KEY;
+    }
+
+    List<Migration> loadMigrations() throws SQLException {
+        List<Migration> migrations = new ArrayList<>();
+        for (String line : readResource(INDEX_FILE).split("\\R")) {
+            String name = line.trim();
+            if (name.isEmpty() || name.startsWith("#")) {
+                continue;
+            }
+            Matcher m = NAME.matcher(name);
+            if (!m.matches()) {
+                throw new SQLException("Bad migration file name: " + name);
+            }
+            int version = Integer.parseInt(m.group(1));
+            if (!migrations.isEmpty() && version <= migrations.get(migrations.size() - 1).version()) {
+                throw new SQLException("Migrations must be listed in increasing version order: " + name);
+            }
+            String script = readResource(MIGRATION_DIR + name);
+            migrations.add(new Migration(version, m.group(2).replace('_', ' '), checksum(script),
+                    splitStatements(script)));
+        }
+        return migrations;
+    }
+
+    private String readResource(String path) throws SQLException {
+        try (InputStream in = classLoader.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new SQLException("Missing schema resource: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Could not read " + path, e);
+        }
+    }
+
+    // Line endings are normalised so a checkout on Windows does not look like an edited script
+    static String checksum(String script) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Statements end with ';' at the end of a line; "--" lines are comments
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1).trim());
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    record Migration(int version, String description, String checksum, List<String> statements) {
+    }
+}
@@ -0,0 +1,77 @@
+package org.revhire.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LRU of prepared statements for one physical connection, keyed by SQL text.
+// A statement is removed while a borrower uses it and put back when the borrower closes it,
+// so the same SQL prepared twice on one connection never shares a statement.
+class StatementCache {
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    record Key(String sql, int autoGeneratedKeys) {
+    }
+
+    private final int maxSize;
+    private final LinkedHashMap<Key, PreparedStatement> statements;
+
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    synchronized PreparedStatement take(Key key) {
+        return statements.remove(key);
+    }
+
+    // Returns the statement to the cache, closing whatever no longer fits. The close happens outside
+    // the lock: it is a network round trip and must not pin a virtual thread to its carrier.
+    void offer(Key key, PreparedStatement stmt) {
+        PreparedStatement evicted = null;
+        PreparedStatement replaced = null;
+        synchronized (this) {
+            if (maxSize <= 0) {
+                evicted = stmt;
+            } else {
+                PreparedStatement previous = statements.put(key, stmt);
+                if (previous != null && previous != stmt) {
+                    replaced = previous;
+                }
+                if (statements.size() > maxSize) {
+                    Iterator<Map.Entry<Key, PreparedStatement>> eldest = statements.entrySet().iterator();
+                    evicted = eldest.next().getValue();
+                    eldest.remove();
+                }
+            }
+        }
+        if (replaced != null) {
+            closeQuietly(replaced);
+        }
+        if (evicted != null) {
+            closeQuietly(evicted);
+        }
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    synchronized void closeAll() {
+        statements.values().forEach(StatementCache::closeQuietly);
+        statements.clear();
+    }
+
+    static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing cached statement: {}", e.getMessage());
+        }
+    }
+}
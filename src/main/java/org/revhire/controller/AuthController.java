@@ -27,9 +27,9 @@ public class AuthController {
         String password = scanner.nextLine();
 
         try {
-            User user = authService.login(email, password);
-            Session.setCurrentUser(user);
-            logger.info("Login successful! Welcome, {}", user.getName());
+            UserSession session = authService.login(email, password);
+            Session.setToken(session.getToken());
+            logger.info("Login successful! Welcome, {}", session.getUser().getName());
         } catch (SQLException e) {
             logger.error("Login failed: {}", e.getMessage());
         }
@@ -1,12 +1,22 @@
 package org.revhire.controller;
 
+import org.revhire.dao.Page;
+import org.revhire.dao.PageCursor;
 import org.revhire.model.Application;
 import org.revhire.model.Application.ApplicationStatus;
+import org.revhire.model.Experience;
 import org.revhire.model.Job;
 import org.revhire.model.Job.JobStatus;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.model.User;
 
+import org.revhire.search.ApplicantRanker;
+import org.revhire.search.ResumeQuery;
 import org.revhire.service.ApplicationService;
+import org.revhire.service.ApplicationService.RankedApplicant;
 import org.revhire.service.JobService;
+import org.revhire.service.ResumeSearchService;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -18,20 +28,29 @@ import org.slf4j.LoggerFactory;
 
 public class EmployerMenu {
     private static final Logger logger = LoggerFactory.getLogger(EmployerMenu.class);
+    private static final int PAGE_SIZE = 20;
+    private static final int SHORTLIST_SIZE = 25;
     private final Scanner scanner;
+    private User currentUser;
     private final JobService jobService = new JobService();
     private final ApplicationService applicationService = new ApplicationService();
+    private final ResumeSearchService resumeSearchService = new ResumeSearchService();
 
     public EmployerMenu(Scanner scanner) {
         this.scanner = scanner;
     }
 
     public void showMenu() {
-        while (Session.isLoggedIn()) {
-            logger.info("\n--- Employer Dashboard ({}) ---", Session.getCurrentUser().getName());
+        while (true) {
+            // Resolved once per action so a session that expires mid-prompt cannot vanish under it
+            currentUser = Session.getCurrentUser();
+            if (currentUser == null) {
+                return;
+            }
+            logger.info("\n--- Employer Dashboard ({}) ---", currentUser.getName());
             logger.info("1. Post a Job");
             logger.info("2. Manage My Jobs");
-            logger.info("3. Search Applicants (Not Implemented)");
+            logger.info("3. Search Candidates");
             logger.info("4. Change Password");
             logger.info("5. Logout");
             System.out.print("Enter choice: ");
@@ -45,7 +64,7 @@ public class EmployerMenu {
                     manageJobs();
                     break;
                 case "3":
-                    logger.info("Applicant search feature is coming soon.");
+                    searchCandidates();
                     break;
                 case "4":
                     changePassword();
@@ -53,13 +72,78 @@ public class EmployerMenu {
                 case "5":
                     Session.clear();
                     logger.info("Logged out.");
-                    break;
+                    return;
                 default:
                     logger.warn("Invalid choice.");
             }
         }
     }
 
+    private void searchCandidates() {
+        logger.info("\n--- Search Candidates (comma-separated skills, blank to skip) ---");
+        System.out.print("Must have all of: ");
+        List<String> all = splitSkills(scanner.nextLine());
+        System.out.print("Must have any of: ");
+        List<String> any = splitSkills(scanner.nextLine());
+        System.out.print("Exclude: ");
+        List<String> excluded = splitSkills(scanner.nextLine());
+        System.out.print("Keywords (experience, education, projects): ");
+        String keyword = scanner.nextLine().trim();
+        System.out.print("Minimum years of experience: ");
+        String yearsInput = scanner.nextLine().trim();
+        Double minYears = null;
+        if (!yearsInput.isEmpty()) {
+            try {
+                minYears = Double.parseDouble(yearsInput);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid number of years.");
+                return;
+            }
+        }
+
+        try {
+            List<JobSeeker> results = resumeSearchService.search(
+                    new ResumeQuery(all, any, excluded, keyword.isEmpty() ? null : keyword, minYears), PAGE_SIZE);
+            if (results.isEmpty()) {
+                logger.info("No candidates match.");
+                return;
+            }
+            List<String[]> rows = new ArrayList<>();
+            for (JobSeeker seeker : results) {
+                List<String> skills = new ArrayList<>();
+                for (Skill skill : seeker.getSkills()) {
+                    skills.add(skill.getName());
+                }
+                double years = 0;
+                for (Experience experience : seeker.getExperienceList()) {
+                    years += ApplicantRanker.estimateYears(experience.getDuration());
+                }
+                String latestRole = seeker.getExperienceList().isEmpty() ? "-"
+                        : seeker.getExperienceList().get(seeker.getExperienceList().size() - 1).getRole();
+                rows.add(new String[] {
+                        String.valueOf(seeker.getUserId()),
+                        String.format("%.1f", years),
+                        latestRole,
+                        String.join(", ", skills)
+                });
+            }
+            TableFormatter.printTable("Candidates",
+                    new String[] { "Seeker ID", "Years", "Latest Role", "Skills" }, rows);
+        } catch (SQLException e) {
+            logger.error("Error searching candidates: {}", e.getMessage());
+        }
+    }
+
+    private static List<String> splitSkills(String input) {
+        List<String> skills = new ArrayList<>();
+        for (String part : input.split(",")) {
+            if (!part.isBlank()) {
+                skills.add(part.trim());
+            }
+        }
+        return skills;
+    }
+
     private void postJob() {
         logger.info("\n--- Post a New Job ---");
         System.out.print("Job Title: ");
@@ -75,7 +159,7 @@ public class EmployerMenu {
         System.out.print("Job Type (Full-time/Part-time): ");
         String type = scanner.nextLine();
 
-        Job job = new Job(Session.getCurrentUser().getId(), title, desc, reqs, location, salary, type, 0);
+        Job job = new Job(currentUser.getId(), title, desc, reqs, location, salary, type, 0);
         System.out.print("Experience Years Required: ");
         try {
             job.setExperienceYears(Integer.parseInt(scanner.nextLine()));
@@ -93,7 +177,7 @@ public class EmployerMenu {
 
     private void manageJobs() {
         try {
-            List<Job> jobs = jobService.getJobsByEmployer(Session.getCurrentUser().getId());
+            List<Job> jobs = jobService.getJobsByEmployer(currentUser.getId());
             if (jobs.isEmpty()) {
                 logger.info("No jobs posted yet.");
                 return;
@@ -142,11 +226,12 @@ public class EmployerMenu {
         while (true) {
             logger.info("\n--- Managing Job: {} ---", job.getTitle());
             logger.info("1. View Applicants");
-            logger.info("2. Edit Job Details");
-            logger.info("3. Close Job");
-            logger.info("4. Reopen Job");
-            logger.info("5. Delete Job");
-            logger.info("6. Back");
+            logger.info("2. Ranked Shortlist");
+            logger.info("3. Edit Job Details");
+            logger.info("4. Close Job");
+            logger.info("5. Reopen Job");
+            logger.info("6. Delete Job");
+            logger.info("7. Back");
             System.out.print("Enter choice: ");
             String choice = scanner.nextLine();
 
@@ -155,23 +240,26 @@ public class EmployerMenu {
                     viewApplicants(job.getId());
                     break;
                 case "2":
-                    editJob(job);
+                    rankedApplicants(job.getId());
                     break;
                 case "3":
+                    editJob(job);
+                    break;
+                case "4":
                     jobService.closeJob(job.getId());
                     logger.info("Job closed.");
                     job.setStatus(JobStatus.CLOSED); // Update local ref
                     break;
-                case "4":
+                case "5":
                     jobService.reopenJob(job.getId());
                     logger.info("Job reopened.");
                     job.setStatus(JobStatus.OPEN);
                     break;
-                case "5":
+                case "6":
                     jobService.deleteJob(job.getId());
                     logger.info("Job deleted successfully.");
                     return;
-                case "6":
+                case "7":
                     return;
                 default:
                     logger.warn("Invalid choice.");
@@ -181,50 +269,95 @@ public class EmployerMenu {
 
     private void viewApplicants(int jobId) {
         try {
-            List<Application> apps = applicationService.getApplicationsByJob(jobId);
-            if (apps.isEmpty()) {
+            PageCursor cursor = null;
+            while (true) {
+                Page<Application> page = applicationService.getApplicationsByJob(jobId, cursor, PAGE_SIZE);
+                if (page.isEmpty()) {
+                    logger.info("No applicants found for job ID: {}", jobId);
+                    return;
+                }
+                logger.info("\n--- Applicants ---");
+                List<String[]> rows = new ArrayList<>();
+                for (Application app : page.getItems()) {
+                    rows.add(new String[] {
+                            String.valueOf(app.getId()),
+                            String.valueOf(app.getSeekerId()),
+                            app.getStatus().name(),
+                            app.getCoverLetter()
+                    });
+                }
+                TableFormatter.printTable("Applicants for Job " + jobId,
+                        new String[] { "App ID", "Seeker ID", "Status", "Cover Letter" }, rows);
+
+                System.out.print(page.hasNext()
+                        ? "Enter App ID to update status, N for next page (or 0 to go back): "
+                        : "Enter App ID to update status (or 0 to go back): ");
+                String input = scanner.nextLine();
+                if (page.hasNext() && input.equalsIgnoreCase("N")) {
+                    cursor = page.getNextCursor();
+                    continue;
+                }
+                updateStatus(input);
+                return;
+            }
+        } catch (Exception e) {
+            logger.error("Error viewing/updating applicants: {}", e.getMessage());
+        }
+    }
+
+    private void rankedApplicants(int jobId) {
+        try {
+            List<RankedApplicant> ranked = applicationService.rankApplicants(jobId, SHORTLIST_SIZE);
+            if (ranked.isEmpty()) {
                 logger.info("No applicants found for job ID: {}", jobId);
                 return;
             }
-            logger.info("\n--- Applicants ---");
             List<String[]> rows = new ArrayList<>();
-            for (Application app : apps) {
+            int rank = 1;
+            for (RankedApplicant r : ranked) {
+                ApplicantRanker.Score score = r.score();
                 rows.add(new String[] {
-                        String.valueOf(app.getId()),
-                        String.valueOf(app.getSeekerId()),
-                        app.getStatus().name(),
-                        app.getCoverLetter()
+                        String.valueOf(rank++),
+                        String.valueOf(r.application().getId()),
+                        String.valueOf(score.userId()),
+                        String.format("%.1f", score.score()),
+                        score.skillsMatched() + "/" + score.skillsRequired(),
+                        String.format("%.1f", score.years()),
+                        r.application().getStatus().name()
                 });
             }
-            TableFormatter.printTable("Applicants for Job " + jobId,
-                    new String[] { "App ID", "Seeker ID", "Status", "Cover Letter" }, rows);
+            TableFormatter.printTable("Top Applicants for Job " + jobId,
+                    new String[] { "Rank", "App ID", "Seeker ID", "Score", "Skills", "Years", "Status" }, rows);
 
             System.out.print("Enter App ID to update status (or 0 to go back): ");
-            int appId;
-            try {
-                appId = Integer.parseInt(scanner.nextLine());
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid input. Please enter a numeric App ID.");
-                return;
-            }
-            if (appId == 0)
-                return;
+            updateStatus(scanner.nextLine());
+        } catch (Exception e) {
+            logger.error("Error ranking applicants: {}", e.getMessage());
+        }
+    }
 
-            logger.info("Update status to: 1. SHORTLISTED  2. REJECTED");
-            String statusChoice = scanner.nextLine();
-            ApplicationStatus newStatus = null;
-            if ("1".equals(statusChoice))
-                newStatus = ApplicationStatus.SHORTLISTED;
-            if ("2".equals(statusChoice))
-                newStatus = ApplicationStatus.REJECTED;
-
-            if (newStatus != null) {
-                applicationService.updateApplicationStatus(appId, newStatus);
-                logger.info("Status updated.");
-            }
+    private void updateStatus(String input) throws SQLException {
+        int appId;
+        try {
+            appId = Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid input. Please enter a numeric App ID.");
+            return;
+        }
+        if (appId == 0)
+            return;
 
-        } catch (Exception e) {
-            logger.error("Error viewing/updating applicants: {}", e.getMessage());
+        logger.info("Update status to: 1. SHORTLISTED  2. REJECTED");
+        String statusChoice = scanner.nextLine();
+        ApplicationStatus newStatus = null;
+        if ("1".equals(statusChoice))
+            newStatus = ApplicationStatus.SHORTLISTED;
+        if ("2".equals(statusChoice))
+            newStatus = ApplicationStatus.REJECTED;
+
+        if (newStatus != null) {
+            applicationService.updateApplicationStatus(appId, newStatus);
+            logger.info("Status updated.");
         }
     }
 
@@ -280,10 +413,10 @@ public class EmployerMenu {
         }
 
         try {
-            boolean success = new org.revhire.service.AuthService().updatePassword(Session.getCurrentUser().getEmail(),
-                    currentPass, newPass);
+            boolean success = new org.revhire.service.AuthService().updatePassword(currentUser.getEmail(),
+                    currentPass, newPass, Session.getToken());
             if (success) {
-                logger.info("Password changed successfully.");
+                logger.info("Password changed successfully. Any other sessions have been logged out.");
             } else {
                 logger.warn("Password change failed. Incorrect current password.");
             }
@@ -1,7 +1,12 @@
 package org.revhire.controller;
 
+import org.revhire.dao.PageCursor;
 import org.revhire.model.*;
+import org.revhire.search.FacetCounts;
+import org.revhire.search.FacetCounts.Facet;
+import org.revhire.search.FacetedPage;
 import org.revhire.service.ApplicationService;
+import org.revhire.service.JobAlertService;
 import org.revhire.service.JobService;
 import org.revhire.service.NotificationService;
 
@@ -17,10 +22,16 @@ import java.util.ArrayList;
 
 public class JobSeekerMenu {
     private static final Logger logger = LoggerFactory.getLogger(JobSeekerMenu.class);
+    // Keyword searches show only the most relevant matches
+    private static final int TOP_RESULTS = 20;
+    private static final int PAGE_SIZE = 20;
+    private static final int FACET_BUCKETS = 5;
     private final Scanner scanner;
+    private User currentUser;
     private final JobService jobService = new JobService();
     private final ApplicationService applicationService = new ApplicationService();
     private final NotificationService notificationService = new NotificationService();
+    private final JobAlertService jobAlertService = new JobAlertService();
     private final AuthService authService = new AuthService();
 
     public JobSeekerMenu(Scanner scanner) {
@@ -28,15 +39,21 @@ public class JobSeekerMenu {
     }
 
     public void showMenu() {
-        while (Session.isLoggedIn()) {
-            logger.info("\n--- Job Seeker Dashboard ({}) ---", Session.getCurrentUser().getName());
+        while (true) {
+            // Resolved once per action so a session that expires mid-prompt cannot vanish under it
+            currentUser = Session.getCurrentUser();
+            if (currentUser == null) {
+                return;
+            }
+            logger.info("\n--- Job Seeker Dashboard ({}) ---", currentUser.getName());
             logger.info("1. Search Jobs");
             logger.info("2. My Applications");
             logger.info("3. My Profile");
             logger.info("4. Edit Profile");
-            logger.info("5. Notifications");
-            logger.info("6. Change Password");
-            logger.info("7. Logout");
+            logger.info("5. Notifications{}", unreadLabel());
+            logger.info("6. Job Alerts");
+            logger.info("7. Change Password");
+            logger.info("8. Logout");
             System.out.print("Enter choice: ");
 
             String choice = scanner.nextLine();
@@ -57,12 +74,15 @@ public class JobSeekerMenu {
                     checkNotifications();
                     break;
                 case "6":
-                    changePassword();
+                    manageJobAlerts();
                     break;
                 case "7":
+                    changePassword();
+                    break;
+                case "8":
                     Session.clear();
                     logger.info("Logged out.");
-                    break;
+                    return;
                 default:
                     logger.warn("Invalid choice.");
             }
@@ -71,9 +91,9 @@ public class JobSeekerMenu {
 
     private void viewProfile() {
         try {
-            Optional<JobSeeker> profileOpt = authService.getJobSeekerProfile(Session.getCurrentUser().getId());
+            Optional<JobSeeker> profileOpt = authService.getJobSeekerProfile(currentUser.getId());
             if (profileOpt.isEmpty()) {
-                logger.warn("Profile not found for user ID: {}", Session.getCurrentUser().getId());
+                logger.warn("Profile not found for user ID: {}", currentUser.getId());
                 return;
             }
             JobSeeker profile = profileOpt.get();
@@ -101,6 +121,26 @@ public class JobSeekerMenu {
         }
     }
 
+    // One "refine by" line per facet with the biggest buckets of the whole match set
+    private void printFacets(FacetCounts facets) {
+        logger.info("{} matching jobs", facets.getTotalHits());
+        printFacet("Location", facets.top(Facet.LOCATION, FACET_BUCKETS));
+        printFacet("Type", facets.top(Facet.JOB_TYPE, FACET_BUCKETS));
+        printFacet("Company", facets.top(Facet.COMPANY, FACET_BUCKETS));
+        printFacet("Experience", facets.get(Facet.EXPERIENCE));
+    }
+
+    private void printFacet(String name, List<FacetCounts.Bucket> buckets) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+        StringBuilder line = new StringBuilder("  " + name + ":");
+        for (FacetCounts.Bucket bucket : buckets) {
+            line.append(' ').append(bucket.label()).append(" (").append(bucket.count()).append(')');
+        }
+        logger.info(line.toString());
+    }
+
     private void searchJobs() {
         logger.info("\n--- Search Jobs ---");
         System.out.print("Keyword (title/desc, enter to skip): ");
@@ -116,68 +156,111 @@ public class JobSeekerMenu {
         Integer experience = expStr.isEmpty() ? null : Integer.parseInt(expStr);
 
         try {
-            List<Job> jobs = jobService.searchJobs(keyword.isEmpty() ? null : keyword,
-                    location.isEmpty() ? null : location,
-                    type.isEmpty() ? null : type,
-                    experience,
-                    company.isEmpty() ? null : company);
-            if (jobs.isEmpty()) {
-                logger.info("No jobs found matching the criteria.");
-                return;
-            }
-
-            List<String[]> rows = new ArrayList<>();
-            for (Job job : jobs) {
-                rows.add(new String[] {
-                        String.valueOf(job.getId()),
-                        job.getTitle(),
-                        job.getLocation(),
-                        job.getJobType(),
-                        job.getExperienceYears() + " yrs",
-                        job.getSalaryRange()
-                });
-            }
-            TableFormatter.printTable("Available Jobs",
-                    new String[] { "ID", "Title", "Location", "Type", "Exp", "Salary" }, rows);
+            PageCursor cursor = null;
+            boolean fuzzy = false;
+            while (true) {
+                FacetedPage<Job> page;
+                if (keyword.isEmpty()) {
+                    page = jobService.searchJobs(null,
+                            location.isEmpty() ? null : location,
+                            type.isEmpty() ? null : type,
+                            experience,
+                            company.isEmpty() ? null : company,
+                            cursor, PAGE_SIZE);
+                } else {
+                    page = jobService.searchJobsRankedFaceted(keyword,
+                            location.isEmpty() ? null : location,
+                            type.isEmpty() ? null : type,
+                            experience,
+                            company.isEmpty() ? null : company,
+                            TOP_RESULTS);
+                }
+                List<Job> jobs = page.getItems();
+                boolean hasNext = page.hasNext();
+                cursor = page.getNextCursor();
+                if (jobs.isEmpty() && !fuzzy) {
+                    // Nothing matched as typed; retry allowing for typos before giving up
+                    page = jobService.searchJobsFuzzy(keyword.isEmpty() ? null : keyword,
+                            location.isEmpty() ? null : location,
+                            type.isEmpty() ? null : type,
+                            experience,
+                            company.isEmpty() ? null : company,
+                            TOP_RESULTS);
+                    jobs = page.getItems();
+                    hasNext = false;
+                    fuzzy = true;
+                    if (!jobs.isEmpty()) {
+                        logger.info("No exact matches. Showing close matches instead.");
+                    }
+                }
+                if (jobs.isEmpty()) {
+                    logger.info("No jobs found matching the criteria.");
+                    return;
+                }
 
-            System.out.print("Enter Job ID to view details (or 0 to go back): ");
-            int jobId;
-            try {
-                jobId = Integer.parseInt(scanner.nextLine());
-            } catch (NumberFormatException e) {
-                logger.warn("Invalid input. Please enter a numeric Job ID.");
-                return;
-            }
-            if (jobId == 0)
-                return;
+                List<String[]> rows = new ArrayList<>();
+                for (Job job : jobs) {
+                    rows.add(new String[] {
+                            String.valueOf(job.getId()),
+                            job.getTitle(),
+                            job.getLocation(),
+                            job.getJobType(),
+                            job.getExperienceYears() + " yrs",
+                            job.getSalaryRange()
+                    });
+                }
+                TableFormatter.printTable(keyword.isEmpty() ? "Available Jobs" : "Top Matches for '" + keyword + "'",
+                        new String[] { "ID", "Title", "Location", "Type", "Exp", "Salary" }, rows);
+                printFacets(page.getFacets());
+
+                System.out.print(hasNext
+                        ? "Enter Job ID to view details, N for next page (or 0 to go back): "
+                        : "Enter Job ID to view details (or 0 to go back): ");
+                String input = scanner.nextLine();
+                if (hasNext && input.equalsIgnoreCase("N")) {
+                    continue;
+                }
+                int jobId;
+                try {
+                    jobId = Integer.parseInt(input);
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid input. Please enter a numeric Job ID.");
+                    return;
+                }
+                if (jobId == 0)
+                    return;
 
-            Job selected = jobs.stream().filter(j -> j.getId() == jobId).findFirst().orElse(null);
-            if (selected == null) {
-                logger.warn("Invalid ID.");
+                Job selected = jobs.stream().filter(j -> j.getId() == jobId).findFirst().orElse(null);
+                if (selected == null) {
+                    logger.warn("Invalid ID.");
+                    return;
+                }
+                showJobAndApply(selected);
                 return;
             }
-
-            logger.info("Title: {}", selected.getTitle());
-            logger.info("Description: {}", selected.getDescription());
-            logger.info("Requirements: {}", selected.getRequirements());
-            logger.info("Salary: {}", selected.getSalaryRange());
-
-            System.out.print("Do you want to apply? (y/n): ");
-            if (scanner.nextLine().equalsIgnoreCase("y")) {
-                System.out.print("Cover Letter (Optional): ");
-                String cover = scanner.nextLine();
-                applicationService.applyForJob(selected.getId(), Session.getCurrentUser().getId(), cover);
-                logger.info("Applied successfully for job ID: {}", selected.getId());
-            }
-
         } catch (Exception e) {
             logger.error("Error: {}", e.getMessage());
         }
     }
 
+    private void showJobAndApply(Job selected) throws SQLException {
+        logger.info("Title: {}", selected.getTitle());
+        logger.info("Description: {}", selected.getDescription());
+        logger.info("Requirements: {}", selected.getRequirements());
+        logger.info("Salary: {}", selected.getSalaryRange());
+
+        System.out.print("Do you want to apply? (y/n): ");
+        if (scanner.nextLine().equalsIgnoreCase("y")) {
+            System.out.print("Cover Letter (Optional): ");
+            String cover = scanner.nextLine();
+            applicationService.applyForJob(selected.getId(), currentUser.getId(), cover);
+            logger.info("Applied successfully for job ID: {}", selected.getId());
+        }
+    }
+
     private void myApplications() {
         try {
-            List<Application> apps = applicationService.getApplicationsBySeeker(Session.getCurrentUser().getId());
+            List<Application> apps = applicationService.getApplicationsBySeeker(currentUser.getId());
             if (apps.isEmpty()) {
                 logger.info("No applications found for your account.");
                 return;
@@ -215,26 +298,103 @@ public class JobSeekerMenu {
         }
     }
 
+    private String unreadLabel() {
+        try {
+            int unread = notificationService.getUnreadCount(currentUser.getId());
+            return unread > 0 ? " (" + unread + " unread)" : "";
+        } catch (SQLException e) {
+            return "";
+        }
+    }
+
     private void checkNotifications() {
         try {
-            List<Notification> notifs = notificationService.getUnreadNotifications(Session.getCurrentUser().getId());
+            List<Notification> notifs = notificationService.getUnreadNotifications(currentUser.getId());
             if (notifs.isEmpty()) {
                 logger.info("No new notifications.");
                 return;
             }
             logger.info("\n--- New Notifications ---");
+            int newestId = 0;
             for (Notification n : notifs) {
                 logger.info("- {}", n.getMessage());
-                notificationService.markAsRead(n.getId());
+                newestId = Math.max(newestId, n.getId());
             }
+            notificationService.markAllRead(currentUser.getId(), newestId);
         } catch (SQLException e) {
             logger.error("Error checking notifications: {}", e.getMessage());
         }
     }
 
+    private void manageJobAlerts() {
+        try {
+            List<SavedSearch> searches = jobAlertService.getSavedSearches(currentUser.getId());
+            logger.info("\n--- Job Alerts ---");
+            if (searches.isEmpty()) {
+                logger.info("No saved searches. You will be notified when a new job matches one.");
+            }
+            for (SavedSearch s : searches) {
+                logger.info("[{}] {}", s.getId(), s);
+            }
+            logger.info("1. Add alert  2. Delete alert  0. Back");
+            System.out.print("Enter choice: ");
+            String choice = scanner.nextLine();
+            if (choice.equals("1")) {
+                addJobAlert();
+            } else if (choice.equals("2")) {
+                System.out.print("Enter alert ID to delete: ");
+                int id;
+                try {
+                    id = Integer.parseInt(scanner.nextLine());
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid input. Please enter a numeric alert ID.");
+                    return;
+                }
+                if (jobAlertService.deleteSavedSearch(currentUser.getId(), id)) {
+                    logger.info("Alert deleted.");
+                } else {
+                    logger.warn("No such alert.");
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error managing job alerts: {}", e.getMessage());
+        }
+    }
+
+    private void addJobAlert() throws SQLException {
+        logger.info("Leave a field blank to match any value.");
+        System.out.print("Keywords: ");
+        String keyword = scanner.nextLine().trim();
+        System.out.print("Location: ");
+        String location = scanner.nextLine().trim();
+        System.out.print("Job Type: ");
+        String jobType = scanner.nextLine().trim();
+        System.out.print("Company: ");
+        String company = scanner.nextLine().trim();
+        System.out.print("Max Experience Required (years): ");
+        String expInput = scanner.nextLine().trim();
+        Integer maxExp = null;
+        if (!expInput.isEmpty()) {
+            try {
+                maxExp = Integer.parseInt(expInput);
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid experience value.");
+                return;
+            }
+        }
+        SavedSearch search = new SavedSearch(currentUser.getId(), blankToNull(keyword), blankToNull(location),
+                blankToNull(jobType), maxExp, blankToNull(company));
+        SavedSearch saved = jobAlertService.saveSearch(search);
+        logger.info("Alert saved (ID {}).", saved.getId());
+    }
+
+    private static String blankToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
     private void editProfile() {
         try {
-            Optional<JobSeeker> profileOpt = authService.getJobSeekerProfile(Session.getCurrentUser().getId());
+            Optional<JobSeeker> profileOpt = authService.getJobSeekerProfile(currentUser.getId());
             if (profileOpt.isEmpty()) {
                 logger.warn("Profile not found.");
                 return;
@@ -342,9 +502,10 @@ public class JobSeekerMenu {
         }
 
         try {
-            boolean success = authService.updatePassword(Session.getCurrentUser().getEmail(), currentPass, newPass);
+            boolean success = authService.updatePassword(currentUser.getEmail(), currentPass, newPass,
+                    Session.getToken());
             if (success) {
-                logger.info("Password changed successfully.");
+                logger.info("Password changed successfully. Any other sessions have been logged out.");
             } else {
                 logger.warn("Password change failed. Incorrect current password.");
             }
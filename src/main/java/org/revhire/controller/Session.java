@@ -1,23 +1,32 @@
 package org.revhire.controller;
 
 import org.revhire.model.User;
+import org.revhire.model.UserSession;
+import org.revhire.service.SessionRegistry;
 
+// The console's handle on its login. Only the session token is kept here; the user is resolved
+// from the shared SessionRegistry on every access, so an idle-expired session logs the console out.
 public class Session {
-    private static User currentUser;
+    private static volatile String token;
 
-    public static void setCurrentUser(User user) {
-        currentUser = user;
+    public static void setToken(String sessionToken) {
+        token = sessionToken;
+    }
+
+    public static String getToken() {
+        return token;
     }
 
     public static User getCurrentUser() {
-        return currentUser;
+        return SessionRegistry.getShared().resolve(token).map(UserSession::getUser).orElse(null);
     }
 
     public static void clear() {
-        currentUser = null;
+        SessionRegistry.getShared().invalidate(token);
+        token = null;
     }
 
     public static boolean isLoggedIn() {
-        return currentUser != null;
+        return getCurrentUser() != null;
     }
 }
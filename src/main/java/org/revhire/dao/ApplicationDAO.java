@@ -67,6 +67,50 @@ public class ApplicationDAO {
         return apps;
     }
 
+    // Newest applications first, one page at a time
+    public Page<Application> getApplicationsBySeeker(int seekerId, PageCursor after, int pageSize)
+            throws SQLException {
+        return fetchPage("seeker_id", seekerId, after, pageSize);
+    }
+
+    public Page<Application> getApplicationsByJob(int jobId, PageCursor after, int pageSize) throws SQLException {
+        return fetchPage("job_id", jobId, after, pageSize);
+    }
+
+    // Keyset page over (applied_at DESC, id DESC) filtered on one owner column; reads one extra row
+    // to learn whether another page exists
+    private Page<Application> fetchPage(String ownerColumn, int ownerId, PageCursor after, int pageSize)
+            throws SQLException {
+        String query = "SELECT * FROM applications WHERE " + ownerColumn + " = ?"
+                + (after != null ? " AND (applied_at < ? OR (applied_at = ? AND id < ?))" : "")
+                + " ORDER BY applied_at DESC, id DESC LIMIT ?";
+        List<Application> apps = new ArrayList<>();
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            int paramIndex = 1;
+            stmt.setInt(paramIndex++, ownerId);
+            if (after != null) {
+                stmt.setTimestamp(paramIndex++, after.getTimestamp());
+                stmt.setTimestamp(paramIndex++, after.getTimestamp());
+                stmt.setInt(paramIndex++, after.getId());
+            }
+            stmt.setInt(paramIndex, pageSize + 1);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    apps.add(mapResultSetToApplication(rs));
+                }
+            }
+        }
+        PageCursor next = null;
+        if (apps.size() > pageSize) {
+            apps.remove(pageSize);
+            Application last = apps.get(pageSize - 1);
+            next = new PageCursor(last.getAppliedAt(), last.getId());
+        }
+        return new Page<>(apps, next);
+    }
+
     public void updateStatus(int applicationId, ApplicationStatus status) throws SQLException {
         String query = "UPDATE applications SET status = ? WHERE id = ?";
         try (Connection conn = getConnection();
@@ -110,7 +154,8 @@ public class ApplicationDAO {
         return Optional.empty();
     }
 
-    private Application mapResultSetToApplication(ResultSet rs) throws SQLException {
+    // Package-private so the JMH benchmarks under src/jmh/java can map rows directly
+    static Application mapResultSetToApplication(ResultSet rs) throws SQLException {
         Application app = new Application();
         app.setId(rs.getInt("id"));
         app.setJobId(rs.getInt("job_id"));
@@ -121,11 +166,13 @@ public class ApplicationDAO {
         return app;
     }
 
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
     private Connection getConnection() throws SQLException {
         try {
             return DBConnection.getInstance();
-        } catch (Exception e) {
-            throw new SQLException(e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
         }
     }
 }
@@ -66,11 +66,13 @@ public class EmployerDAO {
         return Optional.empty();
     }
 
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
     private Connection getConnection() throws SQLException {
         try {
             return DBConnection.getInstance();
-        } catch (Exception e) {
-            throw new SQLException(e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
         }
     }
 }
@@ -3,6 +3,7 @@ package org.revhire.dao;
 import org.revhire.config.DBConnection;
 import org.revhire.model.Job;
 import org.revhire.model.Job.JobStatus;
+import org.revhire.util.BoundedCache;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -14,10 +15,23 @@ import org.slf4j.LoggerFactory;
 public class JobDAO {
     private static final Logger logger = LoggerFactory.getLogger(JobDAO.class);
 
+    // Jobs rarely change after posting; shared by every JobDAO so writes through any instance invalidate it
+    private static final BoundedCache<Integer, Job> SHARED_JOB_CACHE = new BoundedCache<>(10_000, 10 * 60 * 1000L);
+
+    private final BoundedCache<Integer, Job> jobCache;
+
+    public JobDAO() {
+        this(SHARED_JOB_CACHE);
+    }
+
+    public JobDAO(BoundedCache<Integer, Job> jobCache) {
+        this.jobCache = jobCache;
+    }
+
     public Job createJob(Job job) throws SQLException {
         String query = "INSERT INTO jobs (employer_id, title, description, requirements, location, salary_range, job_type, experience_years, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setInt(1, job.getEmployerId());
             stmt.setString(2, job.getTitle());
@@ -58,59 +72,127 @@ public class JobDAO {
         return jobs;
     }
 
+    // Newest jobs first, one page at a time. Pass the previous page's cursor (or null for the first page).
+    public Page<Job> getJobsByEmployer(int employerId, PageCursor after, int pageSize) throws SQLException {
+        StringBuilder query = new StringBuilder("SELECT * FROM jobs j WHERE j.employer_id = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(employerId);
+        appendSeek(query, params, after);
+        return fetchJobPage(query, params, pageSize);
+    }
+
     public List<Job> searchJobs(String keyword, String location, String jobType, Integer experience, String company)
             throws SQLException {
         List<Job> jobs = new ArrayList<>();
         StringBuilder queryBuilder = new StringBuilder(
                 "SELECT j.* FROM jobs j JOIN employers e ON j.employer_id = e.user_id WHERE j.status = 'OPEN'");
+        List<Object> params = new ArrayList<>();
+        appendSearchFilters(queryBuilder, params, keyword, location, jobType, experience, company);
 
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(queryBuilder.toString())) {
+            bind(stmt, params);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    jobs.add(mapResultSetToJob(rs));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    // Paged variant of searchJobs, ordered by (posted_at DESC, id DESC) and seeking past the cursor
+    public Page<Job> searchJobs(String keyword, String location, String jobType, Integer experience, String company,
+            PageCursor after, int pageSize) throws SQLException {
+        StringBuilder query = new StringBuilder(
+                "SELECT j.* FROM jobs j JOIN employers e ON j.employer_id = e.user_id WHERE j.status = 'OPEN'");
+        List<Object> params = new ArrayList<>();
+        appendSearchFilters(query, params, keyword, location, jobType, experience, company);
+        appendSeek(query, params, after);
+        return fetchJobPage(query, params, pageSize);
+    }
+
+    private void appendSearchFilters(StringBuilder query, List<Object> params, String keyword, String location,
+            String jobType, Integer experience, String company) {
         if (keyword != null && !keyword.isEmpty()) {
-            queryBuilder.append(" AND (j.title LIKE ? OR j.description LIKE ?)");
+            query.append(" AND (j.title LIKE ? OR j.description LIKE ?)");
+            params.add("%" + keyword + "%");
+            params.add("%" + keyword + "%");
         }
         if (location != null && !location.isEmpty()) {
-            queryBuilder.append(" AND j.location LIKE ?");
+            query.append(" AND j.location LIKE ?");
+            params.add("%" + location + "%");
         }
         if (jobType != null && !jobType.isEmpty()) {
-            queryBuilder.append(" AND j.job_type LIKE ?");
+            query.append(" AND j.job_type LIKE ?");
+            params.add("%" + jobType + "%");
         }
         if (experience != null) {
-            queryBuilder.append(" AND j.experience_years <= ?");
+            query.append(" AND j.experience_years <= ?");
+            params.add(experience);
         }
         if (company != null && !company.isEmpty()) {
-            queryBuilder.append(" AND e.company_name LIKE ?");
+            query.append(" AND e.company_name LIKE ?");
+            params.add("%" + company + "%");
         }
+    }
 
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(queryBuilder.toString())) {
+    // Seek predicate for (posted_at DESC, id DESC); written out rather than as a row comparison
+    // so MySQL can range-scan an index on (posted_at, id)
+    private void appendSeek(StringBuilder query, List<Object> params, PageCursor after) {
+        if (after != null) {
+            query.append(" AND (j.posted_at < ? OR (j.posted_at = ? AND j.id < ?))");
+            params.add(after.getTimestamp());
+            params.add(after.getTimestamp());
+            params.add(after.getId());
+        }
+    }
 
-            int paramIndex = 1;
-            if (keyword != null && !keyword.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + keyword + "%");
-                stmt.setString(paramIndex++, "%" + keyword + "%");
-            }
-            if (location != null && !location.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + location + "%");
-            }
-            if (jobType != null && !jobType.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + jobType + "%");
-            }
-            if (experience != null) {
-                stmt.setInt(paramIndex++, experience);
-            }
-            if (company != null && !company.isEmpty()) {
-                stmt.setString(paramIndex++, "%" + company + "%");
-            }
+    // Reads one extra row to learn whether another page exists
+    private Page<Job> fetchJobPage(StringBuilder query, List<Object> params, int pageSize) throws SQLException {
+        query.append(" ORDER BY j.posted_at DESC, j.id DESC LIMIT ?");
+        params.add(pageSize + 1);
 
+        List<Job> jobs = new ArrayList<>();
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            bind(stmt, params);
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     jobs.add(mapResultSetToJob(rs));
                 }
             }
         }
-        return jobs;
+        PageCursor next = null;
+        if (jobs.size() > pageSize) {
+            jobs.remove(pageSize);
+            Job last = jobs.get(pageSize - 1);
+            next = new PageCursor(last.getPostedAt(), last.getId());
+        }
+        return new Page<>(jobs, next);
     }
 
+    private void bind(PreparedStatement stmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            Object param = params.get(i);
+            if (param instanceof Integer value) {
+                stmt.setInt(i + 1, value);
+            } else if (param instanceof Timestamp value) {
+                stmt.setTimestamp(i + 1, value);
+            } else {
+                stmt.setString(i + 1, (String) param);
+            }
+        }
+    }
+
+    // Served from the job cache when possible; callers get their own copy either way
     public Optional<Job> getJobById(int id) throws SQLException {
+        Job cached = jobCache.get(id);
+        if (cached != null) {
+            return Optional.of(new Job(cached));
+        }
+
+        long stamp = jobCache.stamp(id);
         String query = "SELECT * FROM jobs WHERE id = ?";
         try (Connection conn = getConnection();
                 PreparedStatement stmt = conn.prepareStatement(query)) {
@@ -118,14 +200,68 @@ public class JobDAO {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToJob(rs));
+                    Job job = mapResultSetToJob(rs);
+                    jobCache.put(id, new Job(job), stamp);
+                    return Optional.of(job);
                 }
             }
         }
         return Optional.empty();
     }
 
-    private Job mapResultSetToJob(ResultSet rs) throws SQLException {
+    public BoundedCache<Integer, Job> getJobCache() {
+        return jobCache;
+    }
+
+    // Every job with its company name, for building the in-memory search index
+    public List<Job> getAllJobs() throws SQLException {
+        List<Job> jobs = new ArrayList<>();
+        String query = "SELECT j.*, e.company_name FROM jobs j LEFT JOIN employers e ON j.employer_id = e.user_id";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Job job = mapResultSetToJob(rs);
+                job.setCompanyName(rs.getString("company_name"));
+                jobs.add(job);
+            }
+        }
+        return jobs;
+    }
+
+    // Loads the given jobs (with company name) in one query; order of the result is unspecified
+    public List<Job> getJobsByIds(List<Integer> ids) throws SQLException {
+        List<Job> jobs = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return jobs;
+        }
+        // Round the IN list up to a fixed bucket size so the statement cache sees few distinct SQL strings
+        int slots = Integer.highestOneBit(Math.max(ids.size() - 1, 4)) << 1;
+        StringBuilder query = new StringBuilder(
+                "SELECT j.*, e.company_name FROM jobs j LEFT JOIN employers e ON j.employer_id = e.user_id WHERE j.id IN (");
+        for (int i = 0; i < slots; i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(")");
+
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            for (int i = 0; i < slots; i++) {
+                stmt.setInt(i + 1, ids.get(Math.min(i, ids.size() - 1)));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Job job = mapResultSetToJob(rs);
+                    job.setCompanyName(rs.getString("company_name"));
+                    jobs.add(job);
+                }
+            }
+        }
+        return jobs;
+    }
+
+    // Package-private so the JMH benchmarks under src/jmh/java can map rows directly
+    static Job mapResultSetToJob(ResultSet rs) throws SQLException {
         Job job = new Job();
         job.setId(rs.getInt("id"));
         job.setEmployerId(rs.getInt("employer_id"));
@@ -143,8 +279,8 @@ public class JobDAO {
 
     public void updateJob(Job job) throws SQLException {
         String query = "UPDATE jobs SET title = ?, description = ?, requirements = ?, location = ?, salary_range = ?, job_type = ?, experience_years = ? WHERE id = ?";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
             stmt.setString(1, job.getTitle());
             stmt.setString(2, job.getDescription());
             stmt.setString(3, job.getRequirements());
@@ -154,37 +290,42 @@ public class JobDAO {
             stmt.setInt(7, job.getExperienceYears());
             stmt.setInt(8, job.getId());
             stmt.executeUpdate();
+            jobCache.invalidate(job.getId());
             logger.info("Updated job details for ID: {}", job.getId());
         }
     }
 
     public void updateStatus(int jobId, JobStatus status) throws SQLException {
         String query = "UPDATE jobs SET status = ? WHERE id = ?";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setString(1, status.name());
             stmt.setInt(2, jobId);
             stmt.executeUpdate();
+            jobCache.invalidate(jobId);
             logger.info("Updated status for job ID {} to {}", jobId, status);
         }
     }
 
     public void deleteJob(int jobId) throws SQLException {
         String query = "DELETE FROM jobs WHERE id = ?";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setInt(1, jobId);
             stmt.executeUpdate();
+            jobCache.invalidate(jobId);
         }
     }
 
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
     private Connection getConnection() throws SQLException {
         try {
             return DBConnection.getInstance();
-        } catch (Exception e) {
-            throw new SQLException(e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
         }
     }
 }
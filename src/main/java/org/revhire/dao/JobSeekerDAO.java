@@ -2,10 +2,21 @@ package org.revhire.dao;
 
 import org.revhire.config.DBConnection;
 import org.revhire.model.*;
+import org.revhire.search.ResumeIndex;
 
 import java.sql.*;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +24,41 @@ import org.slf4j.LoggerFactory;
 public class JobSeekerDAO {
     private static final Logger logger = LoggerFactory.getLogger(JobSeekerDAO.class);
 
+    // Section discriminators in the profile UNION query; the base row must sort first
+    static final int SECTION_BASE = 0;
+    static final int SECTION_OBJECTIVE = 1;
+    static final int SECTION_EDUCATION = 2;
+    static final int SECTION_EXPERIENCE = 3;
+    static final int SECTION_SKILL = 4;
+    static final int SECTION_PROJECT = 5;
+    private static final int SECTION_COUNT = 6;
+
+    // Largest number of profiles loaded per query
+    private static final int LOAD_CHUNK = 256;
+
+    // Rows per executeBatch; with rewriteBatchedStatements each batch of inserts is one multi-row INSERT
+    public static final int DEFAULT_BATCH_SIZE = Integer.getInteger("revhire.jdbc.batchSize", 500);
+
+    private final int batchSize;
+    // Kept current after every committed profile write; null to skip indexing
+    private final ResumeIndex resumeIndex;
+
+    public JobSeekerDAO() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public JobSeekerDAO(int batchSize) {
+        this(batchSize, ResumeIndex.getShared());
+    }
+
+    public JobSeekerDAO(int batchSize, ResumeIndex resumeIndex) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.resumeIndex = resumeIndex;
+    }
+
     public void createProfile(JobSeeker profile) throws SQLException {
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
@@ -26,13 +72,12 @@ public class JobSeekerDAO {
                 }
 
                 // 2. Insert Resume Parts
-                insertObjectives(conn, profile);
-                insertEducation(conn, profile);
-                insertExperience(conn, profile);
-                insertSkills(conn, profile);
-                insertProjects(conn, profile);
+                for (ResumeSection section : ResumeSection.values()) {
+                    insertSection(conn, profile.getUserId(), section, section.entries(profile));
+                }
 
                 conn.commit();
+                indexProfile(profile);
             } catch (SQLException e) {
                 conn.rollback();
                 throw e;
@@ -42,33 +87,42 @@ public class JobSeekerDAO {
         }
     }
 
-    // Simplification: For update, we delete existing and re-insert for lists.
+    // Writes only what changed: the stored aggregate is read under a row lock on job_seekers, each
+    // resume section is diffed against the incoming lists and the result applied as batched statements.
     public void updateProfile(JobSeeker profile) throws SQLException {
+        int userId = profile.getUserId();
         try (Connection conn = getConnection()) {
             conn.setAutoCommit(false);
             try {
                 try (PreparedStatement stmt = conn
-                        .prepareStatement("UPDATE job_seekers SET phone = ? WHERE user_id = ?")) {
-                    stmt.setString(1, profile.getPhone());
-                    stmt.setInt(2, profile.getUserId());
-                    stmt.executeUpdate();
+                        .prepareStatement("SELECT phone FROM job_seekers WHERE user_id = ? FOR UPDATE")) {
+                    stmt.setInt(1, userId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next() || !Objects.equals(rs.getString("phone"), profile.getPhone())) {
+                            updatePhone(conn, profile);
+                        }
+                    }
                 }
 
-                // Clear existing
-                deleteTables(conn, profile.getUserId());
+                Map<ResumeSection, List<ResumeSection.Entry>> stored = new EnumMap<>(ResumeSection.class);
+                for (SectionRow row : loadSectionRows(conn, List.of(userId))) {
+                    if (row.section() != SECTION_BASE) {
+                        ResumeSection section = ResumeSection.forCode(row.section());
+                        stored.computeIfAbsent(section, k -> new ArrayList<>()).add(section.entry(row));
+                    }
+                }
 
-                // Re-insert
-                insertObjectives(conn, profile);
-                insertEducation(conn, profile);
-                insertExperience(conn, profile);
-                insertSkills(conn, profile);
-                insertProjects(conn, profile);
+                int written = 0;
+                for (ResumeSection section : ResumeSection.values()) {
+                    written += applyDiff(conn, userId, section, stored.getOrDefault(section, List.of()),
+                            section.entries(profile));
+                }
 
                 conn.commit();
-                logger.info("Successfully updated profile for user ID: {}", profile.getUserId());
+                indexProfile(profile);
+                logger.info("Successfully updated profile for user ID: {} ({} resume rows written)", userId, written);
             } catch (SQLException e) {
-                logger.error("Update failed, rolling back for user ID: {}. Error: {}", profile.getUserId(),
-                        e.getMessage());
+                logger.error("Update failed, rolling back for user ID: {}. Error: {}", userId, e.getMessage());
                 conn.rollback();
                 throw e;
             } finally {
@@ -78,184 +132,299 @@ public class JobSeekerDAO {
     }
 
     public Optional<JobSeeker> getProfileByUserId(int userId) throws SQLException {
-        JobSeeker profile = null;
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement("SELECT * FROM job_seekers WHERE user_id = ?")) {
+        return Optional.ofNullable(getProfilesByUserIds(List.of(userId)).get(userId));
+    }
 
-            stmt.setInt(1, userId);
+    // Loads whole profiles (base row plus every resume section) with one query per LOAD_CHUNK ids.
+    // Users without a job_seekers row are absent from the result.
+    public Map<Integer, JobSeeker> getProfilesByUserIds(Collection<Integer> userIds) throws SQLException {
+        Map<Integer, JobSeeker> profiles = new LinkedHashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        if (ids.isEmpty()) {
+            return profiles;
+        }
+        try (Connection conn = getConnection()) {
+            for (int from = 0; from < ids.size(); from += LOAD_CHUNK) {
+                List<Integer> chunk = ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK));
+                assemble(loadSectionRows(conn, chunk), profiles);
+            }
+        }
+        return profiles;
+    }
+
+    // Profiles of a job's active applicants with only what ApplicantRanker reads (skills, experience,
+    // education). Applicants are picked by a subquery on applications rather than bound as ids, so
+    // this is one query however many applied.
+    public Map<Integer, JobSeeker> getRankingProfilesByJob(int jobId) throws SQLException {
+        String applicants = "(SELECT seeker_id FROM applications WHERE job_id = ? AND status <> 'WITHDRAWN')";
+        String query = "SELECT " + SECTION_BASE + " AS section, user_id, 0 AS id, phone AS s1, NULL AS s2, "
+                + "NULL AS s3, NULL AS s4, NULL AS n1 FROM job_seekers WHERE user_id IN " + applicants
+                + " UNION ALL SELECT " + SECTION_EDUCATION + ", user_id, id, degree, NULL, NULL, NULL, NULL "
+                + "FROM resume_education WHERE user_id IN " + applicants
+                + " UNION ALL SELECT " + SECTION_EXPERIENCE + ", user_id, id, NULL, role, duration, description, "
+                + "NULL FROM resume_experience WHERE user_id IN " + applicants
+                + " UNION ALL SELECT " + SECTION_SKILL + ", user_id, id, skill_name, NULL, NULL, NULL, NULL "
+                + "FROM resume_skills WHERE user_id IN " + applicants
+                + " ORDER BY section, user_id, id";
+
+        List<SectionRow> rows = new ArrayList<>();
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (int i = 1; i <= 4; i++) {
+                stmt.setInt(i, jobId);
+            }
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    profile = new JobSeeker(rs.getInt("user_id"), rs.getString("phone"));
+                while (rs.next()) {
+                    rows.add(new SectionRow(rs.getInt("section"), rs.getInt("user_id"), rs.getInt("id"),
+                            rs.getString("s1"), rs.getString("s2"), rs.getString("s3"), rs.getString("s4"),
+                            rs.getInt("n1")));
                 }
             }
         }
+        Map<Integer, JobSeeker> profiles = new LinkedHashMap<>();
+        assemble(rows, profiles);
+        return profiles;
+    }
 
-        if (profile != null) {
-            profile.setObjectives(fetchObjectives(userId));
-            profile.setEducationList(fetchEducation(userId));
-            profile.setExperienceList(fetchExperience(userId));
-            profile.setSkills(fetchSkills(userId));
-            profile.setProjects(fetchProjects(userId));
-            return Optional.of(profile);
+    // Every profile, for building the resume index
+    public List<JobSeeker> getAllProfiles() throws SQLException {
+        List<Integer> userIds = new ArrayList<>();
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement("SELECT user_id FROM job_seekers ORDER BY user_id");
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                userIds.add(rs.getInt("user_id"));
+            }
         }
-        return Optional.empty();
+        return new ArrayList<>(getProfilesByUserIds(userIds).values());
     }
 
     // Helpers
-    private void insertObjectives(Connection conn, JobSeeker p) throws SQLException {
-        String query = "INSERT INTO resume_objectives (user_id, objective) VALUES (?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            for (String obj : p.getObjectives()) {
-                stmt.setInt(1, p.getUserId());
-                stmt.setString(2, obj);
-                stmt.addBatch();
-            }
-            stmt.executeBatch();
+
+    // Before the index is first loaded there is nothing to update; the rebuild reads this profile. A
+    // rebuild in flight may have read its snapshot already, so it gets the write to replay.
+    private void indexProfile(JobSeeker profile) {
+        if (resumeIndex != null && (resumeIndex.isLoaded() || resumeIndex.isRebuilding())) {
+            resumeIndex.upsert(profile);
         }
     }
 
-    private void insertEducation(Connection conn, JobSeeker p) throws SQLException {
-        String query = "INSERT INTO resume_education (user_id, degree, institution, year) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            for (Education edu : p.getEducationList()) {
-                stmt.setInt(1, p.getUserId());
-                stmt.setString(2, edu.getDegree());
-                stmt.setString(3, edu.getInstitution());
-                stmt.setInt(4, edu.getYear());
-                stmt.addBatch();
+    private void insertSection(Connection conn, int userId, ResumeSection section, List<ResumeSection.Entry> entries)
+            throws SQLException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(section.insertSql())) {
+            int queued = 0;
+            for (ResumeSection.Entry entry : entries) {
+                stmt.setInt(1, userId);
+                bindValues(stmt, 2, entry.values());
+                queue(stmt, ++queued);
             }
-            stmt.executeBatch();
+            flush(stmt, queued);
         }
     }
 
-    private void insertExperience(Connection conn, JobSeeker p) throws SQLException {
-        String query = "INSERT INTO resume_experience (user_id, company, role, duration, description) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            for (Experience exp : p.getExperienceList()) {
-                stmt.setInt(1, p.getUserId());
-                stmt.setString(2, exp.getCompany());
-                stmt.setString(3, exp.getRole());
-                stmt.setString(4, exp.getDuration());
-                stmt.setString(5, exp.getDescription());
-                stmt.addBatch();
-            }
+    // Sends the batch every batchSize rows so a huge section never builds one unbounded packet
+    private void queue(PreparedStatement stmt, int queued) throws SQLException {
+        stmt.addBatch();
+        if (queued % batchSize == 0) {
             stmt.executeBatch();
         }
     }
 
-    private void insertSkills(Connection conn, JobSeeker p) throws SQLException {
-        String query = "INSERT INTO resume_skills (user_id, skill_name) VALUES (?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            for (Skill s : p.getSkills()) {
-                stmt.setInt(1, p.getUserId());
-                stmt.setString(2, s.getName());
-                stmt.addBatch();
-            }
+    private void flush(PreparedStatement stmt, int queued) throws SQLException {
+        if (queued % batchSize != 0) {
             stmt.executeBatch();
         }
     }
 
-    private void insertProjects(Connection conn, JobSeeker p) throws SQLException {
-        String query = "INSERT INTO resume_projects (user_id, title, description, role) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
-            for (Project pr : p.getProjects()) {
-                stmt.setInt(1, p.getUserId());
-                stmt.setString(2, pr.getTitle());
-                stmt.setString(3, pr.getDescription());
-                stmt.setString(4, pr.getRole());
-                stmt.addBatch();
-            }
-            stmt.executeBatch();
+    private void updatePhone(Connection conn, JobSeeker profile) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("UPDATE job_seekers SET phone = ? WHERE user_id = ?")) {
+            stmt.setString(1, profile.getPhone());
+            stmt.setInt(2, profile.getUserId());
+            stmt.executeUpdate();
         }
     }
 
-    private void deleteTables(Connection conn, int userId) throws SQLException {
-        String[] tables = { "resume_objectives", "resume_education", "resume_experience", "resume_skills",
-                "resume_projects" };
-        for (String table : tables) {
-            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE user_id = ?")) {
-                stmt.setInt(1, userId);
-                stmt.executeUpdate();
+    // Matches incoming rows to stored ones (by id, then by identical values), reuses leftover stored
+    // rows for new values and only inserts or deletes the remainder. Returns the number of rows written.
+    int applyDiff(Connection conn, int userId, ResumeSection section, List<ResumeSection.Entry> stored,
+            List<ResumeSection.Entry> incoming) throws SQLException {
+        Map<Integer, ResumeSection.Entry> unclaimed = new LinkedHashMap<>();
+        for (ResumeSection.Entry entry : stored) {
+            unclaimed.put(entry.id(), entry);
+        }
+
+        List<ResumeSection.Entry> updates = new ArrayList<>();
+        List<ResumeSection.Entry> unmatched = new ArrayList<>();
+        for (ResumeSection.Entry entry : incoming) {
+            ResumeSection.Entry old = entry.id() > 0 ? unclaimed.remove(entry.id()) : null;
+            if (old == null) {
+                unmatched.add(entry);
+            } else if (!old.values().equals(entry.values())) {
+                updates.add(entry);
             }
         }
-    }
 
-    private List<String> fetchObjectives(int userId) throws SQLException {
-        List<String> list = new ArrayList<>();
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn
-                        .prepareStatement("SELECT objective FROM resume_objectives WHERE user_id = ?")) {
-            stmt.setInt(1, userId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next())
-                    list.add(rs.getString(1));
+        Map<List<Object>, Deque<Integer>> idsByValues = new HashMap<>();
+        for (ResumeSection.Entry old : unclaimed.values()) {
+            idsByValues.computeIfAbsent(old.values(), k -> new ArrayDeque<>()).add(old.id());
+        }
+        List<ResumeSection.Entry> inserts = new ArrayList<>();
+        for (ResumeSection.Entry entry : unmatched) {
+            Deque<Integer> ids = idsByValues.get(entry.values());
+            if (ids != null && !ids.isEmpty()) {
+                unclaimed.remove(ids.poll());
+            } else {
+                inserts.add(entry);
             }
         }
-        return list;
-    }
 
-    private List<Education> fetchEducation(int userId) throws SQLException {
-        List<Education> list = new ArrayList<>();
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement("SELECT * FROM resume_education WHERE user_id = ?")) {
-            stmt.setInt(1, userId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(new Education(rs.getString("degree"), rs.getString("institution"), rs.getInt("year")));
+        Iterator<Integer> leftover = unclaimed.keySet().iterator();
+        for (Iterator<ResumeSection.Entry> it = inserts.iterator(); it.hasNext() && leftover.hasNext();) {
+            updates.add(new ResumeSection.Entry(leftover.next(), it.next().values()));
+            leftover.remove();
+            it.remove();
+        }
+        List<Integer> deletes = new ArrayList<>(unclaimed.keySet());
+
+        if (!deletes.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(section.deleteSql())) {
+                int queued = 0;
+                for (int id : deletes) {
+                    stmt.setInt(1, id);
+                    stmt.setInt(2, userId);
+                    queue(stmt, ++queued);
                 }
+                flush(stmt, queued);
             }
         }
-        return list;
+        if (!updates.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(section.updateSql())) {
+                int queued = 0;
+                for (ResumeSection.Entry entry : updates) {
+                    int next = bindValues(stmt, 1, entry.values());
+                    stmt.setInt(next, entry.id());
+                    stmt.setInt(next + 1, userId);
+                    queue(stmt, ++queued);
+                }
+                flush(stmt, queued);
+            }
+        }
+        insertSection(conn, userId, section, inserts);
+        return deletes.size() + updates.size() + inserts.size();
     }
 
-    private List<Experience> fetchExperience(int userId) throws SQLException {
-        List<Experience> list = new ArrayList<>();
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement("SELECT * FROM resume_experience WHERE user_id = ?")) {
-            stmt.setInt(1, userId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(new Experience(rs.getString("company"), rs.getString("role"), rs.getString("duration"),
-                            rs.getString("description")));
-                }
+    // Returns the next free parameter index
+    private int bindValues(PreparedStatement stmt, int index, List<Object> values) throws SQLException {
+        for (Object value : values) {
+            if (value instanceof Integer number) {
+                stmt.setInt(index++, number);
+            } else {
+                stmt.setString(index++, (String) value);
             }
         }
-        return list;
+        return index;
     }
 
-    private List<Skill> fetchSkills(int userId) throws SQLException {
-        List<Skill> list = new ArrayList<>();
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement("SELECT * FROM resume_skills WHERE user_id = ?")) {
-            stmt.setInt(1, userId);
+    // One UNION ALL over job_seekers and the five resume tables. Every branch projects the same
+    // columns (section, user_id, id, four text slots, one int slot) so the aggregate comes back in
+    // a single result set; rows are ordered by id within a section to keep insertion order.
+    List<SectionRow> loadSectionRows(Connection conn, List<Integer> userIds) throws SQLException {
+        int slots = Integer.highestOneBit(Math.max(userIds.size() - 1, 4)) << 1;
+        StringBuilder in = new StringBuilder("(");
+        for (int i = 0; i < slots; i++) {
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        in.append(")");
+
+        String query = "SELECT " + SECTION_BASE + " AS section, user_id, 0 AS id, phone AS s1, NULL AS s2, "
+                + "NULL AS s3, NULL AS s4, NULL AS n1 FROM job_seekers WHERE user_id IN " + in
+                + " UNION ALL SELECT " + SECTION_OBJECTIVE + ", user_id, id, objective, NULL, NULL, NULL, NULL "
+                + "FROM resume_objectives WHERE user_id IN " + in
+                + " UNION ALL SELECT " + SECTION_EDUCATION + ", user_id, id, degree, institution, NULL, NULL, year "
+                + "FROM resume_education WHERE user_id IN " + in
+                + " UNION ALL SELECT " + SECTION_EXPERIENCE + ", user_id, id, company, role, duration, description, "
+                + "NULL FROM resume_experience WHERE user_id IN " + in
+                + " UNION ALL SELECT " + SECTION_SKILL + ", user_id, id, skill_name, NULL, NULL, NULL, NULL "
+                + "FROM resume_skills WHERE user_id IN " + in
+                + " UNION ALL SELECT " + SECTION_PROJECT + ", user_id, id, title, description, role, NULL, NULL "
+                + "FROM resume_projects WHERE user_id IN " + in
+                + " ORDER BY section, user_id, id";
+
+        List<SectionRow> rows = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            int index = 1;
+            for (int branch = 0; branch < SECTION_COUNT; branch++) {
+                for (int i = 0; i < slots; i++) {
+                    stmt.setInt(index++, userIds.get(Math.min(i, userIds.size() - 1)));
+                }
+            }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    list.add(new Skill(rs.getString("skill_name")));
+                    rows.add(new SectionRow(rs.getInt("section"), rs.getInt("user_id"), rs.getInt("id"),
+                            rs.getString("s1"), rs.getString("s2"), rs.getString("s3"), rs.getString("s4"),
+                            rs.getInt("n1")));
                 }
             }
         }
-        return list;
+        return rows;
     }
 
-    private List<Project> fetchProjects(int userId) throws SQLException {
-        List<Project> list = new ArrayList<>();
-        try (Connection conn = getConnection();
-                PreparedStatement stmt = conn.prepareStatement("SELECT * FROM resume_projects WHERE user_id = ?")) {
-            stmt.setInt(1, userId);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(new Project(rs.getString("title"), rs.getString("description"), rs.getString("role")));
+    // Base rows sort first, so every section row finds its profile already created
+    private void assemble(List<SectionRow> rows, Map<Integer, JobSeeker> profiles) {
+        for (SectionRow row : rows) {
+            if (row.section() == SECTION_BASE) {
+                profiles.put(row.userId(), new JobSeeker(row.userId(), row.s1()));
+                continue;
+            }
+            JobSeeker profile = profiles.get(row.userId());
+            if (profile == null) {
+                continue;
+            }
+            switch (row.section()) {
+                case SECTION_OBJECTIVE -> profile.addObjective(row.s1());
+                case SECTION_EDUCATION -> {
+                    Education edu = new Education(row.s1(), row.s2(), row.n1());
+                    edu.setId(row.id());
+                    edu.setUserId(row.userId());
+                    profile.addEducation(edu);
                 }
+                case SECTION_EXPERIENCE -> {
+                    Experience exp = new Experience(row.s1(), row.s2(), row.s3(), row.s4());
+                    exp.setId(row.id());
+                    exp.setUserId(row.userId());
+                    profile.addExperience(exp);
+                }
+                case SECTION_SKILL -> {
+                    Skill skill = new Skill(row.s1());
+                    skill.setId(row.id());
+                    skill.setUserId(row.userId());
+                    profile.addSkill(skill);
+                }
+                case SECTION_PROJECT -> {
+                    Project project = new Project(row.s1(), row.s2(), row.s3());
+                    project.setId(row.id());
+                    project.setUserId(row.userId());
+                    profile.addProject(project);
+                }
+                default -> logger.warn("Unknown profile section {}", row.section());
             }
         }
-        return list;
     }
 
+    // One row of the profile UNION query; the meaning of s1..s4 and n1 depends on the section
+    record SectionRow(int section, int userId, int id, String s1, String s2, String s3, String s4, int n1) {
+    }
+
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
     private Connection getConnection() throws SQLException {
         try {
             return DBConnection.getInstance();
-        } catch (Exception e) {
-            throw new SQLException(e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
         }
     }
 }
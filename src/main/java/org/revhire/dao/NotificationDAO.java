@@ -2,16 +2,39 @@ package org.revhire.dao;
 
 import org.revhire.config.DBConnection;
 import org.revhire.model.Notification;
+import org.revhire.util.BoundedCache;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class NotificationDAO {
     private static final Logger logger = LoggerFactory.getLogger(NotificationDAO.class);
 
+    // Unread count per user, loaded once with a COUNT and then kept current by inserts and mark-read.
+    // The TTL bounds how long a count can drift if a write races the load.
+    private static final BoundedCache<Integer, AtomicInteger> SHARED_UNREAD_COUNTS =
+            new BoundedCache<>(100_000, 5 * 60 * 1000L);
+
+    // Largest number of ids marked read per statement
+    private static final int MARK_READ_CHUNK = 512;
+
+    private final BoundedCache<Integer, AtomicInteger> unreadCounts;
+
+    public NotificationDAO() {
+        this(SHARED_UNREAD_COUNTS);
+    }
+
+    public NotificationDAO(BoundedCache<Integer, AtomicInteger> unreadCounts) {
+        this.unreadCounts = unreadCounts;
+    }
+
     public void createNotification(Notification notification) throws SQLException {
         String query = "INSERT INTO notifications (user_id, message, is_read) VALUES (?, ?, ?)";
         try (Connection conn = getConnection();
@@ -24,6 +47,55 @@ public class NotificationDAO {
             stmt.executeUpdate();
             logger.info("Notification created for user: {}", notification.getUserId());
         }
+        if (!notification.isRead()) {
+            adjustUnread(notification.getUserId(), 1);
+        }
+    }
+
+    // Multi-row insert for the outbox writer; created_at keeps the time the event happened rather
+    // than the time the batch was flushed
+    public void createNotifications(List<Notification> notifications) throws SQLException {
+        String query = "INSERT INTO notifications (user_id, message, is_read, created_at) VALUES (?, ?, ?, ?)";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            // All or nothing: without rewriteBatchedStatements (or on H2) a batch runs row by row, and a
+            // failure part-way must not leave rows behind for the caller's row-by-row retry to repeat
+            conn.setAutoCommit(false);
+            int queued = 0;
+            try {
+                for (Notification notification : notifications) {
+                    stmt.setInt(1, notification.getUserId());
+                    stmt.setString(2, notification.getMessage());
+                    stmt.setBoolean(3, notification.isRead());
+                    stmt.setTimestamp(4, notification.getCreatedAt() != null ? notification.getCreatedAt()
+                            : new Timestamp(System.currentTimeMillis()));
+                    stmt.addBatch();
+                    if (++queued % JobSeekerDAO.DEFAULT_BATCH_SIZE == 0) {
+                        stmt.executeBatch();
+                    }
+                }
+                if (queued % JobSeekerDAO.DEFAULT_BATCH_SIZE != 0) {
+                    stmt.executeBatch();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackFailure) {
+                    e.addSuppressed(rollbackFailure);
+                }
+                throw e;
+            }
+            logger.info("Created {} notifications in one batch", queued);
+        }
+        Map<Integer, Integer> unreadByUser = new HashMap<>();
+        for (Notification notification : notifications) {
+            if (!notification.isRead()) {
+                unreadByUser.merge(notification.getUserId(), 1, Integer::sum);
+            }
+        }
+        unreadByUser.forEach(this::adjustUnread);
     }
 
     public List<Notification> getUnreadNotifications(int userId) throws SQLException {
@@ -48,21 +120,105 @@ public class NotificationDAO {
         return notifications;
     }
 
-    public void markAsRead(int notificationId) throws SQLException {
-        String query = "UPDATE notifications SET is_read = TRUE WHERE id = ?";
+    // Marks the given notifications read, one statement per MARK_READ_CHUNK ids; ids belonging to other
+    // users are ignored
+    public int markRead(int userId, Collection<Integer> notificationIds) throws SQLException {
+        if (notificationIds.isEmpty()) {
+            return 0;
+        }
+        List<Integer> ids = new ArrayList<>(notificationIds);
+        int updated = 0;
+        try (Connection conn = getConnection()) {
+            for (int from = 0; from < ids.size(); from += MARK_READ_CHUNK) {
+                updated += markReadChunk(conn, userId, ids.subList(from, Math.min(ids.size(), from + MARK_READ_CHUNK)));
+            }
+        } finally {
+            // Chunks already run have committed, so the count follows them even if a later one fails
+            adjustUnread(userId, -updated);
+        }
+        return updated;
+    }
+
+    private int markReadChunk(Connection conn, int userId, List<Integer> ids) throws SQLException {
+        // Padded to a power of two, as in JobDAO.getJobsByIds, so the statement cache sees few distinct SQL strings
+        int slots = Integer.highestOneBit(Math.max(ids.size() - 1, 4)) << 1;
+        StringBuilder query = new StringBuilder(
+                "UPDATE notifications SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE AND id IN (");
+        for (int i = 0; i < slots; i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(')');
+        try (PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            stmt.setInt(1, userId);
+            for (int i = 0; i < slots; i++) {
+                stmt.setInt(i + 2, ids.get(Math.min(i, ids.size() - 1)));
+            }
+            return stmt.executeUpdate();
+        }
+    }
+
+    // Marks everything up to and including upToId read, so notifications that arrive after the
+    // caller listed them stay unread
+    public int markAllRead(int userId, int upToId) throws SQLException {
+        String query = "UPDATE notifications SET is_read = TRUE WHERE user_id = ? AND is_read = FALSE AND id <= ?";
+        int updated;
         try (Connection conn = getConnection();
                 PreparedStatement stmt = conn.prepareStatement(query)) {
 
-            stmt.setInt(1, notificationId);
-            stmt.executeUpdate();
+            stmt.setInt(1, userId);
+            stmt.setInt(2, upToId);
+            updated = stmt.executeUpdate();
+        }
+        adjustUnread(userId, -updated);
+        return updated;
+    }
+
+    public int getUnreadCount(int userId) throws SQLException {
+        AtomicInteger cached = unreadCounts.get(userId);
+        if (cached != null) {
+            return cached.get();
+        }
+        long stamp = unreadCounts.stamp(userId);
+        String query = "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = FALSE";
+        int count;
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, userId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                count = rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+        unreadCounts.put(userId, new AtomicInteger(count), stamp);
+        return count;
+    }
+
+    // For bulk removals (e.g. dropped partitions) that cannot say which users were affected
+    public void resetUnreadCounts() {
+        unreadCounts.invalidateAll();
+    }
+
+    // With no count loaded there is nothing to adjust, but the invalidation makes a load that is
+    // running right now discard its result instead of caching a count that misses this change
+    private void adjustUnread(int userId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        AtomicInteger cached = unreadCounts.get(userId);
+        if (cached == null) {
+            unreadCounts.invalidate(userId);
+        } else {
+            cached.updateAndGet(count -> Math.max(0, count + delta));
         }
     }
 
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
     private Connection getConnection() throws SQLException {
         try {
             return DBConnection.getInstance();
-        } catch (Exception e) {
-            throw new SQLException(e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
         }
     }
 }
@@ -0,0 +1,158 @@
+package org.revhire.dao;
+
+import org.revhire.config.DBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// SQL behind notification retention: moving read rows to notifications_archive and maintaining
+// the monthly RANGE partitions that migration V4 puts on both tables.
+public class NotificationRetentionDAO {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionDAO.class);
+
+    public static final String NOTIFICATIONS = "notifications";
+    public static final String ARCHIVE = "notifications_archive";
+    static final String CATCH_ALL_PARTITION = "pmax";
+
+    // A partition and its exclusive upper bound in epoch seconds; null for the MAXVALUE partition
+    public record Partition(String name, Long upperBound) {
+    }
+
+    // Moves up to batchSize read notifications created before cutoff into the archive, in one
+    // transaction. Returns the number moved; fewer than batchSize means nothing is left to move.
+    public int archiveReadBefore(Timestamp cutoff, int batchSize) throws SQLException {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> ids = new ArrayList<>(batchSize);
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT id FROM notifications "
+                        + "WHERE is_read = TRUE AND created_at < ? ORDER BY created_at LIMIT ? FOR UPDATE")) {
+                    stmt.setTimestamp(1, cutoff);
+                    stmt.setInt(2, batchSize);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt("id"));
+                        }
+                    }
+                }
+                if (ids.isEmpty()) {
+                    conn.commit();
+                    return 0;
+                }
+
+                String in = placeholders(ids.size());
+                // IGNORE keeps a retry after a partial failure from tripping over rows already copied
+                try (PreparedStatement stmt = conn.prepareStatement("INSERT IGNORE INTO notifications_archive "
+                        + "(id, user_id, message, is_read, created_at) "
+                        + "SELECT id, user_id, message, is_read, created_at FROM notifications WHERE id IN " + in)) {
+                    bindIds(stmt, ids);
+                    stmt.executeUpdate();
+                }
+                int moved;
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "DELETE FROM notifications WHERE is_read = TRUE AND id IN " + in)) {
+                    bindIds(stmt, ids);
+                    moved = stmt.executeUpdate();
+                }
+                conn.commit();
+                return moved;
+            } catch (SQLException e) {
+                logger.error("Archiving notifications failed, rolling back: {}", e.getMessage());
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Empty when the table is not partitioned
+    public List<Partition> listPartitions(String table) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        String query = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM INFORMATION_SCHEMA.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL "
+                + "ORDER BY PARTITION_ORDINAL_POSITION";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setString(1, table);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String bound = rs.getString("PARTITION_DESCRIPTION");
+                    partitions.add(new Partition(rs.getString("PARTITION_NAME"),
+                            "MAXVALUE".equalsIgnoreCase(bound) ? null : Long.valueOf(bound)));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    // Splits the catch-all partition so each month gets its own, named pYYYYMM
+    public void addMonthlyPartitions(String table, List<YearMonth> months) throws SQLException {
+        if (months.isEmpty()) {
+            return;
+        }
+        StringBuilder ddl = new StringBuilder("ALTER TABLE ").append(table)
+                .append(" REORGANIZE PARTITION ").append(CATCH_ALL_PARTITION).append(" INTO (");
+        for (YearMonth month : months) {
+            ddl.append("PARTITION ").append(partitionName(month)).append(" VALUES LESS THAN (")
+                    .append(upperBound(month)).append("), ");
+        }
+        ddl.append("PARTITION ").append(CATCH_ALL_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        execute(ddl.toString());
+    }
+
+    // Dropping a partition discards its rows without a row-by-row DELETE
+    public void dropPartitions(String table, List<String> names) throws SQLException {
+        if (names.isEmpty()) {
+            return;
+        }
+        execute("ALTER TABLE " + table + " DROP PARTITION " + String.join(", ", names));
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("p%04d%02d", month.getYear(), month.getMonthValue());
+    }
+
+    // Partitions are cut on UTC month boundaries
+    static long upperBound(YearMonth month) {
+        return month.plusMonths(1).atDay(1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private void execute(String ddl) throws SQLException {
+        try (Connection conn = getConnection();
+                Statement stmt = conn.createStatement()) {
+            stmt.execute(ddl);
+            logger.info("Partition maintenance: {}", ddl);
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.append(')').toString();
+    }
+
+    private static void bindIds(PreparedStatement stmt, List<Integer> ids) throws SQLException {
+        for (int i = 0; i < ids.size(); i++) {
+            stmt.setInt(i + 1, ids.get(i));
+        }
+    }
+
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
+    private Connection getConnection() throws SQLException {
+        try {
+            return DBConnection.getInstance();
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.revhire.dao;
+
+import java.util.List;
+
+// One page of results plus the cursor to fetch the next one (null on the last page)
+public class Page<T> {
+    private final List<T> items;
+    private final PageCursor nextCursor;
+
+    public Page(List<T> items, PageCursor nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public PageCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+}
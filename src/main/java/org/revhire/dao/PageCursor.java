@@ -0,0 +1,49 @@
+package org.revhire.dao;
+
+import java.sql.Timestamp;
+
+// Position of the last row on a page, for keyset pagination ordered by (timestamp DESC, id DESC).
+// The next page starts strictly after this row, so no OFFSET scan is needed.
+public class PageCursor {
+    private final Timestamp timestamp;
+    private final int id;
+
+    public PageCursor(Timestamp timestamp, int id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public Timestamp getTimestamp() {
+        return timestamp;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    // Compact text form ("millis:id") for handing the cursor to a client
+    public String encode() {
+        return timestamp.getTime() + ":" + id;
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        int sep = token.indexOf(':');
+        if (sep < 0) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token);
+        }
+        try {
+            return new PageCursor(new Timestamp(Long.parseLong(token.substring(0, sep))),
+                    Integer.parseInt(token.substring(sep + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + token, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
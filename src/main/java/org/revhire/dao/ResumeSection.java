@@ -0,0 +1,86 @@
+package org.revhire.dao;
+
+import org.revhire.model.JobSeeker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// The five resume tables, described once so profile writes can be diffed and batched generically.
+// Column values are compared in the same order they are bound.
+enum ResumeSection {
+    OBJECTIVES(JobSeekerDAO.SECTION_OBJECTIVE, "resume_objectives", "objective"),
+    EDUCATION(JobSeekerDAO.SECTION_EDUCATION, "resume_education", "degree", "institution", "year"),
+    EXPERIENCE(JobSeekerDAO.SECTION_EXPERIENCE, "resume_experience", "company", "role", "duration", "description"),
+    SKILLS(JobSeekerDAO.SECTION_SKILL, "resume_skills", "skill_name"),
+    PROJECTS(JobSeekerDAO.SECTION_PROJECT, "resume_projects", "title", "description", "role");
+
+    // One incoming or stored row: id is 0 when the row has never been saved
+    record Entry(int id, List<Object> values) {
+    }
+
+    private final int code;
+    private final String table;
+    private final String[] columns;
+
+    ResumeSection(int code, String table, String... columns) {
+        this.code = code;
+        this.table = table;
+        this.columns = columns;
+    }
+
+    int code() {
+        return code;
+    }
+
+    String insertSql() {
+        String placeholders = ", ?".repeat(columns.length);
+        return "INSERT INTO " + table + " (user_id, " + String.join(", ", columns) + ") VALUES (?" + placeholders
+                + ")";
+    }
+
+    String updateSql() {
+        return "UPDATE " + table + " SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ? AND user_id = ?";
+    }
+
+    String deleteSql() {
+        return "DELETE FROM " + table + " WHERE id = ? AND user_id = ?";
+    }
+
+    // The profile's current rows for this section, in list order
+    List<Entry> entries(JobSeeker profile) {
+        List<Entry> entries = new ArrayList<>();
+        switch (this) {
+            case OBJECTIVES -> profile.getObjectives().forEach(o -> entries.add(new Entry(0, Arrays.asList(o))));
+            case EDUCATION -> profile.getEducationList().forEach(e -> entries.add(new Entry(e.getId(),
+                    Arrays.asList(e.getDegree(), e.getInstitution(), e.getYear()))));
+            case EXPERIENCE -> profile.getExperienceList().forEach(e -> entries.add(new Entry(e.getId(),
+                    Arrays.asList(e.getCompany(), e.getRole(), e.getDuration(), e.getDescription()))));
+            case SKILLS -> profile.getSkills().forEach(s -> entries.add(new Entry(s.getId(),
+                    Arrays.asList(s.getName()))));
+            case PROJECTS -> profile.getProjects().forEach(p -> entries.add(new Entry(p.getId(),
+                    Arrays.asList(p.getTitle(), p.getDescription(), p.getRole()))));
+        }
+        return entries;
+    }
+
+    // A stored row from the profile UNION query, projected to this section's columns
+    Entry entry(JobSeekerDAO.SectionRow row) {
+        List<Object> values = switch (this) {
+            case OBJECTIVES, SKILLS -> Arrays.asList(row.s1());
+            case EDUCATION -> Arrays.asList(row.s1(), row.s2(), row.n1());
+            case EXPERIENCE -> Arrays.asList(row.s1(), row.s2(), row.s3(), row.s4());
+            case PROJECTS -> Arrays.asList(row.s1(), row.s2(), row.s3());
+        };
+        return new Entry(row.id(), values);
+    }
+
+    static ResumeSection forCode(int code) {
+        for (ResumeSection section : values()) {
+            if (section.code == code) {
+                return section;
+            }
+        }
+        throw new IllegalArgumentException("Unknown resume section " + code);
+    }
+}
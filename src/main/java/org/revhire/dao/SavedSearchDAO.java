@@ -0,0 +1,100 @@
+package org.revhire.dao;
+
+import org.revhire.config.DBConnection;
+import org.revhire.model.SavedSearch;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class SavedSearchDAO {
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchDAO.class);
+
+    public SavedSearch create(SavedSearch search) throws SQLException {
+        String query = "INSERT INTO saved_searches (seeker_id, keyword, location, job_type, max_experience, company) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, search.getSeekerId());
+            stmt.setString(2, search.getKeyword());
+            stmt.setString(3, search.getLocation());
+            stmt.setString(4, search.getJobType());
+            if (search.getMaxExperience() == null) {
+                stmt.setNull(5, Types.INTEGER);
+            } else {
+                stmt.setInt(5, search.getMaxExperience());
+            }
+            stmt.setString(6, search.getCompany());
+
+            stmt.executeUpdate();
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    search.setId(generatedKeys.getInt(1));
+                }
+            }
+            logger.info("Saved search {} created for seeker {}", search.getId(), search.getSeekerId());
+        }
+        return search;
+    }
+
+    public List<SavedSearch> getBySeeker(int seekerId) throws SQLException {
+        return query("SELECT * FROM saved_searches WHERE seeker_id = ? ORDER BY id", seekerId);
+    }
+
+    // Every saved search, for building the percolator at startup
+    public List<SavedSearch> getAll() throws SQLException {
+        return query("SELECT * FROM saved_searches", null);
+    }
+
+    // Only the owner can delete; returns false if no such search belongs to the seeker
+    public boolean delete(int searchId, int seekerId) throws SQLException {
+        String query = "DELETE FROM saved_searches WHERE id = ? AND seeker_id = ?";
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            stmt.setInt(1, searchId);
+            stmt.setInt(2, seekerId);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private List<SavedSearch> query(String query, Integer seekerId) throws SQLException {
+        List<SavedSearch> searches = new ArrayList<>();
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
+
+            if (seekerId != null) {
+                stmt.setInt(1, seekerId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    SavedSearch search = new SavedSearch();
+                    search.setId(rs.getInt("id"));
+                    search.setSeekerId(rs.getInt("seeker_id"));
+                    search.setKeyword(rs.getString("keyword"));
+                    search.setLocation(rs.getString("location"));
+                    search.setJobType(rs.getString("job_type"));
+                    int maxExperience = rs.getInt("max_experience");
+                    search.setMaxExperience(rs.wasNull() ? null : maxExperience);
+                    search.setCompany(rs.getString("company"));
+                    search.setCreatedAt(rs.getTimestamp("created_at"));
+                    searches.add(search);
+                }
+            }
+        }
+        return searches;
+    }
+
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
+    private Connection getConnection() throws SQLException {
+        try {
+            return DBConnection.getInstance();
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
+        }
+    }
+}
@@ -14,8 +14,8 @@ public class UserDAO {
 
     public User createUser(User user) throws SQLException {
         String query = "INSERT INTO users (name, email, password, role, security_question, security_answer) VALUES (?, ?, ?, ?, ?, ?)";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, user.getName());
             stmt.setString(2, user.getEmail());
@@ -44,8 +44,8 @@ public class UserDAO {
 
     public Optional<User> getUserByEmail(String email) throws SQLException {
         String query = "SELECT * FROM users WHERE email = ?";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setString(1, email);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -59,8 +59,8 @@ public class UserDAO {
 
     public Optional<User> getUserById(int id) throws SQLException {
         String query = "SELECT * FROM users WHERE id = ?";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -74,8 +74,8 @@ public class UserDAO {
 
     public boolean updatePassword(String email, String newPassword) throws SQLException {
         String query = "UPDATE users SET password = ? WHERE email = ?";
-        Connection conn = getConnection();
-        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+        try (Connection conn = getConnection();
+                PreparedStatement stmt = conn.prepareStatement(query)) {
 
             stmt.setString(1, newPassword);
             stmt.setString(2, email);
@@ -96,11 +96,13 @@ public class UserDAO {
         return user;
     }
 
+    // SQLExceptions (pool timeouts, unreachable server) pass through unwrapped so callers can tell them
+    // from a rejected statement; anything else is reported as a failure to connect
     private Connection getConnection() throws SQLException {
         try {
             return DBConnection.getInstance();
-        } catch (Exception e) {
-            throw new SQLException(e);
+        } catch (RuntimeException e) {
+            throw new SQLException("Could not obtain a database connection", "08001", e);
         }
     }
 }
@@ -14,6 +14,7 @@ public class Job {
     private int experienceYears;
     private Timestamp postedAt;
     private JobStatus status;
+    private String companyName; // Filled only by queries that join employers
 
     public enum JobStatus {
         OPEN, CLOSED
@@ -35,6 +36,21 @@ public class Job {
         this.status = JobStatus.OPEN;
     }
 
+    public Job(Job other) {
+        this.id = other.id;
+        this.employerId = other.employerId;
+        this.title = other.title;
+        this.description = other.description;
+        this.requirements = other.requirements;
+        this.location = other.location;
+        this.salaryRange = other.salaryRange;
+        this.jobType = other.jobType;
+        this.experienceYears = other.experienceYears;
+        this.postedAt = other.postedAt == null ? null : new Timestamp(other.postedAt.getTime());
+        this.status = other.status;
+        this.companyName = other.companyName;
+    }
+
     public int getId() {
         return id;
     }
@@ -122,4 +138,12 @@ public class Job {
     public void setStatus(JobStatus status) {
         this.status = status;
     }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
 }
@@ -0,0 +1,115 @@
+package org.revhire.model;
+
+import java.sql.Timestamp;
+
+// A job seeker's stored search criteria; new jobs matching it raise a notification
+public class SavedSearch {
+    private int id;
+    private int seekerId;
+    private String keyword;
+    private String location;
+    private String jobType;
+    private Integer maxExperience;
+    private String company;
+    private Timestamp createdAt;
+
+    public SavedSearch() {
+    }
+
+    public SavedSearch(int seekerId, String keyword, String location, String jobType, Integer maxExperience,
+            String company) {
+        this.seekerId = seekerId;
+        this.keyword = keyword;
+        this.location = location;
+        this.jobType = jobType;
+        this.maxExperience = maxExperience;
+        this.company = company;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getSeekerId() {
+        return seekerId;
+    }
+
+    public void setSeekerId(int seekerId) {
+        this.seekerId = seekerId;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(String jobType) {
+        this.jobType = jobType;
+    }
+
+    public Integer getMaxExperience() {
+        return maxExperience;
+    }
+
+    public void setMaxExperience(Integer maxExperience) {
+        this.maxExperience = maxExperience;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        append(sb, "keyword", keyword);
+        append(sb, "location", location);
+        append(sb, "type", jobType);
+        append(sb, "company", company);
+        if (maxExperience != null) {
+            append(sb, "max exp", maxExperience + " yrs");
+        }
+        return sb.length() == 0 ? "(any job)" : sb.toString();
+    }
+
+    private static void append(StringBuilder sb, String label, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        if (sb.length() > 0) {
+            sb.append(", ");
+        }
+        sb.append(label).append(": ").append(value);
+    }
+}
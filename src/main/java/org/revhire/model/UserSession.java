@@ -0,0 +1,52 @@
+package org.revhire.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// One logged-in user's session: identified by an opaque token, with its own attribute map
+public class UserSession {
+    private final String token;
+    private final User user;
+    private final long createdAt;
+    private volatile long lastAccessedAt;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+    public UserSession(String token, User user, long createdAt) {
+        this.token = token;
+        this.user = user;
+        this.createdAt = createdAt;
+        this.lastAccessedAt = createdAt;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public void setLastAccessedAt(long lastAccessedAt) {
+        this.lastAccessedAt = lastAccessedAt;
+    }
+
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+}
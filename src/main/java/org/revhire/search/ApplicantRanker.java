@@ -0,0 +1,171 @@
+package org.revhire.search;
+
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Ranks a job's applicants by how well their resume fits it, out of 100:
+//   skills     60  share of the job's requirement terms (stop words aside) the applicant lists as
+//                  skills; terms only mentioned in an experience role or description count half. A job
+//                  with no requirement terms gives no skill points.
+//   experience 30  estimated years of experience against the job's experience_years
+//   education  10  half for any degree, full when the degree names a requirement term
+// Skill terms are dictionary-encoded into bitsets first, so the skill part of each score is a few
+// popcounts, and only the best limit applicants are kept (TopKCollector).
+public class ApplicantRanker {
+    static final float SKILL_WEIGHT = 60;
+    static final float EXPERIENCE_WEIGHT = 30;
+    static final float EDUCATION_WEIGHT = 10;
+
+    // Words of a requirements line that name no skill
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "any", "as", "at", "be", "degree", "etc",
+            "experience", "for", "good", "have", "in", "is", "knowledge", "least", "minimum", "must", "of", "on", "or",
+            "plus", "preferred", "required", "skills", "strong", "the", "to", "with", "working", "year", "years");
+
+    private static final Pattern YEAR_RANGE = Pattern.compile(
+            "((?:19|20)\\d{2})\\s*(?:-|–|to)\\s*((?:19|20)\\d{2}|present|current|now)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern AMOUNT = Pattern.compile(
+            "(\\d+(?:\\.\\d+)?)\\s*\\+?\\s*(years?|yrs?|months?|mos?)?", Pattern.CASE_INSENSITIVE);
+
+    // One applicant's result; skillsRequired is the number of requirement terms any applicant lists
+    public record Score(int userId, float score, int skillsMatched, int skillsRequired, double years) {
+    }
+
+    public List<Score> rank(Job job, List<JobSeeker> candidates, int limit) {
+        // Requirement terms go in first, so a term no applicant lists still counts against everyone
+        SkillDictionary dictionary = new SkillDictionary();
+        List<Integer> requiredOrdinals = new ArrayList<>();
+        for (String term : Tokenizer.uniqueTerms(job.getRequirements())) {
+            if (!STOP_WORDS.contains(term)) {
+                requiredOrdinals.add(dictionary.add(term));
+            }
+        }
+
+        // Skills are tokenized once; the ordinals are kept to fill each applicant's bitset below
+        int[][] skillOrdinals = new int[candidates.size()][];
+        for (int i = 0; i < candidates.size(); i++) {
+            int[] ordinals = new int[8];
+            int count = 0;
+            for (Skill skill : candidates.get(i).getSkills()) {
+                for (String term : Tokenizer.tokenize(skill.getName())) {
+                    if (count == ordinals.length) {
+                        ordinals = Arrays.copyOf(ordinals, count * 2);
+                    }
+                    ordinals[count++] = dictionary.add(term);
+                }
+            }
+            skillOrdinals[i] = Arrays.copyOf(ordinals, count);
+        }
+
+        long[] required = dictionary.newBitset();
+        for (int ordinal : requiredOrdinals) {
+            required[ordinal >>> 6] |= 1L << ordinal;
+        }
+        int requiredCount = requiredOrdinals.size();
+        Set<String> requirementTerms = Tokenizer.uniqueTerms(job.getRequirements());
+
+        int n = candidates.size();
+        float[] scores = new float[n];
+        int[] matched = new int[n];
+        double[] years = new double[n];
+        TopKCollector top = new TopKCollector(Math.min(Math.max(limit, 0), n));
+        long[] skillBits = dictionary.newBitset();
+        long[] experienceBits = dictionary.newBitset();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            JobSeeker candidate = candidates.get(i);
+            Arrays.fill(skillBits, 0L);
+            Arrays.fill(experienceBits, 0L);
+
+            for (int ordinal : skillOrdinals[i]) {
+                skillBits[ordinal >>> 6] |= 1L << ordinal;
+            }
+
+            texts.clear();
+            double total = 0;
+            for (Experience experience : candidate.getExperienceList()) {
+                texts.add(experience.getRole());
+                texts.add(experience.getDescription());
+                total += estimateYears(experience.getDuration());
+            }
+            dictionary.encode(texts, experienceBits);
+
+            int listed = 0;
+            int mentioned = 0;
+            for (int w = 0; w < required.length; w++) {
+                listed += Long.bitCount(required[w] & skillBits[w]);
+                mentioned += Long.bitCount(required[w] & experienceBits[w] & ~skillBits[w]);
+            }
+
+            // A job that names no skills gives no skill points rather than full marks to everyone
+            float skillScore = requiredCount == 0 ? 0 : (listed + 0.5f * mentioned) / requiredCount;
+            float experienceScore = job.getExperienceYears() <= 0 ? 1
+                    : (float) Math.min(1.0, total / job.getExperienceYears());
+            float score = SKILL_WEIGHT * skillScore + EXPERIENCE_WEIGHT * experienceScore
+                    + EDUCATION_WEIGHT * educationScore(candidate.getEducationList(), requirementTerms);
+
+            scores[i] = score;
+            matched[i] = listed;
+            years[i] = total;
+            // Earlier applicants win ties
+            top.collect(i, score, -i);
+        }
+
+        List<Score> ranked = new ArrayList<>();
+        for (int i : top.toSortedDocs()) {
+            ranked.add(new Score(candidates.get(i).getUserId(), scores[i], matched[i], requiredCount, years[i]));
+        }
+        return ranked;
+    }
+
+    private static float educationScore(List<Education> educationList, Set<String> requirementTerms) {
+        float best = 0;
+        for (Education education : educationList) {
+            if (education.getDegree() == null || education.getDegree().isBlank()) {
+                continue;
+            }
+            best = 0.5f;
+            for (String term : Tokenizer.tokenize(education.getDegree())) {
+                if (requirementTerms.contains(term)) {
+                    return 1;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Durations are free text: "2020-2022", "2019 - present", "2 years", "18 months"
+    public static double estimateYears(String duration) {
+        if (duration == null || duration.isBlank()) {
+            return 0;
+        }
+        Matcher range = YEAR_RANGE.matcher(duration);
+        if (range.find()) {
+            int from = Integer.parseInt(range.group(1));
+            String end = range.group(2);
+            int to = Character.isDigit(end.charAt(0)) ? Integer.parseInt(end) : Year.now().getValue();
+            return Math.max(0, to - from);
+        }
+        Matcher amount = AMOUNT.matcher(duration);
+        if (amount.find()) {
+            double value = Double.parseDouble(amount.group(1));
+            String unit = amount.group(2);
+            if (unit != null && unit.toLowerCase().startsWith("mo")) {
+                return value / 12;
+            }
+            // A bare number larger than a career is not a duration
+            return value <= 60 ? value : 0;
+        }
+        return 0;
+    }
+}
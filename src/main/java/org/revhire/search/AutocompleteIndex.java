@@ -0,0 +1,557 @@
+package org.revhire.search;
+
+import org.revhire.model.Job;
+import org.revhire.model.Job.JobStatus;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Prefix suggestions for job titles, locations, company names and resume skills. Each kind is a
+// trie whose nodes cache the most frequent values below them, so a suggestion is a walk down the
+// prefix and a copy of one short list. Frequencies are open postings per value (profiles per skill);
+// JobSearchIndex and ResumeIndex feed every change through, so the tries never need a full rebuild
+// of their own.
+public class AutocompleteIndex {
+
+    public enum Kind {
+        TITLE, LOCATION, COMPANY, SKILL
+    }
+
+    public record Suggestion(String label, int count) {
+    }
+
+    // Suggestions kept per node; a request for more gets this many
+    static final int TOP_K = 10;
+    // Memory bounds: distinct values per kind, characters of a value walked into the trie, and words
+    // of a value that also start a match ("dev" finds "Java Developer")
+    private static final int DEFAULT_MAX_VALUES = 50_000;
+    private static final int MAX_KEY_LENGTH = 48;
+    private static final int MAX_WORD_STARTS = 4;
+
+    // Most frequent first, then alphabetical so equal counts list in a stable order
+    private static final Comparator<Entry> RANK = Comparator.comparingInt((Entry e) -> -e.count)
+            .thenComparing(e -> e.key);
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final AutocompleteIndex SHARED = new AutocompleteIndex(DEFAULT_MAX_VALUES);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Trie[] tries = new Trie[Kind.values().length];
+    // Values each job and profile contributed, so an update or delete can take them back out
+    private final Map<Integer, JobValues> jobs = new HashMap<>();
+    private final Map<Integer, String[]> skills = new HashMap<>();
+
+    private record JobValues(String title, String location, String company, boolean open) {
+    }
+
+    public AutocompleteIndex() {
+        this(DEFAULT_MAX_VALUES);
+    }
+
+    public AutocompleteIndex(int maxValuesPerKind) {
+        for (int i = 0; i < tries.length; i++) {
+            tries[i] = new Trie(maxValuesPerKind);
+        }
+    }
+
+    public static AutocompleteIndex getShared() {
+        return SHARED;
+    }
+
+    // Up to limit values starting with prefix (or with a word starting it), most frequent first
+    public List<Suggestion> suggest(Kind kind, String prefix, int limit) {
+        String key = normalize(prefix == null ? "" : prefix);
+        // A trailing space means the last word is complete: "java " should not offer "JavaScript"
+        if (!key.isEmpty() && Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+            key += " ";
+        }
+        lock.readLock().lock();
+        try {
+            Node node = tries[kind.ordinal()].find(key);
+            if (node == null) {
+                return List.of();
+            }
+            int n = Math.min(limit, node.top.length);
+            List<Suggestion> suggestions = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                suggestions.add(new Suggestion(node.top[i].label, node.top[i].count));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Distinct values currently suggested for a kind
+    public int size(Kind kind) {
+        lock.readLock().lock();
+        try {
+            return tries[kind.ordinal()].byKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuildJobs(Collection<Job> all) {
+        lock.writeLock().lock();
+        try {
+            jobs.clear();
+            List<Map<String, Entry>> tallies = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+            for (Job job : all) {
+                JobValues values = valuesOf(job);
+                jobs.put(job.getId(), values);
+                if (values.open()) {
+                    tally(tallies.get(0), values.title());
+                    tally(tallies.get(1), values.location());
+                    tally(tallies.get(2), values.company());
+                }
+            }
+            tries[Kind.TITLE.ordinal()].load(tallies.get(0).values());
+            tries[Kind.LOCATION.ordinal()].load(tallies.get(1).values());
+            tries[Kind.COMPANY.ordinal()].load(tallies.get(2).values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexJob(Job job) {
+        lock.writeLock().lock();
+        try {
+            JobValues values = valuesOf(job);
+            count(jobs.put(job.getId(), values), -1);
+            count(values, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void setJobOpen(int jobId, boolean open) {
+        lock.writeLock().lock();
+        try {
+            JobValues values = jobs.get(jobId);
+            if (values != null && values.open() != open) {
+                count(values, -1);
+                values = new JobValues(values.title(), values.location(), values.company(), open);
+                jobs.put(jobId, values);
+                count(values, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeJob(int jobId) {
+        lock.writeLock().lock();
+        try {
+            count(jobs.remove(jobId), -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuildSkills(Collection<JobSeeker> profiles) {
+        lock.writeLock().lock();
+        try {
+            skills.clear();
+            Map<String, Entry> tally = new HashMap<>();
+            for (JobSeeker profile : profiles) {
+                String[] names = skillsOf(profile);
+                skills.put(profile.getUserId(), names);
+                for (String name : names) {
+                    tally(tally, name);
+                }
+            }
+            tries[Kind.SKILL.ordinal()].load(tally.values());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexSkills(JobSeeker profile) {
+        lock.writeLock().lock();
+        try {
+            String[] names = skillsOf(profile);
+            removeSkillsInternal(profile.getUserId());
+            skills.put(profile.getUserId(), names);
+            for (String name : names) {
+                tries[Kind.SKILL.ordinal()].add(name, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeSkills(int userId) {
+        lock.writeLock().lock();
+        try {
+            removeSkillsInternal(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeSkillsInternal(int userId) {
+        String[] names = skills.remove(userId);
+        if (names != null) {
+            for (String name : names) {
+                tries[Kind.SKILL.ordinal()].add(name, -1);
+            }
+        }
+    }
+
+    private void count(JobValues values, int delta) {
+        if (values == null || !values.open()) {
+            return;
+        }
+        tries[Kind.TITLE.ordinal()].add(values.title(), delta);
+        tries[Kind.LOCATION.ordinal()].add(values.location(), delta);
+        tries[Kind.COMPANY.ordinal()].add(values.company(), delta);
+    }
+
+    private static JobValues valuesOf(Job job) {
+        return new JobValues(job.getTitle(), job.getLocation(), job.getCompanyName(),
+                job.getStatus() == JobStatus.OPEN);
+    }
+
+    // A profile counts once per skill, however often it lists it
+    private static String[] skillsOf(JobSeeker profile) {
+        Set<String> seen = new LinkedHashSet<>();
+        List<String> names = new ArrayList<>();
+        for (Skill skill : profile.getSkills()) {
+            if (skill.getName() != null && seen.add(normalize(skill.getName()))) {
+                names.add(skill.getName());
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static void tally(Map<String, Entry> tally, String value) {
+        String key = value == null ? "" : normalize(value);
+        if (!key.isEmpty()) {
+            tally.computeIfAbsent(key, k -> new Entry(k, label(value))).count++;
+        }
+    }
+
+    // Lower case with runs of whitespace collapsed to one space
+    static String normalize(String value) {
+        return collapse(value).toLowerCase(Locale.ROOT);
+    }
+
+    private static String label(String value) {
+        return collapse(value);
+    }
+
+    private static String collapse(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = out.length() > 0;
+            } else {
+                if (space) {
+                    out.append(' ');
+                    space = false;
+                }
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static final class Entry {
+        final String key;
+        final String label;
+        int count;
+
+        Entry(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    private static final class Node {
+        // Children sorted by character, searched by binary search
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        // Values whose key, or one of whose word-start suffixes, ends here
+        Entry[] terminals = NO_ENTRIES;
+        // The TOP_K best values in this subtree, in RANK order
+        Entry[] top = NO_ENTRIES;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i < 0 ? null : children[i];
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            i = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i, newKeys, i + 1, keys.length - i);
+            System.arraycopy(children, i, newChildren, i + 1, children.length - i);
+            newKeys[i] = c;
+            newChildren[i] = new Node();
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[i];
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        boolean isEmpty() {
+            return keys.length == 0 && terminals.length == 0;
+        }
+
+        // Count went up: the entry can only climb, so fix its place in this node's list
+        void promote(Entry entry) {
+            int i = indexOf(top, entry);
+            if (i < 0) {
+                if (top.length < TOP_K) {
+                    top = Arrays.copyOf(top, top.length + 1);
+                } else if (RANK.compare(entry, top[top.length - 1]) >= 0) {
+                    return;
+                }
+                i = top.length - 1;
+                top[i] = entry;
+            }
+            while (i > 0 && RANK.compare(top[i], top[i - 1]) < 0) {
+                Entry swap = top[i - 1];
+                top[i - 1] = top[i];
+                top[i] = swap;
+                i--;
+            }
+        }
+
+        // Count went down or the entry left. A value outside the list only gets less likely to enter
+        // it, and a list that is not full already holds the whole subtree, so only a full list
+        // losing ground needs rebuilding.
+        void demote(Entry entry) {
+            int i = indexOf(top, entry);
+            if (i < 0) {
+                return;
+            }
+            if (top.length == TOP_K) {
+                recompute();
+            } else if (entry.count == 0) {
+                Entry[] rest = new Entry[top.length - 1];
+                System.arraycopy(top, 0, rest, 0, i);
+                System.arraycopy(top, i + 1, rest, i, rest.length - i);
+                top = rest;
+            } else {
+                while (i + 1 < top.length && RANK.compare(top[i], top[i + 1]) > 0) {
+                    Entry swap = top[i + 1];
+                    top[i + 1] = top[i];
+                    top[i] = swap;
+                    i++;
+                }
+            }
+        }
+
+        // Rebuilds this node's list from its own values and its children's lists, which between
+        // them hold every candidate for it
+        void recompute() {
+            List<Entry> candidates = new ArrayList<>();
+            for (Entry entry : terminals) {
+                if (indexOf(candidates, entry) < 0) {
+                    candidates.add(entry);
+                }
+            }
+            for (Node child : children) {
+                for (Entry entry : child.top) {
+                    if (indexOf(candidates, entry) < 0) {
+                        candidates.add(entry);
+                    }
+                }
+            }
+            candidates.sort(RANK);
+            top = candidates.subList(0, Math.min(TOP_K, candidates.size())).toArray(NO_ENTRIES);
+        }
+    }
+
+    private static int indexOf(Entry[] entries, Entry entry) {
+        for (int i = 0; i < entries.length; i++) {
+            if (entries[i] == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(List<Entry> entries, Entry entry) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i) == entry) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Trie {
+        private final int maxValues;
+        private Node root = new Node();
+        private final Map<String, Entry> byKey = new HashMap<>();
+
+        Trie(int maxValues) {
+            this.maxValues = maxValues;
+        }
+
+        Node find(String key) {
+            Node node = root;
+            int end = Math.min(key.length(), MAX_KEY_LENGTH);
+            for (int i = 0; i < end && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            return node;
+        }
+
+        // Replaces the contents with already counted entries; past the cap only the most frequent stay
+        void load(Collection<Entry> entries) {
+            root = new Node();
+            byKey.clear();
+            List<Entry> sorted = new ArrayList<>(entries);
+            sorted.sort(RANK);
+            for (Entry entry : sorted.subList(0, Math.min(maxValues, sorted.size()))) {
+                byKey.put(entry.key, entry);
+                for (int start : wordStarts(entry.key)) {
+                    Node node = root;
+                    node.promote(entry);
+                    for (int i = start; i < pathEnd(entry.key, start); i++) {
+                        node = node.addChild(entry.key.charAt(i));
+                        node.promote(entry);
+                    }
+                    node.terminals = append(node.terminals, entry);
+                }
+            }
+        }
+
+        void add(String value, int delta) {
+            String key = value == null ? "" : normalize(value);
+            if (key.isEmpty()) {
+                return;
+            }
+            Entry entry = byKey.get(key);
+            if (delta > 0) {
+                if (entry == null) {
+                    // Full: a new value is rarer than everything kept, so it is not indexed
+                    if (byKey.size() >= maxValues) {
+                        return;
+                    }
+                    entry = new Entry(key, label(value));
+                    byKey.put(key, entry);
+                    attach(entry);
+                }
+                entry.count += delta;
+                for (int start : wordStarts(key)) {
+                    Node node = root;
+                    node.promote(entry);
+                    for (int i = start; i < pathEnd(key, start); i++) {
+                        node = node.child(key.charAt(i));
+                        node.promote(entry);
+                    }
+                }
+            } else if (entry != null) {
+                entry.count = Math.max(0, entry.count + delta);
+                if (entry.count == 0) {
+                    byKey.remove(key);
+                }
+                for (int start : wordStarts(key)) {
+                    demote(entry, start);
+                }
+            }
+        }
+
+        private void attach(Entry entry) {
+            for (int start : wordStarts(entry.key)) {
+                Node node = root;
+                for (int i = start; i < pathEnd(entry.key, start); i++) {
+                    node = node.addChild(entry.key.charAt(i));
+                }
+                node.terminals = append(node.terminals, entry);
+            }
+        }
+
+        // Fixes the lists along one path bottom-up, detaching the entry and pruning emptied nodes
+        // once its count reaches zero
+        private void demote(Entry entry, int start) {
+            int end = pathEnd(entry.key, start);
+            Node[] path = new Node[end - start + 1];
+            path[0] = root;
+            for (int i = start; i < end; i++) {
+                path[i - start + 1] = path[i - start].child(entry.key.charAt(i));
+            }
+            Node last = path[path.length - 1];
+            if (entry.count == 0) {
+                int i = indexOf(last.terminals, entry);
+                if (i >= 0) {
+                    Entry[] rest = new Entry[last.terminals.length - 1];
+                    System.arraycopy(last.terminals, 0, rest, 0, i);
+                    System.arraycopy(last.terminals, i + 1, rest, i, rest.length - i);
+                    last.terminals = rest;
+                }
+            }
+            for (int depth = path.length - 1; depth >= 0; depth--) {
+                Node node = path[depth];
+                if (depth > 0 && node.isEmpty()) {
+                    path[depth - 1].removeChild(entry.key.charAt(start + depth - 1));
+                } else {
+                    node.demote(entry);
+                }
+            }
+        }
+
+        private static int pathEnd(String key, int start) {
+            return Math.min(key.length(), start + MAX_KEY_LENGTH);
+        }
+
+        private static List<Integer> wordStarts(String key) {
+            List<Integer> starts = new ArrayList<>();
+            starts.add(0);
+            for (int i = 1; i < key.length() && starts.size() < MAX_WORD_STARTS; i++) {
+                if (key.charAt(i - 1) == ' ') {
+                    starts.add(i);
+                }
+            }
+            return starts;
+        }
+
+        private static Entry[] append(Entry[] entries, Entry entry) {
+            Entry[] grown = Arrays.copyOf(entries, entries.length + 1);
+            grown[entries.length] = entry;
+            return grown;
+        }
+    }
+}
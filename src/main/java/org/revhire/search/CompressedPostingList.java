@@ -0,0 +1,166 @@
+package org.revhire.search;
+
+import java.util.Arrays;
+
+// Sorted doc ids stored as varint-encoded gaps: a resume term shared by thousands of seekers costs
+// one or two bytes per seeker instead of four. Every SKIP_INTERVAL ids a (doc, byte offset) pair is
+// recorded so a cursor can jump close to a target before decoding. Appending an id larger than the
+// last is cheap; any other change re-encodes the list, which profile updates do rarely.
+public class CompressedPostingList {
+    static final int SKIP_INTERVAL = 64;
+
+    private byte[] bytes = new byte[8];
+    private int length;
+    private int size;
+    private int last = -1;
+    // Doc id and byte offset of the entry at index (k + 1) * SKIP_INTERVAL, for each k < skipCount
+    private int[] skipDocs = new int[4];
+    private int[] skipOffsets = new int[4];
+    private int skipCount;
+
+    public void add(int doc) {
+        if (doc > last) {
+            append(doc);
+            return;
+        }
+        int[] docs = toDocArray();
+        int pos = Arrays.binarySearch(docs, doc);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        int[] updated = new int[docs.length + 1];
+        System.arraycopy(docs, 0, updated, 0, insertAt);
+        updated[insertAt] = doc;
+        System.arraycopy(docs, insertAt, updated, insertAt + 1, docs.length - insertAt);
+        reset(updated);
+    }
+
+    public boolean remove(int doc) {
+        int[] docs = toDocArray();
+        int pos = Arrays.binarySearch(docs, doc);
+        if (pos < 0) {
+            return false;
+        }
+        int[] updated = new int[docs.length - 1];
+        System.arraycopy(docs, 0, updated, 0, pos);
+        System.arraycopy(docs, pos + 1, updated, pos, docs.length - pos - 1);
+        reset(updated);
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Encoded size, for monitoring
+    public int byteSize() {
+        return length;
+    }
+
+    public int[] toDocArray() {
+        int[] docs = new int[size];
+        Cursor cursor = cursor();
+        for (int i = 0; i < size; i++) {
+            docs[i] = cursor.next();
+        }
+        return docs;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    // Forward-only reader over the list
+    public final class Cursor {
+        private int offset;
+        private int index;
+        private int doc = -1;
+
+        // Next doc id, or -1 when exhausted
+        public int next() {
+            if (index >= size) {
+                return -1;
+            }
+            int gap = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[offset++];
+                gap |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc = index == 0 ? gap : doc + gap;
+            index++;
+            return doc;
+        }
+
+        // First doc id >= target, or -1 when there is none
+        public int advance(int target) {
+            if (doc >= target) {
+                return doc;
+            }
+            // Jump to the last skip entry at or below the target, if it is ahead of us
+            int k = Arrays.binarySearch(skipDocs, 0, skipCount, target);
+            k = k >= 0 ? k : -k - 2;
+            int skipIndex = (k + 1) * SKIP_INTERVAL;
+            if (k >= 0 && skipIndex >= index) {
+                offset = skipOffsets[k];
+                skipVarint();
+                index = skipIndex + 1;
+                doc = skipDocs[k];
+                if (doc >= target) {
+                    return doc;
+                }
+            }
+            int next;
+            while ((next = next()) >= 0 && next < target) {
+                // keep decoding
+            }
+            return next;
+        }
+
+        private void skipVarint() {
+            while (bytes[offset++] < 0) {
+                // continuation byte
+            }
+        }
+    }
+
+    private void append(int doc) {
+        if (size > 0 && size % SKIP_INTERVAL == 0) {
+            if (skipCount == skipDocs.length) {
+                skipDocs = Arrays.copyOf(skipDocs, skipCount * 2);
+                skipOffsets = Arrays.copyOf(skipOffsets, skipCount * 2);
+            }
+            skipDocs[skipCount] = doc;
+            skipOffsets[skipCount++] = length;
+        }
+        int gap = size == 0 ? doc : doc - last;
+        if (length + 5 > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + 5));
+        }
+        while ((gap & ~0x7F) != 0) {
+            bytes[length++] = (byte) ((gap & 0x7F) | 0x80);
+            gap >>>= 7;
+        }
+        bytes[length++] = (byte) gap;
+        last = doc;
+        size++;
+    }
+
+    private void reset(int[] docs) {
+        bytes = new byte[Math.max(8, docs.length * 2)];
+        length = 0;
+        size = 0;
+        last = -1;
+        skipCount = 0;
+        for (int doc : docs) {
+            append(doc);
+        }
+    }
+}
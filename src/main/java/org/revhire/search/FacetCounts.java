@@ -0,0 +1,56 @@
+package org.revhire.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// How many matching jobs fall under each location, job type, company and experience bucket.
+// Counts cover every match of the query, not just the page returned.
+public class FacetCounts {
+
+    public enum Facet {
+        LOCATION, JOB_TYPE, COMPANY, EXPERIENCE
+    }
+
+    public record Bucket(String label, int count) {
+    }
+
+    private final Map<Facet, List<Bucket>> buckets = new EnumMap<>(Facet.class);
+    private final int totalHits;
+
+    // counts[facet][ordinal] with labels[facet].get(ordinal) naming each ordinal
+    FacetCounts(int[][] counts, List<List<String>> labels, int totalHits) {
+        this.totalHits = totalHits;
+        for (Facet facet : Facet.values()) {
+            int[] facetCounts = counts[facet.ordinal()];
+            List<Bucket> list = new ArrayList<>();
+            for (int ordinal = 0; ordinal < facetCounts.length; ordinal++) {
+                if (facetCounts[ordinal] > 0) {
+                    list.add(new Bucket(labels.get(facet.ordinal()).get(ordinal), facetCounts[ordinal]));
+                }
+            }
+            // Experience buckets keep their natural order; the rest list the biggest first
+            if (facet != Facet.EXPERIENCE) {
+                list.sort(Comparator.comparingInt(Bucket::count).reversed().thenComparing(Bucket::label));
+            }
+            buckets.put(facet, Collections.unmodifiableList(list));
+        }
+    }
+
+    public List<Bucket> get(Facet facet) {
+        return buckets.get(facet);
+    }
+
+    // The first limit buckets of a facet
+    public List<Bucket> top(Facet facet, int limit) {
+        List<Bucket> list = buckets.get(facet);
+        return list.size() <= limit ? list : list.subList(0, limit);
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+}
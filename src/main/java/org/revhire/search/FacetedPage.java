@@ -0,0 +1,20 @@
+package org.revhire.search;
+
+import org.revhire.dao.Page;
+import org.revhire.dao.PageCursor;
+
+import java.util.List;
+
+// A page of search results with the facet counts of the whole match set
+public class FacetedPage<T> extends Page<T> {
+    private final FacetCounts facets;
+
+    public FacetedPage(List<T> items, PageCursor nextCursor, FacetCounts facets) {
+        super(items, nextCursor);
+        this.facets = facets;
+    }
+
+    public FacetCounts getFacets() {
+        return facets;
+    }
+}
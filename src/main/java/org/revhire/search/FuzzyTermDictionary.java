@@ -0,0 +1,161 @@
+package org.revhire.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Finds indexed terms within a small edit distance of a query term by symmetric deletes: every term
+// is filed under each string left after deleting up to MAX_DISTANCE characters from its first
+// PREFIX_LENGTH characters, and a query term probes the same deletions of itself. A lookup is a few
+// dozen hash probes plus an edit-distance check of the terms they turn up, never a scan of the
+// vocabulary. Not thread-safe; JobSearchIndex guards it with its own lock.
+class FuzzyTermDictionary {
+    static final int MAX_DISTANCE = 2;
+    // Deletions are taken from this many leading characters only, which bounds the variants per
+    // term at 29 whatever its length
+    private static final int PREFIX_LENGTH = 7;
+    // Shorter terms only ever match exactly, so they are not filed
+    private static final int MIN_TERM_LENGTH = 3;
+    // Most terms one query term expands to, closest first
+    static final int MAX_EXPANSIONS = 50;
+
+    // Number of fields each term is indexed in; a term leaves when its count reaches zero
+    private final Map<String, Integer> refCounts = new HashMap<>();
+    private final Map<String, List<String>> deletes = new HashMap<>();
+
+    void add(String term) {
+        if (term.length() < MIN_TERM_LENGTH || refCounts.merge(term, 1, Integer::sum) > 1) {
+            return;
+        }
+        for (String variant : variants(term, MAX_DISTANCE)) {
+            deletes.computeIfAbsent(variant, k -> new ArrayList<>(2)).add(term);
+        }
+    }
+
+    void remove(String term) {
+        Integer count = refCounts.get(term);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            refCounts.put(term, count - 1);
+            return;
+        }
+        refCounts.remove(term);
+        for (String variant : variants(term, MAX_DISTANCE)) {
+            List<String> terms = deletes.get(variant);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                deletes.remove(variant);
+            }
+        }
+    }
+
+    void clear() {
+        refCounts.clear();
+        deletes.clear();
+    }
+
+    int size() {
+        return refCounts.size();
+    }
+
+    // Edits allowed for a query term: none for short terms, where one edit is most of the word, or
+    // for terms with digits, where a different number is a different thing
+    static int maxDistance(String term) {
+        for (int i = 0; i < term.length(); i++) {
+            if (Character.isDigit(term.charAt(i))) {
+                return 0;
+            }
+        }
+        return term.length() < 4 ? 0 : term.length() < 8 ? 1 : MAX_DISTANCE;
+    }
+
+    // Indexed terms within maxDistance(term) edits, mapped to their distance, closest first. The term
+    // itself is always included at distance 0, indexed or not.
+    Map<String, Integer> lookup(String term) {
+        int max = maxDistance(term);
+        Map<String, Integer> found = new HashMap<>();
+        found.put(term, 0);
+        if (max > 0) {
+            for (String variant : variants(term, max)) {
+                List<String> terms = deletes.get(variant);
+                if (terms == null) {
+                    continue;
+                }
+                for (String candidate : terms) {
+                    if (!found.containsKey(candidate) && Math.abs(candidate.length() - term.length()) <= max) {
+                        found.put(candidate, distance(term, candidate, max));
+                    }
+                }
+            }
+        }
+        List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+        for (Map.Entry<String, Integer> e : found.entrySet()) {
+            if (e.getValue() <= max) {
+                matches.add(e);
+            }
+        }
+        matches.sort(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> e : matches.subList(0, Math.min(MAX_EXPANSIONS, matches.size()))) {
+            result.put(e.getKey(), e.getValue());
+        }
+        return result;
+    }
+
+    // Every string left after deleting up to max characters from the term's prefix
+    private static Set<String> variants(String term, int max) {
+        String prefix = term.length() > PREFIX_LENGTH ? term.substring(0, PREFIX_LENGTH) : term;
+        Set<String> variants = new HashSet<>();
+        variants.add(prefix);
+        List<String> frontier = List.of(prefix);
+        for (int d = 0; d < max; d++) {
+            List<String> next = new ArrayList<>();
+            for (String s : frontier) {
+                for (int i = 0; i < s.length(); i++) {
+                    String variant = s.substring(0, i) + s.substring(i + 1);
+                    if (variants.add(variant)) {
+                        next.add(variant);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return variants;
+    }
+
+    // Edit distance counting an adjacent transposition as one edit (optimal string alignment).
+    // Returns max + 1 as soon as every alignment is already over max.
+    static int distance(String a, String b, int max) {
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            int best = row[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    row[j] = Math.min(row[j], prevPrev[j - 2] + 1);
+                }
+                best = Math.min(best, row[j]);
+            }
+            if (best > max) {
+                return max + 1;
+            }
+            int[] recycled = prevPrev;
+            prevPrev = prev;
+            prev = row;
+            row = recycled;
+        }
+        return Math.min(prev[b.length()], max + 1);
+    }
+}
@@ -0,0 +1,407 @@
+package org.revhire.search;
+
+import org.revhire.model.Job;
+import org.revhire.model.SavedSearch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Reverse search: an index over saved searches that answers "which saved searches does this job
+// match?". Every saved search is filed under an anchor term it requires and, when it has more than
+// one term, under a second required term inside that anchor's bucket. A job only looks at the
+// buckets of terms it contains, and within each only at the searches whose second term it also
+// contains, then checks those few candidates in full.
+// Matching follows JobSearchIndex: every keyword term must appear in the title, description or
+// requirements, every location / job type / company term in that field, and the job's required
+// experience must not exceed the search's maximum.
+public class JobPercolator {
+    private static final Logger logger = LoggerFactory.getLogger(JobPercolator.class);
+
+    private static final JobPercolator SHARED = new JobPercolator();
+
+    enum Group {
+        KEYWORD, LOCATION, JOB_TYPE, COMPANY
+    }
+
+    // A saved search that matched
+    public record Match(int searchId, int seekerId) {
+    }
+
+    // Searches sharing an anchor term: those with no other term, and the rest keyed by a second term
+    private static final class Bucket {
+        final List<Compiled> anchorOnly = new ArrayList<>();
+        final Map<Group, Map<String, List<Compiled>>> bySecond = new EnumMap<>(Group.class);
+
+        boolean isEmpty() {
+            return anchorOnly.isEmpty() && bySecond.isEmpty();
+        }
+    }
+
+    // Where a search is filed; second is null when the anchor is its only term
+    private record Slot(Group group, String anchor, Group secondGroup, String second) {
+    }
+
+    private static final class Compiled {
+        final int id;
+        final int seekerId;
+        final String[][] terms = new String[Group.values().length][];
+        final int maxExperience;
+
+        Compiled(SavedSearch search) {
+            this.id = search.getId();
+            this.seekerId = search.getSeekerId();
+            terms[Group.KEYWORD.ordinal()] = toArray(Tokenizer.uniqueTerms(search.getKeyword()));
+            terms[Group.LOCATION.ordinal()] = toArray(Tokenizer.uniqueTerms(search.getLocation()));
+            terms[Group.JOB_TYPE.ordinal()] = toArray(Tokenizer.uniqueTerms(search.getJobType()));
+            terms[Group.COMPANY.ordinal()] = toArray(Tokenizer.uniqueTerms(search.getCompany()));
+            this.maxExperience = search.getMaxExperience() == null ? Integer.MAX_VALUE : search.getMaxExperience();
+        }
+
+        boolean matches(List<Set<String>> jobTerms, int experience) {
+            if (experience > maxExperience) {
+                return false;
+            }
+            for (Group group : Group.values()) {
+                Set<String> available = jobTerms.get(group.ordinal());
+                for (String term : terms[group.ordinal()]) {
+                    if (!available.contains(term)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private static String[] toArray(Set<String> terms) {
+            return terms.toArray(new String[0]);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Compiled> searches = new HashMap<>();
+    private final Map<Group, Map<String, Bucket>> anchors = new EnumMap<>(Group.class);
+    // Searches with no terms at all match every job within their experience limit
+    private final List<Compiled> unanchored = new ArrayList<>();
+
+    private volatile boolean loaded;
+    // Rebuilds whose snapshot is still being read; guarded by lock
+    private final List<Rebuild> rebuilds = new ArrayList<>();
+
+    // A rebuild in flight; writes that land while its snapshot is read are replayed on top of it
+    public static final class Rebuild {
+        private final List<Runnable> writes = new ArrayList<>();
+        private boolean invalidated;
+
+        private Rebuild() {
+        }
+    }
+
+    public JobPercolator() {
+        for (Group group : Group.values()) {
+            anchors.put(group, new HashMap<>());
+        }
+    }
+
+    public static JobPercolator getShared() {
+        return SHARED;
+    }
+
+    // Call before reading the snapshot passed to rebuild(Rebuild, saved)
+    public Rebuild beginRebuild() {
+        Rebuild rebuild = new Rebuild();
+        lock.writeLock().lock();
+        try {
+            rebuilds.add(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuild;
+    }
+
+    // For a rebuild whose snapshot could not be read
+    public void abandon(Rebuild rebuild) {
+        lock.writeLock().lock();
+        try {
+            rebuilds.remove(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isRebuilding() {
+        lock.readLock().lock();
+        try {
+            return !rebuilds.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<SavedSearch> saved) {
+        rebuild(new Rebuild(), saved);
+    }
+
+    public void rebuild(Rebuild rebuild, Collection<SavedSearch> saved) {
+        lock.writeLock().lock();
+        try {
+            rebuilds.remove(rebuild);
+            searches.clear();
+            anchors.values().forEach(Map::clear);
+            unanchored.clear();
+            for (SavedSearch search : saved) {
+                addInternal(search);
+            }
+            rebuild.writes.forEach(Runnable::run);
+            loaded = !rebuild.invalidated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Job percolator built with {} saved searches ({} writes replayed)", saved.size(),
+                rebuild.writes.size());
+    }
+
+    public void add(SavedSearch search) {
+        write(() -> {
+            removeInternal(search.getId());
+            addInternal(search);
+        });
+    }
+
+    public void remove(int searchId) {
+        write(() -> removeInternal(searchId));
+    }
+
+    // Applies a write now and records it for every rebuild in flight
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            for (Rebuild rebuild : rebuilds) {
+                rebuild.writes.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Forces a rebuild from the database before the next percolation
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            rebuilds.forEach(rebuild -> rebuild.invalidated = true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return searches.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Saved searches the job satisfies
+    public List<Match> percolate(Job job) {
+        List<Set<String>> jobTerms = new ArrayList<>(Group.values().length);
+        for (Group group : Group.values()) {
+            jobTerms.add(termsOf(job, group));
+        }
+        int experience = job.getExperienceYears();
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Group group : Group.values()) {
+                Map<String, Bucket> byTerm = anchors.get(group);
+                if (byTerm.isEmpty()) {
+                    continue;
+                }
+                for (String term : jobTerms.get(group.ordinal())) {
+                    Bucket bucket = byTerm.get(term);
+                    if (bucket == null) {
+                        continue;
+                    }
+                    collect(bucket.anchorOnly, jobTerms, experience, matches);
+                    for (Map.Entry<Group, Map<String, List<Compiled>>> e : bucket.bySecond.entrySet()) {
+                        collectSecond(e.getValue(), jobTerms.get(e.getKey().ordinal()), jobTerms, experience,
+                                matches);
+                    }
+                }
+            }
+            collect(unanchored, jobTerms, experience, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private static void collect(List<Compiled> candidates, List<Set<String>> jobTerms, int experience,
+            List<Match> matches) {
+        for (Compiled candidate : candidates) {
+            if (candidate.matches(jobTerms, experience)) {
+                matches.add(new Match(candidate.id, candidate.seekerId));
+            }
+        }
+    }
+
+    // Probes whichever side is smaller: the job's terms or the bucket's second terms. Long job
+    // descriptions therefore cost no more than the bucket holds.
+    private static void collectSecond(Map<String, List<Compiled>> bySecond, Set<String> available,
+            List<Set<String>> jobTerms, int experience, List<Match> matches) {
+        if (available.size() <= bySecond.size()) {
+            for (String term : available) {
+                List<Compiled> candidates = bySecond.get(term);
+                if (candidates != null) {
+                    collect(candidates, jobTerms, experience, matches);
+                }
+            }
+        } else {
+            for (Map.Entry<String, List<Compiled>> e : bySecond.entrySet()) {
+                if (available.contains(e.getKey())) {
+                    collect(e.getValue(), jobTerms, experience, matches);
+                }
+            }
+        }
+    }
+
+    private void addInternal(SavedSearch search) {
+        Compiled compiled = new Compiled(search);
+        searches.put(compiled.id, compiled);
+        Slot slot = slotOf(compiled);
+        if (slot == null) {
+            unanchored.add(compiled);
+            return;
+        }
+        Bucket bucket = anchors.get(slot.group()).computeIfAbsent(slot.anchor(), k -> new Bucket());
+        if (slot.second() == null) {
+            bucket.anchorOnly.add(compiled);
+        } else {
+            bucket.bySecond.computeIfAbsent(slot.secondGroup(), k -> new HashMap<>())
+                    .computeIfAbsent(slot.second(), k -> new ArrayList<>()).add(compiled);
+        }
+    }
+
+    private void removeInternal(int searchId) {
+        Compiled compiled = searches.remove(searchId);
+        if (compiled == null) {
+            return;
+        }
+        Slot slot = slotOf(compiled);
+        if (slot == null) {
+            unanchored.remove(compiled);
+            return;
+        }
+        Bucket bucket = anchors.get(slot.group()).get(slot.anchor());
+        if (bucket == null) {
+            return;
+        }
+        if (slot.second() == null) {
+            bucket.anchorOnly.remove(compiled);
+        } else {
+            Map<String, List<Compiled>> bySecond = bucket.bySecond.get(slot.secondGroup());
+            List<Compiled> list = bySecond == null ? null : bySecond.get(slot.second());
+            if (list != null) {
+                list.remove(compiled);
+                if (list.isEmpty()) {
+                    bySecond.remove(slot.second());
+                    if (bySecond.isEmpty()) {
+                        bucket.bySecond.remove(slot.secondGroup());
+                    }
+                }
+            }
+        }
+        if (bucket.isEmpty()) {
+            anchors.get(slot.group()).remove(slot.anchor());
+        }
+    }
+
+    private static Slot slotOf(Compiled compiled) {
+        Group group = anchorGroup(compiled);
+        if (group == null) {
+            return null;
+        }
+        String anchor = anchorTerm(compiled, group);
+        // The second term is the most selective remaining one, by the same preference order
+        Group secondGroup = null;
+        String second = null;
+        for (Group g : new Group[] { Group.KEYWORD, Group.COMPANY, Group.LOCATION, Group.JOB_TYPE }) {
+            for (String term : compiled.terms[g.ordinal()]) {
+                if ((g == group && term.equals(anchor)) || (second != null && term.length() <= second.length())) {
+                    continue;
+                }
+                secondGroup = g;
+                second = term;
+            }
+            if (second != null) {
+                break;
+            }
+        }
+        return new Slot(group, anchor, secondGroup, second);
+    }
+
+    // The anchor should be a term few jobs contain, so few candidates are checked per job.
+    // Keyword and company terms are usually the most selective, then location; job type terms
+    // ("full", "time") appear on most postings and anchor only searches that have nothing else.
+    private static Group anchorGroup(Compiled compiled) {
+        String[] keyword = compiled.terms[Group.KEYWORD.ordinal()];
+        String[] company = compiled.terms[Group.COMPANY.ordinal()];
+        if (keyword.length > 0 || company.length > 0) {
+            return longest(keyword).length() >= longest(company).length() ? Group.KEYWORD : Group.COMPANY;
+        }
+        if (compiled.terms[Group.LOCATION.ordinal()].length > 0) {
+            return Group.LOCATION;
+        }
+        if (compiled.terms[Group.JOB_TYPE.ordinal()].length > 0) {
+            return Group.JOB_TYPE;
+        }
+        return null;
+    }
+
+    // Longer terms tend to be rarer
+    private static String anchorTerm(Compiled compiled, Group group) {
+        return longest(compiled.terms[group.ordinal()]);
+    }
+
+    private static String longest(String[] terms) {
+        String best = "";
+        for (String term : terms) {
+            if (term.length() > best.length()) {
+                best = term;
+            }
+        }
+        return best;
+    }
+
+    private static Set<String> termsOf(Job job, Group group) {
+        switch (group) {
+            case KEYWORD: {
+                Set<String> terms = Tokenizer.uniqueTerms(job.getTitle());
+                terms.addAll(Tokenizer.uniqueTerms(job.getDescription()));
+                terms.addAll(Tokenizer.uniqueTerms(job.getRequirements()));
+                return terms;
+            }
+            case LOCATION:
+                return Tokenizer.uniqueTerms(job.getLocation());
+            case JOB_TYPE:
+                return Tokenizer.uniqueTerms(job.getJobType());
+            default:
+                return Tokenizer.uniqueTerms(job.getCompanyName());
+        }
+    }
+}
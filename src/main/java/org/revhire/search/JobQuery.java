@@ -0,0 +1,71 @@
+package org.revhire.search;
+
+// Search criteria accepted by the job index. Null or blank fields are not applied.
+public class JobQuery {
+    private String keyword;
+    private String location;
+    private String jobType;
+    private Integer maxExperience;
+    private String company;
+    // Also match terms a few typos away ("javscript", "bangalor")
+    private boolean fuzzy;
+
+    public JobQuery() {
+    }
+
+    public JobQuery(String keyword, String location, String jobType, Integer maxExperience, String company) {
+        this.keyword = keyword;
+        this.location = location;
+        this.jobType = jobType;
+        this.maxExperience = maxExperience;
+        this.company = company;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getJobType() {
+        return jobType;
+    }
+
+    public void setJobType(String jobType) {
+        this.jobType = jobType;
+    }
+
+    public Integer getMaxExperience() {
+        return maxExperience;
+    }
+
+    public void setMaxExperience(Integer maxExperience) {
+        this.maxExperience = maxExperience;
+    }
+
+    public String getCompany() {
+        return company;
+    }
+
+    public void setCompany(String company) {
+        this.company = company;
+    }
+
+    public boolean isFuzzy() {
+        return fuzzy;
+    }
+
+    public void setFuzzy(boolean fuzzy) {
+        this.fuzzy = fuzzy;
+    }
+}
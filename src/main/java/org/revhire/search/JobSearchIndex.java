@@ -0,0 +1,597 @@
+package org.revhire.search;
+
+import org.revhire.model.Job;
+import org.revhire.model.Job.JobStatus;
+import org.revhire.search.FacetCounts.Facet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over job postings. Answers searches with job ids only;
+// the caller loads the rows it actually shows from the database.
+public class JobSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(JobSearchIndex.class);
+
+    public enum Field {
+        TITLE, DESCRIPTION, REQUIREMENTS, LOCATION, JOB_TYPE, COMPANY
+    }
+
+    // Fields a free-text keyword is matched against
+    private static final Field[] KEYWORD_FIELDS = { Field.TITLE, Field.DESCRIPTION, Field.REQUIREMENTS };
+    private static final int[] EMPTY = new int[0];
+
+    // BM25 parameters and per-field boosts for ranked search
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final float[] FIELD_BOOST = { 3.0f, 1.0f, 1.5f, 0f, 0f, 0f };
+    // Score weight of a fuzzy match by edit distance: one edit away counts half an exact match
+    private static final float[] FUZZY_WEIGHT = { 1.0f, 0.5f, 0.25f };
+
+    // Labels of the experience facet, by required years
+    static final String[] EXPERIENCE_BUCKETS = { "0-1 years", "2-4 years", "5-9 years", "10+ years" };
+
+    // Shared by every JobService in the process so writes from one menu are visible to the others
+    private static final JobSearchIndex SHARED = new JobSearchIndex(AutocompleteIndex.getShared());
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<String, PostingList>> postings = new ArrayList<>();
+    // Distinct terms per field for each indexed job, so a job can be unindexed on update/delete
+    private final Map<Integer, String[][]> docTerms = new HashMap<>();
+    // Every indexed term, for expanding fuzzy query terms
+    private final FuzzyTermDictionary vocabulary = new FuzzyTermDictionary();
+
+    // Per-job values, indexed by job id
+    private boolean[] open = new boolean[0];
+    private int[] experience = new int[0];
+    private long[] postedAt = new long[0];
+    // Token count per field per job, and the sum over all jobs, for BM25 length normalisation
+    private final int[][] fieldLengths = new int[Field.values().length][0];
+    private final long[] totalFieldLengths = new long[Field.values().length];
+
+    // Facet value ordinal per facet per job (-1 for no value), so counting a hit is one array read
+    // per facet. Values are matched case-insensitively and shown as first seen.
+    private final int[][] facetOrdinals = new int[Facet.values().length][0];
+    private final List<Map<String, Integer>> facetKeys = new ArrayList<>();
+    private final List<List<String>> facetLabels = new ArrayList<>();
+
+    // Title, location and company suggestions fed from the same writes; null when not wired in
+    private final AutocompleteIndex suggestions;
+
+    private volatile boolean loaded;
+    // Rebuilds whose snapshot is still being read; guarded by lock
+    private final List<Rebuild> rebuilds = new ArrayList<>();
+
+    // A rebuild in flight. Its snapshot may be read before writes that land in the meantime, so
+    // those writes are recorded here and replayed on top of the snapshot once it is installed.
+    public static final class Rebuild {
+        private final List<Runnable> writes = new ArrayList<>();
+        private boolean invalidated;
+
+        private Rebuild() {
+        }
+    }
+
+    public JobSearchIndex() {
+        this(null);
+    }
+
+    public JobSearchIndex(AutocompleteIndex suggestions) {
+        this.suggestions = suggestions;
+        for (int i = 0; i < Field.values().length; i++) {
+            postings.add(new HashMap<>());
+        }
+        for (int i = 0; i < Facet.values().length; i++) {
+            facetKeys.add(new HashMap<>());
+            facetLabels.add(new ArrayList<>());
+        }
+        facetLabels.get(Facet.EXPERIENCE.ordinal()).addAll(Arrays.asList(EXPERIENCE_BUCKETS));
+    }
+
+    public static JobSearchIndex getShared() {
+        return SHARED;
+    }
+
+    // Call before reading the snapshot passed to rebuild(Rebuild, jobs)
+    public Rebuild beginRebuild() {
+        Rebuild rebuild = new Rebuild();
+        lock.writeLock().lock();
+        try {
+            rebuilds.add(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuild;
+    }
+
+    // For a rebuild whose snapshot could not be read
+    public void abandon(Rebuild rebuild) {
+        lock.writeLock().lock();
+        try {
+            rebuilds.remove(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isRebuilding() {
+        lock.readLock().lock();
+        try {
+            return !rebuilds.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<Job> jobs) {
+        rebuild(new Rebuild(), jobs);
+    }
+
+    public void rebuild(Rebuild rebuild, Collection<Job> jobs) {
+        lock.writeLock().lock();
+        try {
+            rebuilds.remove(rebuild);
+            postings.forEach(Map::clear);
+            docTerms.clear();
+            vocabulary.clear();
+            Arrays.fill(open, false);
+            Arrays.fill(totalFieldLengths, 0);
+            for (Facet facet : new Facet[] { Facet.LOCATION, Facet.JOB_TYPE, Facet.COMPANY }) {
+                facetKeys.get(facet.ordinal()).clear();
+                facetLabels.get(facet.ordinal()).clear();
+            }
+            for (Job job : jobs) {
+                addInternal(job);
+            }
+            if (suggestions != null) {
+                suggestions.rebuildJobs(jobs);
+            }
+            rebuild.writes.forEach(Runnable::run);
+            // A refresh that failed meanwhile may be missing from both, so stay stale
+            loaded = !rebuild.invalidated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Job search index built with {} jobs ({} writes replayed)", jobs.size(), rebuild.writes.size());
+    }
+
+    public void upsert(Job job) {
+        write(() -> {
+            removeInternal(job.getId());
+            addInternal(job);
+            if (suggestions != null) {
+                suggestions.indexJob(job);
+            }
+        });
+    }
+
+    public void remove(int jobId) {
+        write(() -> {
+            removeInternal(jobId);
+            if (suggestions != null) {
+                suggestions.removeJob(jobId);
+            }
+        });
+    }
+
+    public void updateStatus(int jobId, JobStatus status) {
+        write(() -> {
+            if (docTerms.containsKey(jobId)) {
+                open[jobId] = status == JobStatus.OPEN;
+                if (suggestions != null) {
+                    suggestions.setJobOpen(jobId, open[jobId]);
+                }
+            }
+        });
+    }
+
+    // Applies a write now and records it for every rebuild in flight
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            for (Rebuild rebuild : rebuilds) {
+                rebuild.writes.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Forces a rebuild from the database before the next search
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            rebuilds.forEach(rebuild -> rebuild.invalidated = true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of open jobs matching every criterion, newest first (posted_at DESC, id DESC)
+    public int[] search(JobQuery query) {
+        lock.readLock().lock();
+        try {
+            int[] candidates = matchText(query);
+            int count = 0;
+            Integer[] hits = new Integer[candidates.length];
+            for (int id : candidates) {
+                if (open[id] && (query.getMaxExperience() == null || experience[id] <= query.getMaxExperience())) {
+                    hits[count++] = id;
+                }
+            }
+            Arrays.sort(hits, 0, count, Comparator.<Integer>comparingLong(id -> postedAt[id])
+                    .thenComparingInt(id -> id).reversed());
+            int[] result = new int[count];
+            for (int i = 0; i < count; i++) {
+                result[i] = hits[i];
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One page of the newest-first listing: up to `limit` ids that sort strictly after
+    // (afterPostedAt, afterId). Picked with a bounded heap, so paging never sorts the full match list.
+    public int[] searchAfter(JobQuery query, long afterPostedAt, int afterId, int limit) {
+        return searchAfter(query, afterPostedAt, afterId, limit, false).ids();
+    }
+
+    // As searchAfter, also counting facets over every match (not only those after the cursor)
+    public Hits searchAfterFaceted(JobQuery query, long afterPostedAt, int afterId, int limit) {
+        return searchAfter(query, afterPostedAt, afterId, limit, true);
+    }
+
+    // Ids of the best `limit` open jobs for the query, most relevant first. Keyword terms are scored
+    // with BM25 over title, description and requirements, title matches counting the most.
+    public int[] searchRanked(JobQuery query, int limit) {
+        return searchRanked(query, limit, false).ids();
+    }
+
+    // As searchRanked, also counting facets over every match
+    public Hits searchRankedFaceted(JobQuery query, int limit) {
+        return searchRanked(query, limit, true);
+    }
+
+    // Result ids plus facet counts; facets is null when they were not asked for
+    public record Hits(int[] ids, FacetCounts facets) {
+    }
+
+    private Hits searchAfter(JobQuery query, long afterPostedAt, int afterId, int limit, boolean faceted) {
+        lock.readLock().lock();
+        try {
+            int[][] counts = faceted ? newFacetCounts() : null;
+            TopKCollector top = new TopKCollector(Math.max(0, limit));
+            int matched = 0;
+            for (int id : matchText(query)) {
+                if (!open[id] || (query.getMaxExperience() != null && experience[id] > query.getMaxExperience())) {
+                    continue;
+                }
+                if (counts != null) {
+                    countFacets(counts, id);
+                    matched++;
+                }
+                if (postedAt[id] < afterPostedAt || (postedAt[id] == afterPostedAt && id < afterId)) {
+                    top.collect(id, 0f, postedAt[id]);
+                }
+            }
+            return new Hits(top.toSortedDocs(), counts == null ? null : new FacetCounts(counts, facetLabels, matched));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Hits searchRanked(JobQuery query, int limit, boolean faceted) {
+        lock.readLock().lock();
+        try {
+            int[][] counts = faceted ? newFacetCounts() : null;
+            int[] candidates = matchText(query);
+            float[] scores = new float[candidates.length];
+            int docCount = docTerms.size();
+            for (String term : Tokenizer.uniqueTerms(query.getKeyword())) {
+                Map<String, Integer> expansions = expand(term, query.isFuzzy());
+                for (Field field : KEYWORD_FIELDS) {
+                    Map<String, PostingList> fieldPostings = postings.get(field.ordinal());
+                    // All expansions of a term share the idf of the most common one, so a rare
+                    // near-miss does not outscore the common term that was meant
+                    int docFreq = 0;
+                    for (String expansion : expansions.keySet()) {
+                        PostingList list = fieldPostings.get(expansion);
+                        docFreq = Math.max(docFreq, list == null ? 0 : list.size());
+                    }
+                    for (Map.Entry<String, Integer> expansion : expansions.entrySet()) {
+                        PostingList list = fieldPostings.get(expansion.getKey());
+                        if (list != null) {
+                            accumulateBm25(field, list, docFreq, docCount, candidates, scores,
+                                    FUZZY_WEIGHT[expansion.getValue()]);
+                        }
+                    }
+                }
+            }
+
+            TopKCollector top = new TopKCollector(Math.max(0, limit));
+            int matched = 0;
+            for (int i = 0; i < candidates.length; i++) {
+                int id = candidates[i];
+                if (open[id] && (query.getMaxExperience() == null || experience[id] <= query.getMaxExperience())) {
+                    top.collect(id, scores[i], postedAt[id]);
+                    if (counts != null) {
+                        countFacets(counts, id);
+                        matched++;
+                    }
+                }
+            }
+            return new Hits(top.toSortedDocs(), counts == null ? null : new FacetCounts(counts, facetLabels, matched));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // One counter per known value of each facet; called under the read lock
+    private int[][] newFacetCounts() {
+        int[][] counts = new int[Facet.values().length][];
+        for (int f = 0; f < counts.length; f++) {
+            counts[f] = new int[facetLabels.get(f).size()];
+        }
+        return counts;
+    }
+
+    private void countFacets(int[][] counts, int id) {
+        for (int f = 0; f < counts.length; f++) {
+            int ordinal = facetOrdinals[f][id];
+            if (ordinal >= 0) {
+                counts[f][ordinal]++;
+            }
+        }
+    }
+
+    // Walks one posting list alongside the sorted candidates and adds the field's BM25 contribution,
+    // scaled by weight
+    private void accumulateBm25(Field field, PostingList list, int docFreq, int docCount, int[] candidates,
+            float[] scores, float weight) {
+        int f = field.ordinal();
+        float idf = (float) Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+        float avgLength = docCount == 0 ? 1f : Math.max(1f, (float) totalFieldLengths[f] / docCount);
+        int i = 0, j = 0;
+        while (i < candidates.length && j < list.size()) {
+            int doc = list.docAt(j);
+            if (candidates[i] < doc) {
+                i++;
+            } else if (candidates[i] > doc) {
+                j++;
+            } else {
+                float tf = list.freqAt(j);
+                float norm = K1 * (1 - B + B * fieldLengths[f][doc] / avgLength);
+                scores[i] += weight * FIELD_BOOST[f] * idf * tf * (K1 + 1) / (tf + norm);
+                i++;
+                j++;
+            }
+        }
+    }
+
+    // Sorted ids of indexed jobs satisfying the text criteria, ignoring status and experience
+    private int[] matchText(JobQuery query) {
+        int[] candidates = null;
+        for (String term : Tokenizer.uniqueTerms(query.getKeyword())) {
+            int[] docs = EMPTY;
+            for (String expansion : expand(term, query.isFuzzy()).keySet()) {
+                docs = union(docs, unionOfFields(expansion, KEYWORD_FIELDS));
+            }
+            candidates = intersect(candidates, docs);
+        }
+        candidates = requireAll(candidates, Field.LOCATION, query.getLocation(), query.isFuzzy());
+        candidates = requireAll(candidates, Field.JOB_TYPE, query.getJobType(), query.isFuzzy());
+        candidates = requireAll(candidates, Field.COMPANY, query.getCompany(), query.isFuzzy());
+        if (candidates == null) {
+            candidates = docTerms.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        return candidates;
+    }
+
+    private int[] requireAll(int[] candidates, Field field, String text, boolean fuzzy) {
+        for (String term : Tokenizer.uniqueTerms(text)) {
+            int[] docs = EMPTY;
+            for (String expansion : expand(term, fuzzy).keySet()) {
+                PostingList list = postings.get(field.ordinal()).get(expansion);
+                if (list != null) {
+                    docs = union(docs, list.toDocArray());
+                }
+            }
+            candidates = intersect(candidates, docs);
+        }
+        return candidates;
+    }
+
+    // The term itself and, for a fuzzy query, the indexed terms a few edits away, with their distance
+    private Map<String, Integer> expand(String term, boolean fuzzy) {
+        return fuzzy ? vocabulary.lookup(term) : Map.of(term, 0);
+    }
+
+    private int[] unionOfFields(String term, Field[] fields) {
+        int[] result = EMPTY;
+        for (Field field : fields) {
+            PostingList list = postings.get(field.ordinal()).get(term);
+            if (list != null) {
+                result = union(result, list.toDocArray());
+            }
+        }
+        return result;
+    }
+
+    // A null left side means "no constraint yet"
+    static int[] intersect(int[] a, int[] b) {
+        if (a == null) {
+            return b;
+        }
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static int[] union(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j >= b.length || (i < a.length && a[i] < b[j])) {
+                out[n++] = a[i++];
+            } else if (i >= a.length || b[j] < a[i]) {
+                out[n++] = b[j++];
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void addInternal(Job job) {
+        int id = job.getId();
+        ensureCapacity(id + 1);
+        String[][] terms = new String[Field.values().length][];
+        for (Field field : Field.values()) {
+            Map<String, Integer> freqs = new HashMap<>();
+            List<String> tokens = Tokenizer.tokenize(fieldText(job, field));
+            for (String token : tokens) {
+                freqs.merge(token, 1, Integer::sum);
+            }
+            fieldLengths[field.ordinal()][id] = tokens.size();
+            totalFieldLengths[field.ordinal()] += tokens.size();
+            Map<String, PostingList> fieldPostings = postings.get(field.ordinal());
+            for (Map.Entry<String, Integer> e : freqs.entrySet()) {
+                PostingList list = fieldPostings.get(e.getKey());
+                if (list == null) {
+                    list = new PostingList();
+                    fieldPostings.put(e.getKey(), list);
+                    vocabulary.add(e.getKey());
+                }
+                list.add(id, e.getValue());
+            }
+            terms[field.ordinal()] = freqs.keySet().toArray(new String[0]);
+        }
+        docTerms.put(id, terms);
+        open[id] = job.getStatus() == JobStatus.OPEN;
+        experience[id] = job.getExperienceYears();
+        facetOrdinals[Facet.LOCATION.ordinal()][id] = facetOrdinal(Facet.LOCATION, job.getLocation());
+        facetOrdinals[Facet.JOB_TYPE.ordinal()][id] = facetOrdinal(Facet.JOB_TYPE, job.getJobType());
+        facetOrdinals[Facet.COMPANY.ordinal()][id] = facetOrdinal(Facet.COMPANY, job.getCompanyName());
+        facetOrdinals[Facet.EXPERIENCE.ordinal()][id] = experienceBucket(job.getExperienceYears());
+        postedAt[id] = job.getPostedAt() != null ? job.getPostedAt().getTime() : System.currentTimeMillis();
+    }
+
+    private void removeInternal(int id) {
+        String[][] terms = docTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            Map<String, PostingList> fieldPostings = postings.get(field.ordinal());
+            for (String term : terms[field.ordinal()]) {
+                PostingList list = fieldPostings.get(term);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    fieldPostings.remove(term);
+                    vocabulary.remove(term);
+                }
+            }
+            totalFieldLengths[field.ordinal()] -= fieldLengths[field.ordinal()][id];
+            fieldLengths[field.ordinal()][id] = 0;
+        }
+        open[id] = false;
+        for (int[] ordinals : facetOrdinals) {
+            ordinals[id] = -1;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= open.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, open.length * 2);
+        open = Arrays.copyOf(open, newLength);
+        experience = Arrays.copyOf(experience, newLength);
+        postedAt = Arrays.copyOf(postedAt, newLength);
+        for (int f = 0; f < fieldLengths.length; f++) {
+            fieldLengths[f] = Arrays.copyOf(fieldLengths[f], newLength);
+        }
+        for (int f = 0; f < facetOrdinals.length; f++) {
+            int oldLength = facetOrdinals[f].length;
+            facetOrdinals[f] = Arrays.copyOf(facetOrdinals[f], newLength);
+            Arrays.fill(facetOrdinals[f], oldLength, newLength, -1);
+        }
+    }
+
+    // Ordinal of a facet value, assigning the next one to a value not seen before
+    private int facetOrdinal(Facet facet, String value) {
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        String label = value.trim();
+        List<String> labels = facetLabels.get(facet.ordinal());
+        return facetKeys.get(facet.ordinal()).computeIfAbsent(label.toLowerCase(), k -> {
+            labels.add(label);
+            return labels.size() - 1;
+        });
+    }
+
+    static int experienceBucket(int years) {
+        if (years <= 1) {
+            return 0;
+        }
+        if (years <= 4) {
+            return 1;
+        }
+        return years <= 9 ? 2 : 3;
+    }
+
+    static String fieldText(Job job, Field field) {
+        switch (field) {
+            case TITLE:
+                return job.getTitle();
+            case DESCRIPTION:
+                return job.getDescription();
+            case REQUIREMENTS:
+                return job.getRequirements();
+            case LOCATION:
+                return job.getLocation();
+            case JOB_TYPE:
+                return job.getJobType();
+            case COMPANY:
+                return job.getCompanyName();
+            default:
+                return null;
+        }
+    }
+}
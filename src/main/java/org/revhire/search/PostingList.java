@@ -0,0 +1,61 @@
+package org.revhire.search;
+
+import java.util.Arrays;
+
+// Sorted list of job ids containing a term, with the term frequency per job.
+// Backed by primitive arrays; ids arrive mostly in ascending order so add() is usually an append.
+public class PostingList {
+    private int[] docs = new int[4];
+    private int[] freqs = new int[4];
+    private int size;
+
+    public void add(int doc, int freq) {
+        int pos = size > 0 && docs[size - 1] < doc ? size : Arrays.binarySearch(docs, 0, size, doc);
+        if (pos >= 0 && pos < size) {
+            freqs[pos] = freq;
+            return;
+        }
+        int insertAt = pos >= 0 ? pos : -pos - 1;
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            freqs = Arrays.copyOf(freqs, size * 2);
+        }
+        System.arraycopy(docs, insertAt, docs, insertAt + 1, size - insertAt);
+        System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+        docs[insertAt] = doc;
+        freqs[insertAt] = freq;
+        size++;
+    }
+
+    public boolean remove(int doc) {
+        int pos = Arrays.binarySearch(docs, 0, size, doc);
+        if (pos < 0) {
+            return false;
+        }
+        System.arraycopy(docs, pos + 1, docs, pos, size - pos - 1);
+        System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int docAt(int index) {
+        return docs[index];
+    }
+
+    public int freqAt(int index) {
+        return freqs[index];
+    }
+
+    // Copy of the doc ids, for set operations
+    public int[] toDocArray() {
+        return Arrays.copyOf(docs, size);
+    }
+}
@@ -0,0 +1,410 @@
+package org.revhire.search;
+
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Project;
+import org.revhire.model.Skill;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over job seeker resumes, for employer-side candidate search. Posting
+// lists are CompressedPostingList; required skills are intersected by leapfrogging cursors from
+// the shortest list, so a query touches only the ids it can still match. Answers with user ids;
+// the caller loads the profiles it shows.
+public class ResumeIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeIndex.class);
+
+    private static final ResumeIndex SHARED = new ResumeIndex(AutocompleteIndex.getShared());
+
+    public enum Field {
+        SKILLS, EXPERIENCE, EDUCATION, PROJECTS
+    }
+
+    private static final int[] EMPTY = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Map<String, CompressedPostingList>> postings = new ArrayList<>();
+    // Distinct terms per field for each indexed seeker, so a profile can be unindexed on update
+    private final Map<Integer, String[][]> docTerms = new HashMap<>();
+    // Estimated years of experience, indexed by user id
+    private float[] years = new float[0];
+
+    // Skill suggestions fed from the same writes; null when not wired in
+    private final AutocompleteIndex suggestions;
+
+    private volatile boolean loaded;
+    // Rebuilds whose snapshot is still being read; guarded by lock
+    private final List<Rebuild> rebuilds = new ArrayList<>();
+
+    // A rebuild in flight; writes that land while its snapshot is read are replayed on top of it
+    public static final class Rebuild {
+        private final List<Runnable> writes = new ArrayList<>();
+        private boolean invalidated;
+
+        private Rebuild() {
+        }
+    }
+
+    public ResumeIndex() {
+        this(null);
+    }
+
+    public ResumeIndex(AutocompleteIndex suggestions) {
+        this.suggestions = suggestions;
+        for (int i = 0; i < Field.values().length; i++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    public static ResumeIndex getShared() {
+        return SHARED;
+    }
+
+    // Call before reading the snapshot passed to rebuild(Rebuild, profiles)
+    public Rebuild beginRebuild() {
+        Rebuild rebuild = new Rebuild();
+        lock.writeLock().lock();
+        try {
+            rebuilds.add(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return rebuild;
+    }
+
+    // For a rebuild whose snapshot could not be read
+    public void abandon(Rebuild rebuild) {
+        lock.writeLock().lock();
+        try {
+            rebuilds.remove(rebuild);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isRebuilding() {
+        lock.readLock().lock();
+        try {
+            return !rebuilds.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void rebuild(Collection<JobSeeker> profiles) {
+        rebuild(new Rebuild(), profiles);
+    }
+
+    public void rebuild(Rebuild rebuild, Collection<JobSeeker> profiles) {
+        List<JobSeeker> sorted = new ArrayList<>(profiles);
+        // Ascending ids make every posting list insertion an append
+        sorted.sort(Comparator.comparingInt(JobSeeker::getUserId));
+        lock.writeLock().lock();
+        try {
+            rebuilds.remove(rebuild);
+            postings.forEach(Map::clear);
+            docTerms.clear();
+            Arrays.fill(years, 0f);
+            for (JobSeeker profile : sorted) {
+                addInternal(profile);
+            }
+            if (suggestions != null) {
+                suggestions.rebuildSkills(sorted);
+            }
+            rebuild.writes.forEach(Runnable::run);
+            loaded = !rebuild.invalidated;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Resume index built with {} profiles ({} KB of postings, {} writes replayed)", profiles.size(),
+                postingBytes() / 1024, rebuild.writes.size());
+    }
+
+    public void upsert(JobSeeker profile) {
+        write(() -> {
+            removeInternal(profile.getUserId());
+            addInternal(profile);
+            if (suggestions != null) {
+                suggestions.indexSkills(profile);
+            }
+        });
+    }
+
+    public void remove(int userId) {
+        write(() -> {
+            removeInternal(userId);
+            if (suggestions != null) {
+                suggestions.removeSkills(userId);
+            }
+        });
+    }
+
+    // Applies a write now and records it for every rebuild in flight
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            for (Rebuild rebuild : rebuilds) {
+                rebuild.writes.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Forces a rebuild from the database before the next search
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            loaded = false;
+            rebuilds.forEach(rebuild -> rebuild.invalidated = true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (Map<String, CompressedPostingList> field : postings) {
+                for (CompressedPostingList list : field.values()) {
+                    total += list.byteSize();
+                }
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // User ids of up to `limit` matching seekers, most experienced first (ties by lower id)
+    public int[] search(ResumeQuery query, int limit) {
+        lock.readLock().lock();
+        try {
+            TopKCollector top = new TopKCollector(Math.max(0, limit));
+            float minYears = query.getMinYears() == null ? Float.NEGATIVE_INFINITY : query.getMinYears().floatValue();
+            for (int id : match(query)) {
+                if (years[id] >= minYears) {
+                    top.collect(id, years[id], -id);
+                }
+            }
+            return top.toSortedDocs();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Sorted ids satisfying the skill and keyword criteria, ignoring experience
+    private int[] match(ResumeQuery query) {
+        Map<String, CompressedPostingList> skills = postings.get(Field.SKILLS.ordinal());
+        List<CompressedPostingList> required = new ArrayList<>();
+        for (String phrase : query.getAllSkills()) {
+            for (String term : Tokenizer.uniqueTerms(phrase)) {
+                CompressedPostingList list = skills.get(term);
+                if (list == null) {
+                    return EMPTY;
+                }
+                required.add(list);
+            }
+        }
+        int[] candidates = required.isEmpty() ? null : intersectAll(required);
+
+        for (String term : Tokenizer.uniqueTerms(query.getKeyword())) {
+            candidates = JobSearchIndex.intersect(candidates, anyField(term));
+        }
+        if (!query.getAnySkills().isEmpty()) {
+            int[] any = EMPTY;
+            for (String phrase : query.getAnySkills()) {
+                any = JobSearchIndex.union(any, phrase(phrase));
+            }
+            candidates = JobSearchIndex.intersect(candidates, any);
+        }
+        if (candidates == null) {
+            candidates = docTerms.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        for (String phrase : query.getExcludedSkills()) {
+            candidates = subtract(candidates, phrase(phrase));
+        }
+        return candidates;
+    }
+
+    // Seekers whose skills contain every word of the phrase
+    private int[] phrase(String phrase) {
+        Map<String, CompressedPostingList> skills = postings.get(Field.SKILLS.ordinal());
+        List<CompressedPostingList> lists = new ArrayList<>();
+        for (String term : Tokenizer.uniqueTerms(phrase)) {
+            CompressedPostingList list = skills.get(term);
+            if (list == null) {
+                return EMPTY;
+            }
+            lists.add(list);
+        }
+        return lists.isEmpty() ? EMPTY : intersectAll(lists);
+    }
+
+    private int[] anyField(String term) {
+        int[] result = EMPTY;
+        for (Map<String, CompressedPostingList> field : postings) {
+            CompressedPostingList list = field.get(term);
+            if (list != null) {
+                result = JobSearchIndex.union(result, list.toDocArray());
+            }
+        }
+        return result;
+    }
+
+    // Walks the shortest list and advances the others to each of its ids, using their skip entries
+    static int[] intersectAll(List<CompressedPostingList> lists) {
+        List<CompressedPostingList> bySize = new ArrayList<>(lists);
+        bySize.sort(Comparator.comparingInt(CompressedPostingList::size));
+        CompressedPostingList.Cursor[] cursors = new CompressedPostingList.Cursor[bySize.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = bySize.get(i).cursor();
+        }
+        int[] out = new int[bySize.get(0).size()];
+        int n = 0;
+        int doc = cursors[0].next();
+        while (doc >= 0) {
+            int target = doc;
+            for (int i = 1; i < cursors.length && target >= 0; i++) {
+                int found = cursors[i].advance(target);
+                if (found != target) {
+                    target = found;
+                }
+            }
+            if (target < 0) {
+                break;
+            }
+            if (target == doc) {
+                out[n++] = doc;
+                doc = cursors[0].next();
+            } else {
+                doc = cursors[0].advance(target);
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    static int[] subtract(int[] a, int[] b) {
+        int[] out = new int[a.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length) {
+            if (j >= b.length || a[i] < b[j]) {
+                out[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void addInternal(JobSeeker profile) {
+        int id = profile.getUserId();
+        ensureCapacity(id + 1);
+        String[][] terms = new String[Field.values().length][];
+        double total = 0;
+        for (Experience experience : profile.getExperienceList()) {
+            total += ApplicantRanker.estimateYears(experience.getDuration());
+        }
+        for (Field field : Field.values()) {
+            Set<String> fieldTerms = new LinkedHashSet<>();
+            for (String text : fieldTexts(profile, field)) {
+                fieldTerms.addAll(Tokenizer.tokenize(text));
+            }
+            Map<String, CompressedPostingList> fieldPostings = postings.get(field.ordinal());
+            for (String term : fieldTerms) {
+                fieldPostings.computeIfAbsent(term, k -> new CompressedPostingList()).add(id);
+            }
+            terms[field.ordinal()] = fieldTerms.toArray(new String[0]);
+        }
+        docTerms.put(id, terms);
+        years[id] = (float) total;
+    }
+
+    private void removeInternal(int id) {
+        String[][] terms = docTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            Map<String, CompressedPostingList> fieldPostings = postings.get(field.ordinal());
+            for (String term : terms[field.ordinal()]) {
+                CompressedPostingList list = fieldPostings.get(term);
+                if (list != null && list.remove(id) && list.isEmpty()) {
+                    fieldPostings.remove(term);
+                }
+            }
+        }
+        years[id] = 0f;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= years.length) {
+            return;
+        }
+        years = Arrays.copyOf(years, Math.max(capacity, years.length * 2));
+    }
+
+    static List<String> fieldTexts(JobSeeker profile, Field field) {
+        List<String> texts = new ArrayList<>();
+        switch (field) {
+            case SKILLS:
+                for (Skill skill : profile.getSkills()) {
+                    texts.add(skill.getName());
+                }
+                break;
+            case EXPERIENCE:
+                for (Experience experience : profile.getExperienceList()) {
+                    texts.add(experience.getRole());
+                    texts.add(experience.getCompany());
+                    texts.add(experience.getDescription());
+                }
+                break;
+            case EDUCATION:
+                for (Education education : profile.getEducationList()) {
+                    texts.add(education.getDegree());
+                    texts.add(education.getInstitution());
+                }
+                break;
+            case PROJECTS:
+                for (Project project : profile.getProjects()) {
+                    texts.add(project.getTitle());
+                    texts.add(project.getDescription());
+                    texts.add(project.getRole());
+                }
+                break;
+            default:
+                break;
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,70 @@
+package org.revhire.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Search criteria accepted by the resume index. Skills are phrases ("Spring Boot"); a seeker has a
+// skill when every word of it appears in their skill list. Empty or null criteria are not applied.
+public class ResumeQuery {
+    private List<String> allSkills = new ArrayList<>();
+    private List<String> anySkills = new ArrayList<>();
+    private List<String> excludedSkills = new ArrayList<>();
+    private String keyword;
+    private Double minYears;
+
+    public ResumeQuery() {
+    }
+
+    public ResumeQuery(List<String> allSkills, List<String> anySkills, List<String> excludedSkills, String keyword,
+            Double minYears) {
+        this.allSkills = allSkills == null ? new ArrayList<>() : allSkills;
+        this.anySkills = anySkills == null ? new ArrayList<>() : anySkills;
+        this.excludedSkills = excludedSkills == null ? new ArrayList<>() : excludedSkills;
+        this.keyword = keyword;
+        this.minYears = minYears;
+    }
+
+    // Every one of these skills is required
+    public List<String> getAllSkills() {
+        return allSkills;
+    }
+
+    public void setAllSkills(List<String> allSkills) {
+        this.allSkills = allSkills;
+    }
+
+    // At least one of these skills is required
+    public List<String> getAnySkills() {
+        return anySkills;
+    }
+
+    public void setAnySkills(List<String> anySkills) {
+        this.anySkills = anySkills;
+    }
+
+    // Seekers with any of these skills are left out
+    public List<String> getExcludedSkills() {
+        return excludedSkills;
+    }
+
+    public void setExcludedSkills(List<String> excludedSkills) {
+        this.excludedSkills = excludedSkills;
+    }
+
+    // Free text matched against skills, experience, education and projects; every word must appear
+    public String getKeyword() {
+        return keyword;
+    }
+
+    public void setKeyword(String keyword) {
+        this.keyword = keyword;
+    }
+
+    public Double getMinYears() {
+        return minYears;
+    }
+
+    public void setMinYears(Double minYears) {
+        this.minYears = minYears;
+    }
+}
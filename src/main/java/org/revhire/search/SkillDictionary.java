@@ -0,0 +1,39 @@
+package org.revhire.search;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// Maps skill terms to dense ordinals so a set of skills becomes a bitset (one bit per ordinal).
+// Built per ranking from the job's requirement terms and the applicants' listed skills.
+class SkillDictionary {
+    private final Map<String, Integer> ordinals = new HashMap<>();
+
+    // Returns the term's ordinal, assigning the next one if it is new
+    int add(String term) {
+        Integer ordinal = ordinals.putIfAbsent(term, ordinals.size());
+        return ordinal == null ? ordinals.size() - 1 : ordinal;
+    }
+
+    // -1 when the term is not in the dictionary
+    int lookup(String term) {
+        Integer ordinal = ordinals.get(term);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    long[] newBitset() {
+        return new long[Math.max(1, (ordinals.size() + 63) >>> 6)];
+    }
+
+    // Sets the bit of every known term in each text
+    void encode(Collection<String> texts, long[] bits) {
+        for (String text : texts) {
+            for (String term : Tokenizer.tokenize(text)) {
+                int ordinal = lookup(term);
+                if (ordinal >= 0) {
+                    bits[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+        }
+    }
+}
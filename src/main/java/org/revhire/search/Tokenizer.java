@@ -0,0 +1,40 @@
+package org.revhire.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Splits job text into lowercase search terms. Keeps '+' and '#' so "C++" and "C#" survive.
+public class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termChar = i < text.length() && isTermChar(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    // Distinct terms in first-seen order
+    public static Set<String> uniqueTerms(String text) {
+        return new LinkedHashSet<>(tokenize(text));
+    }
+
+    private static boolean isTermChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+}
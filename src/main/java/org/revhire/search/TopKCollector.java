@@ -0,0 +1,100 @@
+package org.revhire.search;
+
+// Keeps the K best (score, doc) pairs seen so far in a bounded min-heap, so ranking
+// N matches costs O(N log K) and never sorts the full match list.
+class TopKCollector {
+    private final int k;
+    private final int[] docs;
+    private final float[] scores;
+    private final long[] tieBreaks;
+    private int size;
+
+    TopKCollector(int k) {
+        this.k = k;
+        this.docs = new int[k];
+        this.scores = new float[k];
+        this.tieBreaks = new long[k];
+    }
+
+    // tieBreak orders equal scores; larger wins (callers pass the posting time)
+    void collect(int doc, float score, long tieBreak) {
+        if (k == 0) {
+            return;
+        }
+        if (size < k) {
+            docs[size] = doc;
+            scores[size] = score;
+            tieBreaks[size] = tieBreak;
+            siftUp(size++);
+        } else if (better(score, tieBreak, doc, 0)) {
+            docs[0] = doc;
+            scores[0] = score;
+            tieBreaks[0] = tieBreak;
+            siftDown(0);
+        }
+    }
+
+    // Best first
+    int[] toSortedDocs() {
+        int[] result = new int[size];
+        int n = size;
+        while (size > 0) {
+            result[--n] = docs[0];
+            swap(0, --size);
+            siftDown(0);
+        }
+        return result;
+    }
+
+    private boolean better(float score, long tieBreak, int doc, int slot) {
+        if (score != scores[slot]) {
+            return score > scores[slot];
+        }
+        if (tieBreak != tieBreaks[slot]) {
+            return tieBreak > tieBreaks[slot];
+        }
+        return doc > docs[slot];
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(scores[parent], tieBreaks[parent], docs[parent], i)) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && better(scores[left], tieBreaks[left], docs[left], right)) {
+                smallest = right;
+            }
+            if (!better(scores[i], tieBreaks[i], docs[i], smallest)) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int d = docs[a];
+        docs[a] = docs[b];
+        docs[b] = d;
+        float s = scores[a];
+        scores[a] = scores[b];
+        scores[b] = s;
+        long t = tieBreaks[a];
+        tieBreaks[a] = tieBreaks[b];
+        tieBreaks[b] = t;
+    }
+}
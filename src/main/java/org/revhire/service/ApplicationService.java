@@ -2,12 +2,20 @@ package org.revhire.service;
 
 import org.revhire.dao.ApplicationDAO;
 import org.revhire.dao.JobDAO;
+import org.revhire.dao.JobSeekerDAO;
+import org.revhire.dao.Page;
+import org.revhire.dao.PageCursor;
 import org.revhire.model.Application;
 import org.revhire.model.Application.ApplicationStatus;
 import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.search.ApplicantRanker;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,31 +26,41 @@ public class ApplicationService {
     private final ApplicationDAO applicationDAO;
     private final JobDAO jobDAO;
     private final NotificationService notificationService;
+    private final JobSeekerDAO jobSeekerDAO;
+    private final ApplicantRanker ranker = new ApplicantRanker();
+
+    // An application with its fit score for the job
+    public record RankedApplicant(Application application, ApplicantRanker.Score score) {
+    }
 
     public ApplicationService() {
-        this.applicationDAO = new ApplicationDAO();
-        this.jobDAO = new JobDAO();
-        this.notificationService = new NotificationService();
+        this(new ApplicationDAO(), new JobDAO(), new NotificationService(), new JobSeekerDAO());
     }
 
     public ApplicationService(ApplicationDAO applicationDAO, JobDAO jobDAO, NotificationService notificationService) {
+        this(applicationDAO, jobDAO, notificationService, new JobSeekerDAO());
+    }
+
+    public ApplicationService(ApplicationDAO applicationDAO, JobDAO jobDAO, NotificationService notificationService,
+            JobSeekerDAO jobSeekerDAO) {
         this.applicationDAO = applicationDAO;
         this.jobDAO = jobDAO;
         this.notificationService = notificationService;
+        this.jobSeekerDAO = jobSeekerDAO;
     }
 
     public void applyForJob(int jobId, int seekerId, String coverLetter) throws SQLException {
         if (applicationDAO.hasApplied(seekerId, jobId)) {
-            throw new SQLException("You have already applied for this job.");
+            throw new ValidationException("You have already applied for this job.");
         }
 
         Optional<Job> jobOpt = jobDAO.getJobById(jobId);
         if (jobOpt.isEmpty()) {
-            throw new SQLException("Job not found.");
+            throw new ValidationException("Job not found.");
         }
         Job job = jobOpt.get();
         if (job.getStatus() == Job.JobStatus.CLOSED) {
-            throw new SQLException("Job is closed.");
+            throw new ValidationException("Job is closed.");
         }
 
         Application app = new Application(jobId, seekerId, coverLetter);
@@ -62,10 +80,56 @@ public class ApplicationService {
         return applicationDAO.getApplicationsByJob(jobId);
     }
 
+    public Page<Application> getApplicationsBySeeker(int seekerId, PageCursor after, int pageSize)
+            throws SQLException {
+        return applicationDAO.getApplicationsBySeeker(seekerId, after, pageSize);
+    }
+
+    public Page<Application> getApplicationsByJob(int jobId, PageCursor after, int pageSize) throws SQLException {
+        return applicationDAO.getApplicationsByJob(jobId, after, pageSize);
+    }
+
+    // The best limit active applicants for the job, best first. Profiles are loaded in one query with
+    // only the sections the ranker reads; withdrawn applications and applicants without a profile are
+    // left out.
+    public List<RankedApplicant> rankApplicants(int jobId, int limit) throws SQLException {
+        Optional<Job> job = jobDAO.getJobById(jobId);
+        if (job.isEmpty()) {
+            throw new ValidationException("Job not found.");
+        }
+        Map<Integer, Application> bySeeker = new LinkedHashMap<>();
+        for (Application app : applicationDAO.getApplicationsByJob(jobId)) {
+            if (app.getStatus() != ApplicationStatus.WITHDRAWN) {
+                bySeeker.putIfAbsent(app.getSeekerId(), app);
+            }
+        }
+        Map<Integer, JobSeeker> profiles = jobSeekerDAO.getRankingProfilesByJob(jobId);
+        // In application order, which breaks ties; anyone who applied after the applications were read
+        // is left for the next call
+        List<JobSeeker> candidates = new ArrayList<>(bySeeker.size());
+        for (Integer seekerId : bySeeker.keySet()) {
+            JobSeeker profile = profiles.get(seekerId);
+            if (profile != null) {
+                candidates.add(profile);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<ApplicantRanker.Score> scores = ranker.rank(job.get(), candidates, limit);
+        logger.debug("Ranked {} applicants for job {} in {} us", candidates.size(), jobId,
+                (System.nanoTime() - start) / 1000);
+
+        List<RankedApplicant> ranked = new ArrayList<>(scores.size());
+        for (ApplicantRanker.Score score : scores) {
+            ranked.add(new RankedApplicant(bySeeker.get(score.userId()), score));
+        }
+        return ranked;
+    }
+
     public void updateApplicationStatus(int applicationId, ApplicationStatus status) throws SQLException {
         Optional<Application> appOpt = applicationDAO.getApplicationById(applicationId);
         if (appOpt.isEmpty()) {
-            throw new SQLException("Application not found");
+            throw new ValidationException("Application not found");
         }
         Application app = appOpt.get();
         applicationDAO.updateStatus(applicationId, status);
@@ -82,11 +146,11 @@ public class ApplicationService {
     public void withdrawApplication(int applicationId) throws SQLException {
         Optional<Application> appOpt = applicationDAO.getApplicationById(applicationId);
         if (appOpt.isEmpty()) {
-            throw new SQLException("Application not found");
+            throw new ValidationException("Application not found");
         }
         Application app = appOpt.get();
         if (app.getStatus() == ApplicationStatus.WITHDRAWN) {
-            throw new SQLException("Application already withdrawn");
+            throw new ValidationException("Application already withdrawn");
         }
 
         applicationDAO.updateStatus(applicationId, ApplicationStatus.WITHDRAWN);
@@ -6,12 +6,12 @@ import org.revhire.dao.UserDAO;
 import org.revhire.model.Employer;
 import org.revhire.model.JobSeeker;
 import org.revhire.model.User;
+import org.revhire.model.UserSession;
 
 import java.sql.SQLException;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.revhire.util.PasswordUtils;
 
 public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
@@ -19,68 +19,141 @@ public class AuthService {
     private final UserDAO userDAO;
     private final JobSeekerDAO jobSeekerDAO;
     private final EmployerDAO employerDAO;
+    private final SessionRegistry sessionRegistry;
+    private final PasswordHashingService passwordHasher;
+    private final LoginThrottle loginThrottle;
+
+    // Throttling key for attempts made at the console rather than over the network
+    public static final String LOCAL_SOURCE = "console";
 
     public AuthService() {
-        this.userDAO = new UserDAO();
-        this.jobSeekerDAO = new JobSeekerDAO();
-        this.employerDAO = new EmployerDAO();
+        this(new UserDAO(), new JobSeekerDAO(), new EmployerDAO(), SessionRegistry.getShared(),
+                PasswordHashingService.getShared(), LoginThrottle.getShared());
     }
 
     public AuthService(UserDAO userDAO, JobSeekerDAO jobSeekerDAO, EmployerDAO employerDAO) {
+        this(userDAO, jobSeekerDAO, employerDAO, new SessionRegistry(), PasswordHashingService.getShared());
+    }
+
+    public AuthService(UserDAO userDAO, JobSeekerDAO jobSeekerDAO, EmployerDAO employerDAO,
+            SessionRegistry sessionRegistry, PasswordHashingService passwordHasher) {
+        this(userDAO, jobSeekerDAO, employerDAO, sessionRegistry, passwordHasher, new LoginThrottle());
+    }
+
+    public AuthService(UserDAO userDAO, JobSeekerDAO jobSeekerDAO, EmployerDAO employerDAO,
+            SessionRegistry sessionRegistry, PasswordHashingService passwordHasher, LoginThrottle loginThrottle) {
         this.userDAO = userDAO;
         this.jobSeekerDAO = jobSeekerDAO;
         this.employerDAO = employerDAO;
+        this.sessionRegistry = sessionRegistry;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
     }
 
     public User registerJobSeeker(User user, JobSeeker profile) throws SQLException {
         if (userDAO.getUserByEmail(user.getEmail()).isPresent()) {
             logger.warn("Registration attempt with existing email: {}", user.getEmail());
-            throw new SQLException("Email already exists");
+            throw new ValidationException("Email already exists");
         }
         // Hash password before saving
-        user.setPassword(PasswordUtils.hashPassword(user.getPassword()));
+        user.setPassword(passwordHasher.hashNow(user.getPassword()));
 
         User createdUser = userDAO.createUser(user);
         profile.setUserId(createdUser.getId());
         jobSeekerDAO.createProfile(profile);
+        loginThrottle.forgetUnknown(createdUser.getEmail());
         return createdUser;
     }
 
     public User registerEmployer(User user, Employer profile) throws SQLException {
         if (userDAO.getUserByEmail(user.getEmail()).isPresent()) {
-            throw new SQLException("Email already exists");
+            throw new ValidationException("Email already exists");
         }
         // Hash password before saving
-        user.setPassword(PasswordUtils.hashPassword(user.getPassword()));
+        user.setPassword(passwordHasher.hashNow(user.getPassword()));
 
         User createdUser = userDAO.createUser(user);
         profile.setUserId(createdUser.getId());
         employerDAO.createProfile(profile);
+        loginThrottle.forgetUnknown(createdUser.getEmail());
         return createdUser;
     }
 
-    public User login(String email, String password) throws SQLException {
-        Optional<User> userOpt = userDAO.getUserByEmail(email);
+    public UserSession login(String email, String password) throws SQLException {
+        return login(email, password, LOCAL_SOURCE);
+    }
+
+    // Issues a new session; callers keep only its token and resolve the user through it.
+    // source identifies where the attempt came from (e.g. the client address) for throttling.
+    public UserSession login(String email, String password, String source) throws SQLException {
+        Optional<User> userOpt = findAccount(email, source);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (PasswordUtils.checkPassword(password, user.getPassword())) {
+            if (passwordHasher.verifyNow(password, user.getPassword())) {
                 logger.info("User logged in: {}", email);
-                return user;
+                rehashIfWeak(user, password);
+                return sessionRegistry.create(user);
             }
             logger.warn("Invalid password for user: {}", email);
-        } else {
-            logger.warn("Login attempt for non-existent email: {}", email);
+            loginThrottle.recordFailure(email);
         }
-        throw new SQLException("Invalid email or password");
+        throw new ValidationException("Invalid email or password");
+    }
+
+    // Throttle check plus lookup. Unknown emails are cached, so repeats never reach the database.
+    private Optional<User> findAccount(String email, String source) throws SQLException {
+        loginThrottle.acquire(email, source);
+        if (loginThrottle.isKnownUnknown(email)) {
+            return Optional.empty();
+        }
+        Optional<User> userOpt = userDAO.getUserByEmail(email);
+        if (userOpt.isEmpty()) {
+            logger.warn("Sign-in attempt for non-existent email: {}", email);
+            loginThrottle.rememberUnknown(email);
+        }
+        return userOpt;
+    }
+
+    // Hashes stored with an older, cheaper work factor are upgraded while the plain text is at hand.
+    // Failure only costs the upgrade, never the login.
+    private void rehashIfWeak(User user, String password) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            String upgraded = passwordHasher.hashNow(password);
+            if (userDAO.updatePassword(user.getEmail(), upgraded)) {
+                user.setPassword(upgraded);
+                logger.info("Upgraded password hash work factor for: {}", user.getEmail());
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not upgrade password hash for {}: {}", user.getEmail(), e.getMessage());
+        }
+    }
+
+    public Optional<UserSession> resolveSession(String token) {
+        return sessionRegistry.resolve(token);
+    }
+
+    public void logout(String token) {
+        sessionRegistry.invalidate(token);
     }
 
     public boolean updatePassword(String email, String currentPassword, String newPassword) throws SQLException {
+        return updatePassword(email, currentPassword, newPassword, null);
+    }
+
+    // keepToken is the session making the change, which stays logged in; null ends them all
+    public boolean updatePassword(String email, String currentPassword, String newPassword, String keepToken)
+            throws SQLException {
         Optional<User> userOpt = userDAO.getUserByEmail(email);
-        if (userOpt.isPresent() && PasswordUtils.checkPassword(currentPassword, userOpt.get().getPassword())) {
-            String hashedNewPassword = PasswordUtils.hashPassword(newPassword);
+        if (userOpt.isPresent() && passwordHasher.verifyNow(currentPassword, userOpt.get().getPassword())) {
+            String hashedNewPassword = passwordHasher.hashNow(newPassword);
             boolean success = userDAO.updatePassword(email, hashedNewPassword);
             if (success) {
                 logger.info("Password updated successfully for: {}", email);
+                // Sessions opened with the old password, possibly by someone else, must not outlive it
+                sessionRegistry.invalidateUser(userOpt.get().getId(), keepToken);
             }
             return success;
         }
@@ -89,20 +162,25 @@ public class AuthService {
     }
 
     public boolean recoverPassword(String email, String securityAnswer, String newPassword) throws SQLException {
-        Optional<User> userOpt = userDAO.getUserByEmail(email);
+        return recoverPassword(email, securityAnswer, newPassword, LOCAL_SOURCE);
+    }
+
+    public boolean recoverPassword(String email, String securityAnswer, String newPassword, String source)
+            throws SQLException {
+        Optional<User> userOpt = findAccount(email, source);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             if (user.getSecurityAnswer().equalsIgnoreCase(securityAnswer)) {
-                String hashedNewPassword = PasswordUtils.hashPassword(newPassword);
+                String hashedNewPassword = passwordHasher.hashNow(newPassword);
                 boolean success = userDAO.updatePassword(email, hashedNewPassword);
                 if (success) {
                     logger.info("Password recovered successfully for: {}", email);
+                    sessionRegistry.invalidateUser(user.getId());
                 }
                 return success;
             }
             logger.warn("Recovery failed: Wrong security answer for: {}", email);
-        } else {
-            logger.warn("Recovery failed: Email not found: {}", email);
+            loginThrottle.recordFailure(email);
         }
         return false;
     }
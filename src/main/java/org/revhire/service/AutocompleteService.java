@@ -0,0 +1,38 @@
+package org.revhire.service;
+
+import org.revhire.search.AutocompleteIndex;
+import org.revhire.search.AutocompleteIndex.Kind;
+import org.revhire.search.AutocompleteIndex.Suggestion;
+
+import java.sql.SQLException;
+import java.util.List;
+
+// Typeahead for the job search and candidate search fields. Answers from AutocompleteIndex, which the
+// job and resume indexes keep current, so a keystroke never reaches the database.
+public class AutocompleteService {
+
+    private final JobService jobService;
+    private final ResumeSearchService resumeSearchService;
+    private final AutocompleteIndex index;
+
+    public AutocompleteService() {
+        this(new JobService(), new ResumeSearchService(), AutocompleteIndex.getShared());
+    }
+
+    public AutocompleteService(JobService jobService, ResumeSearchService resumeSearchService,
+            AutocompleteIndex index) {
+        this.jobService = jobService;
+        this.resumeSearchService = resumeSearchService;
+        this.index = index;
+    }
+
+    // Up to limit suggestions for what has been typed so far, most common first
+    public List<Suggestion> suggest(Kind kind, String prefix, int limit) throws SQLException {
+        if (kind == Kind.SKILL) {
+            resumeSearchService.ensureIndexLoaded();
+        } else {
+            jobService.ensureIndexLoaded();
+        }
+        return index.suggest(kind, prefix, limit);
+    }
+}
@@ -0,0 +1,99 @@
+package org.revhire.service;
+
+import org.revhire.dao.SavedSearchDAO;
+import org.revhire.model.Job;
+import org.revhire.model.SavedSearch;
+import org.revhire.search.JobPercolator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Saved searches ("job alerts") and the notifications they raise when a matching job opens
+public class JobAlertService {
+    private static final Logger logger = LoggerFactory.getLogger(JobAlertService.class);
+
+    private final SavedSearchDAO savedSearchDAO;
+    private final JobPercolator percolator;
+    private final NotificationService notificationService;
+
+    public JobAlertService() {
+        this(new SavedSearchDAO(), JobPercolator.getShared(), new NotificationService());
+    }
+
+    public JobAlertService(SavedSearchDAO savedSearchDAO, JobPercolator percolator,
+            NotificationService notificationService) {
+        this.savedSearchDAO = savedSearchDAO;
+        this.percolator = percolator;
+        this.notificationService = notificationService;
+    }
+
+    public SavedSearch saveSearch(SavedSearch search) throws SQLException {
+        if (isBlank(search.getKeyword()) && isBlank(search.getLocation()) && isBlank(search.getJobType())
+                && isBlank(search.getCompany()) && search.getMaxExperience() == null) {
+            throw new ValidationException("A saved search needs at least one criterion");
+        }
+        SavedSearch created = savedSearchDAO.create(search);
+        // A rebuild in flight may have read its snapshot before this insert, so it needs the search too
+        if (percolator.isLoaded() || percolator.isRebuilding()) {
+            percolator.add(created);
+        }
+        return created;
+    }
+
+    public List<SavedSearch> getSavedSearches(int seekerId) throws SQLException {
+        return savedSearchDAO.getBySeeker(seekerId);
+    }
+
+    public boolean deleteSavedSearch(int seekerId, int searchId) throws SQLException {
+        boolean deleted = savedSearchDAO.delete(searchId, seekerId);
+        if (deleted) {
+            percolator.remove(searchId);
+        }
+        return deleted;
+    }
+
+    // Called when a job is posted or reopened. Returns the number of seekers notified; each is told
+    // once even if several of their searches match.
+    public int jobOpened(Job job) throws SQLException {
+        ensureLoaded();
+        Set<Integer> seekers = new LinkedHashSet<>();
+        for (JobPercolator.Match match : percolator.percolate(job)) {
+            seekers.add(match.seekerId());
+        }
+        if (seekers.isEmpty()) {
+            return 0;
+        }
+        String company = job.getCompanyName() == null ? "" : " at " + job.getCompanyName();
+        notificationService.sendNotifications(seekers,
+                "New job matching your saved search: " + job.getTitle() + company + " (Job ID " + job.getId() + ")");
+        logger.info("Job {} matched saved searches of {} seeker(s)", job.getId(), seekers.size());
+        return seekers.size();
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (!percolator.isLoaded()) {
+            synchronized (percolator) {
+                if (!percolator.isLoaded()) {
+                    // Searches saved or deleted while the snapshot is read are replayed on top of it
+                    JobPercolator.Rebuild rebuild = percolator.beginRebuild();
+                    List<SavedSearch> saved;
+                    try {
+                        saved = savedSearchDAO.getAll();
+                    } catch (SQLException | RuntimeException e) {
+                        percolator.abandon(rebuild);
+                        throw e;
+                    }
+                    percolator.rebuild(rebuild, saved);
+                }
+            }
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
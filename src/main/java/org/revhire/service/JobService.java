@@ -1,11 +1,20 @@
 package org.revhire.service;
 
 import org.revhire.dao.JobDAO;
+import org.revhire.dao.Page;
+import org.revhire.dao.PageCursor;
 import org.revhire.model.Job;
 import org.revhire.model.Job.JobStatus;
+import org.revhire.search.JobQuery;
+import org.revhire.search.FacetedPage;
+import org.revhire.search.JobSearchIndex;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,28 +22,115 @@ import org.slf4j.LoggerFactory;
 public class JobService {
     private static final Logger logger = LoggerFactory.getLogger(JobService.class);
 
+    // Largest number of ids hydrated per query
+    private static final int HYDRATE_CHUNK = 512;
+
     private final JobDAO jobDAO;
+    private final JobSearchIndex searchIndex;
+    // Null when job alerts are not wired in (tests, tools)
+    private final JobAlertService jobAlerts;
 
     public JobService() {
-        this.jobDAO = new JobDAO();
+        this(new JobDAO(), JobSearchIndex.getShared(), new JobAlertService());
     }
 
     public JobService(JobDAO jobDAO) {
+        this(jobDAO, new JobSearchIndex());
+    }
+
+    public JobService(JobDAO jobDAO, JobSearchIndex searchIndex) {
+        this(jobDAO, searchIndex, null);
+    }
+
+    public JobService(JobDAO jobDAO, JobSearchIndex searchIndex, JobAlertService jobAlerts) {
         this.jobDAO = jobDAO;
+        this.searchIndex = searchIndex;
+        this.jobAlerts = jobAlerts;
+    }
+
+    // Loads every job into the search index. Called at startup; searches also trigger it lazily.
+    // Writes committed while the jobs are being read are replayed on top of them by the index.
+    public void buildSearchIndex() throws SQLException {
+        JobSearchIndex.Rebuild rebuild = searchIndex.beginRebuild();
+        List<Job> jobs;
+        try {
+            jobs = jobDAO.getAllJobs();
+        } catch (SQLException | RuntimeException e) {
+            searchIndex.abandon(rebuild);
+            throw e;
+        }
+        searchIndex.rebuild(rebuild, jobs);
     }
 
     public Job postJob(Job job) throws SQLException {
         logger.info("Posting new job: {}", job.getTitle());
-        return jobDAO.createJob(job);
+        Job created = jobDAO.createJob(job);
+        alertSeekers(created.getId(), refreshIndex(created.getId()));
+        return created;
     }
 
     public List<Job> getJobsByEmployer(int employerId) throws SQLException {
         return jobDAO.getJobsByEmployer(employerId);
     }
 
+    public Page<Job> getJobsByEmployer(int employerId, PageCursor after, int pageSize) throws SQLException {
+        return jobDAO.getJobsByEmployer(employerId, after, pageSize);
+    }
+
     public List<Job> searchJobs(String keyword, String location, String jobType, Integer experience, String company)
             throws SQLException {
-        return jobDAO.searchJobs(keyword, location, jobType, experience, company);
+        ensureIndexLoaded();
+        int[] ids = searchIndex.search(new JobQuery(keyword, location, jobType, experience, company));
+        return hydrate(ids);
+    }
+
+    // Newest-first page of matches starting after the given cursor (null for the first page), with
+    // facet counts over all matches, counted in the same pass over the index
+    public FacetedPage<Job> searchJobs(String keyword, String location, String jobType, Integer experience,
+            String company, PageCursor after, int pageSize) throws SQLException {
+        ensureIndexLoaded();
+        long afterPostedAt = after == null ? Long.MAX_VALUE : after.getTimestamp().getTime();
+        int afterId = after == null ? Integer.MAX_VALUE : after.getId();
+        JobSearchIndex.Hits hits = searchIndex.searchAfterFaceted(
+                new JobQuery(keyword, location, jobType, experience, company), afterPostedAt, afterId, pageSize + 1);
+        int[] ids = hits.ids();
+
+        boolean more = ids.length > pageSize;
+        List<Job> jobs = hydrate(more ? Arrays.copyOf(ids, pageSize) : ids);
+        PageCursor next = null;
+        if (more && !jobs.isEmpty()) {
+            Job last = jobs.get(jobs.size() - 1);
+            next = new PageCursor(last.getPostedAt(), last.getId());
+        }
+        return new FacetedPage<>(jobs, next, hits.facets());
+    }
+
+    // Best `limit` matches by relevance (BM25, title weighted highest); only those rows are loaded
+    public List<Job> searchJobsRanked(String keyword, String location, String jobType, Integer experience,
+            String company, int limit) throws SQLException {
+        ensureIndexLoaded();
+        int[] ids = searchIndex.searchRanked(new JobQuery(keyword, location, jobType, experience, company), limit);
+        return hydrate(ids);
+    }
+
+    // As searchJobsRanked, with facet counts over all matches
+    public FacetedPage<Job> searchJobsRankedFaceted(String keyword, String location, String jobType,
+            Integer experience, String company, int limit) throws SQLException {
+        ensureIndexLoaded();
+        JobSearchIndex.Hits hits = searchIndex.searchRankedFaceted(
+                new JobQuery(keyword, location, jobType, experience, company), limit);
+        return new FacetedPage<>(hydrate(hits.ids()), null, hits.facets());
+    }
+
+    // Typo-tolerant ranked search: keyword, location, type and company terms also match indexed terms
+    // one or two edits away, which score less than exact matches
+    public FacetedPage<Job> searchJobsFuzzy(String keyword, String location, String jobType, Integer experience,
+            String company, int limit) throws SQLException {
+        ensureIndexLoaded();
+        JobQuery query = new JobQuery(keyword, location, jobType, experience, company);
+        query.setFuzzy(true);
+        JobSearchIndex.Hits hits = searchIndex.searchRankedFaceted(query, limit);
+        return new FacetedPage<>(hydrate(hits.ids()), null, hits.facets());
     }
 
     public Optional<Job> getJobById(int jobId) throws SQLException {
@@ -44,17 +140,98 @@ public class JobService {
     public void closeJob(int jobId) throws SQLException {
         logger.info("Closing job ID: {}", jobId);
         jobDAO.updateStatus(jobId, JobStatus.CLOSED);
+        searchIndex.updateStatus(jobId, JobStatus.CLOSED);
     }
 
     public void reopenJob(int jobId) throws SQLException {
         jobDAO.updateStatus(jobId, JobStatus.OPEN);
+        searchIndex.updateStatus(jobId, JobStatus.OPEN);
+        alertSeekers(jobId, null);
     }
 
     public void updateJob(Job job) throws SQLException {
         jobDAO.updateJob(job);
+        refreshIndex(job.getId());
     }
 
     public void deleteJob(int jobId) throws SQLException {
         jobDAO.deleteJob(jobId);
+        searchIndex.remove(jobId);
+    }
+
+    // Also used by AutocompleteService, whose suggestions are fed by this index
+    void ensureIndexLoaded() throws SQLException {
+        if (!searchIndex.isLoaded()) {
+            synchronized (searchIndex) {
+                if (!searchIndex.isLoaded()) {
+                    buildSearchIndex();
+                }
+            }
+        }
+    }
+
+    // Re-reads one job into the index and returns the row read (null if it was not). A failure here must
+    // not fail the write that already committed, so the index is marked stale and rebuilt on the next
+    // search instead.
+    private Job refreshIndex(int jobId) {
+        // A rebuild in flight may have read its snapshot before this write, so it needs the change too
+        if (!searchIndex.isLoaded() && !searchIndex.isRebuilding()) {
+            return null;
+        }
+        try {
+            List<Job> jobs = jobDAO.getJobsByIds(List.of(jobId));
+            if (jobs.isEmpty()) {
+                searchIndex.remove(jobId);
+                return null;
+            }
+            searchIndex.upsert(jobs.get(0));
+            return jobs.get(0);
+        } catch (SQLException e) {
+            logger.warn("Could not refresh job {} in search index, scheduling rebuild: {}", jobId, e.getMessage());
+            searchIndex.invalidate();
+            return null;
+        }
+    }
+
+    // Notifies seekers whose saved searches match a job that just opened. Like the index refresh,
+    // a failure is logged rather than failing the committed write.
+    private void alertSeekers(int jobId, Job row) {
+        if (jobAlerts == null) {
+            return;
+        }
+        try {
+            Job job = row;
+            if (job == null) {
+                List<Job> jobs = jobDAO.getJobsByIds(List.of(jobId));
+                job = jobs.isEmpty() ? null : jobs.get(0);
+            }
+            if (job != null && job.getStatus() == JobStatus.OPEN) {
+                jobAlerts.jobOpened(job);
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not send job alerts for job {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    // Loads the rows for the given ids, keeping the index's order
+    private List<Job> hydrate(int[] ids) throws SQLException {
+        Map<Integer, Job> byId = new HashMap<>();
+        for (int from = 0; from < ids.length; from += HYDRATE_CHUNK) {
+            List<Integer> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(ids.length, from + HYDRATE_CHUNK); i++) {
+                chunk.add(ids[i]);
+            }
+            for (Job job : jobDAO.getJobsByIds(chunk)) {
+                byId.put(job.getId(), job);
+            }
+        }
+        List<Job> jobs = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Job job = byId.get(id);
+            if (job != null) {
+                jobs.add(job);
+            }
+        }
+        return jobs;
     }
 }
@@ -0,0 +1,89 @@
+package org.revhire.service;
+
+import org.revhire.util.BoundedCache;
+import org.revhire.util.DecayingCountMinSketch;
+
+import java.util.Locale;
+import java.util.function.LongSupplier;
+
+// Sheds credential-stuffing traffic before it reaches the database or BCrypt. Two sliding-window
+// limits, both kept in fixed-size sketches so any number of distinct emails or addresses fits:
+// failed attempts per email, and attempts of any kind per source. Emails that do not exist are
+// remembered for a while so repeats are rejected without a query or a hash.
+public class LoginThrottle {
+
+    static final long DEFAULT_WINDOW_MILLIS = 5 * 60 * 1000L;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1 << 16;
+
+    private static volatile LoginThrottle shared;
+
+    private final int maxFailuresPerEmail;
+    private final int maxAttemptsPerSource;
+    private final long windowMillis;
+    private final DecayingCountMinSketch emailFailures;
+    private final DecayingCountMinSketch sourceAttempts;
+    private final BoundedCache<String, Boolean> unknownEmails;
+
+    public LoginThrottle() {
+        this(Integer.getInteger("revhire.login.maxFailuresPerEmail", 10),
+                Integer.getInteger("revhire.login.maxAttemptsPerSource", 300),
+                DEFAULT_WINDOW_MILLIS, System::currentTimeMillis);
+    }
+
+    public LoginThrottle(int maxFailuresPerEmail, int maxAttemptsPerSource, long windowMillis, LongSupplier clock) {
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxAttemptsPerSource = maxAttemptsPerSource;
+        this.windowMillis = windowMillis;
+        this.emailFailures = new DecayingCountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH, windowMillis, clock);
+        this.sourceAttempts = new DecayingCountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH, windowMillis, clock);
+        this.unknownEmails = new BoundedCache<>(100_000, windowMillis, 16, () -> clock.getAsLong() * 1_000_000L);
+    }
+
+    // Shared by every AuthService in the process so the console and the API count against the same limits
+    public static LoginThrottle getShared() {
+        LoginThrottle current = shared;
+        if (current == null) {
+            synchronized (LoginThrottle.class) {
+                current = shared;
+                if (current == null) {
+                    current = new LoginThrottle();
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Counts the attempt against its source and rejects it if either limit is already used up
+    public void acquire(String email, String source) throws LoginThrottledException {
+        if (emailFailures.estimate(key(email)) >= maxFailuresPerEmail) {
+            throw new LoginThrottledException("Too many failed attempts for this account, try again later",
+                    windowMillis / 1000);
+        }
+        if (sourceAttempts.increment(key(source)) > maxAttemptsPerSource) {
+            throw new LoginThrottledException("Too many sign-in attempts, try again later", windowMillis / 1000);
+        }
+    }
+
+    public void recordFailure(String email) {
+        emailFailures.increment(key(email));
+    }
+
+    public boolean isKnownUnknown(String email) {
+        return unknownEmails.get(key(email)) != null;
+    }
+
+    public void rememberUnknown(String email) {
+        unknownEmails.put(key(email), Boolean.TRUE);
+    }
+
+    // Called on registration so a new account is not mistaken for an unknown one
+    public void forgetUnknown(String email) {
+        unknownEmails.invalidate(key(email));
+    }
+
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,19 @@
+package org.revhire.service;
+
+import java.sql.SQLTransientException;
+
+// A login or recovery attempt refused by LoginThrottle; retrying after the hint may succeed
+public class LoginThrottledException extends SQLTransientException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
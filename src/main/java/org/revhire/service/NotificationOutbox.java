@@ -0,0 +1,604 @@
+package org.revhire.service;
+
+import org.revhire.dao.NotificationDAO;
+import org.revhire.model.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Takes notification inserts off the request path. Callers enqueue; one background writer drains
+// the queue and inserts in multi-row batches, closing a batch at batchSize items or flushMillis
+// after its first item. In DURABLE mode every notification is first appended (and fsynced) to a
+// write-ahead file under an increasing sequence number, and delivery is at-least-once:
+//   - a batch the database cannot take (unreachable, timed out, ...) is retried until it goes in;
+//     only rows the database rejects as invalid (a constraint violation) are dropped,
+//   - a checkpoint file records the sequence number below which everything was delivered, so a
+//     restart replays only records past it,
+//   - once the delivered head of the file passes COMPACT_BYTES it is cut off, so the file holds
+//     little more than what is still in flight however long the traffic runs.
+// FIRE_AND_FORGET skips the file and drops a batch the database refuses.
+public class NotificationOutbox implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationOutbox.class);
+
+    public enum Delivery {
+        FIRE_AND_FORGET, DURABLE
+    }
+
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+    static final long COMPACT_BYTES = 64 * 1024;
+
+    private static volatile NotificationOutbox shared;
+
+    private final NotificationDAO notificationDAO;
+    private final Delivery delivery;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final long flushMillis;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    // Write-ahead file and checkpoint (DURABLE only). undelivered maps the sequence number of each
+    // record not yet in the database to its offset in the file.
+    private final Object walLock = new Object();
+    private final Path walFile;
+    private FileChannel wal;
+    private final FileChannel checkpoint;
+    private final TreeMap<Long, Long> undelivered = new TreeMap<>();
+    private long nextSeq;
+    private long checkpointed;
+    private long compactions;
+    private final List<Pending> replayed = new ArrayList<>();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    // A queued notification and its sequence number in the write-ahead file (0 without one)
+    private record Pending(long seq, Notification notification) {
+    }
+
+    // A record read back from the write-ahead file and where it starts
+    record WalRecord(long seq, long offset, Notification notification) {
+    }
+
+    public NotificationOutbox(NotificationDAO notificationDAO, Delivery delivery, Path walFile, int capacity,
+            int batchSize, long flushMillis) throws IOException {
+        this.notificationDAO = notificationDAO;
+        this.delivery = delivery;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushMillis = flushMillis;
+        if (delivery == Delivery.DURABLE) {
+            if (walFile.getParent() != null) {
+                Files.createDirectories(walFile.getParent());
+            }
+            this.walFile = walFile;
+            this.checkpoint = FileChannel.open(checkpointFile(walFile), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.checkpointed = readCheckpoint(checkpoint);
+            this.nextSeq = checkpointed + 1;
+            byte[] content = Files.exists(walFile) ? Files.readAllBytes(walFile) : new byte[0];
+            for (WalRecord record : parseWal(content)) {
+                nextSeq = Math.max(nextSeq, record.seq() + 1);
+                if (record.seq() > checkpointed) {
+                    undelivered.put(record.seq(), record.offset());
+                    replayed.add(new Pending(record.seq(), record.notification()));
+                }
+            }
+            // Readable too: compaction copies the undelivered tail out of this channel
+            this.wal = FileChannel.open(walFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            // A torn last line is cut off so the next append starts on a line of its own
+            wal.truncate(completeLength(content));
+            wal.position(wal.size());
+            if (!replayed.isEmpty()) {
+                logger.info("Replaying {} undelivered notification(s) from {}", replayed.size(), walFile);
+            }
+            synchronized (walLock) {
+                compactQuietly();
+            }
+        } else {
+            this.walFile = null;
+            this.wal = null;
+            this.checkpoint = null;
+        }
+        this.writer = new Thread(this::drain, "revhire-notification-outbox");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Delivery mode from -Drevhire.notifications.delivery (durable or fire_and_forget, default durable),
+    // write-ahead file under -Drevhire.outbox.dir (default "data")
+    public static NotificationOutbox getShared() {
+        NotificationOutbox current = shared;
+        if (current == null) {
+            synchronized (NotificationOutbox.class) {
+                current = shared;
+                if (current == null) {
+                    Delivery delivery = Delivery.valueOf(System.getProperty("revhire.notifications.delivery",
+                            "durable").toUpperCase(Locale.ROOT));
+                    Path walFile = Paths.get(System.getProperty("revhire.outbox.dir", "data"), "notifications.wal");
+                    try {
+                        current = new NotificationOutbox(new NotificationDAO(), delivery, walFile,
+                                Integer.getInteger("revhire.outbox.capacity", 10_000),
+                                Integer.getInteger("revhire.outbox.batchSize", 200),
+                                Long.getLong("revhire.outbox.flushMillis", 50));
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Cannot open notification outbox at " + walFile, e);
+                    }
+                    Runtime.getRuntime().addShutdownHook(new Thread(current::close));
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Returns once the notification is queued (and, when DURABLE, on disk). If the queue is full or
+    // the outbox is closed the caller writes it inline instead, so nothing is refused.
+    public void enqueue(Notification notification) throws SQLException {
+        enqueueAll(List.of(notification));
+    }
+
+    // As enqueue, with one write-ahead append and fsync for the whole group
+    public void enqueueAll(List<Notification> notifications) throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (Notification notification : notifications) {
+            if (notification.getCreatedAt() == null) {
+                notification.setCreatedAt(now);
+            }
+        }
+        List<Pending> overflow = new ArrayList<>();
+        boolean logged = false;
+        if (wal == null) {
+            for (Notification notification : notifications) {
+                Pending pending = new Pending(0, notification);
+                if (!running || !queue.offer(pending)) {
+                    overflow.add(pending);
+                }
+            }
+        } else {
+            synchronized (walLock) {
+                List<Pending> entries;
+                if (running) {
+                    entries = append(notifications);
+                    logged = true;
+                } else {
+                    entries = new ArrayList<>(notifications.size());
+                    for (Notification notification : notifications) {
+                        entries.add(new Pending(0, notification));
+                    }
+                }
+                for (Pending pending : entries) {
+                    if (!running || !queue.offer(pending)) {
+                        overflow.add(pending);
+                    }
+                }
+            }
+        }
+        if (overflow.isEmpty()) {
+            return;
+        }
+        if (overflow.size() == 1) {
+            notificationDAO.createNotification(overflow.get(0).notification());
+        } else {
+            notificationDAO.createNotifications(notificationsOf(overflow));
+        }
+        written.addAndGet(overflow.size());
+        if (logged) {
+            settle(overflow);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public Delivery getDelivery() {
+        return delivery;
+    }
+
+    // Stops taking work and flushes what is queued. In DURABLE mode anything that still cannot be
+    // written stays in the file for the next start.
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (wal != null) {
+            synchronized (walLock) {
+                try {
+                    wal.close();
+                    checkpoint.close();
+                } catch (IOException e) {
+                    logger.warn("Could not close notification outbox file: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        if (!replayed.isEmpty()) {
+            for (int from = 0; from < replayed.size(); from += batchSize) {
+                write(replayed.subList(from, Math.min(replayed.size(), from + batchSize)));
+            }
+            replayed.clear();
+        }
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                logger.error("Notification outbox writer failed on a batch of {}", batch.size(), e);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Pending> remaining = batch;
+        while (true) {
+            SQLException failure;
+            try {
+                notificationDAO.createNotifications(notificationsOf(remaining));
+                written.addAndGet(remaining.size());
+                settle(remaining);
+                return;
+            } catch (SQLException e) {
+                failure = e;
+            }
+            if (isRejectedRow(failure)) {
+                // A bad row (e.g. its user was deleted) must not hold back the rest. The batch ran in
+                // one transaction, so none of it went in.
+                int done = 0;
+                try {
+                    for (Pending pending : remaining) {
+                        writeOne(pending);
+                        done++;
+                    }
+                    return;
+                } catch (SQLException e) {
+                    failure = e;
+                    remaining = remaining.subList(done, remaining.size());
+                }
+            }
+            if (wal == null) {
+                logger.error("Dropping {} notification(s): {}", remaining.size(), failure.getMessage());
+                dropped.addAndGet(remaining.size());
+                return;
+            }
+            if (!running) {
+                logger.warn("Leaving {} notification(s) in the outbox file for the next start: {}",
+                        remaining.size(), failure.getMessage());
+                return;
+            }
+            if (isConnectionFailure(failure)) {
+                logger.warn("Notification batch of {} failed, retrying: {}", remaining.size(), failure.getMessage());
+            } else {
+                logger.error("Notification batch of {} failed with an unexpected error, retrying: {}",
+                        remaining.size(), failure.getMessage());
+            }
+            pause();
+        }
+    }
+
+    // Drops the notification if the database rejects it; any other failure is thrown so the caller
+    // keeps it for a retry
+    private void writeOne(Pending pending) throws SQLException {
+        try {
+            notificationDAO.createNotification(pending.notification());
+            written.incrementAndGet();
+        } catch (SQLException e) {
+            if (!isRejectedRow(e)) {
+                throw e;
+            }
+            logger.error("Dropping notification for user {}: {}", pending.notification().getUserId(),
+                    e.getMessage());
+            dropped.incrementAndGet();
+        }
+        settle(List.of(pending));
+    }
+
+    // Integrity constraint violations (SQLState class 23) anywhere in the cause chain: retrying the
+    // row can never succeed
+    static boolean isRejectedRow(Throwable failure) {
+        for (Throwable t = failure; t != null; t = next(t)) {
+            if (t instanceof SQLIntegrityConstraintViolationException || hasStateClass(t, "23")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The database could not be reached or did not answer in time (SQLState class 08, connection and
+    // timeout exception types, or an I/O error from the driver)
+    static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable t = failure; t != null; t = next(t)) {
+            if (t instanceof SQLNonTransientConnectionException || t instanceof SQLTransientConnectionException
+                    || t instanceof SQLRecoverableException || t instanceof SQLTimeoutException
+                    || t instanceof IOException || hasStateClass(t, "08")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasStateClass(Throwable t, String stateClass) {
+        return t instanceof SQLException e && e.getSQLState() != null && e.getSQLState().startsWith(stateClass);
+    }
+
+    // Batch failures carry the per-row error as the next exception rather than the cause
+    private static Throwable next(Throwable t) {
+        if (t.getCause() != null) {
+            return t.getCause();
+        }
+        return t instanceof SQLException e ? e.getNextException() : null;
+    }
+
+    private static List<Notification> notificationsOf(List<Pending> entries) {
+        List<Notification> notifications = new ArrayList<>(entries.size());
+        for (Pending pending : entries) {
+            notifications.add(pending.notification());
+        }
+        return notifications;
+    }
+
+    // Marks the records written (or dropped) and moves the checkpoint past them where it can
+    private void settle(List<Pending> entries) {
+        if (wal == null) {
+            return;
+        }
+        synchronized (walLock) {
+            for (Pending pending : entries) {
+                undelivered.remove(pending.seq());
+            }
+            if (!wal.isOpen()) {
+                return;
+            }
+            long delivered = undelivered.isEmpty() ? nextSeq - 1 : undelivered.firstKey() - 1;
+            try {
+                if (delivered != checkpointed) {
+                    // Not forced: losing the last update to a crash only means replaying a little more
+                    checkpoint.write(ByteBuffer.allocate(Long.BYTES).putLong(0, delivered), 0);
+                    checkpointed = delivered;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not update notification outbox checkpoint: {}", e.getMessage());
+            }
+            compactQuietly();
+        }
+    }
+
+    // A failed compaction only leaves the file longer; the records in it are still valid. Holds walLock.
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not compact notification outbox file: {}", e.toString());
+        }
+    }
+
+    // Cuts the delivered head off the file: a plain truncate once nothing is in flight, otherwise a
+    // copy of the undelivered tail once the head has grown past COMPACT_BYTES. Holds walLock.
+    private void compact() throws IOException {
+        long size = wal.size();
+        long head = undelivered.isEmpty() ? size : undelivered.firstEntry().getValue();
+        if (head == 0) {
+            return;
+        }
+        if (head == size) {
+            wal.truncate(0);
+            wal.position(0);
+            return;
+        }
+        if (head < COMPACT_BYTES) {
+            return;
+        }
+        Path tail = walFile.resolveSibling(walFile.getFileName() + ".compact");
+        try (FileChannel out = FileChannel.open(tail, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long copied = 0;
+            while (copied < size - head) {
+                copied += wal.transferTo(head + copied, size - head - copied, out);
+            }
+            out.force(false);
+        }
+        Files.move(tail, walFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        wal.close();
+        wal = FileChannel.open(walFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        wal.position(wal.size());
+        undelivered.replaceAll((seq, offset) -> offset - head);
+        compactions++;
+    }
+
+    // Times the undelivered tail was copied to the front of a new file
+    long getCompactions() {
+        synchronized (walLock) {
+            return compactions;
+        }
+    }
+
+    // Holds walLock
+    private List<Pending> append(List<Notification> notifications) throws SQLException {
+        List<Pending> entries = new ArrayList<>(notifications.size());
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        try {
+            long offset = wal.position();
+            for (Notification notification : notifications) {
+                long seq = nextSeq++;
+                byte[] line = (seq + "\t" + notification.getUserId() + '\t' + notification.getCreatedAt().getTime()
+                        + '\t' + escape(notification.getMessage()) + '\n').getBytes(StandardCharsets.UTF_8);
+                undelivered.put(seq, offset + lines.size());
+                lines.write(line);
+                entries.add(new Pending(seq, notification));
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(lines.toByteArray());
+            while (bytes.hasRemaining()) {
+                wal.write(bytes);
+            }
+            wal.force(false);
+        } catch (IOException e) {
+            for (Pending pending : entries) {
+                undelivered.remove(pending.seq());
+            }
+            throw new SQLException("Could not persist notification to the outbox", e);
+        }
+        return entries;
+    }
+
+    static Path checkpointFile(Path walFile) {
+        return walFile.resolveSibling(walFile.getFileName() + ".checkpoint");
+    }
+
+    // 0 (replay everything) when the checkpoint is missing or torn
+    private static long readCheckpoint(FileChannel channel) throws IOException {
+        if (channel.size() != Long.BYTES) {
+            return 0;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, bytes.position()) < 0) {
+                return 0;
+            }
+        }
+        return bytes.getLong(0);
+    }
+
+    static List<WalRecord> readWal(Path walFile) throws IOException {
+        return Files.exists(walFile) ? parseWal(Files.readAllBytes(walFile)) : new ArrayList<>();
+    }
+
+    // Complete lines only: a torn last line from a crash mid-append is ignored
+    private static List<WalRecord> parseWal(byte[] content) {
+        List<WalRecord> records = new ArrayList<>();
+        int start = 0;
+        for (int end = 0; end < content.length; end++) {
+            if (content[end] != '\n') {
+                continue;
+            }
+            String[] fields = new String(content, start, end - start, StandardCharsets.UTF_8).split("\t", 4);
+            int offset = start;
+            start = end + 1;
+            if (fields.length != 4) {
+                continue;
+            }
+            try {
+                Notification notification = new Notification(Integer.parseInt(fields[1]), unescape(fields[3]));
+                notification.setCreatedAt(new Timestamp(Long.parseLong(fields[2])));
+                records.add(new WalRecord(Long.parseLong(fields[0]), offset, notification));
+            } catch (NumberFormatException e) {
+                logger.warn("Skipping corrupt notification outbox record");
+            }
+        }
+        return records;
+    }
+
+    private static int completeLength(byte[] content) {
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') {
+            end--;
+        }
+        return end;
+    }
+
+    static String escape(String message) {
+        StringBuilder sb = new StringBuilder(message.length());
+        for (int i = 0; i < message.length(); i++) {
+            char c = message.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    static String unescape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 == text.length()) {
+                sb.append(c);
+                continue;
+            }
+            char next = text.charAt(++i);
+            switch (next) {
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                default -> sb.append(next);
+            }
+        }
+        return sb.toString();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS);
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+}
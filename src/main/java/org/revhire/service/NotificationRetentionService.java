@@ -0,0 +1,226 @@
+package org.revhire.service;
+
+import org.revhire.config.RetentionConfig;
+import org.revhire.dao.NotificationDAO;
+import org.revhire.dao.NotificationRetentionDAO;
+import org.revhire.dao.NotificationRetentionDAO.Partition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Keeps the notifications table small. Each run:
+//   1. pre-creates monthly partitions a few months ahead on notifications and its archive,
+//   2. drops partitions entirely older than the retention period (instant, no DELETE),
+//   3. moves read notifications older than archiveAfterDays into notifications_archive in
+//      bounded batches, pausing between batches and stopping when the time budget is spent.
+public class NotificationRetentionService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionService.class);
+
+    private static final long DAY_MILLIS = 24 * 60 * 60 * 1000L;
+
+    // What one run did
+    public record Report(int rowsArchived, int batches, int partitionsAdded, int partitionsDropped,
+            long elapsedMillis) {
+    }
+
+    private static volatile NotificationRetentionService shared;
+
+    private final NotificationRetentionDAO retentionDAO;
+    private final NotificationDAO notificationDAO;
+    private final RetentionConfig config;
+    private final LongSupplier clock;
+    private ScheduledExecutorService scheduler;
+
+    // Totals since start, for monitoring
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong rowsArchived = new AtomicLong();
+    private final AtomicLong partitionsDropped = new AtomicLong();
+    private final AtomicLong millisSpent = new AtomicLong();
+    private volatile Report lastReport;
+
+    public NotificationRetentionService() {
+        this(new NotificationRetentionDAO(), new NotificationDAO(), RetentionConfig.fromSystemProperties(),
+                System::currentTimeMillis);
+    }
+
+    public NotificationRetentionService(NotificationRetentionDAO retentionDAO, NotificationDAO notificationDAO,
+            RetentionConfig config, LongSupplier clock) {
+        this.retentionDAO = retentionDAO;
+        this.notificationDAO = notificationDAO;
+        this.config = config;
+        this.clock = clock;
+    }
+
+    // First run a minute after startup, then every intervalMillis
+    public static NotificationRetentionService getShared() {
+        NotificationRetentionService current = shared;
+        if (current == null) {
+            synchronized (NotificationRetentionService.class) {
+                current = shared;
+                if (current == null) {
+                    current = new NotificationRetentionService();
+                    current.start(TimeUnit.MINUTES.toMillis(1), current.config.getIntervalMillis());
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public synchronized void start(long initialDelayMillis, long intervalMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revhire-notification-retention");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (SQLException e) {
+                logger.error("Notification retention run failed: {}", e.getMessage());
+            }
+        }, initialDelayMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Report runOnce() throws SQLException {
+        long start = clock.getAsLong();
+        int added = 0;
+        int dropped = 0;
+        YearMonth horizon = YearMonth.from(Instant.ofEpochMilli(start).atZone(ZoneOffset.UTC))
+                .plusMonths(config.getMonthsAhead());
+        long dropBefore = (start - config.getDropAfterDays() * DAY_MILLIS) / 1000;
+        for (String table : List.of(NotificationRetentionDAO.NOTIFICATIONS, NotificationRetentionDAO.ARCHIVE)) {
+            List<Partition> partitions = retentionDAO.listPartitions(table);
+            if (partitions.isEmpty()) {
+                logger.debug("{} is not partitioned; skipping partition maintenance", table);
+                continue;
+            }
+            List<YearMonth> months = missingMonths(partitions, horizon);
+            retentionDAO.addMonthlyPartitions(table, months);
+            added += months.size();
+
+            List<String> expired = expiredPartitions(partitions, dropBefore);
+            retentionDAO.dropPartitions(table, expired);
+            dropped += expired.size();
+        }
+        if (dropped > 0) {
+            // Dropped partitions can hold unread rows the cached counts still include
+            notificationDAO.resetUnreadCounts();
+        }
+
+        Timestamp cutoff = new Timestamp(start - config.getArchiveAfterDays() * DAY_MILLIS);
+        int archived = 0;
+        int batches = 0;
+        while (clock.getAsLong() - start < config.getMaxRunMillis() && !Thread.currentThread().isInterrupted()) {
+            int moved = retentionDAO.archiveReadBefore(cutoff, config.getBatchSize());
+            archived += moved;
+            batches++;
+            if (moved < config.getBatchSize()) {
+                break;
+            }
+            pause();
+        }
+
+        Report report = new Report(archived, batches, added, dropped, clock.getAsLong() - start);
+        runs.incrementAndGet();
+        rowsArchived.addAndGet(archived);
+        partitionsDropped.addAndGet(dropped);
+        millisSpent.addAndGet(report.elapsedMillis());
+        lastReport = report;
+        logger.info("Notification retention: archived {} row(s) in {} batch(es), added {} and dropped {} "
+                + "partition(s) in {} ms", archived, batches, added, dropped, report.elapsedMillis());
+        return report;
+    }
+
+    // Months after the last bounded partition up to and including through, so the catch-all
+    // partition only ever receives rows from beyond the horizon
+    static List<YearMonth> missingMonths(List<Partition> partitions, YearMonth through) {
+        Long lastBound = null;
+        for (Partition p : partitions) {
+            if (p.upperBound() != null && (lastBound == null || p.upperBound() > lastBound)) {
+                lastBound = p.upperBound();
+            }
+        }
+        List<YearMonth> months = new ArrayList<>();
+        if (lastBound == null) {
+            return months;
+        }
+        // A bound on a UTC month start means that month is next; one set elsewhere (the migration's
+        // initial bound is in the server's time zone) rounds up to the following month
+        ZonedDateTime boundAt = Instant.ofEpochSecond(lastBound).atZone(ZoneOffset.UTC);
+        YearMonth next = YearMonth.from(boundAt);
+        if (!boundAt.equals(next.atDay(1).atStartOfDay(ZoneOffset.UTC))) {
+            next = next.plusMonths(1);
+        }
+        for (YearMonth m = next; !m.isAfter(through); m = m.plusMonths(1)) {
+            months.add(m);
+        }
+        return months;
+    }
+
+    // Partitions whose every row is older than the cutoff; the catch-all is never dropped
+    static List<String> expiredPartitions(List<Partition> partitions, long cutoffEpochSeconds) {
+        List<String> expired = new ArrayList<>();
+        for (Partition p : partitions) {
+            if (p.upperBound() != null && p.upperBound() <= cutoffEpochSeconds) {
+                expired.add(p.name());
+            }
+        }
+        return expired;
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getRowsArchived() {
+        return rowsArchived.get();
+    }
+
+    public long getPartitionsDropped() {
+        return partitionsDropped.get();
+    }
+
+    public long getMillisSpent() {
+        return millisSpent.get();
+    }
+
+    public Report getLastReport() {
+        return lastReport;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void pause() {
+        if (config.getBatchPauseMillis() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(config.getBatchPauseMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
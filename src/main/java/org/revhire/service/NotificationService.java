@@ -4,6 +4,8 @@ import org.revhire.dao.NotificationDAO;
 import org.revhire.model.Notification;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,26 +14,64 @@ public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotificationDAO notificationDAO;
+    // Null means notifications are written inline
+    private final NotificationOutbox outbox;
 
     public NotificationService() {
-        this.notificationDAO = new NotificationDAO();
+        this(new NotificationDAO(), NotificationOutbox.getShared());
     }
 
     public NotificationService(NotificationDAO notificationDAO) {
+        this(notificationDAO, null);
+    }
+
+    public NotificationService(NotificationDAO notificationDAO, NotificationOutbox outbox) {
         this.notificationDAO = notificationDAO;
+        this.outbox = outbox;
     }
 
+    // With an outbox this returns once the notification is queued; the insert happens in a later batch
     public void sendNotification(int userId, String message) throws SQLException {
         Notification notification = new Notification(userId, message);
-        notificationDAO.createNotification(notification);
+        if (outbox != null) {
+            outbox.enqueue(notification);
+        } else {
+            notificationDAO.createNotification(notification);
+        }
         logger.info("Sent notification to user ID: {}", userId);
     }
 
+    // Same message to many users (e.g. a job alert), queued as one group
+    public void sendNotifications(Collection<Integer> userIds, String message) throws SQLException {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = new ArrayList<>(userIds.size());
+        for (int userId : userIds) {
+            notifications.add(new Notification(userId, message));
+        }
+        if (outbox != null) {
+            outbox.enqueueAll(notifications);
+        } else {
+            notificationDAO.createNotifications(notifications);
+        }
+        logger.info("Sent notification to {} users", userIds.size());
+    }
+
     public List<Notification> getUnreadNotifications(int userId) throws SQLException {
         return notificationDAO.getUnreadNotifications(userId);
     }
 
-    public void markAsRead(int notificationId) throws SQLException {
-        notificationDAO.markAsRead(notificationId);
+    public int markRead(int userId, Collection<Integer> notificationIds) throws SQLException {
+        return notificationDAO.markRead(userId, notificationIds);
+    }
+
+    public int markAllRead(int userId, int upToId) throws SQLException {
+        return notificationDAO.markAllRead(userId, upToId);
+    }
+
+    // Served from memory after the first call per user
+    public int getUnreadCount(int userId) throws SQLException {
+        return notificationDAO.getUnreadCount(userId);
     }
 }
@@ -0,0 +1,138 @@
+package org.revhire.service;
+
+import org.revhire.util.PasswordUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Runs BCrypt on a fixed pool sized to the cores, so a burst of logins queues here instead of
+// starving request threads of CPU. The queue is bounded: when it is full new work is rejected
+// straight away (SQLTransientException from the blocking helpers) rather than piling up latency.
+public class PasswordHashingService implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    // BCrypt's own default; calibration never goes below it
+    static final int MIN_LOG_ROUNDS = 10;
+    static final int MAX_LOG_ROUNDS = 16;
+    private static final int CALIBRATION_LOG_ROUNDS = 6;
+
+    private static volatile PasswordHashingService shared;
+
+    private final ThreadPoolExecutor executor;
+    private final int logRounds;
+
+    public PasswordHashingService(int threads, int queueCapacity, int logRounds) {
+        this.logRounds = logRounds;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "revhire-bcrypt-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // One thread per core, 64 queued hashes per thread, work factor calibrated to
+    // -Drevhire.bcrypt.targetMillis (default 100) per hash on this host
+    public static PasswordHashingService getShared() {
+        PasswordHashingService current = shared;
+        if (current == null) {
+            synchronized (PasswordHashingService.class) {
+                current = shared;
+                if (current == null) {
+                    int cores = Runtime.getRuntime().availableProcessors();
+                    int rounds = calibrate(Long.getLong("revhire.bcrypt.targetMillis", 100));
+                    logger.info("BCrypt work factor calibrated to {} on {} core(s)", rounds, cores);
+                    current = new PasswordHashingService(cores, cores * 64, rounds);
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Highest work factor whose hash still fits the target time. Cost doubles per round, so one
+    // timing at a cheap factor is enough to extrapolate.
+    static int calibrate(long targetMillis) {
+        PasswordUtils.hashPassword("calibration", CALIBRATION_LOG_ROUNDS); // warm up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            PasswordUtils.hashPassword("calibration", CALIBRATION_LOG_ROUNDS);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double nanosPerUnit = best / (double) (1 << CALIBRATION_LOG_ROUNDS);
+        int rounds = MIN_LOG_ROUNDS;
+        while (rounds < MAX_LOG_ROUNDS && nanosPerUnit * (1L << (rounds + 1)) <= targetMillis * 1_000_000.0) {
+            rounds++;
+        }
+        return rounds;
+    }
+
+    public CompletableFuture<String> hash(String plainTextPassword) {
+        return submit(() -> PasswordUtils.hashPassword(plainTextPassword, logRounds));
+    }
+
+    public CompletableFuture<Boolean> verify(String plainTextPassword, String hashedPassword) {
+        return submit(() -> PasswordUtils.checkPassword(plainTextPassword, hashedPassword));
+    }
+
+    // True when the stored hash was made with a lower work factor than the current one
+    public boolean needsRehash(String hashedPassword) {
+        int rounds = PasswordUtils.getLogRounds(hashedPassword);
+        return rounds >= 0 && rounds < logRounds;
+    }
+
+    public String hashNow(String plainTextPassword) throws SQLException {
+        return await(hash(plainTextPassword));
+    }
+
+    public boolean verifyNow(String plainTextPassword, String hashedPassword) throws SQLException {
+        return await(verify(plainTextPassword, hashedPassword));
+    }
+
+    public int getLogRounds() {
+        return logRounds;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RejectedExecutionException) {
+                throw new SQLTransientException("Too many sign-in requests right now, please retry", e.getCause());
+            }
+            throw new SQLException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.revhire.service;
+
+import org.revhire.dao.JobSeekerDAO;
+import org.revhire.model.JobSeeker;
+import org.revhire.search.ResumeIndex;
+import org.revhire.search.ResumeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Employer-side candidate search. Matching runs against the in-memory ResumeIndex, which
+// JobSeekerDAO keeps current on every profile write; only the profiles shown are read from the database.
+public class ResumeSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ResumeSearchService.class);
+
+    private final JobSeekerDAO jobSeekerDAO;
+    private final ResumeIndex resumeIndex;
+
+    public ResumeSearchService() {
+        this(new JobSeekerDAO(), ResumeIndex.getShared());
+    }
+
+    public ResumeSearchService(JobSeekerDAO jobSeekerDAO, ResumeIndex resumeIndex) {
+        this.jobSeekerDAO = jobSeekerDAO;
+        this.resumeIndex = resumeIndex;
+    }
+
+    // Loads every profile into the index (startup, or after invalidate())
+    public void buildIndex() throws SQLException {
+        long start = System.currentTimeMillis();
+        // Profiles saved while the snapshot is read are replayed on top of it by the index
+        ResumeIndex.Rebuild rebuild = resumeIndex.beginRebuild();
+        List<JobSeeker> profiles;
+        try {
+            profiles = jobSeekerDAO.getAllProfiles();
+        } catch (SQLException | RuntimeException e) {
+            resumeIndex.abandon(rebuild);
+            throw e;
+        }
+        resumeIndex.rebuild(rebuild, profiles);
+        logger.info("Resume index loaded in {} ms", System.currentTimeMillis() - start);
+    }
+
+    // Up to limit matching profiles, most experienced first
+    public List<JobSeeker> search(ResumeQuery query, int limit) throws SQLException {
+        ensureIndexLoaded();
+        int[] ids = resumeIndex.search(query, limit);
+        List<Integer> idList = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            idList.add(id);
+        }
+        Map<Integer, JobSeeker> profiles = jobSeekerDAO.getProfilesByUserIds(idList);
+        List<JobSeeker> results = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            JobSeeker profile = profiles.get(id);
+            if (profile != null) {
+                results.add(profile);
+            }
+        }
+        return results;
+    }
+
+    // Also used by AutocompleteService, whose skill suggestions are fed by this index
+    void ensureIndexLoaded() throws SQLException {
+        if (!resumeIndex.isLoaded()) {
+            synchronized (resumeIndex) {
+                if (!resumeIndex.isLoaded()) {
+                    buildIndex();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.revhire.service;
+
+import org.revhire.model.User;
+import org.revhire.model.UserSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Token -> session for every logged-in user. Lookups are lock-free reads on a ConcurrentHashMap;
+// sessions idle longer than the timeout are dropped on lookup and by a periodic sweep.
+public class SessionRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(SessionRegistry.class);
+
+    public static final long DEFAULT_IDLE_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    // Last-access time is only rewritten when it moved by more than this, to keep hot lookups read-only
+    private static final long TOUCH_GRANULARITY_MILLIS = 1000;
+    private static final int TOKEN_BYTES = 32;
+
+    private static volatile SessionRegistry shared;
+
+    private final ConcurrentHashMap<String, UserSession> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long idleTimeoutMillis;
+    private final LongSupplier clock;
+
+    public SessionRegistry() {
+        this(DEFAULT_IDLE_TIMEOUT_MILLIS, System::currentTimeMillis);
+    }
+
+    public SessionRegistry(long idleTimeoutMillis, LongSupplier clock) {
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.clock = clock;
+    }
+
+    // Process-wide registry with a background sweep every minute
+    public static SessionRegistry getShared() {
+        SessionRegistry current = shared;
+        if (current == null) {
+            synchronized (SessionRegistry.class) {
+                current = shared;
+                if (current == null) {
+                    current = new SessionRegistry();
+                    current.startSweeper(60_000);
+                    shared = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    public UserSession create(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        UserSession session = new UserSession(token, user, clock.getAsLong());
+        sessions.put(token, session);
+        return session;
+    }
+
+    // Returns the live session for the token and records the access
+    public Optional<UserSession> resolve(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        UserSession session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        long now = clock.getAsLong();
+        long last = session.getLastAccessedAt();
+        if (now - last > idleTimeoutMillis) {
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        if (now - last > TOUCH_GRANULARITY_MILLIS) {
+            session.setLastAccessedAt(now);
+        }
+        return Optional.of(session);
+    }
+
+    public void invalidate(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    // Ends every session of one user, e.g. after a password change
+    public int invalidateUser(int userId) {
+        return invalidateUser(userId, null);
+    }
+
+    // As invalidateUser, sparing the session with keepToken (the one that made the change)
+    public int invalidateUser(int userId, String keepToken) {
+        int[] removed = new int[1];
+        sessions.values().removeIf(s -> {
+            boolean match = s.getUser().getId() == userId && !s.getToken().equals(keepToken);
+            if (match) {
+                removed[0]++;
+            }
+            return match;
+        });
+        return removed[0];
+    }
+
+    public int sweepExpired() {
+        long now = clock.getAsLong();
+        int before = sessions.size();
+        sessions.values().removeIf(s -> now - s.getLastAccessedAt() > idleTimeoutMillis);
+        return Math.max(0, before - sessions.size());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void startSweeper(long periodMillis) {
+        ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "revhire-session-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        sweeper.scheduleAtFixedRate(() -> {
+            int removed = sweepExpired();
+            if (removed > 0) {
+                logger.debug("Expired {} idle session(s)", removed);
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,13 @@
+package org.revhire.service;
+
+import java.sql.SQLNonTransientException;
+
+// A request the business rules refuse (duplicate email, closed job, ...). The message is meant for
+// the user; retrying the same request will not help.
+public class ValidationException extends SQLNonTransientException {
+    private static final long serialVersionUID = 1L;
+
+    public ValidationException(String message) {
+        super(message);
+    }
+}
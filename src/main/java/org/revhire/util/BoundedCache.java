@@ -0,0 +1,165 @@
+package org.revhire.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Size-bounded LRU cache with a time-to-live, split into independently locked stripes so
+// concurrent readers of different keys do not contend. Each stripe holds capacity / stripes entries.
+public class BoundedCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Stripe<K, V> {
+        final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        // Bumped by every invalidation so a load that raced with a write is not cached
+        long generation;
+    }
+
+    private final Stripe<K, V>[] stripes;
+    private final int stripeCapacity;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BoundedCache(int capacity, long ttlMillis) {
+        this(capacity, ttlMillis, Runtime.getRuntime().availableProcessors() * 4, System::nanoTime);
+    }
+
+    public BoundedCache(int capacity, long ttlMillis, int stripeCount, LongSupplier nanoClock) {
+        int count = Integer.highestOneBit(Math.max(1, Math.min(stripeCount, capacity)));
+        // No generic array creation; every element is a Stripe<K, V> created below
+        @SuppressWarnings("unchecked")
+        Stripe<K, V>[] created = (Stripe<K, V>[]) new Stripe<?, ?>[count];
+        this.stripes = created;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        this.stripeCapacity = Math.max(1, capacity / count);
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.clock = nanoClock;
+    }
+
+    public V get(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            Entry<V> entry = stripe.map.get(key);
+            if (entry != null && entry.expiresAt - clock.getAsLong() > 0) {
+                hits.increment();
+                return entry.value;
+            }
+            if (entry != null) {
+                stripe.map.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Read before loading a value from the source of truth, then pass to put(key, value, stamp)
+    public long stamp(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            return stripe.generation;
+        }
+    }
+
+    public void put(K key, V value) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            insert(stripe, key, value);
+        }
+    }
+
+    // Caches the value only if nothing in its stripe was invalidated since the stamp was taken
+    public boolean put(K key, V value, long stamp) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            if (stripe.generation != stamp) {
+                return false;
+            }
+            insert(stripe, key, value);
+            return true;
+        }
+    }
+
+    public void invalidate(K key) {
+        Stripe<K, V> stripe = stripeFor(key);
+        synchronized (stripe) {
+            stripe.generation++;
+            stripe.map.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.generation++;
+                stripe.map.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.map.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d hits=%d misses=%d hitRate=%.2f evictions=%d", size(), getHits(), getMisses(),
+                getHitRate(), getEvictions());
+    }
+
+    private void insert(Stripe<K, V> stripe, K key, V value) {
+        stripe.map.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+        if (stripe.map.size() > stripeCapacity) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = stripe.map.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private Stripe<K, V> stripeFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,104 @@
+package org.revhire.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+// Approximate per-key event counts over a sliding window, in fixed memory regardless of how many
+// distinct keys are seen. A count-min sketch whose cells each pack (window, previous, current):
+// the estimate weights the previous window by how much of it still overlaps the sliding window,
+// so old activity decays away without any sweep. Updates are lock-free CAS on a long per cell.
+// Like any count-min sketch it can overestimate (collisions) but never underestimates.
+public class DecayingCountMinSketch {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+    private final AtomicLongArray cells;
+    private final int depth;
+    private final int widthMask;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    // width is rounded up to a power of two; memory is depth * width * 8 bytes
+    public DecayingCountMinSketch(int depth, int width, long windowMillis, LongSupplier clock) {
+        int w = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+        this.depth = depth;
+        this.widthMask = w - 1;
+        this.cells = new AtomicLongArray(depth * w);
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    // Records one event and returns the estimate including it
+    public int increment(String key) {
+        long now = clock.getAsLong();
+        long window = (now / windowMillis) & WINDOW_MASK;
+        double overlap = 1.0 - (now % windowMillis) / (double) windowMillis;
+        int h1 = hash(key);
+        int h2 = (h1 >>> 16) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * (widthMask + 1) + ((h1 + row * h2) & widthMask);
+            long next;
+            while (true) {
+                long cell = cells.get(index);
+                next = advance(cell, window, 1);
+                if (cells.compareAndSet(index, cell, next)) {
+                    break;
+                }
+            }
+            min = Math.min(min, estimate(next, window, overlap));
+        }
+        return min;
+    }
+
+    public int estimate(String key) {
+        long now = clock.getAsLong();
+        long window = (now / windowMillis) & WINDOW_MASK;
+        double overlap = 1.0 - (now % windowMillis) / (double) windowMillis;
+        int h1 = hash(key);
+        int h2 = (h1 >>> 16) | 1;
+        int min = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = row * (widthMask + 1) + ((h1 + row * h2) & widthMask);
+            min = Math.min(min, estimate(advance(cells.get(index), window, 0), window, overlap));
+        }
+        return min;
+    }
+
+    // Rolls the cell forward to the given window and adds delta to the current count (saturating)
+    private static long advance(long cell, long window, int delta) {
+        long cellWindow = cell >>> (2 * COUNT_BITS);
+        long previous = (cell >>> COUNT_BITS) & COUNT_MASK;
+        long current = cell & COUNT_MASK;
+        if (cellWindow != window) {
+            previous = cellWindow == ((window - 1) & WINDOW_MASK) ? current : 0;
+            current = 0;
+        }
+        current = Math.min(COUNT_MASK, current + delta);
+        return (window << (2 * COUNT_BITS)) | (previous << COUNT_BITS) | current;
+    }
+
+    private static int estimate(long cell, long window, double overlap) {
+        long previous = (cell >>> COUNT_BITS) & COUNT_MASK;
+        long current = cell & COUNT_MASK;
+        return (int) (current + Math.round(previous * overlap));
+    }
+
+    // FNV-1a over the UTF-8 bytes, then a murmur finaliser to spread the low bits
+    private static int hash(String key) {
+        int h = 0x811c9dc5;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b;
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
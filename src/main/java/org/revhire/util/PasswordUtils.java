@@ -10,6 +10,27 @@ public class PasswordUtils {
         return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt());
     }
 
+    // Hash with an explicit work factor (2^logRounds iterations)
+    public static String hashPassword(String plainTextPassword, int logRounds) {
+        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(logRounds));
+    }
+
+    // Work factor a stored hash was created with ("$2a$10$..." -> 10), or -1 if it is not a BCrypt hash
+    public static int getLogRounds(String hashedPassword) {
+        if (hashedPassword == null || hashedPassword.length() < 7 || hashedPassword.charAt(0) != '$') {
+            return -1;
+        }
+        int end = hashedPassword.indexOf('$', 1);
+        if (end < 0 || end + 3 > hashedPassword.length() || hashedPassword.charAt(end + 3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(end + 1, end + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     // Verify plain text against hashed password
     public static boolean checkPassword(String plainTextPassword, String hashedPassword) {
         try {
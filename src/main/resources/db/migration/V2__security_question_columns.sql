@@ -0,0 +1,5 @@
+-- Security Questions support.
+-- Databases created from the old db_schema.sql already have these columns; the migrator
+-- treats "duplicate column" as already applied.
+ALTER TABLE users ADD COLUMN security_question VARCHAR(255);
+ALTER TABLE users ADD COLUMN security_answer VARCHAR(255);
@@ -0,0 +1,20 @@
+-- Composite indexes for the hot read paths. InnoDB appends the primary key (id) to every
+-- secondary index, so each of these also serves the (timestamp, id) keyset pagination order.
+
+-- searchJobs / paged listing: WHERE status = 'OPEN' ORDER BY posted_at DESC, id DESC
+CREATE INDEX idx_jobs_status_posted ON jobs (status, posted_at);
+
+-- getJobsByEmployer paged: WHERE employer_id = ? ORDER BY posted_at DESC, id DESC
+CREATE INDEX idx_jobs_employer_posted ON jobs (employer_id, posted_at);
+
+-- hasApplied: covering index for COUNT(*) WHERE seeker_id = ? AND job_id = ?
+CREATE INDEX idx_applications_seeker_job ON applications (seeker_id, job_id);
+
+-- getApplicationsBySeeker paged
+CREATE INDEX idx_applications_seeker_applied ON applications (seeker_id, applied_at);
+
+-- getApplicationsByJob paged
+CREATE INDEX idx_applications_job_applied ON applications (job_id, applied_at);
+
+-- getUnreadNotifications: WHERE user_id = ? AND is_read = FALSE ORDER BY created_at DESC
+CREATE INDEX idx_notifications_user_unread ON notifications (user_id, is_read, created_at);
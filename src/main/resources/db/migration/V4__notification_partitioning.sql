@@ -0,0 +1,34 @@
+-- Range-partitions notifications by created_at (monthly partitions are added ahead of time by
+-- NotificationRetentionService, which also drops expired ones) and adds the archive that read
+-- notifications are moved to.
+-- MySQL requires every unique key of a partitioned table to include the partitioning column, and
+-- partitioned InnoDB tables cannot take part in foreign keys, so the FK to users goes (users are
+-- never deleted by the application) and the primary key becomes (id, created_at).
+ALTER TABLE notifications DROP FOREIGN KEY notifications_ibfk_1;
+
+ALTER TABLE notifications
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+-- Compaction scan: WHERE is_read = TRUE AND created_at < ? ORDER BY created_at
+CREATE INDEX idx_notifications_read_created ON notifications (is_read, created_at);
+
+ALTER TABLE notifications PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2026-01-01 00:00:00')),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
+
+CREATE TABLE notifications_archive (
+    id INT NOT NULL,
+    user_id INT NOT NULL,
+    message TEXT NOT NULL,
+    is_read BOOLEAN NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    INDEX idx_notifications_archive_user (user_id, created_at)
+) PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2026-01-01 00:00:00')),
+    PARTITION pmax VALUES LESS THAN MAXVALUE
+);
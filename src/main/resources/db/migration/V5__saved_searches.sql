@@ -0,0 +1,13 @@
+-- Job alerts: a seeker's saved search criteria, matched against every newly opened job
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    seeker_id INT NOT NULL,
+    keyword VARCHAR(255),
+    location VARCHAR(100),
+    job_type VARCHAR(50),
+    max_experience INT,
+    company VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_saved_searches_seeker (seeker_id),
+    FOREIGN KEY (seeker_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -1,6 +1,9 @@
 CREATE DATABASE IF NOT EXISTS revhire;
 USE revhire;
 
+-- Current schema in one re-runnable script. The app applies the same changes at startup from
+-- db/migration (see SchemaMigrator), so running this by hand is optional.
+
 -- Users Table
 CREATE TABLE IF NOT EXISTS users (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -8,7 +11,10 @@ CREATE TABLE IF NOT EXISTS users (
     email VARCHAR(100) NOT NULL UNIQUE,
     password VARCHAR(255) NOT NULL,
     role ENUM('JOB_SEEKER', 'EMPLOYER') NOT NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Security Questions support
+    security_question VARCHAR(255),
+    security_answer VARCHAR(255)
 );
 
 -- Job Seekers Profile (Normalized)
@@ -83,14 +89,12 @@ CREATE TABLE IF NOT EXISTS jobs (
     experience_years INT DEFAULT 0,
     posted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     status ENUM('OPEN', 'CLOSED') DEFAULT 'OPEN',
+    INDEX idx_jobs_status_posted (status, posted_at),
+    INDEX idx_jobs_employer_posted (employer_id, posted_at),
     FOREIGN KEY (employer_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
 
--- Security Questions support
-ALTER TABLE users ADD COLUMN security_question VARCHAR(255);
-ALTER TABLE users ADD COLUMN security_answer VARCHAR(255);
-
 -- Applications
 CREATE TABLE IF NOT EXISTS applications (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -99,16 +103,36 @@ CREATE TABLE IF NOT EXISTS applications (
     cover_letter TEXT,
     status ENUM('APPLIED', 'SHORTLISTED', 'REJECTED', 'WITHDRAWN') DEFAULT 'APPLIED',
     applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_applications_seeker_job (seeker_id, job_id),
+    INDEX idx_applications_seeker_applied (seeker_id, applied_at),
+    INDEX idx_applications_job_applied (job_id, applied_at),
     FOREIGN KEY (job_id) REFERENCES jobs(id) ON DELETE CASCADE,
     FOREIGN KEY (seeker_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
 -- Notifications
+-- Migration V4 range-partitions this table by created_at (dropping the FK, which partitioned
+-- tables cannot have) and creates notifications_archive; see db/migration.
 CREATE TABLE IF NOT EXISTS notifications (
     id INT AUTO_INCREMENT PRIMARY KEY,
     user_id INT NOT NULL,
     message TEXT NOT NULL,
     is_read BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_notifications_user_unread (user_id, is_read, created_at),
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
 );
+
+-- Saved Searches (job alerts)
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    seeker_id INT NOT NULL,
+    keyword VARCHAR(255),
+    location VARCHAR(100),
+    job_type VARCHAR(50),
+    max_experience INT,
+    company VARCHAR(100),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_saved_searches_seeker (seeker_id),
+    FOREIGN KEY (seeker_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,227 @@
+package org.revhire.api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.revhire.model.Job;
+import org.revhire.model.User;
+import org.revhire.model.User.UserRole;
+import org.revhire.model.UserSession;
+import org.revhire.search.AutocompleteIndex;
+import org.revhire.search.FacetCounts;
+import org.revhire.search.FacetedPage;
+import org.revhire.service.ApplicationService;
+import org.revhire.service.AuthService;
+import org.revhire.service.AutocompleteService;
+import org.revhire.service.JobService;
+import org.revhire.service.LoginThrottledException;
+import org.revhire.service.NotificationService;
+import org.revhire.service.ValidationException;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ApiServerTest {
+
+    private AuthService authService;
+    private JobService jobService;
+    private ApplicationService applicationService;
+    private NotificationService notificationService;
+    private AutocompleteService autocompleteService;
+    private ApiServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        authService = mock(AuthService.class);
+        jobService = mock(JobService.class);
+        applicationService = mock(ApplicationService.class);
+        notificationService = mock(NotificationService.class);
+        autocompleteService = mock(AutocompleteService.class);
+        server = new ApiServer(new InetSocketAddress("localhost", 0), authService, jobService, applicationService,
+                notificationService, autocompleteService);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> send(String method, String path, String token, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private User user(int id, UserRole role) {
+        User user = new User("User", "u@example.com", "hash", role, "Q", "A");
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void shouldReturnRankedJobsForKeywordSearch() throws Exception {
+        Job job = new Job(2, "Java Developer", "desc", "reqs", "Remote", "10", "Full-time", 1);
+        job.setId(9);
+        FacetCounts facets = mock(FacetCounts.class);
+        when(facets.getTotalHits()).thenReturn(3);
+        when(facets.get(any())).thenReturn(List.of());
+        when(facets.get(FacetCounts.Facet.LOCATION)).thenReturn(List.of(new FacetCounts.Bucket("Remote", 3)));
+        when(jobService.searchJobsRankedFaceted(eq("java"), isNull(), isNull(), isNull(), isNull(), eq(20)))
+                .thenReturn(new FacetedPage<>(List.of(job), null, facets));
+
+        HttpResponse<String> response = send("GET", "/api/jobs?keyword=java", null, null);
+
+        assertEquals(200, response.statusCode());
+        Map<String, Object> body = Json.parseObject(response.body());
+        List<?> items = (List<?>) body.get("items");
+        assertEquals(1, items.size());
+        assertEquals("Java Developer", ((Map<?, ?>) items.get(0)).get("title"));
+        assertEquals(3L, body.get("total"));
+        List<?> locations = (List<?>) ((Map<?, ?>) body.get("facets")).get("location");
+        assertEquals("Remote", ((Map<?, ?>) locations.get(0)).get("label"));
+        assertEquals(3L, ((Map<?, ?>) locations.get(0)).get("count"));
+    }
+
+    @Test
+    public void shouldSuggestByFieldAndRejectUnknownFields() throws Exception {
+        when(autocompleteService.suggest(AutocompleteIndex.Kind.LOCATION, "ban", 10))
+                .thenReturn(List.of(new AutocompleteIndex.Suggestion("Bangalore", 42)));
+
+        HttpResponse<String> ok = send("GET", "/api/suggest?field=location&prefix=ban", null, null);
+        HttpResponse<String> bad = send("GET", "/api/suggest?field=salary&prefix=1", null, null);
+
+        assertEquals(200, ok.statusCode());
+        List<?> items = (List<?>) Json.parseObject(ok.body()).get("items");
+        assertEquals("Bangalore", ((Map<?, ?>) items.get(0)).get("label"));
+        assertEquals(42L, ((Map<?, ?>) items.get(0)).get("count"));
+        assertEquals(400, bad.statusCode());
+    }
+
+    @Test
+    public void shouldIssueTokenOnLoginAndRejectBadCredentials() throws Exception {
+        User user = user(1, UserRole.JOB_SEEKER);
+        when(authService.login(eq("u@example.com"), eq("Secret1!"), anyString()))
+                .thenReturn(new UserSession("tok", user, 0));
+        when(authService.login(eq("u@example.com"), eq("wrong"), anyString()))
+                .thenThrow(new ValidationException("Invalid email or password"));
+
+        HttpResponse<String> ok = send("POST", "/api/login", null,
+                "{\"email\":\"u@example.com\",\"password\":\"Secret1!\"}");
+        HttpResponse<String> bad = send("POST", "/api/login", null,
+                "{\"email\":\"u@example.com\",\"password\":\"wrong\"}");
+
+        assertEquals(200, ok.statusCode());
+        assertEquals("tok", Json.parseObject(ok.body()).get("token"));
+        assertEquals(401, bad.statusCode());
+    }
+
+    @Test
+    public void shouldAnswerThrottledLoginWithRetryAfter() throws Exception {
+        when(authService.login(eq("u@example.com"), anyString(), eq("127.0.0.1")))
+                .thenThrow(new LoginThrottledException("Too many sign-in attempts, try again later", 300));
+
+        HttpResponse<String> response = send("POST", "/api/login", null,
+                "{\"email\":\"u@example.com\",\"password\":\"x\"}");
+
+        assertEquals(429, response.statusCode());
+        assertEquals("300", response.headers().firstValue("Retry-After").orElse(null));
+    }
+
+    @Test
+    public void shouldRequireSeekerSessionToApply() throws Exception {
+        when(authService.resolveSession("seeker")).thenReturn(
+                Optional.of(new UserSession("seeker", user(3, UserRole.JOB_SEEKER), 0)));
+        when(authService.resolveSession("employer")).thenReturn(
+                Optional.of(new UserSession("employer", user(4, UserRole.EMPLOYER), 0)));
+
+        assertEquals(401, send("POST", "/api/jobs/9/applications", null, "{}").statusCode());
+        assertEquals(403, send("POST", "/api/jobs/9/applications", "employer", "{}").statusCode());
+        assertEquals(200, send("POST", "/api/jobs/9/applications", "seeker",
+                "{\"coverLetter\":\"Hi\"}").statusCode());
+        verify(applicationService).applyForJob(9, 3, "Hi");
+    }
+
+    @Test
+    public void shouldMapServiceRuleViolationToBadRequest() throws Exception {
+        when(authService.resolveSession("seeker")).thenReturn(
+                Optional.of(new UserSession("seeker", user(3, UserRole.JOB_SEEKER), 0)));
+        doThrow(new ValidationException("Job is closed.")).when(applicationService).applyForJob(anyInt(), anyInt(),
+                any());
+
+        HttpResponse<String> response = send("POST", "/api/jobs/9/applications", "seeker", "{}");
+
+        assertEquals(400, response.statusCode());
+        assertEquals("Job is closed.", Json.parseObject(response.body()).get("error"));
+        assertEquals(404, send("GET", "/api/nothing", null, null).statusCode());
+    }
+
+    @Test
+    public void shouldAnswerBusyOnPoolTimeoutAndHideDatabaseErrors() throws Exception {
+        when(authService.resolveSession("seeker")).thenReturn(
+                Optional.of(new UserSession("seeker", user(3, UserRole.JOB_SEEKER), 0)));
+        doThrow(new SQLTimeoutException("Timed out after 5000 ms waiting for a database connection"))
+                .doThrow(new SQLException("Communications link failure", "08S01"))
+                .doThrow(new SQLException("Unknown column 'x'"))
+                .when(applicationService).applyForJob(anyInt(), anyInt(), any());
+
+        HttpResponse<String> timedOut = send("POST", "/api/jobs/9/applications", "seeker", "{}");
+        HttpResponse<String> unreachable = send("POST", "/api/jobs/9/applications", "seeker", "{}");
+        HttpResponse<String> broken = send("POST", "/api/jobs/9/applications", "seeker", "{}");
+
+        assertEquals(503, timedOut.statusCode());
+        assertEquals(503, unreachable.statusCode());
+        assertEquals(500, broken.statusCode());
+        assertEquals("Internal error", Json.parseObject(broken.body()).get("error"));
+    }
+
+    @Test
+    public void shouldMarkNotificationsReadForCaller() throws Exception {
+        when(authService.resolveSession("seeker")).thenReturn(
+                Optional.of(new UserSession("seeker", user(3, UserRole.JOB_SEEKER), 0)));
+        when(notificationService.markRead(3, List.of(5, 6))).thenReturn(2);
+        when(notificationService.markAllRead(3, 40)).thenReturn(7);
+
+        HttpResponse<String> byIds = send("POST", "/api/notifications/read", "seeker", "{\"ids\":[5,6]}");
+        HttpResponse<String> upTo = send("POST", "/api/notifications/read", "seeker", "{\"upToId\":40}");
+        HttpResponse<String> neither = send("POST", "/api/notifications/read", "seeker", "{}");
+
+        assertEquals(2L, Json.parseObject(byIds.body()).get("marked"));
+        assertEquals(7L, Json.parseObject(upTo.body()).get("marked"));
+        assertEquals(400, neither.statusCode());
+    }
+
+    @Test
+    public void shouldRejectMarkReadWithTooManyIds() throws Exception {
+        when(authService.resolveSession("seeker")).thenReturn(
+                Optional.of(new UserSession("seeker", user(3, UserRole.JOB_SEEKER), 0)));
+        StringBuilder ids = new StringBuilder("{\"ids\":[1");
+        for (int i = 2; i <= 101; i++) {
+            ids.append(',').append(i);
+        }
+        ids.append("]}");
+
+        HttpResponse<String> tooMany = send("POST", "/api/notifications/read", "seeker", ids.toString());
+
+        assertEquals(400, tooMany.statusCode());
+        verify(notificationService, never()).markRead(anyInt(), any());
+    }
+}
@@ -0,0 +1,31 @@
+package org.revhire.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonTest {
+
+    @Test
+    public void shouldRoundTripNestedValues() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("name", "Quote \" and \\ and\nnewline");
+        value.put("count", 3L);
+        value.put("ok", true);
+        value.put("missing", null);
+        value.put("list", List.of(1L, "two"));
+
+        assertEquals(value, Json.parse(Json.write(value)));
+    }
+
+    @Test
+    public void shouldRejectMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[1,2]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1} x"));
+    }
+}
@@ -0,0 +1,75 @@
+package org.revhire.benchmark;
+
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.search.ApplicantRanker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Time to rank a job's applicants once their profiles are loaded. Runs in memory, no database:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.ApplicantRankingBenchmark -Dexec.args="5000 200"
+public class ApplicantRankingBenchmark {
+
+    private static final String[] SKILLS = { "Java", "Spring Boot", "SQL", "MySQL", "PostgreSQL", "Python",
+            "Django", "React", "TypeScript", "Node.js", "Docker", "Kubernetes", "AWS", "Azure", "Kafka", "Redis",
+            "Git", "Linux", "Go", "Rust", "C++", "C#", ".NET", "Angular", "GraphQL", "REST APIs", "Microservices",
+            "Machine Learning", "Pandas", "Terraform", "Jenkins", "Hibernate", "JUnit", "Selenium", "Scala",
+            "Spark", "Hadoop", "Elasticsearch", "MongoDB", "Swift" };
+    private static final String[] DEGREES = { "B.Tech Computer Science", "B.Sc Mathematics", "MCA",
+            "M.Tech Software Engineering", "B.Com", "BCA" };
+
+    // The job every benchmark ranks for; also seeded by ApplicantRankingEndToEndBenchmark
+    static final Job JOB = new Job(1, "Senior Backend Engineer", "Own our APIs",
+            "Java, Spring Boot, SQL, Kafka, Docker, Kubernetes, AWS; degree in Computer Science", "Remote",
+            "30k", "Full-time", 5);
+
+    public static void main(String[] args) {
+        int applicants = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        List<JobSeeker> candidates = candidates(applicants, new Random(7));
+
+        ApplicantRanker ranker = new ApplicantRanker();
+        for (int i = 0; i < 50; i++) {
+            ranker.rank(JOB, candidates, 25);
+        }
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            ranker.rank(JOB, candidates, 25);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%d applicants, top 25: p50 %.2f ms   p99 %.2f ms   max %.2f ms%n", applicants,
+                nanos[runs / 2] / 1e6, nanos[(int) (runs * 0.99)] / 1e6, nanos[runs - 1] / 1e6);
+    }
+
+    static List<JobSeeker> candidates(int applicants, Random random) {
+        List<JobSeeker> candidates = new ArrayList<>(applicants);
+        for (int i = 0; i < applicants; i++) {
+            JobSeeker seeker = new JobSeeker(i + 1, "555");
+            int skills = 3 + random.nextInt(12);
+            for (int s = 0; s < skills; s++) {
+                seeker.addSkill(new Skill(SKILLS[random.nextInt(SKILLS.length)]));
+            }
+            int jobs = random.nextInt(4);
+            int year = 2010 + random.nextInt(12);
+            for (int e = 0; e < jobs; e++) {
+                int length = 1 + random.nextInt(4);
+                seeker.addExperience(new Experience("Company " + random.nextInt(100), "Software Engineer",
+                        year + "-" + (year + length), "Worked on " + SKILLS[random.nextInt(SKILLS.length)]
+                                + " and " + SKILLS[random.nextInt(SKILLS.length)] + " services"));
+                year += length;
+            }
+            seeker.addEducation(new Education(DEGREES[random.nextInt(DEGREES.length)], "University", 2010));
+            candidates.add(seeker);
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,146 @@
+package org.revhire.benchmark;
+
+import org.revhire.config.DBConnection;
+import org.revhire.dao.ApplicationDAO;
+import org.revhire.dao.JobDAO;
+import org.revhire.dao.JobSeekerDAO;
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.service.ApplicationService;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// ApplicationService.rankApplicants end to end: the job, its applications and every applicant's
+// profile are read from the embedded database, then ranked. Seeds its own data, so run it alone:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.ApplicantRankingEndToEndBenchmark -Dexec.args="5000 100"
+public class ApplicantRankingEndToEndBenchmark {
+
+    public static void main(String[] args) throws SQLException {
+        int applicants = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        if (System.getProperty("revhire.db.mode") == null) {
+            System.setProperty("revhire.db.mode", "embedded");
+        }
+        try {
+            int jobId = seed(ApplicantRankingBenchmark.candidates(applicants, new Random(7)));
+            ApplicationService service = new ApplicationService(new ApplicationDAO(), new JobDAO(), null,
+                    new JobSeekerDAO(JobSeekerDAO.DEFAULT_BATCH_SIZE, null));
+            for (int i = 0; i < 50; i++) {
+                service.rankApplicants(jobId, 25);
+            }
+            long[] nanos = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                long start = System.nanoTime();
+                service.rankApplicants(jobId, 25);
+                nanos[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(nanos);
+            System.out.printf("%d applicants, top 25, end to end: p50 %.2f ms   p99 %.2f ms   max %.2f ms%n",
+                    applicants, nanos[runs / 2] / 1e6, nanos[(int) (runs * 0.99)] / 1e6, nanos[runs - 1] / 1e6);
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    // One employer and job, and the given seekers each with an application to it; returns the job id
+    private static int seed(List<JobSeeker> seekers) throws SQLException {
+        try (Connection conn = DBConnection.getInstance()) {
+            conn.setAutoCommit(false);
+            int employerId = insertUser(conn, "employer@bench.test", "EMPLOYER");
+            int jobId;
+            Job job = ApplicantRankingBenchmark.JOB;
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO jobs (employer_id, title, description, "
+                    + "requirements, location, salary_range, job_type, experience_years) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, employerId);
+                stmt.setString(2, job.getTitle());
+                stmt.setString(3, job.getDescription());
+                stmt.setString(4, job.getRequirements());
+                stmt.setString(5, job.getLocation());
+                stmt.setString(6, job.getSalaryRange());
+                stmt.setString(7, job.getJobType());
+                stmt.setInt(8, job.getExperienceYears());
+                stmt.executeUpdate();
+                jobId = generatedKey(stmt);
+            }
+
+            try (PreparedStatement seeker = conn.prepareStatement("INSERT INTO job_seekers (user_id, phone) VALUES (?, ?)");
+                    PreparedStatement skill = conn.prepareStatement(
+                            "INSERT INTO resume_skills (user_id, skill_name) VALUES (?, ?)");
+                    PreparedStatement experience = conn.prepareStatement("INSERT INTO resume_experience "
+                            + "(user_id, company, role, duration, description) VALUES (?, ?, ?, ?, ?)");
+                    PreparedStatement education = conn.prepareStatement(
+                            "INSERT INTO resume_education (user_id, degree, institution, year) VALUES (?, ?, ?, ?)");
+                    PreparedStatement application = conn.prepareStatement(
+                            "INSERT INTO applications (job_id, seeker_id, cover_letter) VALUES (?, ?, ?)")) {
+                for (JobSeeker profile : seekers) {
+                    int userId = insertUser(conn, "seeker" + profile.getUserId() + "@bench.test", "JOB_SEEKER");
+                    seeker.setInt(1, userId);
+                    seeker.setString(2, profile.getPhone());
+                    seeker.addBatch();
+                    for (Skill s : profile.getSkills()) {
+                        skill.setInt(1, userId);
+                        skill.setString(2, s.getName());
+                        skill.addBatch();
+                    }
+                    for (Experience e : profile.getExperienceList()) {
+                        experience.setInt(1, userId);
+                        experience.setString(2, e.getCompany());
+                        experience.setString(3, e.getRole());
+                        experience.setString(4, e.getDuration());
+                        experience.setString(5, e.getDescription());
+                        experience.addBatch();
+                    }
+                    for (Education e : profile.getEducationList()) {
+                        education.setInt(1, userId);
+                        education.setString(2, e.getDegree());
+                        education.setString(3, e.getInstitution());
+                        education.setInt(4, e.getYear());
+                        education.addBatch();
+                    }
+                    application.setInt(1, jobId);
+                    application.setInt(2, userId);
+                    application.setString(3, "Keen to join");
+                    application.addBatch();
+                }
+                seeker.executeBatch();
+                skill.executeBatch();
+                experience.executeBatch();
+                education.executeBatch();
+                application.executeBatch();
+            }
+            conn.commit();
+            return jobId;
+        }
+    }
+
+    private static int insertUser(Connection conn, String email, String role) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO users (name, email, password, role) VALUES (?, ?, 'x', ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, email);
+            stmt.setString(2, email);
+            stmt.setString(3, role);
+            stmt.executeUpdate();
+            return generatedKey(stmt);
+        }
+    }
+
+    private static int generatedKey(Statement stmt) throws SQLException {
+        try (ResultSet keys = stmt.getGeneratedKeys()) {
+            keys.next();
+            return keys.getInt(1);
+        }
+    }
+}
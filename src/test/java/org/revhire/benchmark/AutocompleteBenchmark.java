@@ -0,0 +1,92 @@
+package org.revhire.benchmark;
+
+import org.revhire.model.Job;
+import org.revhire.search.AutocompleteIndex;
+import org.revhire.search.AutocompleteIndex.Kind;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Autocomplete build time and suggestion latency over synthetic postings, plus the cost of the
+// incremental updates that keep it current. Runs in memory:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.AutocompleteBenchmark -Dexec.args="100000 20000"
+public class AutocompleteBenchmark {
+
+    private static final String[] LEVELS = { "Junior", "Senior", "Lead", "Principal", "Staff", "" };
+    private static final String[] STACKS = { "Java", "Python", "Go", "Rust", "Frontend", "Backend", "Data",
+            "Android", "iOS", "DevOps", "Cloud", "QA", "Full Stack", "Machine Learning", "Security" };
+    private static final String[] ROLES = { "Developer", "Engineer", "Architect", "Analyst", "Consultant",
+            "Manager", "Intern", "Specialist" };
+    private static final String[] CITIES = { "Bangalore", "Bengaluru", "Hyderabad", "Pune", "Chennai", "Mumbai",
+            "Delhi", "Noida", "Gurgaon", "Kolkata", "Remote", "Berlin", "London", "Austin", "Boston" };
+
+    public static void main(String[] args) {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Random random = new Random(17);
+
+        List<Job> postings = new ArrayList<>(jobs);
+        for (int i = 1; i <= jobs; i++) {
+            postings.add(job(random, i));
+        }
+
+        AutocompleteIndex index = new AutocompleteIndex();
+        long buildStart = System.nanoTime();
+        index.rebuildJobs(postings);
+        System.out.printf("%d jobs loaded in %d ms: %d titles, %d locations, %d companies%n", jobs,
+                (System.nanoTime() - buildStart) / 1_000_000, index.size(Kind.TITLE), index.size(Kind.LOCATION),
+                index.size(Kind.COMPANY));
+
+        // What a user types: the first one to six characters of a real value
+        String[] prefixes = new String[queries];
+        Kind[] kinds = new Kind[queries];
+        for (int i = 0; i < queries; i++) {
+            Job job = postings.get(random.nextInt(jobs));
+            kinds[i] = random.nextInt(3) == 0 ? Kind.LOCATION : random.nextBoolean() ? Kind.TITLE : Kind.COMPANY;
+            String value = kinds[i] == Kind.LOCATION ? job.getLocation()
+                    : kinds[i] == Kind.TITLE ? job.getTitle() : job.getCompanyName();
+            prefixes[i] = value.substring(0, Math.min(value.length(), 1 + random.nextInt(6)));
+        }
+        for (int i = 0; i < Math.min(2_000, queries); i++) {
+            index.suggest(kinds[i], prefixes[i], 8);
+        }
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            index.suggest(kinds[i], prefixes[i], 8);
+            nanos[i] = System.nanoTime() - start;
+        }
+        report("suggest top 8", nanos);
+
+        int updates = Math.min(queries, jobs);
+        long[] updateNanos = new long[updates];
+        for (int i = 0; i < updates; i++) {
+            Job job = job(random, 1 + random.nextInt(jobs));
+            long start = System.nanoTime();
+            index.indexJob(job);
+            updateNanos[i] = System.nanoTime() - start;
+        }
+        report("job update", updateNanos);
+    }
+
+    private static Job job(Random random, int id) {
+        String level = LEVELS[random.nextInt(LEVELS.length)];
+        String title = (level.isEmpty() ? "" : level + " ") + STACKS[random.nextInt(STACKS.length)] + " "
+                + ROLES[random.nextInt(ROLES.length)];
+        Job job = new Job(1, title, "desc", "reqs", CITIES[random.nextInt(CITIES.length)], "10", "Full-time", 2);
+        job.setId(id);
+        job.setCompanyName("Company " + random.nextInt(5_000));
+        job.setPostedAt(new Timestamp(id));
+        return job;
+    }
+
+    private static void report(String label, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.printf("%s: p50 %.1f us   p99 %.1f us   max %.1f us%n", label, nanos[nanos.length / 2] / 1e3,
+                nanos[(int) (nanos.length * 0.99)] / 1e3, nanos[nanos.length - 1] / 1e3);
+    }
+}
@@ -0,0 +1,32 @@
+package org.revhire.benchmark;
+
+import org.revhire.config.DBConnection;
+import org.revhire.dao.JobDAO;
+import org.revhire.service.JobService;
+
+// Startup-to-first-query time on the embedded database: opening the pool and creating the schema
+// from db_schema.sql, the first DAO query, and the search index build Main does at startup. Each
+// figure is for a cold JVM, so run it once per measurement:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.EmbeddedStartupBenchmark
+public class EmbeddedStartupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (System.getProperty("revhire.db.mode") == null) {
+            System.setProperty("revhire.db.mode", "embedded");
+        }
+        long start = System.nanoTime();
+        DBConnection.getDataSource();
+        long ready = System.nanoTime();
+        int jobs = new JobDAO().getAllJobs().size();
+        long firstQuery = System.nanoTime();
+        new JobService().buildSearchIndex();
+        long indexed = System.nanoTime();
+
+        System.out.printf("pool + schema: %.1f ms%n", (ready - start) / 1e6);
+        System.out.printf("first query:   %.1f ms (%d jobs)%n", (firstQuery - ready) / 1e6, jobs);
+        System.out.printf("search index:  %.1f ms%n", (indexed - firstQuery) / 1e6);
+        System.out.printf("startup to first query: %.1f ms%n", (firstQuery - start) / 1e6);
+        DBConnection.closeConnection();
+    }
+}
@@ -0,0 +1,96 @@
+package org.revhire.benchmark;
+
+import org.revhire.model.Job;
+import org.revhire.search.JobQuery;
+import org.revhire.search.JobSearchIndex;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Ranked job search latency for exact queries against the same queries with one typo per term in
+// fuzzy mode, over synthetic postings. Runs in memory:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.FuzzySearchBenchmark -Dexec.args="100000 2000"
+public class FuzzySearchBenchmark {
+
+    private static final String[] SKILLS = { "java", "javascript", "python", "kubernetes", "terraform", "react",
+            "angular", "postgresql", "microservices", "kafka", "spring", "django", "typescript", "golang", "docker",
+            "android", "swift", "pandas", "tableau", "salesforce" };
+    private static final String[] ROLES = { "developer", "engineer", "architect", "analyst", "consultant",
+            "administrator", "designer", "manager" };
+    private static final String[] CITIES = { "bangalore", "hyderabad", "pune", "chennai", "mumbai", "gurgaon",
+            "kolkata", "ahmedabad", "remote", "noida" };
+
+    public static void main(String[] args) {
+        int jobs = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Random random = new Random(23);
+
+        List<Job> postings = new ArrayList<>(jobs);
+        for (int i = 1; i <= jobs; i++) {
+            String title = pick(random, SKILLS) + " " + pick(random, ROLES);
+            // A long tail of rare words, as free-text descriptions have
+            String description = "Work with " + pick(random, SKILLS) + " and " + pick(random, SKILLS) + " at team"
+                    + Integer.toString(random.nextInt(20_000), 36) + "x";
+            Job job = new Job(1, title, description, pick(random, SKILLS), pick(random, CITIES), "10", "Full-time",
+                    random.nextInt(10));
+            job.setId(i);
+            job.setCompanyName("Company " + random.nextInt(2_000));
+            job.setPostedAt(new Timestamp(i));
+            postings.add(job);
+        }
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(postings);
+
+        JobQuery[] exact = new JobQuery[queries];
+        JobQuery[] fuzzy = new JobQuery[queries];
+        for (int i = 0; i < queries; i++) {
+            String skill = pick(random, SKILLS);
+            String role = pick(random, ROLES);
+            String city = pick(random, CITIES);
+            exact[i] = new JobQuery(skill + " " + role, city, null, null, null);
+            fuzzy[i] = new JobQuery(typo(random, skill) + " " + typo(random, role), typo(random, city), null, null,
+                    null);
+            fuzzy[i].setFuzzy(true);
+        }
+        for (int i = 0; i < Math.min(500, queries); i++) {
+            index.searchRanked(exact[i], 20);
+            index.searchRanked(fuzzy[i], 20);
+        }
+        report("exact ranked top 20", index, exact);
+        report("fuzzy ranked top 20", index, fuzzy);
+    }
+
+    private static void report(String label, JobSearchIndex index, JobQuery[] queries) {
+        long[] nanos = new long[queries.length];
+        long hits = 0;
+        for (int i = 0; i < queries.length; i++) {
+            long start = System.nanoTime();
+            hits += index.searchRanked(queries[i], 20).length;
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%s: p50 %.2f ms   p99 %.2f ms   avg hits %.1f%n", label, nanos[queries.length / 2] / 1e6,
+                nanos[(int) (queries.length * 0.99)] / 1e6, (double) hits / queries.length);
+    }
+
+    // Drops, doubles or swaps one character
+    private static String typo(Random random, String word) {
+        int i = 1 + random.nextInt(word.length() - 2);
+        switch (random.nextInt(3)) {
+            case 0:
+                return word.substring(0, i) + word.substring(i + 1);
+            case 1:
+                return word.substring(0, i) + word.charAt(i) + word.substring(i);
+            default:
+                return word.substring(0, i) + word.charAt(i + 1) + word.charAt(i) + word.substring(i + 2);
+        }
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
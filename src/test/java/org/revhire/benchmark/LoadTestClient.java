@@ -0,0 +1,196 @@
+package org.revhire.benchmark;
+
+import org.revhire.api.ApiServer;
+import org.revhire.dao.JobDAO;
+import org.revhire.model.Job;
+import org.revhire.search.AutocompleteIndex;
+import org.revhire.search.JobSearchIndex;
+import org.revhire.service.ApplicationService;
+import org.revhire.service.AuthService;
+import org.revhire.service.AutocompleteService;
+import org.revhire.service.JobService;
+import org.revhire.service.NotificationService;
+import org.revhire.service.ResumeSearchService;
+import org.revhire.util.BoundedCache;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives GET /api/jobs with many concurrent clients and prints throughput and latency percentiles.
+//
+//   LoadTestClient [url] [concurrency] [seconds]
+//
+// With no url (or "embedded") the API is started in-process over an in-memory stand-in for JobDAO
+// whose reads sleep for a configurable time (-Drevhire.load.dbMillis, default 2) to mimic blocking
+// JDBC. Pass http://host:port to load a server running "Main --api" against MySQL instead.
+public class LoadTestClient {
+
+    private static final String[] KEYWORDS = { "java", "python", "engineer", "sql", "cloud", "developer" };
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "embedded";
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        ApiServer embedded = null;
+        if ("embedded".equals(url)) {
+            embedded = startEmbedded(Long.getLong("revhire.load.dbMillis", 2));
+            url = "http://localhost:" + embedded.getPort();
+        }
+        try {
+            run(url, concurrency, seconds);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private static void run(String baseUrl, int concurrency, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong errors = new AtomicLong();
+
+        System.out.printf("Load: %d concurrent clients for %ds against %s%n", concurrency, seconds, baseUrl);
+        long start = System.nanoTime();
+        List<long[]> perClient = new ArrayList<>();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                int seed = c;
+                futures.add(workers.submit(() -> clientLoop(client, baseUrl, seed, deadline, errors)));
+            }
+            for (Future<long[]> f : futures) {
+                perClient.add(f.get());
+            }
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int total = 0;
+        for (long[] l : perClient) {
+            total += (int) l[0];
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (long[] l : perClient) {
+            System.arraycopy(l, 1, all, pos, (int) l[0]);
+            pos += (int) l[0];
+        }
+        Arrays.sort(all);
+        if (all.length == 0) {
+            System.out.println("No successful requests; errors: " + errors.get());
+            return;
+        }
+        System.out.printf("requests %d   errors %d   throughput %.0f req/s%n", all.length, errors.get(),
+                all.length / elapsed);
+        System.out.printf("p50 %.2f ms   p90 %.2f ms   p99 %.2f ms   max %.2f ms%n", percentile(all, 0.50),
+                percentile(all, 0.90), percentile(all, 0.99), all[all.length - 1] / 1e6);
+    }
+
+    // Returns [count, latencyNanos...]
+    private static long[] clientLoop(HttpClient client, String baseUrl, int seed, long deadline, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int n = 0;
+        int i = seed;
+        while (System.nanoTime() < deadline) {
+            String keyword = KEYWORDS[i++ % KEYWORDS.length];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/jobs?keyword=" + keyword))
+                    .timeout(Duration.ofSeconds(30)).GET().build();
+            long t0 = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    continue;
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (n + 1 >= latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[++n] = System.nanoTime() - t0;
+        }
+        latencies[0] = n;
+        return latencies;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+
+    private static ApiServer startEmbedded(long dbMillis) throws Exception {
+        Map<Integer, Job> jobs = new HashMap<>();
+        String[] titles = { "Java Developer", "Python Engineer", "SQL Analyst", "Cloud Engineer", "QA Engineer" };
+        for (int id = 1; id <= 5000; id++) {
+            Job job = new Job(1, titles[id % titles.length] + " " + id, "Build services with java and sql",
+                    "Git, cloud", "Remote", "10-20", "Full-time", id % 8);
+            job.setId(id);
+            job.setPostedAt(new Timestamp(1_700_000_000_000L + id * 1000L));
+            job.setCompanyName("Acme");
+            jobs.put(id, job);
+        }
+
+        // Stand-in for the JDBC DAO: in-memory rows behind a blocking delay per query
+        JobDAO dao = new JobDAO(new BoundedCache<>(1, 1)) {
+            @Override
+            public List<Job> getAllJobs() {
+                return new ArrayList<>(jobs.values());
+            }
+
+            @Override
+            public List<Job> getJobsByIds(List<Integer> ids) {
+                pause(dbMillis);
+                List<Job> result = new ArrayList<>();
+                for (int id : ids) {
+                    Job job = jobs.get(id);
+                    if (job != null) {
+                        result.add(new Job(job));
+                    }
+                }
+                return result;
+            }
+
+            @Override
+            public Optional<Job> getJobById(int id) {
+                pause(dbMillis);
+                return Optional.ofNullable(jobs.get(id)).map(Job::new);
+            }
+        };
+
+        AutocompleteIndex suggestions = new AutocompleteIndex();
+        JobService jobService = new JobService(dao, new JobSearchIndex(suggestions));
+        ApiServer server = new ApiServer(new InetSocketAddress(0), new AuthService(), jobService,
+                new ApplicationService(), new NotificationService(),
+                new AutocompleteService(jobService, new ResumeSearchService(), suggestions));
+        server.start();
+        return server;
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
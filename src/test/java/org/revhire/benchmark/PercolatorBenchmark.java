@@ -0,0 +1,85 @@
+package org.revhire.benchmark;
+
+import org.revhire.model.Job;
+import org.revhire.model.SavedSearch;
+import org.revhire.search.JobPercolator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Time to find the saved searches a newly posted job matches, against a synthetic population of
+// saved searches. Runs in memory, no database needed:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.PercolatorBenchmark -Dexec.args="100000 2000"
+public class PercolatorBenchmark {
+
+    private static final String[] SKILLS = { "java", "python", "kotlin", "golang", "rust", "scala", "react",
+            "angular", "spring", "django", "kubernetes", "terraform", "postgres", "mysql", "kafka", "spark",
+            "android", "swift", "typescript", "node", "devops", "security", "embedded", "firmware", "salesforce" };
+    private static final String[] ROLES = { "developer", "engineer", "architect", "lead", "intern", "analyst",
+            "consultant", "manager", "specialist", "administrator" };
+    private static final String[] CITIES = { "remote", "bangalore", "hyderabad", "pune", "chennai", "mumbai",
+            "delhi", "london", "berlin", "austin", "toronto", "singapore" };
+    private static final String[] TYPES = { "Full-time", "Part-time", "Contract", "Internship" };
+
+    public static void main(String[] args) {
+        int searches = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int jobs = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Random random = new Random(42);
+
+        List<SavedSearch> saved = new ArrayList<>(searches);
+        for (int i = 0; i < searches; i++) {
+            SavedSearch s = new SavedSearch(i % 20_000, pick(random, SKILLS) + " " + pick(random, ROLES),
+                    random.nextInt(3) == 0 ? null : pick(random, CITIES),
+                    random.nextInt(4) == 0 ? pick(random, TYPES) : null,
+                    random.nextInt(2) == 0 ? null : 1 + random.nextInt(10), null);
+            s.setId(i + 1);
+            saved.add(s);
+        }
+        List<Job> postings = new ArrayList<>(jobs);
+        for (int i = 0; i < jobs; i++) {
+            String title = pick(random, SKILLS) + " " + pick(random, ROLES);
+            Job job = new Job(1, title, "Work on " + pick(random, SKILLS) + " and " + pick(random, SKILLS),
+                    pick(random, SKILLS) + ", git", pick(random, CITIES), "10k", pick(random, TYPES),
+                    random.nextInt(12));
+            job.setId(i + 1);
+            job.setCompanyName("Company " + random.nextInt(500));
+            postings.add(job);
+        }
+
+        JobPercolator percolator = new JobPercolator();
+        long buildStart = System.nanoTime();
+        percolator.rebuild(saved);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+
+        // Warm up, then measure
+        for (int i = 0; i < Math.min(500, jobs); i++) {
+            percolator.percolate(postings.get(i));
+        }
+        long[] nanos = new long[jobs];
+        long matches = 0;
+        for (int i = 0; i < jobs; i++) {
+            long start = System.nanoTime();
+            matches += percolator.percolate(postings.get(i)).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        System.out.printf("%d saved searches, built in %d ms%n", searches, buildMillis);
+        report("percolator", nanos);
+        System.out.printf("  avg matches per job: %.1f%n", (double) matches / jobs);
+    }
+
+    private static void report(String label, long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-18s p50 %8.1f us   p99 %8.1f us   max %8.1f us%n", label,
+                sorted[sorted.length / 2] / 1000.0, sorted[(int) (sorted.length * 0.99)] / 1000.0,
+                sorted[sorted.length - 1] / 1000.0);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
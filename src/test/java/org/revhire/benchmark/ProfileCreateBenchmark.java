@@ -0,0 +1,103 @@
+package org.revhire.benchmark;
+
+import org.revhire.config.DBConnection;
+import org.revhire.dao.JobSeekerDAO;
+import org.revhire.dao.UserDAO;
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Project;
+import org.revhire.model.Skill;
+import org.revhire.model.User;
+import org.revhire.model.User.UserRole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Profile creation latency with one round trip per resume row (batch size 1, the old behaviour)
+// against batched, rewritten multi-row inserts. Needs the MySQL database from DBConnection:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.ProfileCreateBenchmark -Dexec.args="200 40"
+public class ProfileCreateBenchmark {
+
+    public static void main(String[] args) throws SQLException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int skills = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+        try {
+            run("per-row (batch size 1)", new JobSeekerDAO(1), iterations, skills);
+            run("batched (batch size " + JobSeekerDAO.DEFAULT_BATCH_SIZE + ")", new JobSeekerDAO(), iterations,
+                    skills);
+        } finally {
+            DBConnection.closeConnection();
+        }
+    }
+
+    private static void run(String label, JobSeekerDAO dao, int iterations, int skills) throws SQLException {
+        UserDAO userDAO = new UserDAO();
+        List<Integer> userIds = new ArrayList<>();
+        long[] nanos = new long[iterations];
+        try {
+            // Warm the pool and statement cache before measuring
+            for (int i = 0; i < Math.min(20, iterations); i++) {
+                int userId = createUser(userDAO, userIds);
+                dao.createProfile(profile(userId, skills));
+            }
+            for (int i = 0; i < iterations; i++) {
+                int userId = createUser(userDAO, userIds);
+                JobSeeker profile = profile(userId, skills);
+                long start = System.nanoTime();
+                dao.createProfile(profile);
+                nanos[i] = System.nanoTime() - start;
+            }
+        } finally {
+            deleteUsers(userIds);
+        }
+
+        Arrays.sort(nanos);
+        long total = 0;
+        for (long n : nanos) {
+            total += n;
+        }
+        System.out.printf("%-28s mean %7.2f ms   p50 %7.2f ms   p95 %7.2f ms%n", label,
+                total / (double) iterations / 1e6, nanos[iterations / 2] / 1e6,
+                nanos[(int) (iterations * 0.95)] / 1e6);
+    }
+
+    private static int createUser(UserDAO userDAO, List<Integer> userIds) throws SQLException {
+        String email = "bench-" + System.nanoTime() + "@example.com";
+        User user = userDAO.createUser(new User("Bench User", email, "x", UserRole.JOB_SEEKER, "q", "a"));
+        userIds.add(user.getId());
+        return user.getId();
+    }
+
+    private static JobSeeker profile(int userId, int skills) {
+        JobSeeker profile = new JobSeeker(userId, "5550000000");
+        profile.addObjective("Build reliable backend systems");
+        for (int i = 0; i < 3; i++) {
+            profile.addEducation(new Education("Degree " + i, "University " + i, 2010 + i));
+            profile.addExperience(new Experience("Company " + i, "Engineer", "2 years", "Worked on services"));
+            profile.addProject(new Project("Project " + i, "Description " + i, "Lead"));
+        }
+        for (int i = 0; i < skills; i++) {
+            profile.addSkill(new Skill("skill-" + i));
+        }
+        return profile;
+    }
+
+    // Resume rows go with the user through ON DELETE CASCADE
+    private static void deleteUsers(List<Integer> userIds) throws SQLException {
+        try (Connection conn = DBConnection.getInstance();
+                PreparedStatement stmt = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
+            for (int id : userIds) {
+                stmt.setInt(1, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+}
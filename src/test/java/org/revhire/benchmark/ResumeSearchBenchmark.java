@@ -0,0 +1,80 @@
+package org.revhire.benchmark;
+
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.search.ResumeIndex;
+import org.revhire.search.ResumeQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Resume index size and candidate search latency over synthetic profiles. Runs in memory:
+//   mvn -q test-compile exec:java -Dexec.classpathScope=test \
+//       -Dexec.mainClass=org.revhire.benchmark.ResumeSearchBenchmark -Dexec.args="100000 2000"
+public class ResumeSearchBenchmark {
+
+    private static final String[] SKILLS = { "Java", "Spring Boot", "SQL", "MySQL", "PostgreSQL", "Python",
+            "Django", "React", "TypeScript", "Node.js", "Docker", "Kubernetes", "AWS", "Azure", "Kafka", "Redis",
+            "Git", "Linux", "Go", "Rust", "C++", "C#", ".NET", "Angular", "GraphQL", "Microservices",
+            "Machine Learning", "Pandas", "Terraform", "Jenkins", "Hibernate", "JUnit", "Scala", "Spark" };
+    private static final String[] COMPANIES = { "Infosys", "TCS", "Wipro", "Accenture", "Amazon", "Flipkart",
+            "Zoho", "Freshworks", "Swiggy", "Razorpay" };
+
+    public static void main(String[] args) {
+        int profiles = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        Random random = new Random(11);
+
+        List<JobSeeker> seekers = new ArrayList<>(profiles);
+        for (int i = 0; i < profiles; i++) {
+            JobSeeker seeker = new JobSeeker(i + 1, "555");
+            for (int s = 3 + random.nextInt(10); s > 0; s--) {
+                seeker.addSkill(new Skill(pick(random, SKILLS)));
+            }
+            int year = 2008 + random.nextInt(14);
+            for (int e = random.nextInt(4); e > 0; e--) {
+                int length = 1 + random.nextInt(4);
+                seeker.addExperience(new Experience(pick(random, COMPANIES), "Software Engineer",
+                        year + "-" + (year + length), "Built " + pick(random, SKILLS) + " services"));
+                year += length;
+            }
+            seeker.addEducation(new Education("B.Tech", "University " + random.nextInt(200), 2008));
+            seekers.add(seeker);
+        }
+
+        ResumeIndex index = new ResumeIndex();
+        long buildStart = System.nanoTime();
+        index.rebuild(seekers);
+        System.out.printf("%d profiles indexed in %d ms, %d KB of compressed postings%n", profiles,
+                (System.nanoTime() - buildStart) / 1_000_000, index.postingBytes() / 1024);
+
+        List<ResumeQuery> workload = new ArrayList<>();
+        for (int i = 0; i < queries; i++) {
+            workload.add(new ResumeQuery(List.of(pick(random, SKILLS), pick(random, SKILLS)),
+                    random.nextBoolean() ? List.of(pick(random, SKILLS), pick(random, SKILLS)) : null,
+                    random.nextInt(3) == 0 ? List.of(pick(random, SKILLS)) : null,
+                    random.nextInt(4) == 0 ? pick(random, COMPANIES) : null,
+                    random.nextBoolean() ? (double) random.nextInt(6) : null));
+        }
+        for (ResumeQuery q : workload.subList(0, Math.min(500, queries))) {
+            index.search(q, 20);
+        }
+        long[] nanos = new long[queries];
+        for (int i = 0; i < queries; i++) {
+            long start = System.nanoTime();
+            index.search(workload.get(i), 20);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("search top 20: p50 %.2f ms   p99 %.2f ms   max %.2f ms%n", nanos[queries / 2] / 1e6,
+                nanos[(int) (queries * 0.99)] / 1e6, nanos[queries - 1] / 1e6);
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
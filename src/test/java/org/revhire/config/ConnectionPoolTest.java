@@ -0,0 +1,194 @@
+package org.revhire.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionPoolTest {
+
+    private PoolConfig config;
+    private AtomicInteger opened;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        config = new PoolConfig("jdbc:test", "user", "pass");
+        config.setMinIdle(0);
+        config.setMaxSize(2);
+        config.setBorrowTimeoutMillis(100);
+        config.setHousekeepingPeriodMillis(60_000);
+        opened = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private ConnectionPool newPool(Connection... physical) {
+        pool = new ConnectionPool(config, () -> physical[opened.getAndIncrement()]);
+        return pool;
+    }
+
+    @Test
+    public void shouldReusePhysicalConnectionAfterClose() throws SQLException {
+        Connection physical = mock(Connection.class);
+        newPool(physical);
+
+        try (Connection conn = pool.getConnection()) {
+            conn.createStatement();
+        }
+        try (Connection conn = pool.getConnection()) {
+            conn.createStatement();
+        }
+
+        assertEquals(1, opened.get());
+        verify(physical, never()).close();
+        verify(physical, times(2)).createStatement();
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    public void shouldTimeOutWhenPoolIsExhausted() throws SQLException {
+        newPool(mock(Connection.class), mock(Connection.class));
+
+        Connection first = pool.getConnection();
+        Connection second = pool.getConnection();
+
+        assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void shouldReplaceInvalidConnectionOnBorrow() throws SQLException {
+        config.setValidationBypassMillis(0);
+        Connection stale = mock(Connection.class);
+        Connection fresh = mock(Connection.class);
+        when(stale.isValid(anyInt())).thenReturn(false);
+        newPool(stale, fresh);
+
+        pool.getConnection().close();
+        try (Connection conn = pool.getConnection()) {
+            conn.createStatement();
+        }
+
+        verify(stale).close();
+        verify(fresh).createStatement();
+        assertEquals(1, pool.getTotalCount());
+    }
+
+    @Test
+    public void shouldServeRepeatedPrepareFromStatementCache() throws SQLException {
+        Connection physical = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(physical.prepareStatement("SELECT * FROM jobs WHERE id = ?")).thenReturn(stmt);
+        newPool(physical);
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection conn = pool.getConnection();
+                    PreparedStatement ps = conn.prepareStatement("SELECT * FROM jobs WHERE id = ?")) {
+                ps.setInt(1, i);
+                ps.executeQuery();
+            }
+        }
+
+        verify(physical, times(1)).prepareStatement("SELECT * FROM jobs WHERE id = ?");
+        verify(stmt, times(3)).executeQuery();
+        verify(stmt, times(3)).clearParameters();
+        verify(stmt, never()).close();
+        assertEquals(2, pool.getStatementCacheHits());
+        assertEquals(1, pool.getStatementCacheMisses());
+    }
+
+    @Test
+    public void shouldCloseStatementsEvictedFromCache() throws SQLException {
+        config.setStatementCacheSize(1);
+        Connection physical = mock(Connection.class);
+        PreparedStatement first = mock(PreparedStatement.class);
+        PreparedStatement second = mock(PreparedStatement.class);
+        when(physical.prepareStatement("SELECT 1")).thenReturn(first);
+        when(physical.prepareStatement("SELECT 2")).thenReturn(second);
+        newPool(physical);
+
+        try (Connection conn = pool.getConnection()) {
+            conn.prepareStatement("SELECT 1").close();
+            conn.prepareStatement("SELECT 2").close();
+        }
+
+        verify(first).close();
+        verify(second, never()).close();
+    }
+
+    @Test
+    public void shouldRollBackAndRestoreAutoCommitOnReturn() throws SQLException {
+        Connection physical = mock(Connection.class);
+        when(physical.getAutoCommit()).thenReturn(false);
+        newPool(physical);
+
+        Connection conn = pool.getConnection();
+        conn.setAutoCommit(false);
+        conn.close();
+
+        verify(physical).rollback();
+        verify(physical).setAutoCommit(true);
+        assertThrows(SQLException.class, () -> conn.prepareStatement("SELECT 1"));
+    }
+
+    @Test
+    public void shouldNotTopUpPastMaxSizeWhileBorrowersAreOpening() throws Exception {
+        config.setMinIdle(1);
+        config.setBorrowTimeoutMillis(5_000);
+        config.setHousekeepingPeriodMillis(10);
+        CountDownLatch opening = new CountDownLatch(1);
+        CountDownLatch unblock = new CountDownLatch(1);
+        // The first connection is the housekeeper's warm-up; every later open stalls until released
+        pool = new ConnectionPool(config, () -> {
+            if (opened.getAndIncrement() > 0) {
+                opening.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return mock(Connection.class);
+        });
+        while (pool.getIdleCount() < 1) {
+            Thread.sleep(5);
+        }
+
+        Connection first = pool.getConnection();
+        Thread borrower = new Thread(() -> {
+            try {
+                pool.getConnection().close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        borrower.start();
+        assertTrue(opening.await(5, TimeUnit.SECONDS));
+        // Both permits are held, so the housekeeper must leave the pool alone however often it runs
+        Thread.sleep(100);
+        unblock.countDown();
+        borrower.join(5_000);
+        first.close();
+
+        assertEquals(2, opened.get());
+        assertTrue(pool.getTotalCount() <= config.getMaxSize());
+    }
+}
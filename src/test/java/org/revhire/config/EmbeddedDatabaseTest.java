@@ -0,0 +1,135 @@
+package org.revhire.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.revhire.dao.ApplicationDAO;
+import org.revhire.dao.EmployerDAO;
+import org.revhire.dao.JobDAO;
+import org.revhire.dao.JobSeekerDAO;
+import org.revhire.dao.Page;
+import org.revhire.dao.UserDAO;
+import org.revhire.model.Application;
+import org.revhire.model.Employer;
+import org.revhire.model.Experience;
+import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.model.User;
+import org.revhire.model.User.UserRole;
+
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mockStatic;
+
+public class EmbeddedDatabaseTest {
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        // A database per test; the name is all that differs from the default embedded URL
+        String url = PoolConfig.EMBEDDED_URL.replace("mem:revhire", "mem:test" + System.nanoTime());
+        PoolConfig config = PoolConfig.fromSettings(Map.of("mode", "embedded", "url", url)::get);
+        config.setMinIdle(0);
+        pool = new ConnectionPool(config);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void shouldDefaultToLocalMySql() {
+        PoolConfig config = PoolConfig.fromSettings(name -> null);
+        assertEquals(PoolConfig.MYSQL_URL, config.getJdbcUrl());
+        assertEquals("root", config.getUsername());
+        assertFalse(config.isEmbedded());
+        assertEquals(10, config.getMaxSize());
+    }
+
+    @Test
+    public void shouldOverrideConnectionAndPoolSettings() {
+        PoolConfig config = PoolConfig.fromSettings(Map.of("url", "jdbc:mysql://db:3306/revhire", "user", "app",
+                "password", "secret", "pool.maxSize", "32", "pool.borrowTimeoutMillis", " 250 ")::get);
+        assertEquals("jdbc:mysql://db:3306/revhire", config.getJdbcUrl());
+        assertEquals("app", config.getUsername());
+        assertEquals("secret", config.getPassword());
+        assertEquals(32, config.getMaxSize());
+        assertEquals(250, config.getBorrowTimeoutMillis());
+        assertThrows(IllegalArgumentException.class,
+                () -> PoolConfig.fromSettings(Map.of("pool.maxSize", "lots")::get));
+    }
+
+    @Test
+    public void shouldOnlyTreatInProcessH2AsEmbedded() {
+        assertTrue(PoolConfig.fromSettings(Map.of("url", "jdbc:h2:file:./data/revhire")::get).isEmbedded());
+        assertTrue(PoolConfig.fromSettings(Map.of("url", "jdbc:h2:~/revhire")::get).isEmbedded());
+        assertTrue(PoolConfig.fromSettings(Map.of("url", "jdbc:h2:./data/revhire")::get).isEmbedded());
+        assertFalse(PoolConfig.fromSettings(Map.of("url", "jdbc:mysql://db:3306/revhire")::get).isEmbedded());
+        assertFalse(PoolConfig.fromSettings(Map.of("url", "jdbc:h2:tcp://db:9092/revhire")::get).isEmbedded());
+        assertFalse(PoolConfig.fromSettings(Map.of("url", "jdbc:h2:ssl://db:9092/revhire")::get).isEmbedded());
+    }
+
+    @Test
+    public void shouldFailAndClosePoolWhenSchemaCannotBeCreated() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> DBConnection.createEmbeddedSchema(pool, "no_such_schema.sql"));
+        assertInstanceOf(SQLException.class, e.getCause());
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    public void shouldCreateSchemaAndBaselineMigrations() throws SQLException {
+        assertTrue(pool.getConfig().isEmbedded());
+        SchemaMigrator migrator = new SchemaMigrator(pool);
+        int migrations = migrator.loadMigrations().size();
+
+        assertEquals(migrations, migrator.baseline(DBConnection.SCHEMA_SCRIPT));
+        // Re-running either is a no-op
+        assertEquals(0, migrator.baseline(DBConnection.SCHEMA_SCRIPT));
+        assertEquals(0, migrator.migrate());
+    }
+
+    @Test
+    public void shouldRunDaosAgainstEmbeddedSchema() throws SQLException {
+        new SchemaMigrator(pool).baseline(DBConnection.SCHEMA_SCRIPT);
+        try (MockedStatic<DBConnection> db = mockStatic(DBConnection.class)) {
+            db.when(DBConnection::getInstance).thenAnswer(invocation -> pool.getConnection());
+
+            User employer = new UserDAO().createUser(
+                    new User("Acme HR", "hr@acme.test", "hash", UserRole.EMPLOYER, "Pet?", "Rex"));
+            new EmployerDAO().createProfile(new Employer(employer.getId(), "Acme", "Software", "Tools", "Pune"));
+            User seeker = new UserDAO().createUser(
+                    new User("Asha", "asha@mail.test", "hash", UserRole.JOB_SEEKER, "Pet?", "Tom"));
+
+            JobDAO jobDAO = new JobDAO();
+            Job job = jobDAO.createJob(new Job(employer.getId(), "Java Developer", "Build services", "Java, SQL",
+                    "Pune", "10-20 LPA", "Full-time", 3));
+            Page<Job> page = jobDAO.searchJobs("Java", "Pune", null, 5, "Acme", null, 10);
+            assertEquals(1, page.getItems().size());
+            assertEquals(job.getId(), page.getItems().get(0).getId());
+            assertEquals(Job.JobStatus.OPEN, page.getItems().get(0).getStatus());
+
+            ApplicationDAO applicationDAO = new ApplicationDAO();
+            assertFalse(applicationDAO.hasApplied(seeker.getId(), job.getId()));
+            applicationDAO.apply(new Application(job.getId(), seeker.getId(), "Keen to join"));
+            assertTrue(applicationDAO.hasApplied(seeker.getId(), job.getId()));
+            assertEquals(1, applicationDAO.getApplicationsByJob(job.getId()).size());
+
+            JobSeekerDAO jobSeekerDAO = new JobSeekerDAO(JobSeekerDAO.DEFAULT_BATCH_SIZE, null);
+            JobSeeker profile = new JobSeeker(seeker.getId(), "555");
+            profile.addSkill(new Skill("Java"));
+            profile.addExperience(new Experience("Globex", "Engineer", "2019-2022", "Payments"));
+            jobSeekerDAO.createProfile(profile);
+            Map<Integer, JobSeeker> ranking = jobSeekerDAO.getRankingProfilesByJob(job.getId());
+            assertEquals(1, ranking.size());
+            assertEquals("Java", ranking.get(seeker.getId()).getSkills().get(0).getName());
+            assertEquals("2019-2022", ranking.get(seeker.getId()).getExperienceList().get(0).getDuration());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.revhire.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SchemaMigratorTest {
+
+    private DataSource dataSource;
+    private Connection connection;
+    private Statement statement;
+    private PreparedStatement selectVersions;
+    private PreparedStatement insertVersion;
+    private ResultSet versions;
+    private SchemaMigrator migrator;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(Statement.class);
+        selectVersions = mock(PreparedStatement.class);
+        insertVersion = mock(PreparedStatement.class);
+        versions = mock(ResultSet.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(startsWith("SELECT version"))).thenReturn(selectVersions);
+        when(connection.prepareStatement(startsWith("INSERT INTO schema_version"))).thenReturn(insertVersion);
+        when(selectVersions.executeQuery()).thenReturn(versions);
+
+        migrator = new SchemaMigrator(dataSource);
+    }
+
+    @Test
+    public void shouldSplitScriptIntoStatements() {
+        List<String> statements = SchemaMigrator.splitStatements(
+                "-- comment\nCREATE TABLE a (\n  id INT\n);\n\nCREATE INDEX i ON a (id);\n");
+
+        assertEquals(2, statements.size());
+        assertTrue(statements.get(0).startsWith("CREATE TABLE a ("));
+        assertEquals("CREATE INDEX i ON a (id)", statements.get(1));
+    }
+
+    @Test
+    public void shouldIgnoreLineEndingsInChecksum() {
+        assertEquals(SchemaMigrator.checksum("SELECT 1;\n"), SchemaMigrator.checksum("SELECT 1;\r\n"));
+        assertNotEquals(SchemaMigrator.checksum("SELECT 1;"), SchemaMigrator.checksum("SELECT 2;"));
+    }
+
+    @Test
+    public void shouldLoadMigrationsInVersionOrder() throws SQLException {
+        List<SchemaMigrator.Migration> migrations = migrator.loadMigrations();
+
+        assertTrue(migrations.size() >= 3);
+        for (int i = 1; i < migrations.size(); i++) {
+            assertTrue(migrations.get(i).version() > migrations.get(i - 1).version());
+        }
+    }
+
+    @Test
+    public void shouldApplyAndRecordAllMigrationsOnEmptySchema() throws SQLException {
+        when(versions.next()).thenReturn(false);
+        int total = migrator.loadMigrations().size();
+
+        assertEquals(total, migrator.migrate());
+        verify(insertVersion, times(total)).executeUpdate();
+        verify(statement).execute(contains("idx_jobs_status_posted"));
+    }
+
+    @Test
+    public void shouldSkipAppliedMigrations() throws SQLException {
+        List<SchemaMigrator.Migration> migrations = migrator.loadMigrations();
+        SchemaMigrator.Migration first = migrations.get(0);
+        when(versions.next()).thenReturn(true, false);
+        when(versions.getInt("version")).thenReturn(first.version());
+        when(versions.getString("checksum")).thenReturn(first.checksum());
+
+        assertEquals(migrations.size() - 1, migrator.migrate());
+        verify(statement, never()).execute(contains("CREATE TABLE IF NOT EXISTS users"));
+    }
+
+    @Test
+    public void shouldRejectEditedMigration() throws SQLException {
+        when(versions.next()).thenReturn(true, false);
+        when(versions.getInt("version")).thenReturn(1);
+        when(versions.getString("checksum")).thenReturn("not-the-checksum");
+
+        assertThrows(SQLException.class, () -> migrator.migrate());
+        verify(insertVersion, never()).executeUpdate();
+    }
+
+    @Test
+    public void shouldTolerateColumnsThatAlreadyExist() throws SQLException {
+        when(versions.next()).thenReturn(false);
+        when(statement.execute(startsWith("ALTER TABLE users ADD COLUMN")))
+                .thenThrow(new SQLException("Duplicate column name", "42S21", 1060));
+
+        assertDoesNotThrow(() -> migrator.migrate());
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.Mockito.*;
 
 public class ApplicationDAOTest {
@@ -84,4 +85,26 @@ public class ApplicationDAOTest {
 
         assertTrue(result);
     }
+
+    @Test
+    public void testGetApplicationsByJob_PagesWithCursor() throws SQLException {
+        Timestamp appliedAt = new Timestamp(5_000);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, true, false);
+        when(mockResultSet.getInt("id")).thenReturn(30, 20, 10);
+        when(mockResultSet.getString("status")).thenReturn("APPLIED");
+        when(mockResultSet.getTimestamp("applied_at")).thenReturn(appliedAt);
+
+        Page<Application> page = applicationDAO.getApplicationsByJob(7, new PageCursor(new Timestamp(9_000), 40), 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.hasNext());
+        assertEquals(20, page.getNextCursor().getId());
+        assertEquals(appliedAt, page.getNextCursor().getTimestamp());
+        verify(mockStatement).setInt(1, 7);
+        verify(mockStatement).setInt(4, 40);
+        verify(mockStatement).setInt(5, 3);
+        verify(mockConnection).prepareStatement(contains("ORDER BY applied_at DESC, id DESC LIMIT ?"));
+    }
 }
@@ -3,6 +3,7 @@ package org.revhire.dao;
 import org.revhire.config.DBConnection;
 import org.revhire.model.Job;
 import org.revhire.model.Job.JobStatus;
+import org.revhire.util.BoundedCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.sql.*;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -32,7 +34,7 @@ public class JobDAOTest {
     @BeforeEach
     public void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
-        jobDAO = new JobDAO();
+        jobDAO = new JobDAO(new BoundedCache<>(100, 60_000));
         mockedDbConnection = mockStatic(DBConnection.class);
         mockedDbConnection.when(DBConnection::getInstance).thenReturn(mockConnection);
     }
@@ -71,4 +73,37 @@ public class JobDAOTest {
         verify(mockStatement).setInt(2, 1);
         verify(mockStatement).executeUpdate();
     }
+
+    private void stubSingleJob() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false, true, false);
+        when(mockResultSet.getInt("id")).thenReturn(5);
+        when(mockResultSet.getString("title")).thenReturn("Backend Engineer");
+        when(mockResultSet.getString("status")).thenReturn("OPEN");
+    }
+
+    @Test
+    public void shouldServeRepeatedGetJobByIdFromCache() throws SQLException {
+        stubSingleJob();
+
+        Optional<Job> first = jobDAO.getJobById(5);
+        first.get().setTitle("Mutated by caller");
+        Optional<Job> second = jobDAO.getJobById(5);
+
+        assertEquals("Backend Engineer", second.get().getTitle());
+        verify(mockStatement, times(1)).executeQuery();
+        assertEquals(1, jobDAO.getJobCache().getHits());
+    }
+
+    @Test
+    public void shouldReloadJobAfterStatusChange() throws SQLException {
+        stubSingleJob();
+
+        jobDAO.getJobById(5);
+        jobDAO.updateStatus(5, JobStatus.CLOSED);
+        jobDAO.getJobById(5);
+
+        verify(mockStatement, times(2)).executeQuery();
+    }
 }
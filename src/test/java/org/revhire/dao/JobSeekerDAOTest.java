@@ -2,6 +2,9 @@ package org.revhire.dao;
 
 import org.revhire.config.DBConnection;
 import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.search.ResumeIndex;
+import org.revhire.search.ResumeQuery;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,9 +13,14 @@ import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.*;
 
 public class JobSeekerDAOTest {
@@ -56,6 +64,27 @@ public class JobSeekerDAOTest {
         verify(mockStatement, atLeastOnce()).executeBatch();
     }
 
+    @Test
+    public void testCreateProfile_IndexesCommittedProfile() throws SQLException {
+        ResumeIndex index = new ResumeIndex();
+        index.rebuild(List.of());
+        JobSeekerDAO indexing = new JobSeekerDAO(JobSeekerDAO.DEFAULT_BATCH_SIZE, index);
+        JobSeeker profile = new JobSeeker(9, "1234567890");
+        profile.addSkill(new Skill("Kotlin"));
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+
+        indexing.createProfile(profile);
+
+        assertArrayEquals(new int[] { 9 },
+                index.search(new ResumeQuery(List.of("kotlin"), null, null, null, null), 10));
+
+        when(mockStatement.executeUpdate()).thenThrow(new SQLException("down"));
+        JobSeeker failed = new JobSeeker(10, "1");
+        failed.addSkill(new Skill("Kotlin"));
+        assertThrows(SQLException.class, () -> indexing.createProfile(failed));
+        assertEquals(1, index.size());
+    }
+
     @Test
     public void testCreateProfile_RollbackOnFailure() throws SQLException {
         JobSeeker profile = new JobSeeker(1, "123");
@@ -65,4 +94,138 @@ public class JobSeekerDAOTest {
 
         verify(mockConnection).rollback();
     }
+
+    @Test
+    public void testGetProfileByUserId_SingleQuery() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, true, true, false);
+        when(mockResultSet.getInt("section")).thenReturn(JobSeekerDAO.SECTION_BASE, JobSeekerDAO.SECTION_OBJECTIVE,
+                JobSeekerDAO.SECTION_EDUCATION, JobSeekerDAO.SECTION_SKILL);
+        when(mockResultSet.getInt("user_id")).thenReturn(7);
+        when(mockResultSet.getInt("id")).thenReturn(0, 11, 12, 13);
+        when(mockResultSet.getString("s1")).thenReturn("555", "Grow", "BSc", "Java");
+        when(mockResultSet.getString("s2")).thenReturn(null, null, "MIT", null);
+        when(mockResultSet.getInt("n1")).thenReturn(0, 0, 2020, 0);
+
+        Optional<JobSeeker> profile = jobSeekerDAO.getProfileByUserId(7);
+
+        assertTrue(profile.isPresent());
+        assertEquals("555", profile.get().getPhone());
+        assertEquals(List.of("Grow"), profile.get().getObjectives());
+        assertEquals("MIT", profile.get().getEducationList().get(0).getInstitution());
+        assertEquals(2020, profile.get().getEducationList().get(0).getYear());
+        assertEquals(13, profile.get().getSkills().get(0).getId());
+        verify(mockConnection, times(1)).prepareStatement(contains("UNION ALL"));
+        verify(mockStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    public void testGetProfilesByUserIds_SkipsUsersWithoutProfile() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getInt("section")).thenReturn(JobSeekerDAO.SECTION_BASE, JobSeekerDAO.SECTION_SKILL);
+        when(mockResultSet.getInt("user_id")).thenReturn(1, 2);
+        when(mockResultSet.getString("s1")).thenReturn("111", "SQL");
+
+        Map<Integer, JobSeeker> profiles = jobSeekerDAO.getProfilesByUserIds(List.of(1, 2));
+
+        assertEquals(1, profiles.size());
+        assertTrue(profiles.get(1).getSkills().isEmpty());
+        verify(mockStatement, times(1)).executeQuery();
+    }
+
+    @Test
+    public void testGetRankingProfilesByJob_OneQueryBoundToJob() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, true, false);
+        when(mockResultSet.getInt("section")).thenReturn(JobSeekerDAO.SECTION_BASE, JobSeekerDAO.SECTION_EXPERIENCE,
+                JobSeekerDAO.SECTION_SKILL);
+        when(mockResultSet.getInt("user_id")).thenReturn(7);
+        when(mockResultSet.getString("s1")).thenReturn("555", null, "Java");
+        when(mockResultSet.getString("s2")).thenReturn(null, "Engineer", null);
+        when(mockResultSet.getString("s3")).thenReturn(null, "2019-2022", null);
+
+        Map<Integer, JobSeeker> profiles = jobSeekerDAO.getRankingProfilesByJob(3);
+
+        assertEquals("Java", profiles.get(7).getSkills().get(0).getName());
+        assertEquals("2019-2022", profiles.get(7).getExperienceList().get(0).getDuration());
+        verify(mockConnection).prepareStatement(argThat(sql -> !sql.contains("resume_projects")
+                && !sql.contains("resume_objectives")));
+        verify(mockStatement, times(4)).setInt(anyInt(), eq(3));
+        verify(mockStatement, times(1)).executeQuery();
+    }
+
+    private static ResumeSection.Entry skill(int id, String name) {
+        return new ResumeSection.Entry(id, List.of(name));
+    }
+
+    @Test
+    public void testApplyDiff_UnchangedSectionWritesNothing() throws SQLException {
+        int written = jobSeekerDAO.applyDiff(mockConnection, 1, ResumeSection.SKILLS,
+                List.of(skill(1, "Java"), skill(2, "SQL")), List.of(skill(0, "SQL"), skill(1, "Java")));
+
+        assertEquals(0, written);
+        verify(mockConnection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    public void testApplyDiff_ReusesStoredRowInsteadOfDeleteAndInsert() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+
+        int written = jobSeekerDAO.applyDiff(mockConnection, 1, ResumeSection.SKILLS,
+                List.of(skill(1, "Java"), skill(2, "SQL")), List.of(skill(0, "Java"), skill(0, "Go")));
+
+        assertEquals(1, written);
+        verify(mockConnection).prepareStatement(startsWith("UPDATE resume_skills"));
+        verify(mockConnection, never()).prepareStatement(startsWith("INSERT"));
+        verify(mockConnection, never()).prepareStatement(startsWith("DELETE"));
+        verify(mockStatement).setString(1, "Go");
+        verify(mockStatement).setInt(2, 2);
+        verify(mockStatement).executeBatch();
+    }
+
+    @Test
+    public void testApplyDiff_DeletesRemovedRowsInOneBatch() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+
+        int written = jobSeekerDAO.applyDiff(mockConnection, 1, ResumeSection.SKILLS,
+                List.of(skill(1, "Java"), skill(2, "SQL"), skill(3, "Go")), List.of(skill(2, "SQL")));
+
+        assertEquals(2, written);
+        verify(mockConnection).prepareStatement(startsWith("DELETE FROM resume_skills"));
+        verify(mockStatement, times(2)).addBatch();
+        verify(mockStatement, times(1)).executeBatch();
+    }
+
+    @Test
+    public void testApplyDiff_InsertsOnlyNewRows() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+
+        int written = jobSeekerDAO.applyDiff(mockConnection, 1, ResumeSection.EDUCATION, List.of(),
+                List.of(new ResumeSection.Entry(0, List.of("BSc", "MIT", 2020))));
+
+        assertEquals(1, written);
+        verify(mockConnection).prepareStatement(
+                "INSERT INTO resume_education (user_id, degree, institution, year) VALUES (?, ?, ?, ?)");
+        verify(mockStatement).setInt(4, 2020);
+    }
+
+    @Test
+    public void testCreateProfile_FlushesEveryBatchSizeRows() throws SQLException {
+        JobSeeker profile = new JobSeeker(1, "123");
+        for (int i = 0; i < 5; i++) {
+            profile.addSkill(new Skill("skill-" + i));
+        }
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+
+        new JobSeekerDAO(2).createProfile(profile);
+
+        verify(mockConnection).prepareStatement("INSERT INTO resume_skills (user_id, skill_name) VALUES (?, ?)");
+        verify(mockConnection, never()).prepareStatement(startsWith("INSERT INTO resume_projects"));
+        verify(mockStatement, times(5)).addBatch();
+        verify(mockStatement, times(3)).executeBatch();
+    }
 }
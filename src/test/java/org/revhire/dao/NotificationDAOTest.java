@@ -2,6 +2,7 @@ package org.revhire.dao;
 
 import org.revhire.config.DBConnection;
 import org.revhire.model.Notification;
+import org.revhire.util.BoundedCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,10 +11,13 @@ import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.*;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class NotificationDAOTest {
@@ -54,6 +58,43 @@ public class NotificationDAOTest {
         verify(mockStatement).executeUpdate();
     }
 
+    @Test
+    public void testCreateNotificationsInOneBatch() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+
+        notificationDAO.createNotifications(List.of(new Notification(1, "A"), new Notification(2, "B")));
+
+        verify(mockStatement, times(2)).addBatch();
+        verify(mockStatement, times(1)).executeBatch();
+        verify(mockStatement).setInt(1, 2);
+        verify(mockStatement, times(2)).setTimestamp(eq(4), any(Timestamp.class));
+        verify(mockConnection).setAutoCommit(false);
+        verify(mockConnection).commit();
+    }
+
+    @Test
+    public void testCreateNotificationsRollsBackFailedBatch() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeBatch()).thenThrow(new BatchUpdateException("fk", "23000", 1452, new int[] { 1 }));
+
+        assertThrows(BatchUpdateException.class, () -> notificationDAO.createNotifications(
+                List.of(new Notification(1, "A"), new Notification(2, "B"))));
+
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    @Test
+    public void testConnectionFailurePassesThroughUnwrapped() {
+        SQLTimeoutException timeout = new SQLTimeoutException("Timed out waiting for a database connection");
+        mockedDbConnection.when(DBConnection::getInstance).thenThrow(timeout);
+
+        SQLException thrown = assertThrows(SQLException.class,
+                () -> notificationDAO.createNotifications(List.of(new Notification(1, "A"))));
+
+        assertSame(timeout, thrown);
+    }
+
     @Test
     public void testGetUnreadNotifications() throws SQLException {
         when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
@@ -66,4 +107,59 @@ public class NotificationDAOTest {
         assertEquals(1, results.size());
         assertEquals("Hello User", results.get(0).getMessage());
     }
+
+    @Test
+    public void testMarkReadIsOneStatementScopedToUser() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeUpdate()).thenReturn(3);
+
+        int updated = notificationDAO.markRead(7, List.of(10, 11, 12));
+
+        assertEquals(3, updated);
+        // Padded to eight slots by repeating the last id
+        verify(mockConnection).prepareStatement("UPDATE notifications SET is_read = TRUE WHERE user_id = ? "
+                + "AND is_read = FALSE AND id IN (?, ?, ?, ?, ?, ?, ?, ?)");
+        verify(mockStatement).setInt(1, 7);
+        verify(mockStatement).setInt(4, 12);
+        verify(mockStatement).setInt(9, 12);
+        verify(mockStatement, times(1)).executeUpdate();
+    }
+
+    @Test
+    public void testMarkReadChunksLargeIdListsAndSumsCounts() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeUpdate()).thenReturn(512, 88);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 1; i <= 600; i++) {
+            ids.add(i);
+        }
+
+        int updated = notificationDAO.markRead(7, ids);
+
+        assertEquals(600, updated);
+        verify(mockStatement, times(2)).executeUpdate();
+        // Two chunks: 512 ids exactly, then 88 padded up to 128
+        verify(mockConnection).prepareStatement(argThat((String sql) -> sql.split("\\?").length - 1 == 513));
+        verify(mockConnection).prepareStatement(argThat((String sql) -> sql.split("\\?").length - 1 == 129));
+    }
+
+    @Test
+    public void testUnreadCountIsLoadedOnceThenKeptCurrent() throws SQLException {
+        NotificationDAO dao = new NotificationDAO(new BoundedCache<>(100, 60_000));
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getInt(1)).thenReturn(5);
+
+        assertEquals(5, dao.getUnreadCount(1));
+        dao.createNotification(new Notification(1, "New"));
+        dao.createNotifications(List.of(new Notification(1, "A"), new Notification(2, "B")));
+        assertEquals(7, dao.getUnreadCount(1));
+
+        when(mockStatement.executeUpdate()).thenReturn(4);
+        dao.markAllRead(1, 100);
+        assertEquals(3, dao.getUnreadCount(1));
+
+        verify(mockStatement, times(1)).executeQuery();
+    }
 }
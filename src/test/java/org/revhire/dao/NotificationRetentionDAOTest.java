@@ -0,0 +1,98 @@
+package org.revhire.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+import org.revhire.config.DBConnection;
+
+import java.sql.*;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+public class NotificationRetentionDAOTest {
+
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockStatement;
+    @Mock
+    private Statement mockDdl;
+    @Mock
+    private ResultSet mockResultSet;
+
+    private NotificationRetentionDAO retentionDAO;
+    private MockedStatic<DBConnection> mockedDbConnection;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        retentionDAO = new NotificationRetentionDAO();
+        mockedDbConnection = mockStatic(DBConnection.class);
+        mockedDbConnection.when(DBConnection::getInstance).thenReturn(mockConnection);
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockConnection.createStatement()).thenReturn(mockDdl);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mockedDbConnection.close();
+    }
+
+    @Test
+    public void testArchiveMovesSelectedRowsInOneTransaction() throws SQLException {
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getInt("id")).thenReturn(4, 9);
+        when(mockStatement.executeUpdate()).thenReturn(2);
+
+        int moved = retentionDAO.archiveReadBefore(new Timestamp(0), 500);
+
+        assertEquals(2, moved);
+        verify(mockConnection).prepareStatement(startsWith("INSERT IGNORE INTO notifications_archive"));
+        verify(mockConnection).prepareStatement("DELETE FROM notifications WHERE is_read = TRUE AND id IN (?, ?)");
+        verify(mockConnection).commit();
+        verify(mockConnection, never()).rollback();
+    }
+
+    @Test
+    public void testArchiveRollsBackOnFailure() throws SQLException {
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockStatement.executeUpdate()).thenThrow(new SQLException("lock wait timeout"));
+
+        assertThrows(SQLException.class, () -> retentionDAO.archiveReadBefore(new Timestamp(0), 500));
+        verify(mockConnection).rollback();
+        verify(mockConnection, never()).commit();
+    }
+
+    @Test
+    public void testSplitsCatchAllIntoMonthlyPartitions() throws SQLException {
+        retentionDAO.addMonthlyPartitions("notifications", List.of(YearMonth.of(2026, 11), YearMonth.of(2026, 12)));
+
+        verify(mockDdl).execute("ALTER TABLE notifications REORGANIZE PARTITION pmax INTO ("
+                + "PARTITION p202611 VALUES LESS THAN (1796083200), "
+                + "PARTITION p202612 VALUES LESS THAN (1798761600), "
+                + "PARTITION pmax VALUES LESS THAN MAXVALUE)");
+    }
+
+    @Test
+    public void testListsPartitionsWithMaxValueAsOpenBound() throws SQLException {
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, true, false);
+        when(mockResultSet.getString("PARTITION_NAME")).thenReturn("p202610", "pmax");
+        when(mockResultSet.getString("PARTITION_DESCRIPTION")).thenReturn("1793491200", "MAXVALUE");
+
+        List<NotificationRetentionDAO.Partition> partitions = retentionDAO.listPartitions("notifications");
+
+        assertEquals(List.of(new NotificationRetentionDAO.Partition("p202610", 1793491200L),
+                new NotificationRetentionDAO.Partition("pmax", null)), partitions);
+    }
+}
@@ -0,0 +1,88 @@
+package org.revhire.dao;
+
+import org.revhire.config.DBConnection;
+import org.revhire.model.SavedSearch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+
+import java.sql.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class SavedSearchDAOTest {
+
+    @Mock
+    private Connection mockConnection;
+    @Mock
+    private PreparedStatement mockStatement;
+    @Mock
+    private ResultSet mockResultSet;
+
+    private SavedSearchDAO savedSearchDAO;
+    private MockedStatic<DBConnection> mockedDbConnection;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        savedSearchDAO = new SavedSearchDAO();
+        mockedDbConnection = mockStatic(DBConnection.class);
+        mockedDbConnection.when(DBConnection::getInstance).thenReturn(mockConnection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        mockedDbConnection.close();
+    }
+
+    @Test
+    public void testCreateStoresNullExperienceAndReturnsId() throws SQLException {
+        when(mockConnection.prepareStatement(anyString(), anyInt())).thenReturn(mockStatement);
+        when(mockStatement.getGeneratedKeys()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true);
+        when(mockResultSet.getInt(1)).thenReturn(42);
+
+        SavedSearch created = savedSearchDAO.create(new SavedSearch(7, "java", "remote", null, null, null));
+
+        assertEquals(42, created.getId());
+        verify(mockStatement).setInt(1, 7);
+        verify(mockStatement).setString(2, "java");
+        verify(mockStatement).setNull(5, Types.INTEGER);
+    }
+
+    @Test
+    public void testGetBySeekerMapsNullableExperience() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeQuery()).thenReturn(mockResultSet);
+        when(mockResultSet.next()).thenReturn(true, false);
+        when(mockResultSet.getInt("id")).thenReturn(3);
+        when(mockResultSet.getInt("seeker_id")).thenReturn(7);
+        when(mockResultSet.getString("keyword")).thenReturn("java");
+        when(mockResultSet.getInt("max_experience")).thenReturn(0);
+        when(mockResultSet.wasNull()).thenReturn(true);
+
+        List<SavedSearch> searches = savedSearchDAO.getBySeeker(7);
+
+        assertEquals(1, searches.size());
+        assertEquals("java", searches.get(0).getKeyword());
+        assertNull(searches.get(0).getMaxExperience());
+        verify(mockStatement).setInt(1, 7);
+    }
+
+    @Test
+    public void testDeleteOnlyOwnSearch() throws SQLException {
+        when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
+        when(mockStatement.executeUpdate()).thenReturn(0);
+
+        assertFalse(savedSearchDAO.delete(3, 8));
+        verify(mockStatement).setInt(1, 3);
+        verify(mockStatement).setInt(2, 8);
+    }
+}
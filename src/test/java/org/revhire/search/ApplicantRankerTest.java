@@ -0,0 +1,97 @@
+package org.revhire.search;
+
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApplicantRankerTest {
+
+    private final ApplicantRanker ranker = new ApplicantRanker();
+
+    private static JobSeeker seeker(int userId, List<String> skills, String duration, String degree) {
+        JobSeeker seeker = new JobSeeker(userId, "555");
+        for (String skill : skills) {
+            seeker.addSkill(new Skill(skill));
+        }
+        if (duration != null) {
+            seeker.addExperience(new Experience("Acme", "Developer", duration, "Built services with Docker"));
+        }
+        if (degree != null) {
+            seeker.addEducation(new Education(degree, "State University", 2018));
+        }
+        return seeker;
+    }
+
+    private static Job job(String requirements, int experienceYears) {
+        return new Job(1, "Backend Engineer", "Build APIs", requirements, "Remote", "10k", "Full-time",
+                experienceYears);
+    }
+
+    @Test
+    public void shouldRankBySkillsThenExperienceAndEducation() {
+        List<JobSeeker> candidates = List.of(
+                seeker(1, List.of("Java"), "2022-2023", null),
+                seeker(2, List.of("Java", "Spring Boot", "SQL"), "2018-2023", "Computer Science"),
+                seeker(3, List.of("Java", "Spring Boot", "SQL"), "1 year", "Arts"),
+                seeker(4, List.of("Python", "Docker"), "10 years", null));
+
+        List<ApplicantRanker.Score> ranked = ranker.rank(job("Java, Spring Boot, SQL, Docker; computer science", 5),
+                candidates, 10);
+
+        assertEquals(List.of(2, 3, 4, 1), ranked.stream().map(ApplicantRanker.Score::userId).toList());
+        ApplicantRanker.Score best = ranked.get(0);
+        // java, spring, boot, sql, docker, computer, science
+        assertEquals(7, best.skillsRequired());
+        assertEquals(4, best.skillsMatched());
+        // 4 listed + docker mentioned in experience: 60 * 4.5 / 7, full experience and education
+        assertEquals(60 * 4.5f / 7 + 30 + 10, best.score(), 0.01);
+        assertEquals(5.0, best.years(), 0.01);
+    }
+
+    @Test
+    public void shouldKeepOnlyTheBestAndBreakTiesByApplicationOrder() {
+        List<JobSeeker> candidates = List.of(
+                seeker(7, List.of("Go"), null, null),
+                seeker(8, List.of("Go"), null, null),
+                seeker(9, List.of("Go", "Kafka"), null, null));
+
+        List<ApplicantRanker.Score> ranked = ranker.rank(job("Go and Kafka", 0), candidates, 2);
+
+        assertEquals(List.of(9, 7), ranked.stream().map(ApplicantRanker.Score::userId).toList());
+        assertTrue(ranker.rank(job("Go", 0), List.of(), 5).isEmpty());
+    }
+
+    @Test
+    public void shouldCountRequirementsNoApplicantListsAndIgnoreStopWords() {
+        List<JobSeeker> javaOnly = List.of(seeker(1, List.of("Java"), null, null));
+
+        ApplicantRanker.Score score = ranker.rank(job("Java, Kubernetes and Go with experience", 0), javaOnly, 5)
+                .get(0);
+        assertEquals(3, score.skillsRequired());
+        assertEquals(1, score.skillsMatched());
+        assertEquals(60f / 3 + 30, score.score(), 0.01);
+
+        // Nothing required: no skill points, not full marks
+        ApplicantRanker.Score none = ranker.rank(job("with experience", 0), javaOnly, 5).get(0);
+        assertEquals(0, none.skillsRequired());
+        assertEquals(30, none.score(), 0.01);
+    }
+
+    @Test
+    public void shouldEstimateYearsFromFreeTextDurations() {
+        assertEquals(2, ApplicantRanker.estimateYears("2020-2022"), 0.001);
+        assertEquals(3, ApplicantRanker.estimateYears("2015 to 2018"), 0.001);
+        assertEquals(1.5, ApplicantRanker.estimateYears("18 months"), 0.001);
+        assertEquals(4, ApplicantRanker.estimateYears("4+ years"), 0.001);
+        assertEquals(0, ApplicantRanker.estimateYears("ongoing"), 0.001);
+        assertEquals(0, ApplicantRanker.estimateYears(null), 0.001);
+        assertTrue(ApplicantRanker.estimateYears("2019 - present") >= 6);
+    }
+}
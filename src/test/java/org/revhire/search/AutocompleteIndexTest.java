@@ -0,0 +1,140 @@
+package org.revhire.search;
+
+import org.revhire.model.Job;
+import org.revhire.model.Job.JobStatus;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
+import org.revhire.search.AutocompleteIndex.Kind;
+import org.revhire.search.AutocompleteIndex.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AutocompleteIndexTest {
+
+    private static Job job(int id, String title, String location, String company) {
+        Job job = new Job(1, title, title + " role", "SQL", location, "10k", "Full-time", 2);
+        job.setId(id);
+        job.setCompanyName(company);
+        job.setPostedAt(new Timestamp(id));
+        return job;
+    }
+
+    private static JobSeeker seeker(int userId, String... skills) {
+        JobSeeker seeker = new JobSeeker(userId, "555");
+        for (String skill : skills) {
+            seeker.addSkill(new Skill(skill));
+        }
+        return seeker;
+    }
+
+    @Test
+    public void shouldSuggestMostFrequentValuesForPrefixOrWordStart() {
+        AutocompleteIndex index = new AutocompleteIndex();
+        index.rebuildJobs(List.of(
+                job(1, "Java Developer", "Bangalore", "Acme"),
+                job(2, "java  developer", "bangalore", "Acme"),
+                job(3, "JavaScript Engineer", "Bangalore", "Globex"),
+                job(4, "Senior Java Developer", "Berlin", "Initech")));
+
+        assertEquals(List.of(new Suggestion("Java Developer", 2), new Suggestion("JavaScript Engineer", 1),
+                new Suggestion("Senior Java Developer", 1)), index.suggest(Kind.TITLE, "JAV", 10));
+        // "dev" starts the second word of both developer titles
+        assertEquals(List.of(new Suggestion("Java Developer", 2), new Suggestion("Senior Java Developer", 1)),
+                index.suggest(Kind.TITLE, "dev", 10));
+        assertEquals(List.of(new Suggestion("Bangalore", 3)), index.suggest(Kind.LOCATION, "ba", 10));
+        assertEquals(List.of(new Suggestion("Bangalore", 3)), index.suggest(Kind.LOCATION, "", 1));
+        assertTrue(index.suggest(Kind.COMPANY, "x", 10).isEmpty());
+    }
+
+    @Test
+    public void shouldFollowJobAndProfileChanges() {
+        AutocompleteIndex suggestions = new AutocompleteIndex();
+        JobSearchIndex jobs = new JobSearchIndex(suggestions);
+        jobs.rebuild(List.of(job(1, "Data Engineer", "Pune", "Acme"), job(2, "Data Analyst", "Pune", "Acme")));
+
+        jobs.upsert(job(2, "Data Engineer", "Pune", "Acme"));
+        assertEquals(List.of(new Suggestion("Data Engineer", 2)), suggestions.suggest(Kind.TITLE, "data", 10));
+
+        jobs.updateStatus(1, JobStatus.CLOSED);
+        assertEquals(List.of(new Suggestion("Pune", 1)), suggestions.suggest(Kind.LOCATION, "p", 10));
+        jobs.updateStatus(1, JobStatus.OPEN);
+        assertEquals(List.of(new Suggestion("Pune", 2)), suggestions.suggest(Kind.LOCATION, "p", 10));
+
+        jobs.remove(1);
+        jobs.remove(2);
+        assertTrue(suggestions.suggest(Kind.TITLE, "d", 10).isEmpty());
+        assertEquals(0, suggestions.size(Kind.COMPANY));
+
+        ResumeIndex resumes = new ResumeIndex(suggestions);
+        resumes.rebuild(List.of(seeker(1, "Python", "python", "PyTorch"), seeker(2, "Python")));
+        assertEquals(List.of(new Suggestion("Python", 2), new Suggestion("PyTorch", 1)),
+                suggestions.suggest(Kind.SKILL, "py", 10));
+        resumes.upsert(seeker(2, "Go"));
+        resumes.remove(1);
+        assertEquals(List.of(new Suggestion("Go", 1)), suggestions.suggest(Kind.SKILL, "", 10));
+    }
+
+    @Test
+    public void shouldKeepOnlyTheMostFrequentValuesWhenFull() {
+        AutocompleteIndex index = new AutocompleteIndex(2);
+        index.rebuildJobs(List.of(job(1, "A", "Delhi", "X"), job(2, "B", "Delhi", "X"), job(3, "C", "Mumbai", "X"),
+                job(4, "D", "Chennai", "X"), job(5, "E", "Mumbai", "X")));
+        assertEquals(2, index.size(Kind.LOCATION));
+        assertTrue(index.suggest(Kind.LOCATION, "chen", 10).isEmpty());
+
+        index.indexJob(job(6, "F", "Kolkata", "X"));
+        assertTrue(index.suggest(Kind.LOCATION, "kol", 10).isEmpty());
+        index.removeJob(3);
+        index.removeJob(5);
+        index.indexJob(job(6, "F", "Kolkata", "X"));
+        assertEquals(List.of(new Suggestion("Kolkata", 1)), index.suggest(Kind.LOCATION, "k", 10));
+    }
+
+    @Test
+    public void shouldMatchBruteForceUnderRandomUpdates() {
+        String[] words = { "java", "javascript", "jade", "go", "golang", "gopher", "rust", "ruby", "rails" };
+        Random random = new Random(5);
+        AutocompleteIndex index = new AutocompleteIndex();
+        Map<Integer, String> titles = new HashMap<>();
+        for (int step = 0; step < 20000; step++) {
+            int id = random.nextInt(200);
+            if (random.nextInt(4) == 0) {
+                index.removeJob(id);
+                titles.remove(id);
+            } else {
+                String title = words[random.nextInt(words.length)]
+                        + (random.nextBoolean() ? " " + words[random.nextInt(words.length)] : "");
+                index.indexJob(job(id, title, "Remote", "X"));
+                titles.put(id, title);
+            }
+            if (step % 50 == 0) {
+                for (String prefix : new String[] { "", "j", "ja", "java ", "go", "go r", "r", "ru", "rails" }) {
+                    assertEquals(expected(titles, prefix), index.suggest(Kind.TITLE, prefix, AutocompleteIndex.TOP_K),
+                            "prefix '" + prefix + "' at step " + step);
+                }
+            }
+        }
+    }
+
+    private static List<Suggestion> expected(Map<Integer, String> titles, String prefix) {
+        Map<String, Integer> counts = new HashMap<>();
+        titles.values().forEach(title -> counts.merge(title, 1, Integer::sum));
+        List<Suggestion> matches = new ArrayList<>();
+        counts.forEach((title, count) -> {
+            if (title.startsWith(prefix) || title.contains(" " + prefix)) {
+                matches.add(new Suggestion(title, count));
+            }
+        });
+        matches.sort(Comparator.comparingInt((Suggestion s) -> -s.count()).thenComparing(Suggestion::label));
+        return matches.subList(0, Math.min(AutocompleteIndex.TOP_K, matches.size()));
+    }
+}
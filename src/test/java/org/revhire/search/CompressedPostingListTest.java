@@ -0,0 +1,76 @@
+package org.revhire.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompressedPostingListTest {
+
+    @Test
+    public void shouldRoundTripSortedIdsInFewBytes() {
+        CompressedPostingList list = new CompressedPostingList();
+        for (int id = 1000; id < 2000; id++) {
+            list.add(id);
+        }
+        assertEquals(1000, list.size());
+        // One byte per gap after the first id
+        assertEquals(2 + 999, list.byteSize());
+        int[] docs = list.toDocArray();
+        assertEquals(1000, docs[0]);
+        assertEquals(1999, docs[999]);
+    }
+
+    @Test
+    public void shouldKeepOrderOnOutOfOrderAddsAndRemoves() {
+        CompressedPostingList list = new CompressedPostingList();
+        for (int id : new int[] { 5, 300, 70_000, 2, 300, 150 }) {
+            list.add(id);
+        }
+        assertArrayEquals(new int[] { 2, 5, 150, 300, 70_000 }, list.toDocArray());
+        assertTrue(list.remove(150));
+        assertFalse(list.remove(151));
+        assertArrayEquals(new int[] { 2, 5, 300, 70_000 }, list.toDocArray());
+    }
+
+    @Test
+    public void shouldAdvanceAcrossSkipEntries() {
+        Random random = new Random(3);
+        TreeSet<Integer> ids = new TreeSet<>();
+        while (ids.size() < 1000) {
+            ids.add(random.nextInt(100_000));
+        }
+        CompressedPostingList list = new CompressedPostingList();
+        ids.forEach(list::add);
+
+        CompressedPostingList.Cursor cursor = list.cursor();
+        for (int target = 0; target < 100_000; target += 997) {
+            Integer expected = ids.ceiling(target);
+            assertEquals(expected == null ? -1 : expected, cursor.advance(target));
+        }
+        assertEquals(ids.first(), list.cursor().advance(ids.first()));
+    }
+
+    @Test
+    public void shouldIntersectWithLeapfrog() {
+        CompressedPostingList even = new CompressedPostingList();
+        CompressedPostingList third = new CompressedPostingList();
+        CompressedPostingList sparse = new CompressedPostingList();
+        for (int i = 0; i < 5000; i++) {
+            if (i % 2 == 0) {
+                even.add(i);
+            }
+            if (i % 3 == 0) {
+                third.add(i);
+            }
+        }
+        for (int id : new int[] { 6, 7, 600, 601, 4998 }) {
+            sparse.add(id);
+        }
+        assertArrayEquals(new int[] { 6, 600, 4998 }, ResumeIndex.intersectAll(List.of(even, third, sparse)));
+        assertEquals(834, ResumeIndex.intersectAll(List.of(even, third)).length);
+    }
+}
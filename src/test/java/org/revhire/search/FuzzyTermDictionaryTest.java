@@ -0,0 +1,97 @@
+package org.revhire.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FuzzyTermDictionaryTest {
+
+    @Test
+    public void shouldCountEditsWithTranspositionsAsOne() {
+        assertEquals(0, FuzzyTermDictionary.distance("java", "java", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("javscript", "javascript", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("pyhton", "python", 2));
+        assertEquals(1, FuzzyTermDictionary.distance("kubernets", "kubernetes", 2));
+        // Gives up past the bound
+        assertEquals(3, FuzzyTermDictionary.distance("react", "angular", 2));
+    }
+
+    @Test
+    public void shouldScaleAllowedEditsWithTermLength() {
+        FuzzyTermDictionary dictionary = new FuzzyTermDictionary();
+        for (String term : new String[] { "go", "java", "javascript", "bangalore", "bengaluru", "lava", "2024" }) {
+            dictionary.add(term);
+        }
+        // The query term itself always comes back at distance 0
+        assertEquals(Map.of("javscript", 0, "javascript", 1), dictionary.lookup("javscript"));
+        assertEquals(Map.of("bangalor", 0, "bangalore", 1), dictionary.lookup("bangalor"));
+        assertEquals(List.of("java", "lava"), new ArrayList<>(dictionary.lookup("java").keySet()));
+        // Short terms and numbers only match exactly
+        assertEquals(Map.of("og", 0), dictionary.lookup("og"));
+        assertEquals(Map.of("2025", 0), dictionary.lookup("2025"));
+    }
+
+    @Test
+    public void shouldDropTermsOnceNoFieldHoldsThem() {
+        FuzzyTermDictionary dictionary = new FuzzyTermDictionary();
+        dictionary.add("python");
+        dictionary.add("python");
+        dictionary.remove("python");
+        assertEquals(Map.of("pyhton", 0, "python", 1), dictionary.lookup("pyhton"));
+        dictionary.remove("python");
+        assertEquals(Map.of("pyhton", 0), dictionary.lookup("pyhton"));
+        assertEquals(0, dictionary.size());
+    }
+
+    @Test
+    public void shouldFindOnlyTermsWithinTheBoundAndMostOfAScan() {
+        Random random = new Random(9);
+        List<String> vocabulary = new ArrayList<>();
+        FuzzyTermDictionary dictionary = new FuzzyTermDictionary();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder term = new StringBuilder();
+            for (int n = 3 + random.nextInt(10); n > 0; n--) {
+                term.append((char) ('a' + random.nextInt(6)));
+            }
+            vocabulary.add(term.toString());
+            dictionary.add(term.toString());
+        }
+        int expected = 0, found = 0;
+        for (int q = 0; q < 300; q++) {
+            String query = typo(random, vocabulary.get(random.nextInt(vocabulary.size())));
+            int max = FuzzyTermDictionary.maxDistance(query);
+            Map<String, Integer> result = dictionary.lookup(query);
+            for (Map.Entry<String, Integer> e : result.entrySet()) {
+                assertEquals(FuzzyTermDictionary.distance(query, e.getKey(), max), e.getValue());
+            }
+            if (result.size() >= FuzzyTermDictionary.MAX_EXPANSIONS) {
+                continue;
+            }
+            for (String term : vocabulary) {
+                if (FuzzyTermDictionary.distance(query, term, max) <= max) {
+                    expected++;
+                    found += result.containsKey(term) ? 1 : 0;
+                }
+            }
+        }
+        // Deleting only within the first seven characters can miss an edit that shifts the prefix
+        assertTrue(found >= expected * 0.95, found + " of " + expected);
+    }
+
+    private static String typo(Random random, String term) {
+        int i = random.nextInt(term.length());
+        switch (random.nextInt(3)) {
+            case 0:
+                return term.substring(0, i) + term.substring(i + 1);
+            case 1:
+                return term.substring(0, i) + 'x' + term.substring(i);
+            default:
+                return term.substring(0, i) + 'z' + term.substring(i + 1);
+        }
+    }
+}
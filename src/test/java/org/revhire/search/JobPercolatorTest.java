@@ -0,0 +1,107 @@
+package org.revhire.search;
+
+import org.revhire.model.Job;
+import org.revhire.model.SavedSearch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobPercolatorTest {
+
+    private JobPercolator percolator;
+
+    private static SavedSearch search(int id, int seekerId, String keyword, String location, String type,
+            Integer maxExp, String company) {
+        SavedSearch search = new SavedSearch(seekerId, keyword, location, type, maxExp, company);
+        search.setId(id);
+        return search;
+    }
+
+    private static Job job(String title, String location, String type, int exp, String company) {
+        Job job = new Job(1, title, title + " role", "SQL, Git", location, "10k", type, exp);
+        job.setId(99);
+        job.setCompanyName(company);
+        return job;
+    }
+
+    private Set<Integer> matchedIds(Job job) {
+        return percolator.percolate(job).stream().map(JobPercolator.Match::searchId).collect(Collectors.toSet());
+    }
+
+    @BeforeEach
+    public void setUp() {
+        percolator = new JobPercolator();
+        percolator.rebuild(List.of(
+                search(1, 10, "java", null, null, null, null),
+                search(2, 10, "senior java", "remote", null, null, null),
+                search(3, 11, null, "remote", "full-time", 5, null),
+                search(4, 12, "python", null, null, null, "globex"),
+                search(5, 13, null, null, null, 3, null),
+                search(6, 14, "sql", null, null, null, null)));
+    }
+
+    @Test
+    public void shouldMatchSearchesTheJobSatisfies() {
+        assertEquals(Set.of(1, 2, 3, 6), matchedIds(job("Senior Java Engineer", "Remote", "Full-time", 4, "Acme")));
+        // Experience above a search's maximum excludes it; "sql" only appears in requirements
+        assertEquals(Set.of(1, 6), matchedIds(job("Java Developer", "Berlin", "Part-time", 8, "Acme")));
+        assertEquals(Set.of(4, 5, 6), matchedIds(job("Python Engineer", "Berlin", "Contract", 2, "Globex")));
+    }
+
+    @Test
+    public void shouldReturnEachMatchOnce() {
+        // "java" appears in title and description but search 1 must be reported once
+        List<JobPercolator.Match> matches = percolator.percolate(job("Java", "Remote", "Full-time", 9, "Acme"));
+        assertEquals(1, matches.stream().filter(m -> m.searchId() == 1).count());
+        assertEquals(10, matches.stream().filter(m -> m.searchId() == 1).findFirst().get().seekerId());
+    }
+
+    @Test
+    public void shouldReflectAddsAndRemoves() {
+        percolator.remove(1);
+        percolator.remove(6);
+        assertEquals(Set.of(), matchedIds(job("Java Developer", "Berlin", "Part-time", 8, "Acme")));
+
+        percolator.add(search(7, 15, "developer", "berlin", null, null, null));
+        assertEquals(Set.of(7), matchedIds(job("Java Developer", "Berlin", "Part-time", 8, "Acme")));
+
+        // Re-adding an id replaces the old criteria
+        percolator.add(search(7, 15, "kotlin", null, null, null, null));
+        assertEquals(Set.of(), matchedIds(job("Java Developer", "Berlin", "Part-time", 8, "Acme")));
+        assertEquals(5, percolator.size());
+    }
+
+    @Test
+    public void shouldReplayAddsAndRemovesMadeWhileRebuildSnapshotIsRead() {
+        JobPercolator fresh = new JobPercolator();
+        JobPercolator.Rebuild rebuild = fresh.beginRebuild();
+        assertTrue(fresh.isRebuilding());
+        // Saved and deleted after the snapshot below was read
+        fresh.add(search(7, 15, "developer", "berlin", null, null, null));
+        fresh.remove(1);
+        fresh.rebuild(rebuild, List.of(
+                search(1, 10, "java", null, null, null, null),
+                search(6, 14, "sql", null, null, null, null)));
+
+        assertFalse(fresh.isRebuilding());
+        assertTrue(fresh.isLoaded());
+        assertEquals(Set.of(6, 7), fresh.percolate(job("Java Developer", "Berlin", "Part-time", 8, "Acme")).stream()
+                .map(JobPercolator.Match::searchId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void shouldStayStaleWhenInvalidatedDuringRebuild() {
+        JobPercolator.Rebuild rebuild = percolator.beginRebuild();
+        percolator.invalidate();
+        percolator.rebuild(rebuild, List.of());
+        assertFalse(percolator.isLoaded());
+
+        percolator.abandon(percolator.beginRebuild());
+        assertFalse(percolator.isRebuilding());
+    }
+}
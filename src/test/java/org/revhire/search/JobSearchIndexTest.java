@@ -0,0 +1,192 @@
+package org.revhire.search;
+
+import org.revhire.model.Job;
+import org.revhire.model.Job.JobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JobSearchIndexTest {
+
+    private JobSearchIndex index;
+
+    private static Job job(int id, String title, String location, String type, int exp, String company, long postedAt) {
+        Job job = new Job(1, title, title + " role", "SQL, Git", location, "10k", type, exp);
+        job.setId(id);
+        job.setCompanyName(company);
+        job.setPostedAt(new Timestamp(postedAt));
+        return job;
+    }
+
+    @BeforeEach
+    public void setUp() {
+        index = new JobSearchIndex();
+        index.rebuild(List.of(
+                job(1, "Java Developer", "New York", "Full-time", 2, "Acme Corp", 1_000),
+                job(2, "Python Engineer", "Remote", "Part-time", 5, "Globex", 3_000),
+                job(3, "Senior Java Engineer", "Remote", "Full-time", 8, "Acme Corp", 2_000)));
+    }
+
+    @Test
+    public void shouldMatchKeywordAcrossFieldsNewestFirst() {
+        assertArrayEquals(new int[] { 3, 1 }, index.search(new JobQuery("java", null, null, null, null)));
+        // "SQL" only appears in requirements
+        assertArrayEquals(new int[] { 2, 3, 1 }, index.search(new JobQuery("sql", null, null, null, null)));
+    }
+
+    @Test
+    public void shouldApplyFieldFiltersAndExperience() {
+        assertArrayEquals(new int[] { 3 },
+                index.search(new JobQuery("engineer", "remote", "full-time", null, "acme")));
+        assertArrayEquals(new int[] { 1 }, index.search(new JobQuery("java", null, null, 5, null)));
+    }
+
+    @Test
+    public void shouldReflectUpdatesAndDeletes() {
+        index.updateStatus(3, JobStatus.CLOSED);
+        assertArrayEquals(new int[] { 1 }, index.search(new JobQuery("java", null, null, null, null)));
+
+        index.upsert(job(1, "Kotlin Developer", "Berlin", "Full-time", 2, "Acme Corp", 1_000));
+        assertEquals(0, index.search(new JobQuery("java developer", null, null, null, null)).length);
+        assertArrayEquals(new int[] { 1 }, index.search(new JobQuery("kotlin", "berlin", null, null, null)));
+
+        index.remove(1);
+        assertEquals(0, index.search(new JobQuery("kotlin", null, null, null, null)).length);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void shouldReplayWritesMadeWhileRebuildSnapshotIsRead() {
+        JobSearchIndex fresh = new JobSearchIndex();
+        JobSearchIndex.Rebuild rebuild = fresh.beginRebuild();
+        assertTrue(fresh.isRebuilding());
+        // Written after the snapshot below was read, so it still has the old title and job 2
+        fresh.upsert(job(1, "Kotlin Developer", "Berlin", "Full-time", 2, "Acme Corp", 1_000));
+        fresh.remove(2);
+        fresh.updateStatus(3, JobStatus.CLOSED);
+        fresh.rebuild(rebuild, List.of(
+                job(1, "Java Developer", "New York", "Full-time", 2, "Acme Corp", 1_000),
+                job(2, "Python Engineer", "Remote", "Part-time", 5, "Globex", 3_000),
+                job(3, "Senior Java Engineer", "Remote", "Full-time", 8, "Acme Corp", 2_000)));
+
+        assertFalse(fresh.isRebuilding());
+        assertTrue(fresh.isLoaded());
+        assertArrayEquals(new int[] { 1 }, fresh.search(new JobQuery("kotlin", "berlin", null, null, null)));
+        assertEquals(0, fresh.search(new JobQuery("java", null, null, null, null)).length);
+        assertEquals(2, fresh.size());
+    }
+
+    @Test
+    public void shouldStayStaleWhenInvalidatedDuringRebuild() {
+        JobSearchIndex.Rebuild rebuild = index.beginRebuild();
+        index.invalidate();
+        index.rebuild(rebuild, List.of(job(1, "Java Developer", "New York", "Full-time", 2, "Acme Corp", 1_000)));
+        assertFalse(index.isLoaded());
+
+        index.abandon(index.beginRebuild());
+        assertFalse(index.isRebuilding());
+    }
+
+    @Test
+    public void shouldReturnAllOpenJobsWithoutCriteria() {
+        assertArrayEquals(new int[] { 2, 3, 1 }, index.search(new JobQuery()));
+    }
+
+    @Test
+    public void shouldRankTitleMatchesFirstAndKeepOnlyTopK() {
+        Job mention = job(4, "Backend Developer", "Remote", "Full-time", 1, "Initech", 9_000);
+        mention.setDescription("Some engineer work");
+        index.upsert(mention);
+
+        int[] ranked = index.searchRanked(new JobQuery("engineer", null, null, null, null), 2);
+
+        // Title matches outrank a description-only match even though that job is the newest
+        assertEquals(2, ranked.length);
+        assertTrue(ranked[0] == 2 || ranked[0] == 3);
+        assertTrue(ranked[1] == 2 || ranked[1] == 3);
+    }
+
+    @Test
+    public void shouldBreakScoreTiesByRecency() {
+        int[] ranked = index.searchRanked(new JobQuery(null, "remote", null, null, null), 10);
+        assertArrayEquals(new int[] { 2, 3 }, ranked);
+    }
+
+    @Test
+    public void shouldPageNewestFirstAfterCursor() {
+        JobQuery all = new JobQuery();
+        assertArrayEquals(new int[] { 2, 3 }, index.searchAfter(all, Long.MAX_VALUE, Integer.MAX_VALUE, 2));
+        assertArrayEquals(new int[] { 1 }, index.searchAfter(all, 2_000, 3, 2));
+        assertEquals(0, index.searchAfter(all, 1_000, 1, 2).length);
+    }
+
+    @Test
+    public void shouldCountFacetsOverAllMatchesRegardlessOfCursor() {
+        JobSearchIndex.Hits hits = index.searchAfterFaceted(new JobQuery(), 2_000, 3, 1);
+        assertArrayEquals(new int[] { 1 }, hits.ids());
+        FacetCounts facets = hits.facets();
+        assertEquals(3, facets.getTotalHits());
+        assertEquals(List.of(new FacetCounts.Bucket("Remote", 2), new FacetCounts.Bucket("New York", 1)),
+                facets.get(FacetCounts.Facet.LOCATION));
+        assertEquals(List.of(new FacetCounts.Bucket("Full-time", 2), new FacetCounts.Bucket("Part-time", 1)),
+                facets.get(FacetCounts.Facet.JOB_TYPE));
+        // Experience buckets stay in range order
+        assertEquals(List.of(new FacetCounts.Bucket("2-4 years", 1), new FacetCounts.Bucket("5-9 years", 2)),
+                facets.get(FacetCounts.Facet.EXPERIENCE));
+        assertEquals(1, facets.top(FacetCounts.Facet.COMPANY, 1).size());
+    }
+
+    @Test
+    public void shouldCountRankedMatchesBeyondTheTopK() {
+        index.upsert(job(4, "Java Lead", "remote", "Contract", 12, "Initech", 4_000));
+        JobSearchIndex.Hits hits = index.searchRankedFaceted(new JobQuery("java", null, null, null, null), 1);
+        assertEquals(1, hits.ids().length);
+        assertEquals(3, hits.facets().getTotalHits());
+        // Location values are grouped case-insensitively under the first spelling seen
+        assertEquals(List.of(new FacetCounts.Bucket("Remote", 2), new FacetCounts.Bucket("New York", 1)),
+                hits.facets().get(FacetCounts.Facet.LOCATION));
+
+        index.remove(3);
+        index.updateStatus(4, JobStatus.CLOSED);
+        FacetCounts facets = index.searchRankedFaceted(new JobQuery("java", null, null, null, null), 1).facets();
+        assertEquals(List.of(new FacetCounts.Bucket("New York", 1)), facets.get(FacetCounts.Facet.LOCATION));
+        assertEquals(List.of(new FacetCounts.Bucket("Acme Corp", 1)), facets.get(FacetCounts.Facet.COMPANY));
+    }
+
+    @Test
+    public void shouldMatchTyposOnlyInFuzzyMode() {
+        index.upsert(job(4, "JavaScript Developer", "Bangalore", "Full-time", 1, "Initech", 4_000));
+        JobQuery typo = new JobQuery("javscript", "bangalor", null, null, null);
+        assertEquals(0, index.searchRanked(typo, 10).length);
+
+        typo.setFuzzy(true);
+        assertArrayEquals(new int[] { 4 }, index.searchRanked(typo, 10));
+        // One edit from "python"; short terms like "jav" stay exact
+        JobQuery python = new JobQuery("pyhton", null, null, null, null);
+        python.setFuzzy(true);
+        assertArrayEquals(new int[] { 2 }, index.search(python));
+        JobQuery shortTerm = new JobQuery("jav", null, null, null, null);
+        shortTerm.setFuzzy(true);
+        assertEquals(0, index.search(shortTerm).length);
+    }
+
+    @Test
+    public void shouldRankExactMatchesAboveFuzzyOnes() {
+        index.upsert(job(4, "Java Developer", "Remote", "Full-time", 1, "Initech", 500));
+        index.upsert(job(5, "Lava Developer", "Remote", "Full-time", 1, "Initech", 5_000));
+        JobQuery query = new JobQuery("java developer", null, null, null, null);
+        query.setFuzzy(true);
+        int[] ids = index.searchRanked(query, 10);
+        assertEquals(5, ids[ids.length - 1]);
+
+        // Once the only job using a term is gone, fuzzy queries stop expanding to it
+        index.remove(5);
+        JobQuery lava = new JobQuery("lavaa", null, null, null, null);
+        lava.setFuzzy(true);
+        assertEquals(0, index.search(lava).length);
+    }
+}
@@ -0,0 +1,89 @@
+package org.revhire.search;
+
+import org.revhire.model.Education;
+import org.revhire.model.Experience;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Project;
+import org.revhire.model.Skill;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResumeIndexTest {
+
+    private ResumeIndex index;
+
+    private static JobSeeker seeker(int userId, List<String> skills, String duration, String company) {
+        JobSeeker seeker = new JobSeeker(userId, "555");
+        for (String skill : skills) {
+            seeker.addSkill(new Skill(skill));
+        }
+        seeker.addExperience(new Experience(company, "Engineer", duration, "Payments platform"));
+        seeker.addEducation(new Education("B.Tech", "IIT Madras", 2015));
+        seeker.addProject(new Project("Chat app", "Realtime messaging", "Lead"));
+        return seeker;
+    }
+
+    private static ResumeQuery query(List<String> all, List<String> any, List<String> none, String keyword,
+            Double minYears) {
+        return new ResumeQuery(all, any, none, keyword, minYears);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        index = new ResumeIndex();
+        index.rebuild(List.of(
+                seeker(3, List.of("Java", "Spring Boot", "SQL"), "2015-2022", "Acme"),
+                seeker(1, List.of("Java", "Kotlin"), "2 years", "Globex"),
+                seeker(2, List.of("Python", "SQL", "Spring"), "2019-2022", "Initech"),
+                seeker(4, List.of("Java", "PHP"), "10 years", "Acme")));
+    }
+
+    @Test
+    public void shouldApplyBooleanSkillFiltersMostExperiencedFirst() {
+        assertArrayEquals(new int[] { 4, 3, 1 }, index.search(query(List.of("java"), null, null, null, null), 10));
+        // "Spring Boot" needs both words; seeker 2 only lists "Spring"
+        assertArrayEquals(new int[] { 3 }, index.search(query(List.of("spring boot"), null, null, null, null), 10));
+        assertArrayEquals(new int[] { 3, 2, 1 },
+                index.search(query(null, List.of("kotlin", "sql"), null, null, null), 10));
+        assertArrayEquals(new int[] { 3, 1 }, index.search(query(List.of("java"), null, List.of("php"), null, null), 10));
+        assertEquals(0, index.search(query(List.of("java", "cobol"), null, null, null, null), 10).length);
+    }
+
+    @Test
+    public void shouldFilterByYearsAndKeywordsAcrossSections() {
+        assertArrayEquals(new int[] { 4, 3 }, index.search(query(List.of("java"), null, null, null, 5.0), 10));
+        assertArrayEquals(new int[] { 4, 3 }, index.search(query(null, null, null, "acme", null), 10));
+        assertArrayEquals(new int[] { 4, 3, 2, 1 },
+                index.search(query(null, null, null, "madras realtime", null), 10));
+        assertArrayEquals(new int[] { 4 }, index.search(query(null, null, null, null, null), 1));
+    }
+
+    @Test
+    public void shouldReflectProfileUpdates() {
+        index.upsert(seeker(1, List.of("Rust"), "12 years", "Globex"));
+        assertArrayEquals(new int[] { 4, 3 }, index.search(query(List.of("java"), null, null, null, null), 10));
+        assertArrayEquals(new int[] { 1 }, index.search(query(List.of("rust"), null, null, null, 11.0), 10));
+
+        index.remove(4);
+        assertArrayEquals(new int[] { 3 }, index.search(query(List.of("java"), null, null, null, null), 10));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    public void shouldReplayWritesMadeWhileRebuildSnapshotIsRead() {
+        ResumeIndex.Rebuild rebuild = index.beginRebuild();
+        // Saved after the snapshot below was read
+        index.upsert(seeker(1, List.of("Rust"), "12 years", "Globex"));
+        index.rebuild(rebuild, List.of(
+                seeker(1, List.of("Java", "Kotlin"), "2 years", "Globex"),
+                seeker(3, List.of("Java", "Spring Boot", "SQL"), "2015-2022", "Acme")));
+
+        assertFalse(index.isRebuilding());
+        assertArrayEquals(new int[] { 1 }, index.search(query(List.of("rust"), null, null, null, null), 10));
+        assertArrayEquals(new int[] { 3 }, index.search(query(List.of("java"), null, null, null, null), 10));
+    }
+}
@@ -2,17 +2,23 @@ package org.revhire.service;
 
 import org.revhire.dao.ApplicationDAO;
 import org.revhire.dao.JobDAO;
+import org.revhire.dao.JobSeekerDAO;
 import org.revhire.model.Application;
 import org.revhire.model.Application.ApplicationStatus;
 import org.revhire.model.Job;
+import org.revhire.model.JobSeeker;
+import org.revhire.model.Skill;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -25,6 +31,8 @@ public class ApplicationServiceTest {
     private JobDAO jobDAO;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private JobSeekerDAO jobSeekerDAO;
 
     private ApplicationService applicationService;
 
@@ -32,7 +40,37 @@ public class ApplicationServiceTest {
     public void setUp() {
         MockitoAnnotations.openMocks(this);
         // We use constructor injection for tests
-        applicationService = new ApplicationService(applicationDAO, jobDAO, notificationService);
+        applicationService = new ApplicationService(applicationDAO, jobDAO, notificationService, jobSeekerDAO);
+    }
+
+    @Test
+    public void shouldRankActiveApplicantsBySkillFit() throws SQLException {
+        Job job = new Job(3, "Java Dev", "Build APIs", "Java, SQL", "Remote", "10k", "Full-time", 0);
+        job.setId(1);
+        Application weak = new Application(1, 10, "hi");
+        weak.setId(100);
+        Application strong = new Application(1, 11, "hello");
+        strong.setId(101);
+        Application withdrawn = new Application(1, 12, "bye");
+        withdrawn.setStatus(ApplicationStatus.WITHDRAWN);
+        JobSeeker weakProfile = new JobSeeker(10, "1");
+        weakProfile.addSkill(new Skill("Java"));
+        JobSeeker strongProfile = new JobSeeker(11, "2");
+        strongProfile.addSkill(new Skill("Java"));
+        strongProfile.addSkill(new Skill("SQL"));
+
+        when(jobDAO.getJobById(1)).thenReturn(Optional.of(job));
+        when(applicationDAO.getApplicationsByJob(1)).thenReturn(List.of(weak, strong, withdrawn));
+        // Seeker 12 withdrew after the profiles were read
+        when(jobSeekerDAO.getRankingProfilesByJob(1))
+                .thenReturn(Map.of(10, weakProfile, 11, strongProfile, 12, new JobSeeker(12, "3")));
+
+        List<ApplicationService.RankedApplicant> ranked = applicationService.rankApplicants(1, 5);
+
+        assertEquals(2, ranked.size());
+        assertEquals(101, ranked.get(0).application().getId());
+        assertEquals(100, ranked.get(1).application().getId());
+        verify(jobSeekerDAO, never()).getProfilesByUserIds(any());
     }
 
     @Test
@@ -6,6 +6,7 @@ import org.revhire.dao.UserDAO;
 import org.revhire.model.JobSeeker;
 import org.revhire.model.User;
 import org.revhire.model.User.UserRole;
+import org.revhire.model.UserSession;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -74,8 +75,12 @@ public class AuthServiceTest {
         User user = new User("John", "john@example.com", hashed, UserRole.JOB_SEEKER, "Q", "A");
         when(userDAO.getUserByEmail("john@example.com")).thenReturn(Optional.of(user));
 
-        User loggedIn = authService.login("john@example.com", password);
-        assertEquals(user, loggedIn);
+        UserSession session = authService.login("john@example.com", password);
+        assertEquals(user, session.getUser());
+        assertEquals(user, authService.resolveSession(session.getToken()).get().getUser());
+
+        authService.logout(session.getToken());
+        assertTrue(authService.resolveSession(session.getToken()).isEmpty());
     }
 
     @Test
@@ -100,6 +105,45 @@ public class AuthServiceTest {
                 argThat(hashed -> PasswordUtils.checkPassword("newpass", hashed)));
     }
 
+    @Test
+    public void shouldEndExistingSessionsWhenPasswordChanges() throws SQLException {
+        User user = new User("John", "john@example.com", PasswordUtils.hashPassword("pass"), UserRole.JOB_SEEKER,
+                "Q", "A");
+        user.setId(7);
+        User other = new User("Jane", "jane@example.com", PasswordUtils.hashPassword("pass"), UserRole.EMPLOYER,
+                "Q", "A");
+        other.setId(8);
+        when(userDAO.getUserByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(userDAO.getUserByEmail("jane@example.com")).thenReturn(Optional.of(other));
+        when(userDAO.updatePassword(eq("john@example.com"), anyString())).thenReturn(true);
+
+        String stolen = authService.login("john@example.com", "pass").getToken();
+        String bystander = authService.login("jane@example.com", "pass").getToken();
+        assertTrue(authService.updatePassword("john@example.com", "pass", "newpass"));
+        assertTrue(authService.resolveSession(stolen).isEmpty());
+        assertTrue(authService.resolveSession(bystander).isPresent());
+
+        String again = authService.login("john@example.com", "pass").getToken();
+        assertTrue(authService.recoverPassword("john@example.com", "A", "newer"));
+        assertTrue(authService.resolveSession(again).isEmpty());
+    }
+
+    @Test
+    public void shouldKeepTheSessionThatChangedThePassword() throws SQLException {
+        User user = new User("John", "john@example.com", PasswordUtils.hashPassword("pass"), UserRole.JOB_SEEKER,
+                "Q", "A");
+        user.setId(7);
+        when(userDAO.getUserByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(userDAO.updatePassword(eq("john@example.com"), anyString())).thenReturn(true);
+
+        String own = authService.login("john@example.com", "pass").getToken();
+        String elsewhere = authService.login("john@example.com", "pass").getToken();
+        assertTrue(authService.updatePassword("john@example.com", "pass", "newpass", own));
+
+        assertTrue(authService.resolveSession(own).isPresent());
+        assertTrue(authService.resolveSession(elsewhere).isEmpty());
+    }
+
     @Test
     public void shouldFailRecoveryWithWrongAnswer() throws SQLException {
         User user = new User("John", "john@example.com", "pass", UserRole.JOB_SEEKER, "Q", "A");
@@ -109,4 +153,47 @@ public class AuthServiceTest {
         assertFalse(result);
         verify(userDAO, never()).updatePassword(anyString(), anyString());
     }
+
+    @Test
+    public void shouldRehashWeakPasswordOnLogin() throws SQLException {
+        PasswordHashingService hasher = new PasswordHashingService(1, 8, 6);
+        AuthService service = new AuthService(userDAO, jobSeekerDAO, employerDAO, new SessionRegistry(), hasher);
+        User user = new User("John", "john@example.com", PasswordUtils.hashPassword("Secret1!", 4),
+                UserRole.JOB_SEEKER, "Q", "A");
+        when(userDAO.getUserByEmail("john@example.com")).thenReturn(Optional.of(user));
+        when(userDAO.updatePassword(eq("john@example.com"), anyString())).thenReturn(true);
+
+        service.login("john@example.com", "Secret1!");
+
+        verify(userDAO).updatePassword(eq("john@example.com"),
+                argThat(hash -> PasswordUtils.getLogRounds(hash) == 6
+                        && PasswordUtils.checkPassword("Secret1!", hash)));
+        hasher.close();
+    }
+
+    @Test
+    public void shouldSkipLookupForRecentlyUnknownEmail() throws SQLException {
+        when(userDAO.getUserByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertThrows(SQLException.class, () -> authService.login("ghost@example.com", "x"));
+        assertThrows(SQLException.class, () -> authService.login("ghost@example.com", "y"));
+        assertFalse(authService.recoverPassword("ghost@example.com", "A", "newpass"));
+
+        verify(userDAO, times(1)).getUserByEmail("ghost@example.com");
+    }
+
+    @Test
+    public void shouldThrottleRepeatedFailedLogins() throws SQLException {
+        LoginThrottle throttle = new LoginThrottle(2, 100, 60_000, System::currentTimeMillis);
+        AuthService service = new AuthService(userDAO, jobSeekerDAO, employerDAO, new SessionRegistry(),
+                PasswordHashingService.getShared(), throttle);
+        User user = new User("John", "john@example.com", PasswordUtils.hashPassword("Secret1!", 4),
+                UserRole.JOB_SEEKER, "Q", "A");
+        when(userDAO.getUserByEmail("john@example.com")).thenReturn(Optional.of(user));
+
+        assertThrows(SQLException.class, () -> service.login("john@example.com", "wrong", "10.0.0.1"));
+        assertThrows(SQLException.class, () -> service.login("john@example.com", "wrong", "10.0.0.1"));
+        assertThrows(LoginThrottledException.class, () -> service.login("john@example.com", "Secret1!", "10.0.0.1"));
+        verify(userDAO, times(2)).getUserByEmail("john@example.com");
+    }
 }
@@ -3,6 +3,7 @@ package org.revhire.service;
 import org.revhire.dao.JobDAO;
 import org.revhire.model.Job;
 import org.revhire.model.Job.JobStatus;
+import org.revhire.search.JobSearchIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -43,11 +44,11 @@ public class JobServiceTest {
 
     @Test
     public void testSearchJobs_Success() throws SQLException {
-        Job job = new Job();
-        job.setTitle("Java Developer");
+        Job job = new Job(3, "Java Developer", "Build APIs", "Java", "Remote", "10k", "Full-time", 2);
+        job.setId(1);
 
-        when(jobDAO.searchJobs("Java", "Remote", "Full-time", null, null))
-                .thenReturn(Collections.singletonList(job));
+        when(jobDAO.getAllJobs()).thenReturn(Collections.singletonList(job));
+        when(jobDAO.getJobsByIds(List.of(1))).thenReturn(Collections.singletonList(job));
 
         List<Job> results = jobService.searchJobs("Java", "Remote", "Full-time", null, null);
         assertEquals(1, results.size());
@@ -56,11 +57,58 @@ public class JobServiceTest {
 
     @Test
     public void testSearchJobs_NoResults() throws SQLException {
-        when(jobDAO.searchJobs(any(), any(), any(), any(), any()))
-                .thenReturn(Collections.emptyList());
+        when(jobDAO.getAllJobs()).thenReturn(Collections.emptyList());
 
         List<Job> results = jobService.searchJobs("NonExistent", "Mars", "Remote", null, null);
         assertTrue(results.isEmpty());
+        verify(jobDAO, never()).getJobsByIds(any());
+    }
+
+    @Test
+    public void testClosedJobDropsOutOfSearch() throws SQLException {
+        Job job = new Job(3, "Java Developer", "Build APIs", "Java", "Remote", "10k", "Full-time", 2);
+        job.setId(7);
+        when(jobDAO.getAllJobs()).thenReturn(Collections.singletonList(job));
+        when(jobDAO.getJobsByIds(List.of(7))).thenReturn(Collections.singletonList(job));
+
+        assertEquals(1, jobService.searchJobs("java", null, null, null, null).size());
+        jobService.closeJob(7);
+        assertTrue(jobService.searchJobs("java", null, null, null, null).isEmpty());
+    }
+
+    @Test
+    public void testPostJobAlertsMatchingSeekers() throws SQLException {
+        JobAlertService alerts = mock(JobAlertService.class);
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(Collections.emptyList());
+        jobService = new JobService(jobDAO, index, alerts);
+
+        Job job = new Job(3, "Java Developer", "Build APIs", "Java", "Remote", "10k", "Full-time", 2);
+        job.setId(5);
+        job.setStatus(JobStatus.OPEN);
+        when(jobDAO.createJob(job)).thenReturn(job);
+        when(jobDAO.getJobsByIds(List.of(5))).thenReturn(Collections.singletonList(job));
+
+        jobService.postJob(job);
+        // The row read for the index is reused for the alerts
+        verify(jobDAO, times(1)).getJobsByIds(List.of(5));
+        verify(alerts).jobOpened(job);
+    }
+
+    @Test
+    public void testAlertFailureDoesNotFailReopen() throws SQLException {
+        JobAlertService alerts = mock(JobAlertService.class);
+        jobService = new JobService(jobDAO, new JobSearchIndex(), alerts);
+
+        Job job = new Job(3, "Java Developer", "Build APIs", "Java", "Remote", "10k", "Full-time", 2);
+        job.setId(6);
+        job.setStatus(JobStatus.OPEN);
+        when(jobDAO.getJobsByIds(List.of(6))).thenReturn(Collections.singletonList(job));
+        doThrow(new SQLException("db down")).when(alerts).jobOpened(job);
+
+        jobService.reopenJob(6);
+        verify(jobDAO).updateStatus(6, JobStatus.OPEN);
+        verify(alerts).jobOpened(job);
     }
 
     @Test
@@ -90,4 +138,22 @@ public class JobServiceTest {
         jobService.updateJob(job);
         verify(jobDAO).updateJob(job);
     }
+
+    @Test
+    public void testUpdateDuringIndexBuildIsNotLost() throws SQLException {
+        Job stale = new Job(3, "Java Developer", "Build APIs", "Java", "Remote", "10k", "Full-time", 2);
+        stale.setId(1);
+        Job updated = new Job(3, "Kotlin Developer", "Build APIs", "Kotlin", "Remote", "10k", "Full-time", 2);
+        updated.setId(1);
+        when(jobDAO.getJobsByIds(List.of(1))).thenReturn(Collections.singletonList(updated));
+        // The update commits after the build read its rows
+        when(jobDAO.getAllJobs()).thenAnswer(invocation -> {
+            jobService.updateJob(updated);
+            return Collections.singletonList(stale);
+        });
+
+        List<Job> results = jobService.searchJobs("kotlin", null, null, null, null);
+        assertEquals(1, results.size());
+        assertTrue(jobService.searchJobs("java developer", null, null, null, null).isEmpty());
+    }
 }
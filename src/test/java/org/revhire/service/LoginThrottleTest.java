@@ -0,0 +1,52 @@
+package org.revhire.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginThrottleTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void shouldLockEmailAfterRepeatedFailures() throws Exception {
+        LoginThrottle throttle = new LoginThrottle(3, 100, 60_000, now::get);
+        for (int i = 0; i < 3; i++) {
+            throttle.acquire("john@example.com", "10.0.0.1");
+            throttle.recordFailure("John@Example.com ");
+        }
+
+        LoginThrottledException e = assertThrows(LoginThrottledException.class,
+                () -> throttle.acquire("john@example.com", "10.0.0.2"));
+        assertEquals(60, e.getRetryAfterSeconds());
+        throttle.acquire("jane@example.com", "10.0.0.1");
+
+        now.set(120_000);
+        throttle.acquire("john@example.com", "10.0.0.1");
+    }
+
+    @Test
+    public void shouldLimitAttemptsPerSource() throws Exception {
+        LoginThrottle throttle = new LoginThrottle(100, 5, 60_000, now::get);
+        for (int i = 0; i < 5; i++) {
+            throttle.acquire("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThrows(LoginThrottledException.class, () -> throttle.acquire("other@example.com", "10.0.0.1"));
+        throttle.acquire("other@example.com", "10.0.0.2");
+    }
+
+    @Test
+    public void shouldRememberUnknownEmailsUntilForgotten() {
+        LoginThrottle throttle = new LoginThrottle(10, 10, 60_000, now::get);
+        assertFalse(throttle.isKnownUnknown("ghost@example.com"));
+
+        throttle.rememberUnknown("ghost@example.com");
+        assertTrue(throttle.isKnownUnknown("GHOST@example.com"));
+
+        throttle.forgetUnknown("ghost@example.com");
+        assertFalse(throttle.isKnownUnknown("ghost@example.com"));
+    }
+}
@@ -0,0 +1,236 @@
+package org.revhire.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.revhire.dao.NotificationDAO;
+import org.revhire.model.Notification;
+import org.revhire.service.NotificationOutbox.Delivery;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class NotificationOutboxTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void shouldWriteQueuedNotificationsInOneBatch() throws Exception {
+        NotificationDAO dao = mock(NotificationDAO.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        doAnswer(inv -> batchSizes.add(inv.<List<?>>getArgument(0).size())).when(dao).createNotifications(anyList());
+
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.FIRE_AND_FORGET, null, 100, 50, 500);
+        for (int i = 0; i < 5; i++) {
+            outbox.enqueue(new Notification(i, "Message " + i));
+        }
+        outbox.close();
+
+        assertEquals(List.of(5), batchSizes);
+        assertEquals(5, outbox.getWritten());
+        verify(dao, never()).createNotification(any());
+    }
+
+    @Test
+    public void shouldWriteInlineWhenQueueIsFull() throws Exception {
+        NotificationDAO dao = mock(NotificationDAO.class);
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.FIRE_AND_FORGET, null, 1, 50, 500);
+        outbox.close();
+
+        outbox.enqueue(new Notification(1, "After close"));
+
+        verify(dao).createNotification(argThat(n -> n.getMessage().equals("After close")));
+    }
+
+    @Test
+    public void shouldWriteGroupOverflowAsOneBatch() throws Exception {
+        NotificationDAO dao = mock(NotificationDAO.class);
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.DURABLE, dir.resolve("group.wal"), 1, 50,
+                500);
+        outbox.close();
+
+        outbox.enqueueAll(List.of(new Notification(1, "a"), new Notification(2, "a"), new Notification(3, "a")));
+
+        verify(dao).createNotifications(argThat(list -> list.size() == 3));
+        verify(dao, never()).createNotification(any());
+    }
+
+    @Test
+    public void shouldReplayUndeliveredNotificationsOnRestart() throws Exception {
+        Path wal = dir.resolve("outbox").resolve("notifications.wal");
+        NotificationDAO down = mock(NotificationDAO.class);
+        doThrow(new SQLTransientConnectionException("down")).when(down).createNotifications(anyList());
+
+        NotificationOutbox first = new NotificationOutbox(down, Delivery.DURABLE, wal, 100, 50, 10);
+        first.enqueue(new Notification(7, "Line one\nline\ttwo \\ done"));
+        first.enqueue(new Notification(8, "Second"));
+        first.close();
+        assertEquals(2, NotificationOutbox.readWal(wal).size());
+
+        NotificationDAO up = mock(NotificationDAO.class);
+        List<Notification> delivered = new ArrayList<>();
+        doAnswer(inv -> delivered.addAll(inv.getArgument(0))).when(up).createNotifications(anyList());
+        NotificationOutbox second = new NotificationOutbox(up, Delivery.DURABLE, wal, 100, 50, 10);
+        second.close();
+
+        assertEquals(2, delivered.size());
+        assertEquals("Line one\nline\ttwo \\ done", delivered.get(0).getMessage());
+        assertEquals(8, delivered.get(1).getUserId());
+        assertNotNull(delivered.get(0).getCreatedAt());
+        assertEquals(0, Files.size(wal));
+    }
+
+    @Test
+    public void shouldIgnoreTornLastRecord() throws Exception {
+        Path wal = dir.resolve("notifications.wal");
+        Files.writeString(wal, "1\t1\t1700000000000\tcomplete\n2\t2\t17000");
+
+        List<NotificationOutbox.WalRecord> records = NotificationOutbox.readWal(wal);
+
+        assertEquals(1, records.size());
+        assertEquals("complete", records.get(0).notification().getMessage());
+
+        // The torn tail is cut off so the next record starts on its own line
+        NotificationDAO dao = mock(NotificationDAO.class);
+        doThrow(new SQLTransientConnectionException("down")).when(dao).createNotifications(anyList());
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.DURABLE, wal, 100, 50, 10);
+        outbox.enqueue(new Notification(3, "next"));
+        outbox.close();
+        assertEquals(List.of("complete", "next"),
+                NotificationOutbox.readWal(wal).stream().map(r -> r.notification().getMessage()).toList());
+    }
+
+    @Test
+    public void shouldKeepNotificationsWhenConnectionCannotBeObtained() throws Exception {
+        NotificationDAO dao = mock(NotificationDAO.class);
+        // What a DAO threw when it wrapped the pool's failure: no SQLState, not a transient type itself
+        doThrow(new SQLException(new SQLTimeoutException("Timed out waiting for a database connection")))
+                .when(dao).createNotifications(anyList());
+        doThrow(new SQLException(new SQLTimeoutException("Timed out waiting for a database connection")))
+                .when(dao).createNotification(any());
+        Path wal = dir.resolve("notifications.wal");
+
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.DURABLE, wal, 100, 50, 10);
+        outbox.enqueue(new Notification(1, "kept"));
+        Thread.sleep(100);
+        outbox.close();
+
+        assertEquals(0, outbox.getDropped());
+        assertEquals(1, NotificationOutbox.readWal(wal).size());
+        verify(dao, never()).createNotification(any());
+    }
+
+    @Test
+    public void shouldRetryUntilTheDatabaseIsBack() throws Exception {
+        NotificationDAO dao = mock(NotificationDAO.class);
+        doThrow(new SQLException("Communications link failure", "08S01")).doNothing().when(dao)
+                .createNotifications(anyList());
+        Path wal = dir.resolve("notifications.wal");
+
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.DURABLE, wal, 100, 50, 10);
+        outbox.enqueue(new Notification(1, "retried"));
+        awaitWritten(outbox, 1);
+        outbox.close();
+
+        verify(dao, times(2)).createNotifications(anyList());
+        assertEquals(0, outbox.getDropped());
+        assertEquals(0, Files.size(wal));
+    }
+
+    @Test
+    public void shouldReplayOnlyRecordsPastTheCheckpoint() throws Exception {
+        Path wal = dir.resolve("notifications.wal");
+        NotificationDAO flaky = mock(NotificationDAO.class);
+        doNothing().doThrow(new SQLTransientConnectionException("down")).when(flaky).createNotifications(anyList());
+
+        NotificationOutbox first = new NotificationOutbox(flaky, Delivery.DURABLE, wal, 100, 50, 10);
+        first.enqueue(new Notification(1, "delivered"));
+        awaitWritten(first, 1);
+        first.enqueue(new Notification(2, "stuck"));
+        Thread.sleep(100);
+        first.close();
+
+        NotificationDAO up = mock(NotificationDAO.class);
+        List<Notification> replayed = new ArrayList<>();
+        doAnswer(inv -> replayed.addAll(inv.getArgument(0))).when(up).createNotifications(anyList());
+        NotificationOutbox second = new NotificationOutbox(up, Delivery.DURABLE, wal, 100, 50, 10);
+        second.close();
+
+        assertEquals(List.of("stuck"), replayed.stream().map(Notification::getMessage).toList());
+        assertEquals(0, Files.size(wal));
+    }
+
+    @Test
+    public void shouldKeepFileBoundedWhileRecordsAreAlwaysInFlight() throws Exception {
+        Path wal = dir.resolve("notifications.wal");
+        NotificationDAO dao = mock(NotificationDAO.class);
+        Semaphore proceed = new Semaphore(0);
+        AtomicLong largest = new AtomicLong();
+        doAnswer(inv -> {
+            proceed.acquire();
+            largest.accumulateAndGet(Files.size(wal), Math::max);
+            return null;
+        }).when(dao).createNotifications(anyList());
+
+        String message = "x".repeat(1000);
+        // One record per batch, so a batch never takes the next record with it
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.DURABLE, wal, 100, 1, 0);
+        outbox.enqueue(new Notification(0, message));
+        // Each batch is written only once the next notification is in the file
+        for (int i = 1; i <= 400; i++) {
+            outbox.enqueue(new Notification(i, message));
+            proceed.release();
+            awaitWritten(outbox, i);
+        }
+        // A record was always in flight, so only copying the tail out can have cut the head off
+        assertTrue(outbox.getCompactions() > 0);
+        List<NotificationOutbox.WalRecord> records = NotificationOutbox.readWal(wal);
+        assertEquals(0, records.get(0).offset());
+        assertTrue(records.get(0).seq() > 300, "first record " + records.get(0).seq());
+        proceed.release(10);
+        outbox.close();
+
+        assertEquals(401, outbox.getWritten());
+        assertTrue(largest.get() < 2 * NotificationOutbox.COMPACT_BYTES, "largest file " + largest.get());
+    }
+
+    private static void awaitWritten(NotificationOutbox outbox, long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (outbox.getWritten() < count) {
+            assertTrue(System.currentTimeMillis() < deadline, "timed out waiting for writes");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void shouldFallBackToSingleInsertsWhenBatchHasBadRow() throws Exception {
+        NotificationDAO dao = mock(NotificationDAO.class);
+        doThrow(new SQLIntegrityConstraintViolationException("fk")).when(dao).createNotifications(anyList());
+        doThrow(new SQLIntegrityConstraintViolationException("fk")).when(dao)
+                .createNotification(argThat(n -> n.getUserId() == 2));
+        Path wal = dir.resolve("notifications.wal");
+
+        NotificationOutbox outbox = new NotificationOutbox(dao, Delivery.DURABLE, wal, 100, 50, 200);
+        outbox.enqueue(new Notification(1, "ok"));
+        outbox.enqueue(new Notification(2, "deleted user"));
+        outbox.enqueue(new Notification(3, "ok"));
+        outbox.close();
+
+        verify(dao, times(3)).createNotification(any());
+        assertEquals(2, outbox.getWritten());
+        assertEquals(1, outbox.getDropped());
+        assertEquals(0, Files.size(wal));
+    }
+}
@@ -0,0 +1,135 @@
+package org.revhire.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.revhire.config.RetentionConfig;
+import org.revhire.dao.NotificationDAO;
+import org.revhire.dao.NotificationRetentionDAO;
+import org.revhire.dao.NotificationRetentionDAO.Partition;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class NotificationRetentionServiceTest {
+
+    // 2026-10-18T12:00:00Z
+    private static final long NOW = Instant.parse("2026-10-18T12:00:00Z").toEpochMilli();
+
+    private NotificationRetentionDAO retentionDAO;
+    private NotificationDAO notificationDAO;
+    private RetentionConfig config;
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @BeforeEach
+    public void setUp() {
+        retentionDAO = mock(NotificationRetentionDAO.class);
+        notificationDAO = mock(NotificationDAO.class);
+        config = new RetentionConfig();
+        config.setBatchSize(100);
+        config.setBatchPauseMillis(0);
+        config.setDropAfterDays(365);
+    }
+
+    private static long epoch(String instant) {
+        return Instant.parse(instant).getEpochSecond();
+    }
+
+    @Test
+    public void shouldAddMonthsAfterLastBoundThroughHorizon() {
+        List<Partition> partitions = List.of(new Partition("p202609", epoch("2026-10-01T00:00:00Z")),
+                new Partition("pmax", null));
+
+        List<YearMonth> months = NotificationRetentionService.missingMonths(partitions, YearMonth.of(2027, 1));
+
+        assertEquals(List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12),
+                YearMonth.of(2027, 1)), months);
+    }
+
+    @Test
+    public void shouldStartAfterBoundThatIsNotOnUtcMonthStart() {
+        // The migration's initial bound, written in a UTC+5:30 session
+        List<Partition> partitions = List.of(new Partition("p_history", epoch("2025-12-31T18:30:00Z")),
+                new Partition("pmax", null));
+
+        List<YearMonth> months = NotificationRetentionService.missingMonths(partitions, YearMonth.of(2026, 2));
+
+        assertEquals(List.of(YearMonth.of(2026, 1), YearMonth.of(2026, 2)), months);
+    }
+
+    @Test
+    public void shouldOnlyExpirePartitionsWhollyBeforeCutoff() {
+        List<Partition> partitions = List.of(new Partition("p_history", epoch("2025-01-01T00:00:00Z")),
+                new Partition("p202501", epoch("2025-02-01T00:00:00Z")),
+                new Partition("p202502", epoch("2025-03-01T00:00:00Z")),
+                new Partition("pmax", null));
+
+        List<String> expired = NotificationRetentionService.expiredPartitions(partitions,
+                epoch("2025-02-15T00:00:00Z"));
+
+        assertEquals(List.of("p_history", "p202501"), expired);
+    }
+
+    @Test
+    public void shouldArchiveInBatchesUntilFewerThanBatchSizeRemain() throws SQLException {
+        when(retentionDAO.listPartitions(anyString())).thenReturn(List.of());
+        when(retentionDAO.archiveReadBefore(any(Timestamp.class), eq(100))).thenReturn(100, 100, 37);
+        NotificationRetentionService service = new NotificationRetentionService(retentionDAO, notificationDAO,
+                config, clock::get);
+
+        NotificationRetentionService.Report report = service.runOnce();
+
+        assertEquals(237, report.rowsArchived());
+        assertEquals(3, report.batches());
+        assertEquals(237, service.getRowsArchived());
+        verify(retentionDAO, times(3)).archiveReadBefore(
+                argThat(t -> t.getTime() == NOW - 30L * 24 * 60 * 60 * 1000), eq(100));
+        verify(retentionDAO, never()).addMonthlyPartitions(anyString(), anyList());
+    }
+
+    @Test
+    public void shouldStopArchivingWhenTimeBudgetIsSpent() throws SQLException {
+        config.setMaxRunMillis(1_000);
+        when(retentionDAO.listPartitions(anyString())).thenReturn(List.of());
+        when(retentionDAO.archiveReadBefore(any(Timestamp.class), eq(100))).thenAnswer(inv -> {
+            clock.addAndGet(400);
+            return 100;
+        });
+        NotificationRetentionService service = new NotificationRetentionService(retentionDAO, notificationDAO,
+                config, clock::get);
+
+        NotificationRetentionService.Report report = service.runOnce();
+
+        assertEquals(3, report.batches());
+        assertEquals(1_200, report.elapsedMillis());
+    }
+
+    @Test
+    public void shouldMaintainPartitionsOnBothTablesAndResetCounts() throws SQLException {
+        List<Partition> partitions = List.of(new Partition("p202509", epoch("2025-10-01T00:00:00Z")),
+                new Partition("p202609", epoch("2026-10-01T00:00:00Z")),
+                new Partition("pmax", null));
+        when(retentionDAO.listPartitions(anyString())).thenReturn(partitions);
+        NotificationRetentionService service = new NotificationRetentionService(retentionDAO, notificationDAO,
+                config, clock::get);
+
+        NotificationRetentionService.Report report = service.runOnce();
+
+        List<YearMonth> ahead = List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11), YearMonth.of(2026, 12),
+                YearMonth.of(2027, 1));
+        verify(retentionDAO).addMonthlyPartitions(NotificationRetentionDAO.NOTIFICATIONS, ahead);
+        verify(retentionDAO).addMonthlyPartitions(NotificationRetentionDAO.ARCHIVE, ahead);
+        verify(retentionDAO).dropPartitions(NotificationRetentionDAO.NOTIFICATIONS, List.of("p202509"));
+        verify(retentionDAO).dropPartitions(NotificationRetentionDAO.ARCHIVE, List.of("p202509"));
+        verify(notificationDAO).resetUnreadCounts();
+        assertEquals(8, report.partitionsAdded());
+        assertEquals(2, report.partitionsDropped());
+    }
+}
@@ -38,6 +38,17 @@ public class NotificationServiceTest {
                 .createNotification(argThat(n -> n.getUserId() == 1 && n.getMessage().equals("Welcome")));
     }
 
+    @Test
+    public void testSendNotificationThroughOutbox() throws SQLException {
+        NotificationOutbox outbox = mock(NotificationOutbox.class);
+        NotificationService service = new NotificationService(notificationDAO, outbox);
+
+        service.sendNotification(1, "Welcome");
+
+        verify(outbox).enqueue(argThat(n -> n.getUserId() == 1 && n.getMessage().equals("Welcome")));
+        verify(notificationDAO, never()).createNotification(any());
+    }
+
     @Test
     public void testGetUnreadNotifications() throws SQLException {
         Notification n = new Notification(1, "Msg");
@@ -0,0 +1,72 @@
+package org.revhire.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.revhire.util.PasswordUtils;
+
+import java.sql.SQLTransientException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PasswordHashingServiceTest {
+
+    private PasswordHashingService hasher;
+
+    @BeforeEach
+    public void setUp() {
+        hasher = new PasswordHashingService(1, 1, 5);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hasher.close();
+    }
+
+    @Test
+    public void shouldHashAndVerifyOffTheCallerThread() throws Exception {
+        String hash = hasher.hash("Secret1!").get();
+
+        assertEquals(5, PasswordUtils.getLogRounds(hash));
+        assertTrue(hasher.verify("Secret1!", hash).get());
+        assertFalse(hasher.verify("wrong", hash).get());
+    }
+
+    @Test
+    public void shouldFlagHashesBelowCurrentWorkFactor() {
+        assertTrue(hasher.needsRehash(PasswordUtils.hashPassword("x", 4)));
+        assertFalse(hasher.needsRehash(PasswordUtils.hashPassword("x", 5)));
+        assertFalse(hasher.needsRehash("not-a-hash"));
+    }
+
+    @Test
+    public void shouldRejectWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> running = hasher.submit(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        while (hasher.getQueueDepth() > 0) {
+            Thread.onSpinWait();
+        }
+        CompletableFuture<String> queued = hasher.hash("queued");
+
+        assertThrows(SQLTransientException.class, () -> hasher.verifyNow("x", "y"));
+        release.countDown();
+        running.get();
+        assertNotNull(queued.get());
+    }
+
+    @Test
+    public void shouldCalibrateWithinBounds() {
+        int rounds = PasswordHashingService.calibrate(1);
+        assertEquals(PasswordHashingService.MIN_LOG_ROUNDS, rounds);
+        assertTrue(PasswordHashingService.calibrate(100_000) <= PasswordHashingService.MAX_LOG_ROUNDS);
+    }
+}
@@ -0,0 +1,74 @@
+package org.revhire.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.revhire.model.User;
+import org.revhire.model.User.UserRole;
+import org.revhire.model.UserSession;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionRegistryTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SessionRegistry registry;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SessionRegistry(60_000, now::get);
+    }
+
+    private User user(int id) {
+        User user = new User("User " + id, "u" + id + "@example.com", "hash", UserRole.JOB_SEEKER, "Q", "A");
+        user.setId(id);
+        return user;
+    }
+
+    @Test
+    public void shouldIssueDistinctTokensPerLogin() {
+        UserSession first = registry.create(user(1));
+        UserSession second = registry.create(user(1));
+
+        assertNotEquals(first.getToken(), second.getToken());
+        assertEquals(2, registry.size());
+        assertEquals(1, registry.resolve(first.getToken()).get().getUser().getId());
+    }
+
+    @Test
+    public void shouldExpireIdleSessionOnLookup() {
+        UserSession session = registry.create(user(1));
+
+        now.addAndGet(30_000);
+        assertTrue(registry.resolve(session.getToken()).isPresent());
+        now.addAndGet(59_000);
+        assertTrue(registry.resolve(session.getToken()).isPresent());
+        now.addAndGet(61_000);
+        assertTrue(registry.resolve(session.getToken()).isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void shouldSweepOnlyExpiredSessions() {
+        registry.create(user(1));
+        now.addAndGet(45_000);
+        UserSession recent = registry.create(user(2));
+        now.addAndGet(30_000);
+
+        assertEquals(1, registry.sweepExpired());
+        assertTrue(registry.resolve(recent.getToken()).isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateAllSessionsOfUser() {
+        UserSession a = registry.create(user(1));
+        registry.create(user(1));
+        UserSession other = registry.create(user(2));
+
+        assertEquals(2, registry.invalidateUser(1));
+        assertTrue(registry.resolve(a.getToken()).isEmpty());
+        assertTrue(registry.resolve(other.getToken()).isPresent());
+        assertTrue(registry.resolve(null).isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package org.revhire.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private BoundedCache<Integer, String> newCache(int capacity) {
+        return new BoundedCache<>(capacity, 1_000, 1, now::get);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() {
+        BoundedCache<Integer, String> cache = newCache(2);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        assertEquals("one", cache.get(1));
+        assertNull(cache.get(2));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTtl() {
+        BoundedCache<Integer, String> cache = newCache(10);
+        cache.put(1, "one");
+
+        now.addAndGet(999_000_000L);
+        assertEquals("one", cache.get(1));
+        now.addAndGet(2_000_000L);
+        assertNull(cache.get(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldDropLoadThatRacedWithInvalidation() {
+        BoundedCache<Integer, String> cache = newCache(10);
+        long stamp = cache.stamp(1);
+        cache.invalidate(1);
+
+        assertFalse(cache.put(1, "stale", stamp));
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    public void shouldReportHitRate() {
+        BoundedCache<Integer, String> cache = newCache(10);
+        cache.put(1, "one");
+        cache.get(1);
+        cache.get(1);
+        cache.get(1);
+        cache.get(2);
+
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.75, cache.getHitRate(), 1e-9);
+    }
+}
@@ -0,0 +1,76 @@
+package org.revhire.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecayingCountMinSketchTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    public void shouldCountEventsPerKey() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, 1_000, now::get);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("a@example.com");
+        }
+        sketch.increment("b@example.com");
+
+        assertEquals(5, sketch.estimate("a@example.com"));
+        assertEquals(1, sketch.estimate("b@example.com"));
+        assertEquals(0, sketch.estimate("c@example.com"));
+    }
+
+    @Test
+    public void shouldDecayPreviousWindowAndForgetOlderOnes() {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, 1_000, now::get);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("key");
+        }
+
+        now.set(1_000);
+        assertEquals(10, sketch.estimate("key"));
+        now.set(1_500);
+        assertEquals(5, sketch.estimate("key"));
+        now.set(2_000);
+        assertEquals(0, sketch.estimate("key"));
+    }
+
+    @Test
+    public void shouldNeverUnderestimateWhenKeysCollide() {
+        // Far more keys than cells, so collisions are guaranteed
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(2, 16, 1_000, now::get);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            keys.add("user" + i + "@example.com");
+            for (int j = 0; j <= i % 3; j++) {
+                sketch.increment(keys.get(i));
+            }
+        }
+        for (int i = 0; i < keys.size(); i++) {
+            assertTrue(sketch.estimate(keys.get(i)) >= i % 3 + 1);
+        }
+    }
+
+    @Test
+    public void shouldCountConcurrentIncrementsExactly() throws InterruptedException {
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, 60_000, now::get);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    sketch.increment("hot");
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4_000, sketch.estimate("hot"));
+    }
+}
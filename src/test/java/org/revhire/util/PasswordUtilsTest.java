@@ -20,4 +20,11 @@ public class PasswordUtilsTest {
     public void testVerifyWithInvalidHash() {
         assertFalse(PasswordUtils.checkPassword("password", "invalid-hash-string"));
     }
+
+    @Test
+    public void testReadsWorkFactorFromHash() {
+        assertEquals(5, PasswordUtils.getLogRounds(PasswordUtils.hashPassword("password", 5)));
+        assertEquals(-1, PasswordUtils.getLogRounds("invalid-hash-string"));
+        assertEquals(-1, PasswordUtils.getLogRounds(null));
+    }
 }